@@ -28,6 +28,7 @@ import javax.batch.operations.JobSecurityException;
 import javax.batch.operations.JobStartException;
 import javax.batch.operations.NoSuchJobException;
 
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.logging.BasicLogger;
@@ -215,4 +216,15 @@ public interface BatchLogger extends BasicLogger {
      */
     @Message(id = 20, value = "Permission denied. User %s does not have %s permissions.")
     JobSecurityException unauthorized(String user, Permission permission);
+
+    /**
+     * Creates an exception indicating the value could not be parsed as a date.
+     *
+     * @param value  the invalid value
+     * @param format the expected date format
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 21, value = "Invalid date %s, the expected format is %s")
+    OperationFailedException invalidDate(String value, String format);
 }
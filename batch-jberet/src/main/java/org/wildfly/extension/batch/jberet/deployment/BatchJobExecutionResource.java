@@ -22,14 +22,13 @@
 
 package org.wildfly.extension.batch.jberet.deployment;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
-import javax.batch.runtime.JobExecution;
-import javax.batch.runtime.JobInstance;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -45,21 +44,32 @@ import org.wildfly.extension.batch.jberet._private.BatchLogger;
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 public class BatchJobExecutionResource implements Resource {
+    static final long REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(5L);
 
     private final Resource delegate;
     private final WildFlyJobOperator jobOperator;
     private final String jobName;
+    private final LongSupplier currentTime;
     // Should be guarded by it's instance
     private final Set<String> children = new LinkedHashSet<>();
+    // The modification count of the job operator, and the time, at which the children were last refreshed
+    // Should be guarded by the children instance
+    private long refreshedModificationCount = -1L;
+    private long refreshedTime = 0L;
 
     BatchJobExecutionResource(final WildFlyJobOperator jobOperator, final String jobName) {
-        this(Factory.create(true), jobOperator, jobName);
+        this(jobOperator, jobName, System::currentTimeMillis);
     }
 
-    private BatchJobExecutionResource(final Resource delegate, final WildFlyJobOperator jobOperator, final String jobName) {
+    BatchJobExecutionResource(final WildFlyJobOperator jobOperator, final String jobName, final LongSupplier currentTime) {
+        this(Factory.create(true), jobOperator, jobName, currentTime);
+    }
+
+    private BatchJobExecutionResource(final Resource delegate, final WildFlyJobOperator jobOperator, final String jobName, final LongSupplier currentTime) {
         this.delegate = delegate;
         this.jobOperator = jobOperator;
         this.jobName = jobName;
+        this.currentTime = currentTime;
     }
 
     @Override
@@ -137,7 +147,9 @@ public class BatchJobExecutionResource implements Resource {
     public Set<String> getChildrenNames(final String childType) {
         if (BatchJobExecutionResourceDefinition.EXECUTION.equals(childType)) {
             synchronized (children) {
-                refreshChildren();
+                if (!isCurrent()) {
+                    refreshChildren();
+                }
                 return new LinkedHashSet<>(children);
             }
         }
@@ -197,7 +209,7 @@ public class BatchJobExecutionResource implements Resource {
 
     @Override
     public Resource clone() {
-        return new BatchJobExecutionResource(delegate.clone(), jobOperator, jobName);
+        return new BatchJobExecutionResource(delegate.clone(), jobOperator, jobName, currentTime);
     }
 
     private boolean hasJobExecution(final String executionName) {
@@ -211,22 +223,33 @@ public class BatchJobExecutionResource implements Resource {
         }
     }
 
+    /**
+     * Indicates whether the cached children reflect the executions of the job. The cache is invalidated whenever the
+     * job operator modifies an execution, and periodically, in order to pick up executions created elsewhere, e.g. by
+     * another server sharing the job repository.
+     * <p>
+     * Note the access to the {@link #children} is <strong>not</strong> guarded here and needs to be externally
+     * guarded.
+     * </p>
+     */
+    private boolean isCurrent() {
+        return (refreshedModificationCount == jobOperator.getModificationCount()) && (currentTime.getAsLong() - refreshedTime < REFRESH_INTERVAL);
+    }
+
     /**
      * Note the access to the {@link #children} is <strong>not</strong> guarded here and needs to be externally
      * guarded.
      */
     private void refreshChildren() {
-        final List<JobExecution> executions = new ArrayList<>();
-        // Casting to (Supplier<List<JobInstance>>) is done here on purpose as a workaround for a bug in 1.8.0_45
-        final List<JobInstance> instances = jobOperator.allowMissingJob((Supplier<List<JobInstance>>)() -> jobOperator.getJobInstances(jobName, 0, jobOperator.getJobInstanceCount(jobName))
-                , Collections.emptyList());
-        for (JobInstance instance : instances) {
-            executions.addAll(jobOperator.getJobExecutions(instance));
-        }
+        final long modificationCount = jobOperator.getModificationCount();
+        // Casting to (Supplier<List<Long>>) is done here on purpose as a workaround for a bug in 1.8.0_45
+        final List<Long> executionIds = jobOperator.allowMissingJob((Supplier<List<Long>>) () -> jobOperator.getJobExecutionIds(jobName), Collections.emptyList());
         children.clear();
-        for (JobExecution execution : executions) {
-            final String name = Long.toString(execution.getExecutionId());
-            children.add(name);
+        // List the executions in the order they were created
+        for (int i = executionIds.size() - 1; i >= 0; --i) {
+            children.add(Long.toString(executionIds.get(i)));
         }
+        refreshedModificationCount = modificationCount;
+        refreshedTime = currentTime.getAsLong();
     }
 }
@@ -22,17 +22,36 @@
 
 package org.wildfly.extension.batch.jberet.deployment;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.batch.operations.NoSuchJobExecutionException;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.JobExecution;
+
+import org.jberet.runtime.JobExecutionImpl;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleListAttributeDefinition;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.extension.batch.jberet.BatchResourceDescriptionResolver;
+import org.wildfly.extension.batch.jberet._private.BatchLogger;
 
 /**
  * A definition representing a job resource.
@@ -58,10 +77,50 @@ public class BatchJobResourceDefinition extends SimpleResourceDefinition {
             .setStorageRuntime()
             .build();
 
+    private static final SimpleAttributeDefinition BATCH_STATUS = SimpleAttributeDefinitionBuilder.create("batch-status", ModelType.STRING)
+            .setRequired(false)
+            .setValidator(EnumValidator.create(BatchStatus.class, true, false))
+            .build();
+
+    private static final SimpleAttributeDefinition CREATED_AFTER = SimpleAttributeDefinitionBuilder.create("created-after", ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    private static final SimpleAttributeDefinition CREATED_BEFORE = SimpleAttributeDefinitionBuilder.create("created-before", ModelType.STRING)
+            .setRequired(false)
+            .build();
+
+    private static final SimpleAttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+
+    private static final SimpleAttributeDefinition LIMIT = SimpleAttributeDefinitionBuilder.create("limit", ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(100))
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+
+    private static final SimpleAttributeDefinition EXECUTION_ID = SimpleAttributeDefinitionBuilder.create("execution-id", ModelType.LONG)
+            .build();
+
+    private static final ResourceDescriptionResolver DEFAULT_RESOLVER = BatchResourceDescriptionResolver.getResourceDescriptionResolver("deployment", "job");
+
+    private static final SimpleOperationDefinition LIST_EXECUTIONS = new SimpleOperationDefinitionBuilder("list-executions", DEFAULT_RESOLVER)
+            .setParameters(BATCH_STATUS, CREATED_AFTER, CREATED_BEFORE, OFFSET, LIMIT)
+            .setReplyType(ModelType.LIST)
+            .setReplyParameters(EXECUTION_ID, BatchJobExecutionResourceDefinition.INSTANCE_ID, BatchJobExecutionResourceDefinition.BATCH_STATUS,
+                    BatchJobExecutionResourceDefinition.EXIT_STATUS, BatchJobExecutionResourceDefinition.CREATE_TIME, BatchJobExecutionResourceDefinition.START_TIME,
+                    BatchJobExecutionResourceDefinition.LAST_UPDATED_TIME, BatchJobExecutionResourceDefinition.END_TIME)
+            .setRuntimeOnly()
+            .setReadOnly()
+            .build();
+
     public static final BatchJobResourceDefinition INSTANCE = new BatchJobResourceDefinition();
 
     private BatchJobResourceDefinition() {
-        super(new Parameters(PathElement.pathElement(JOB), BatchResourceDescriptionResolver.getResourceDescriptionResolver("deployment", "job")).setRuntime());
+        super(new Parameters(PathElement.pathElement(JOB), DEFAULT_RESOLVER).setRuntime());
     }
 
     @Override
@@ -89,4 +148,129 @@ public class BatchJobResourceDefinition extends SimpleResourceDefinition {
         });
     }
 
+    @Override
+    public void registerOperations(final ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+
+        resourceRegistration.registerOperationHandler(LIST_EXECUTIONS, new JobOperationStepHandler(false) {
+            @Override
+            protected void execute(final OperationContext context, final ModelNode operation, final WildFlyJobOperator jobOperator) throws OperationFailedException {
+                final String jobName = context.getCurrentAddressValue();
+                final ModelNode batchStatus = resolveValue(context, operation, BATCH_STATUS);
+                final BatchStatus status = batchStatus.isDefined() ? BatchStatus.valueOf(batchStatus.asString()) : null;
+                final Date createdAfter = resolveDate(context, operation, CREATED_AFTER);
+                final Date createdBefore = resolveDate(context, operation, CREATED_BEFORE);
+                final int offset = resolveValue(context, operation, OFFSET).asInt();
+                final int limit = resolveValue(context, operation, LIMIT).asInt();
+
+                final ModelNode result = context.getResult().setEmptyList();
+                for (JobExecution execution : listExecutions(jobOperator, jobName, status, createdAfter, createdBefore, offset, limit)) {
+                    result.add(toModelNode(execution));
+                }
+            }
+        });
+    }
+
+    /**
+     * Lists the executions of a job, most recent first. As execution ids are assigned in the order executions are
+     * created, the creation time window is resolved to a range of ids by a binary search, and unless the executions
+     * are filtered by status, the requested page is selected by id as well. Only the executions which are returned,
+     * or whose status needs to be checked, are then loaded from the job repository.
+     */
+    static List<JobExecution> listExecutions(final WildFlyJobOperator jobOperator, final String jobName, final BatchStatus status,
+            final Date createdAfter, final Date createdBefore, final int offset, final int limit) {
+        // Casting to (Supplier<List<Long>>) is done here on purpose as a workaround for a bug in 1.8.0_45
+        final List<Long> executionIds = jobOperator.allowMissingJob((Supplier<List<Long>>) () -> jobOperator.getJobExecutionIds(jobName), Collections.emptyList());
+        final int from = (createdBefore != null) ? findCreatedBefore(jobOperator, executionIds, createdBefore) : 0;
+        final int to = (createdAfter != null) ? findCreatedBefore(jobOperator, executionIds, createdAfter) : executionIds.size();
+        List<Long> ids = executionIds.subList(from, Math.max(from, to));
+        int skip = offset;
+        if (status == null) {
+            ids = ids.subList(Math.min(offset, ids.size()), (int) Math.min((long) offset + limit, ids.size()));
+            skip = 0;
+        }
+        final List<JobExecution> result = new ArrayList<>(Math.min(limit, ids.size()));
+        for (Long executionId : ids) {
+            if (result.size() == limit) {
+                break;
+            }
+            final JobExecution execution = getJobExecution(jobOperator, executionId);
+            if ((execution == null) || ((status != null) && (status != execution.getBatchStatus()))) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add(execution);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first of the given execution ids, in descending order, whose execution was created
+     * before the given date, or the number of ids if there is none.
+     */
+    private static int findCreatedBefore(final WildFlyJobOperator jobOperator, final List<Long> executionIds, final Date date) {
+        int low = 0;
+        int high = executionIds.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final JobExecution execution = getJobExecution(jobOperator, executionIds.get(middle));
+            final Date createTime = (execution != null) ? execution.getCreateTime() : null;
+            if ((createTime != null) && createTime.before(date)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static JobExecution getJobExecution(final WildFlyJobOperator jobOperator, final long executionId) {
+        try {
+            return jobOperator.getJobExecution(executionId);
+        } catch (NoSuchJobExecutionException e) {
+            // Removed from the job repository in the meantime
+            return null;
+        }
+    }
+
+    static ModelNode toModelNode(final JobExecution execution) {
+        final SimpleDateFormat formatter = new SimpleDateFormat(BatchJobExecutionResourceDefinition.ISO_8601_FORMAT);
+        final ModelNode result = new ModelNode();
+        result.get(EXECUTION_ID.getName()).set(execution.getExecutionId());
+        if (execution instanceof JobExecutionImpl) {
+            result.get(BatchJobExecutionResourceDefinition.INSTANCE_ID.getName()).set(((JobExecutionImpl) execution).getJobInstance().getInstanceId());
+        }
+        if (execution.getBatchStatus() != null) {
+            result.get(BatchJobExecutionResourceDefinition.BATCH_STATUS.getName()).set(execution.getBatchStatus().toString());
+        }
+        if (execution.getExitStatus() != null) {
+            result.get(BatchJobExecutionResourceDefinition.EXIT_STATUS.getName()).set(execution.getExitStatus());
+        }
+        setDate(result, BatchJobExecutionResourceDefinition.CREATE_TIME, execution.getCreateTime(), formatter);
+        setDate(result, BatchJobExecutionResourceDefinition.START_TIME, execution.getStartTime(), formatter);
+        setDate(result, BatchJobExecutionResourceDefinition.LAST_UPDATED_TIME, execution.getLastUpdatedTime(), formatter);
+        setDate(result, BatchJobExecutionResourceDefinition.END_TIME, execution.getEndTime(), formatter);
+        return result;
+    }
+
+    private static void setDate(final ModelNode model, final AttributeDefinition attribute, final Date date, final SimpleDateFormat formatter) {
+        if (date != null) {
+            model.get(attribute.getName()).set(formatter.format(date));
+        }
+    }
+
+    private static Date resolveDate(final OperationContext context, final ModelNode operation, final AttributeDefinition attribute) throws OperationFailedException {
+        final ModelNode value = JobOperationStepHandler.resolveValue(context, operation, attribute);
+        if (!value.isDefined()) {
+            return null;
+        }
+        try {
+            return new SimpleDateFormat(BatchJobExecutionResourceDefinition.ISO_8601_FORMAT).parse(value.asString());
+        } catch (ParseException e) {
+            throw BatchLogger.LOGGER.invalidDate(value.asString(), BatchJobExecutionResourceDefinition.ISO_8601_FORMAT);
+        }
+    }
 }
@@ -35,6 +35,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import javax.batch.operations.JobExecutionAlreadyCompleteException;
@@ -101,6 +102,7 @@ public class JobOperatorService extends AbstractJobOperator implements WildFlyJo
     private final String deploymentName;
 
     private final ThreadLocal<Boolean> permissionsCheckEnabled = ThreadLocal.withInitial(() -> Boolean.TRUE);
+    private final AtomicLong modificationCount = new AtomicLong();
 
     public JobOperatorService(final Boolean restartJobsOnResume, final String deploymentName, final WildFlyJobXmlResolver resolver) {
         this.restartJobsOnResume = restartJobsOnResume;
@@ -227,7 +229,11 @@ public class JobOperatorService extends AbstractJobOperator implements WildFlyJo
                 jobXml = jobXMLName + ".xml";
             }
             if (resolver.isValidJobXmlName(jobXml)) {
-                return super.start(jobXml, jobParameters, getBatchEnvironment().getCurrentUserName());
+                try {
+                    return super.start(jobXml, jobParameters, getBatchEnvironment().getCurrentUserName());
+                } finally {
+                    modificationCount.incrementAndGet();
+                }
             }
             throw BatchLogger.LOGGER.couldNotFindJobXml(jobXMLName);
         } finally {
@@ -245,6 +251,7 @@ public class JobOperatorService extends AbstractJobOperator implements WildFlyJo
             validateJob(instance.getJobName());
             return super.restart(executionId, restartParameters, getBatchEnvironment().getCurrentUserName());
         } finally {
+            modificationCount.incrementAndGet();
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
         }
     }
@@ -259,6 +266,7 @@ public class JobOperatorService extends AbstractJobOperator implements WildFlyJo
             validateJob(instance.getJobName());
             super.stop(executionId);
         } finally {
+            modificationCount.incrementAndGet();
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
         }
     }
@@ -273,6 +281,7 @@ public class JobOperatorService extends AbstractJobOperator implements WildFlyJo
             validateJob(instance.getJobName());
             super.abandon(executionId);
         } finally {
+            modificationCount.incrementAndGet();
             WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
         }
     }
@@ -304,6 +313,26 @@ public class JobOperatorService extends AbstractJobOperator implements WildFlyJo
         }
     }
 
+    @Override
+    public List<Long> getJobExecutionIds(final String jobName) throws NoSuchJobException, JobSecurityException {
+        checkState(jobName);
+        final ClassLoader current = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
+        try {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(classLoader);
+            final List<Long> executionIds = new ArrayList<>(getBatchEnvironment().getJobRepository().getJobExecutionsByJob(jobName));
+            // Execution ids are assigned in ascending order
+            executionIds.sort(Collections.reverseOrder());
+            return executionIds;
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
+        }
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     @Override
     public JobExecution getJobExecution(final long executionId) throws NoSuchJobExecutionException, JobSecurityException {
         checkState();
@@ -17,9 +17,11 @@
 package org.wildfly.extension.batch.jberet.deployment;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 import javax.batch.operations.JobOperator;
+import javax.batch.operations.JobSecurityException;
 import javax.batch.operations.NoSuchJobException;
 
 /**
@@ -53,6 +55,25 @@ interface WildFlyJobOperator extends JobOperator {
      */
     Set<String> getAllJobNames();
 
+    /**
+     * Returns the ids of all the executions of a job, most recent first. Unlike iterating over the
+     * {@linkplain #getJobExecutions(javax.batch.runtime.JobInstance) executions of each job instance}, this requires a
+     * single query of the {@linkplain org.jberet.repository.JobRepository job repository}.
+     *
+     * @param jobName the name of the job
+     *
+     * @return the ids of the job's executions, in descending order
+     */
+    List<Long> getJobExecutionIds(String jobName) throws NoSuchJobException, JobSecurityException;
+
+    /**
+     * Returns a count of the job executions created, or whose state was changed, by this operator. Allows views of the
+     * job executions to be cached until they change.
+     *
+     * @return the number of modifications of job executions
+     */
+    long getModificationCount();
+
     /**
      * Allows safe execution of a method catching any {@link NoSuchJobException} thrown. If the exception is thrown the
      * default value is returned, otherwise the value from the supplier is returned.
@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.PathElement;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the caching of the execution children of {@link BatchJobExecutionResource}.
+ */
+public class BatchJobExecutionResourceTestCase {
+    private static final String JOB_NAME = "test-job";
+
+    private final WildFlyJobOperator jobOperator = mock(WildFlyJobOperator.class);
+    private final AtomicLong currentTime = new AtomicLong(1000L);
+    private BatchJobExecutionResource resource;
+
+    @Before
+    public void setup() {
+        when(jobOperator.allowMissingJob(any(), any())).thenCallRealMethod();
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenReturn(Arrays.asList(3L, 2L, 1L));
+        resource = new BatchJobExecutionResource(jobOperator, JOB_NAME, currentTime::get);
+    }
+
+    @Test
+    public void testChildrenCached() {
+        assertEquals(names("1", "2", "3"), getExecutionNames());
+        currentTime.addAndGet(BatchJobExecutionResource.REFRESH_INTERVAL - 1L);
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenReturn(Arrays.asList(4L, 3L, 2L, 1L));
+        assertEquals(names("1", "2", "3"), getExecutionNames());
+        verify(jobOperator, times(1)).getJobExecutionIds(JOB_NAME);
+    }
+
+    @Test
+    public void testRefreshInterval() {
+        assertEquals(names("1", "2", "3"), getExecutionNames());
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenReturn(Arrays.asList(4L, 3L, 2L, 1L));
+        currentTime.addAndGet(BatchJobExecutionResource.REFRESH_INTERVAL);
+        assertEquals(names("1", "2", "3", "4"), getExecutionNames());
+        verify(jobOperator, times(2)).getJobExecutionIds(JOB_NAME);
+        // The interval restarts from the last refresh
+        currentTime.addAndGet(BatchJobExecutionResource.REFRESH_INTERVAL - 1L);
+        assertEquals(names("1", "2", "3", "4"), getExecutionNames());
+        verify(jobOperator, times(2)).getJobExecutionIds(JOB_NAME);
+    }
+
+    @Test
+    public void testRefreshOnModification() {
+        assertEquals(names("1", "2", "3"), getExecutionNames());
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenReturn(Arrays.asList(4L, 3L, 2L, 1L));
+        when(jobOperator.getModificationCount()).thenReturn(1L);
+        assertEquals(names("1", "2", "3", "4"), getExecutionNames());
+        verify(jobOperator, times(2)).getJobExecutionIds(JOB_NAME);
+    }
+
+    @Test
+    public void testUnknownChildRefreshes() {
+        assertTrue(resource.hasChild(PathElement.pathElement(BatchJobExecutionResourceDefinition.EXECUTION, "1")));
+        verify(jobOperator, times(1)).getJobExecutionIds(JOB_NAME);
+        assertTrue(resource.hasChild(PathElement.pathElement(BatchJobExecutionResourceDefinition.EXECUTION, "2")));
+        verify(jobOperator, times(1)).getJobExecutionIds(JOB_NAME);
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenReturn(Arrays.asList(4L, 3L, 2L, 1L));
+        assertTrue(resource.hasChild(PathElement.pathElement(BatchJobExecutionResourceDefinition.EXECUTION, "4")));
+        assertFalse(resource.hasChild(PathElement.pathElement(BatchJobExecutionResourceDefinition.EXECUTION, "5")));
+        verify(jobOperator, times(3)).getJobExecutionIds(JOB_NAME);
+    }
+
+    private Set<String> getExecutionNames() {
+        return resource.getChildrenNames(BatchJobExecutionResourceDefinition.EXECUTION);
+    }
+
+    private static Set<String> names(final String... names) {
+        return new LinkedHashSet<>(Arrays.asList(names));
+    }
+}
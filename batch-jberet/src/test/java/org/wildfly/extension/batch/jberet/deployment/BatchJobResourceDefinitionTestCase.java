@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.batch.jberet.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.batch.operations.NoSuchJobException;
+import javax.batch.operations.NoSuchJobExecutionException;
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.JobExecution;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the listing of job executions by {@link BatchJobResourceDefinition}.
+ */
+public class BatchJobResourceDefinitionTestCase {
+    private static final String JOB_NAME = "test-job";
+    private static final int EXECUTIONS = 20;
+
+    private final WildFlyJobOperator jobOperator = mock(WildFlyJobOperator.class);
+
+    @Before
+    public void setup() {
+        when(jobOperator.allowMissingJob(any(), any())).thenCallRealMethod();
+        final List<Long> executionIds = new ArrayList<>();
+        // Execution i is created at time i * 1000, every third execution failed
+        for (long id = EXECUTIONS; id > 0; --id) {
+            final JobExecution execution = mock(JobExecution.class);
+            when(execution.getExecutionId()).thenReturn(id);
+            when(execution.getCreateTime()).thenReturn(new Date(id * 1000L));
+            when(execution.getBatchStatus()).thenReturn((id % 3 == 0) ? BatchStatus.FAILED : BatchStatus.COMPLETED);
+            when(jobOperator.getJobExecution(id)).thenReturn(execution);
+            executionIds.add(id);
+        }
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenReturn(executionIds);
+    }
+
+    @Test
+    public void testOffsetAndLimit() {
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, null, null, 0, 3), 20, 19, 18);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, null, null, 5, 3), 15, 14, 13);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, null, null, 18, Integer.MAX_VALUE), 2, 1);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, null, null, EXECUTIONS, 10));
+        // Without filters, only the executions of the requested page are loaded
+        verify(jobOperator, never()).getJobExecution(17L);
+        verify(jobOperator, never()).getJobExecution(3L);
+    }
+
+    @Test
+    public void testStatusFilter() {
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, BatchStatus.FAILED, null, null, 0, 100), 18, 15, 12, 9, 6, 3);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, BatchStatus.FAILED, null, null, 2, 3), 12, 9, 6);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, BatchStatus.STOPPED, null, null, 0, 100));
+    }
+
+    @Test
+    public void testCreationTimeFilter() {
+        // created-after is inclusive, created-before is exclusive
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, new Date(5000L), new Date(9000L), 0, 100), 8, 7, 6, 5);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, new Date(5500L), null, 0, 100), 20, 19, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, null, new Date(3000L), 0, 100), 2, 1);
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, new Date(9000L), new Date(5000L), 0, 100));
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, new Date(0L), new Date(100000L), 19, 100), 1);
+    }
+
+    @Test
+    public void testCreationTimeWindowLoading() {
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, new Date(5000L), new Date(9000L), 0, 100), 8, 7, 6, 5);
+        // The window is resolved by a binary search, so most executions outside of it are never loaded
+        verify(jobOperator, never()).getJobExecution(20L);
+        verify(jobOperator, never()).getJobExecution(13L);
+        verify(jobOperator, never()).getJobExecution(1L);
+    }
+
+    @Test
+    public void testCombinedFilters() {
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, BatchStatus.COMPLETED, new Date(5000L), new Date(15000L), 1, 3), 13, 11, 10);
+    }
+
+    @Test
+    public void testRemovedExecution() {
+        when(jobOperator.getJobExecution(19L)).thenThrow(new NoSuchJobExecutionException());
+        assertIds(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, BatchStatus.COMPLETED, null, null, 0, 3), 20, 17, 16);
+    }
+
+    @Test
+    public void testMissingJob() {
+        when(jobOperator.getJobExecutionIds(JOB_NAME)).thenThrow(new NoSuchJobException());
+        assertTrue(BatchJobResourceDefinition.listExecutions(jobOperator, JOB_NAME, null, null, null, 0, 100).isEmpty());
+        verify(jobOperator, never()).getJobExecution(anyLong());
+    }
+
+    private static void assertIds(final List<JobExecution> executions, final long... expected) {
+        final List<Long> ids = new ArrayList<>(executions.size());
+        for (JobExecution execution : executions) {
+            ids.add(execution.getExecutionId());
+        }
+        final List<Long> expectedIds = new ArrayList<>(expected.length);
+        for (long id : expected) {
+            expectedIds.add(id);
+        }
+        assertEquals(expectedIds, ids);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.benchmarks.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.Unmarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.spi.DefaultExternalizer;
+
+/**
+ * Measures the throughput of a representative set of {@link DefaultExternalizer}s, writing to, and reading from, a JBoss Marshalling river stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ExternalizerBenchmark {
+
+    @Param({ "UUID", "INSTANT", "LOCAL_DATE_TIME", "DURATION", "LOCALE", "URI", "ATOMIC_LONG", "ARRAY_LIST", "HASH_MAP", "TREE_SET" })
+    public String externalizer;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+    private DefaultExternalizer target;
+    private Object subject;
+    private Marshaller marshaller;
+    private Unmarshaller unmarshaller;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.target = DefaultExternalizer.valueOf(this.externalizer);
+        this.subject = createSubject(this.target);
+        MarshallingContext context = MarshallingVersion.createMarshallingContext(ExternalizerBenchmark.class.getClassLoader());
+        int version = context.getCurrentVersion();
+        this.marshaller = context.createMarshaller(version);
+        this.unmarshaller = context.createUnmarshaller(version);
+        this.bytes = this.write();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s externalized size = %d bytes%n", this.target, this.bytes.length);
+        this.marshaller.close();
+        this.unmarshaller.close();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        this.output.reset();
+        this.marshaller.start(Marshalling.createByteOutput(this.output));
+        this.target.writeObject(this.marshaller, this.subject);
+        this.marshaller.finish();
+        return this.output.toByteArray();
+    }
+
+    @Benchmark
+    public Object read() throws IOException, ClassNotFoundException {
+        this.unmarshaller.start(Marshalling.createByteInput(new ByteArrayInputStream(this.bytes)));
+        Object result = this.target.readObject(this.unmarshaller);
+        this.unmarshaller.finish();
+        return result;
+    }
+
+    private static Object createSubject(DefaultExternalizer externalizer) {
+        switch (externalizer) {
+            case UUID: {
+                return UUID.randomUUID();
+            }
+            case INSTANT: {
+                return Instant.now();
+            }
+            case LOCAL_DATE_TIME: {
+                return LocalDateTime.now();
+            }
+            case DURATION: {
+                return Duration.ofSeconds(1800, 123456789);
+            }
+            case LOCALE: {
+                return Locale.US;
+            }
+            case URI: {
+                return URI.create("http://wildfly.org/news/");
+            }
+            case ATOMIC_LONG: {
+                return new AtomicLong(System.nanoTime());
+            }
+            case ARRAY_LIST: {
+                List<Object> list = new ArrayList<>(16);
+                for (int i = 0; i < 16; ++i) {
+                    list.add(Integer.valueOf(i));
+                }
+                return list;
+            }
+            case HASH_MAP: {
+                Map<Object, Object> map = new HashMap<>();
+                for (int i = 0; i < 16; ++i) {
+                    map.put(String.valueOf(i), Integer.valueOf(i));
+                }
+                return map;
+            }
+            case TREE_SET: {
+                TreeSet<Object> set = new TreeSet<>();
+                for (int i = 0; i < 16; ++i) {
+                    set.add(String.valueOf(i));
+                }
+                return set;
+            }
+            default: {
+                throw new IllegalArgumentException(externalizer.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.benchmarks.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.Unmarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.marshalling.jboss.HashableMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValue;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValueFactory;
+
+/**
+ * Measures the cost of marshalling and replicating {@link SimpleMarshalledValue}s and {@link org.wildfly.clustering.marshalling.jboss.HashableMarshalledValue}s,
+ * and reports the size of their serialized forms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MarshalledValueBenchmark {
+
+    public enum Factory implements Function<MarshallingContext, SimpleMarshalledValueFactory> {
+        SIMPLE() {
+            @Override
+            public SimpleMarshalledValueFactory apply(MarshallingContext context) {
+                return new SimpleMarshalledValueFactory(context);
+            }
+        },
+        HASHABLE() {
+            @Override
+            public SimpleMarshalledValueFactory apply(MarshallingContext context) {
+                return new HashableMarshalledValueFactory(context);
+            }
+        },
+    }
+
+    public enum Subject implements Supplier<Object> {
+        UUID() {
+            @Override
+            public Object get() {
+                return java.util.UUID.randomUUID();
+            }
+        },
+        STRING() {
+            @Override
+            public Object get() {
+                return "The quick brown fox jumps over the lazy dog";
+            }
+        },
+        MAP() {
+            @Override
+            public Object get() {
+                Map<String, Object> map = new HashMap<>();
+                for (int i = 0; i < 16; ++i) {
+                    map.put("attribute-" + i, Integer.valueOf(i));
+                }
+                return map;
+            }
+        },
+        SERIALIZABLE() {
+            @Override
+            public Object get() {
+                return new Person("Jane", "Doe", Instant.now(), java.util.UUID.randomUUID());
+            }
+        },
+    }
+
+    @Param
+    public Factory factory;
+
+    @Param
+    public Subject subject;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+    private MarshallingContext context;
+    private SimpleMarshalledValueFactory valueFactory;
+    private Object value;
+    private Marshaller marshaller;
+    private Unmarshaller unmarshaller;
+    private byte[] bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.context = MarshallingVersion.createMarshallingContext(MarshalledValueBenchmark.class.getClassLoader());
+        this.valueFactory = this.factory.apply(this.context);
+        this.value = this.subject.get();
+        int version = this.context.getCurrentVersion();
+        this.marshaller = this.context.createMarshaller(version);
+        this.unmarshaller = this.context.createUnmarshaller(version);
+        this.bytes = this.replicate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        int size = this.valueFactory.createMarshalledValue(this.value).getBuffer(false).remaining();
+        System.out.printf("%n%s %s marshalled size = %d bytes, replicated size = %d bytes%n", this.factory, this.subject, size, this.bytes.length);
+        this.marshaller.close();
+        this.unmarshaller.close();
+    }
+
+    /**
+     * Measures the marshalling of a value into its buffer, as performed when a cache entry is written.
+     */
+    @Benchmark
+    public Object marshal() throws IOException {
+        return this.valueFactory.createMarshalledValue(this.value).getBuffer(false);
+    }
+
+    /**
+     * Measures the externalization of a marshalled value, as performed when a cache entry is replicated.
+     */
+    @Benchmark
+    public byte[] replicate() throws IOException {
+        this.output.reset();
+        this.marshaller.start(Marshalling.createByteOutput(this.output));
+        this.marshaller.writeObject(this.valueFactory.createMarshalledValue(this.value));
+        this.marshaller.finish();
+        return this.output.toByteArray();
+    }
+
+    /**
+     * Measures the read and subsequent rehydration of a replicated marshalled value.
+     */
+    @Benchmark
+    public Object unmarshal() throws IOException, ClassNotFoundException {
+        this.unmarshaller.start(Marshalling.createByteInput(new ByteArrayInputStream(this.bytes)));
+        @SuppressWarnings("unchecked")
+        SimpleMarshalledValue<Object> value = (SimpleMarshalledValue<Object>) this.unmarshaller.readObject();
+        this.unmarshaller.finish();
+        return value.get(this.context);
+    }
+
+    static class Person implements Serializable {
+        private static final long serialVersionUID = 5766946524218960470L;
+
+        private final String firstName;
+        private final String lastName;
+        private final Instant birthDate;
+        private final UUID id;
+
+        Person(String firstName, String lastName, Instant birthDate, UUID id) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.birthDate = birthDate;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return (object instanceof Person) && this.id.equals(((Person) object).id);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s (%s)", this.firstName, this.lastName, this.birthDate);
+        }
+    }
+}
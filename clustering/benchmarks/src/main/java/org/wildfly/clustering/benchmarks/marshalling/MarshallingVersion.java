@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.benchmarks.marshalling;
+
+import java.io.Externalizable;
+import java.io.Serializable;
+import java.util.function.Function;
+
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.wildfly.clustering.marshalling.jboss.ExternalizerObjectTable;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleClassTable;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContextFactory;
+
+/**
+ * Marshalling configuration used by the benchmarks, equivalent to that of a distributable web deployment, sans module class resolution.
+ */
+public enum MarshallingVersion implements Function<ClassLoader, MarshallingConfiguration> {
+    VERSION_1() {
+        @Override
+        public MarshallingConfiguration apply(ClassLoader loader) {
+            MarshallingConfiguration config = new MarshallingConfiguration();
+            config.setClassTable(new SimpleClassTable(Serializable.class, Externalizable.class));
+            config.setObjectTable(new ExternalizerObjectTable(loader));
+            return config;
+        }
+    },
+    ;
+    public static final MarshallingVersion CURRENT = VERSION_1;
+
+    public static MarshallingContext createMarshallingContext(ClassLoader loader) {
+        return new SimpleMarshallingContextFactory().createMarshallingContext(new SimpleMarshallingConfigurationRepository(MarshallingVersion.class, CURRENT, loader), loader);
+    }
+}
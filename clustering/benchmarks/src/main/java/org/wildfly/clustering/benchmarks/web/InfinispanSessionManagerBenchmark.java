@@ -0,0 +1,470 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.benchmarks.web;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.infinispan.Cache;
+import org.infinispan.affinity.KeyAffinityService;
+import org.infinispan.affinity.KeyGenerator;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.transaction.LockingMode;
+import org.infinispan.transaction.TransactionMode;
+import org.infinispan.transaction.lookup.EmbeddedTransactionManagerLookup;
+import org.infinispan.util.concurrent.IsolationLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.benchmarks.marshalling.MarshallingVersion;
+import org.wildfly.clustering.ee.Batch;
+import org.wildfly.clustering.ee.Batcher;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Recordable;
+import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ee.immutable.CompositeImmutability;
+import org.wildfly.clustering.ee.immutable.DefaultImmutability;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+import org.wildfly.clustering.server.dispatcher.LocalCommandDispatcherFactory;
+import org.wildfly.clustering.server.group.LocalGroup;
+import org.wildfly.clustering.spi.NodeFactory;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
+import org.wildfly.clustering.web.IdentifierFactory;
+import org.wildfly.clustering.web.LocalContextFactory;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerFactory;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.session.ImmutableSession;
+import org.wildfly.clustering.web.session.Session;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
+import org.wildfly.clustering.web.session.SessionExpirationListener;
+import org.wildfly.clustering.web.session.SessionManager;
+import org.wildfly.clustering.web.session.SessionManagerConfiguration;
+import org.wildfly.clustering.web.session.SessionManagerFactory;
+import org.wildfly.clustering.web.session.SpecificationProvider;
+
+/**
+ * Measures the request lifecycle (i.e. find/create, access, close) of sessions managed by an {@link org.wildfly.clustering.web.infinispan.session.InfinispanSessionManager}
+ * backed by a local, transactional Infinispan cache, configured like the default distributable web cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InfinispanSessionManagerBenchmark {
+
+    private static final String CONTAINER_NAME = "web";
+    private static final String CACHE_NAME = "benchmark.war";
+    private static final String ATTRIBUTE_PREFIX = "attribute-";
+
+    @Param({ "COARSE", "COARSE_DELTA", "FINE" })
+    public SessionAttributePersistenceStrategy strategy;
+
+    @Param("1000")
+    public int sessions;
+
+    @Param("8")
+    public int attributes;
+
+    private EmbeddedCacheManager container;
+    private LocalGroup group;
+    private SessionManagerFactory<String, Void, TransactionBatch> factory;
+    private SessionManager<Void, TransactionBatch> manager;
+    private String[] ids;
+    private final List<String> created = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.container = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault().globalJmxStatistics().cacheManagerName(CONTAINER_NAME).build());
+        this.container.defineConfiguration(CACHE_NAME, new ConfigurationBuilder()
+                .transaction().transactionMode(TransactionMode.TRANSACTIONAL).lockingMode(LockingMode.PESSIMISTIC).transactionManagerLookup(new EmbeddedTransactionManagerLookup())
+                .locking().isolationLevel(IsolationLevel.REPEATABLE_READ)
+                .build());
+        this.group = new LocalGroup("benchmark");
+        MarshallingContext context = MarshallingVersion.createMarshallingContext(InfinispanSessionManagerBenchmark.class.getClassLoader());
+        this.factory = new InfinispanSessionManagerFactory<>(new BenchmarkSessionManagerFactoryConfiguration(this.container.getCache(CACHE_NAME), this.group, context, this.strategy));
+        this.manager = this.factory.createSessionManager(new SessionManagerConfiguration<String>() {
+            @Override
+            public String getServletContext() {
+                return CACHE_NAME;
+            }
+
+            @Override
+            public IdentifierFactory<String> getIdentifierFactory() {
+                return new UUIDIdentifierFactory();
+            }
+
+            @Override
+            public SessionExpirationListener getExpirationListener() {
+                return session -> {};
+            }
+
+            @Override
+            public Recordable<ImmutableSession> getInactiveSessionRecorder() {
+                return null;
+            }
+        });
+        this.manager.setDefaultMaxInactiveInterval(Duration.ofMinutes(30));
+        this.manager.start();
+
+        this.ids = new String[this.sessions];
+        for (int i = 0; i < this.sessions; ++i) {
+            String id = this.manager.createIdentifier();
+            try (Batch batch = this.manager.getBatcher().createBatch()) {
+                try (Session<Void> session = this.manager.createSession(id)) {
+                    for (int j = 0; j < this.attributes; ++j) {
+                        session.getAttributes().setAttribute(ATTRIBUTE_PREFIX + j, UUID.randomUUID());
+                    }
+                }
+            }
+            this.ids[i] = id;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void invalidateCreated() {
+        List<String> created;
+        synchronized (this.created) {
+            created = new ArrayList<>(this.created);
+            this.created.clear();
+        }
+        Batcher<TransactionBatch> batcher = this.manager.getBatcher();
+        for (String id : created) {
+            try (Batch batch = batcher.createBatch()) {
+                try (Session<Void> session = this.manager.findSession(id)) {
+                    if (session != null) {
+                        session.invalidate();
+                    }
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.manager.stop();
+        this.factory.close();
+        this.group.close();
+        this.container.stop();
+    }
+
+    /**
+     * Measures a request that reads a single attribute of an existing session.
+     */
+    @Benchmark
+    public Object find() {
+        try (Batch batch = this.manager.getBatcher().createBatch()) {
+            try (Session<Void> session = this.manager.findSession(this.randomId())) {
+                session.getMetaData().setLastAccessedTime(Instant.now());
+                return session.getAttributes().getAttribute(ATTRIBUTE_PREFIX + 0);
+            }
+        }
+    }
+
+    /**
+     * Measures a request that replaces a single attribute of an existing session.
+     */
+    @Benchmark
+    public Object mutate() {
+        try (Batch batch = this.manager.getBatcher().createBatch()) {
+            try (Session<Void> session = this.manager.findSession(this.randomId())) {
+                session.getMetaData().setLastAccessedTime(Instant.now());
+                return session.getAttributes().setAttribute(ATTRIBUTE_PREFIX + ThreadLocalRandom.current().nextInt(this.attributes), UUID.randomUUID());
+            }
+        }
+    }
+
+    /**
+     * Measures a request that creates a new session with a single attribute.
+     * Created sessions are invalidated at the end of each iteration.
+     */
+    @Benchmark
+    public String create() {
+        String id = this.manager.createIdentifier();
+        try (Batch batch = this.manager.getBatcher().createBatch()) {
+            try (Session<Void> session = this.manager.createSession(id)) {
+                session.getAttributes().setAttribute(ATTRIBUTE_PREFIX + 0, UUID.randomUUID());
+            }
+        }
+        synchronized (this.created) {
+            this.created.add(id);
+        }
+        return id;
+    }
+
+    private String randomId() {
+        return this.ids[ThreadLocalRandom.current().nextInt(this.ids.length)];
+    }
+
+    private static class UUIDIdentifierFactory implements IdentifierFactory<String> {
+        @Override
+        public String createIdentifier() {
+            return UUID.randomUUID().toString();
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+
+    private static class BenchmarkSessionManagerFactoryConfiguration implements InfinispanSessionManagerFactoryConfiguration<ImmutableSession, String, ActivationListener, BindingListener, MarshallingContext, Void> {
+        private final Cache<?, ?> cache;
+        private final LocalGroup group;
+        private final MarshallingContext context;
+        private final SessionAttributePersistenceStrategy strategy;
+        private final Immutability immutability = new CompositeImmutability(EnumSet.allOf(DefaultImmutability.class));
+
+        BenchmarkSessionManagerFactoryConfiguration(Cache<?, ?> cache, LocalGroup group, MarshallingContext context, SessionAttributePersistenceStrategy strategy) {
+            this.cache = cache;
+            this.group = group;
+            this.context = context;
+            this.strategy = strategy;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <K, V> Cache<K, V> getCache() {
+            return (Cache<K, V>) this.cache;
+        }
+
+        @Override
+        public String getContainerName() {
+            return CONTAINER_NAME;
+        }
+
+        @Override
+        public String getCacheName() {
+            return this.cache.getName();
+        }
+
+        @Override
+        public SessionAttributePersistenceStrategy getAttributePersistenceStrategy() {
+            return this.strategy;
+        }
+
+        @Override
+        public String getServerName() {
+            return "default-server";
+        }
+
+        @Override
+        public String getDeploymentName() {
+            return CACHE_NAME;
+        }
+
+        @Override
+        public Integer getMaxActiveSessions() {
+            return null;
+        }
+
+        @Override
+        public MarshalledValueFactory<MarshallingContext> getMarshalledValueFactory() {
+            return new SimpleMarshalledValueFactory(this.context);
+        }
+
+        @Override
+        public MarshallingContext getMarshallingContext() {
+            return this.context;
+        }
+
+        @Override
+        public LocalContextFactory<Void> getLocalContextFactory() {
+            return () -> null;
+        }
+
+        @Override
+        public Immutability getImmutability() {
+            return this.immutability;
+        }
+
+        @Override
+        public SpecificationProvider<ImmutableSession, String, ActivationListener, BindingListener> getSpecificationProvider() {
+            return BenchmarkSpecificationProvider.INSTANCE;
+        }
+
+        @Override
+        public KeyAffinityServiceFactory getKeyAffinityServiceFactory() {
+            return new KeyAffinityServiceFactory() {
+                @Override
+                public <K> KeyAffinityService<K> createService(Cache<K, ?> cache, KeyGenerator<K> generator) {
+                    return new SimpleKeyAffinityService<>(generator);
+                }
+            };
+        }
+
+        @Override
+        public CommandDispatcherFactory getCommandDispatcherFactory() {
+            return new LocalCommandDispatcherFactory(this.group);
+        }
+
+        @Override
+        public NodeFactory<Address> getMemberFactory() {
+            Node member = this.group.getLocalMember();
+            return new NodeFactory<Address>() {
+                @Override
+                public Node createNode(Address address) {
+                    return member;
+                }
+
+                @Override
+                public Address getAddress(Node node) {
+                    return null;
+                }
+            };
+        }
+    }
+
+    private static class SimpleKeyAffinityService<K> implements KeyAffinityService<K> {
+        private final KeyGenerator<K> generator;
+        private volatile boolean started = false;
+
+        SimpleKeyAffinityService(KeyGenerator<K> generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void start() {
+            this.started = true;
+        }
+
+        @Override
+        public void stop() {
+            this.started = false;
+        }
+
+        @Override
+        public K getKeyForAddress(Address address) {
+            return this.generator.getKey();
+        }
+
+        @Override
+        public K getCollocatedKey(K otherKey) {
+            return this.generator.getKey();
+        }
+
+        @Override
+        public boolean isStarted() {
+            return this.started;
+        }
+    }
+
+    interface ActivationListener {
+        void prePassivate(ImmutableSession session);
+        void postActivate(ImmutableSession session);
+    }
+
+    interface BindingListener {
+        void valueBound(ImmutableSession session, String name);
+        void valueUnbound(ImmutableSession session, String name);
+    }
+
+    /**
+     * Servlet-agnostic specification provider, whose "HttpSession" is the immutable session itself.
+     */
+    private enum BenchmarkSpecificationProvider implements SpecificationProvider<ImmutableSession, String, ActivationListener, BindingListener> {
+        INSTANCE;
+
+        @Override
+        public ImmutableSession createHttpSession(ImmutableSession session, String context) {
+            return session;
+        }
+
+        @Override
+        public Class<ActivationListener> getHttpSessionActivationListenerClass() {
+            return ActivationListener.class;
+        }
+
+        @Override
+        public Consumer<ImmutableSession> prePassivateNotifier(ActivationListener listener) {
+            return listener::prePassivate;
+        }
+
+        @Override
+        public Consumer<ImmutableSession> postActivateNotifier(ActivationListener listener) {
+            return listener::postActivate;
+        }
+
+        @Override
+        public ActivationListener createListener(Consumer<ImmutableSession> prePassivate, Consumer<ImmutableSession> postActivate) {
+            return new ActivationListener() {
+                @Override
+                public void prePassivate(ImmutableSession session) {
+                    prePassivate.accept(session);
+                }
+
+                @Override
+                public void postActivate(ImmutableSession session) {
+                    postActivate.accept(session);
+                }
+            };
+        }
+
+        @Override
+        public Class<BindingListener> getHttpSessionBindingListenerClass() {
+            return BindingListener.class;
+        }
+
+        @Override
+        public BiConsumer<ImmutableSession, String> valueBoundNotifier(BindingListener listener) {
+            return listener::valueBound;
+        }
+
+        @Override
+        public BiConsumer<ImmutableSession, String> valueUnboundNotifier(BindingListener listener) {
+            return listener::valueUnbound;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link ScheduledEntries} that groups entries into buckets of a fixed time resolution (by default, 1 second), ordered by time.
+ * Entries within the same bucket are not ordered relative to each other.
+ * Since the number of buckets is bounded by the range of scheduled times, rather than by the number of entries,
+ * both {@link #add(Object, Instant)} and {@link #remove(Object)} run in O(log B) time, where B is the number of buckets.
+ * Consequently, a scheduler using these entries may act upon an entry up to one resolution unit later than its scheduled time.
+ */
+public class BucketedScheduledEntries<K> implements ScheduledEntries<K, Instant> {
+
+    private final ConcurrentNavigableMap<Long, Map<K, Instant>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<K, Instant> entries = new ConcurrentHashMap<>();
+    private final long resolution;
+
+    /**
+     * Creates new entries using buckets of 1 second.
+     */
+    public BucketedScheduledEntries() {
+        this(Duration.ofSeconds(1));
+    }
+
+    /**
+     * Creates new entries using buckets of the specified resolution.
+     * @param resolution the time span of each bucket
+     */
+    public BucketedScheduledEntries(Duration resolution) {
+        this.resolution = Math.max(resolution.toMillis(), 1L);
+    }
+
+    @Override
+    public boolean isSorted() {
+        return true;
+    }
+
+    @Override
+    public void add(K key, Instant value) {
+        Instant oldValue = this.entries.put(key, value);
+        if (oldValue != null) {
+            this.removeFromBucket(key, oldValue);
+        }
+        this.addToBucket(key, value);
+    }
+
+    @Override
+    public void remove(K key) {
+        Instant value = this.entries.remove(key);
+        if (value != null) {
+            this.removeFromBucket(key, value);
+        }
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, Instant>> iterator() {
+        Iterator<Map.Entry<Long, Map<K, Instant>>> buckets = this.buckets.entrySet().iterator();
+        return new Iterator<Map.Entry<K, Instant>>() {
+            private Iterator<Map.Entry<K, Instant>> entries = Collections.emptyIterator();
+            private Map.Entry<Long, Map<K, Instant>> bucket = null;
+            private Map.Entry<K, Instant> current = null;
+
+            @Override
+            public boolean hasNext() {
+                while (!this.entries.hasNext()) {
+                    if (!buckets.hasNext()) return false;
+                    this.bucket = buckets.next();
+                    this.entries = this.bucket.getValue().entrySet().iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public Map.Entry<K, Instant> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<K, Instant> entry = this.entries.next();
+                this.current = new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+                return this.current;
+            }
+
+            @Override
+            public void remove() {
+                if (this.current == null) {
+                    throw new IllegalStateException();
+                }
+                K key = this.current.getKey();
+                Instant value = this.current.getValue();
+                BucketedScheduledEntries.this.entries.remove(key, value);
+                Map<K, Instant> bucket = this.bucket.getValue();
+                bucket.remove(key, value);
+                BucketedScheduledEntries.this.prune(this.bucket.getKey(), bucket);
+                this.current = null;
+            }
+        };
+    }
+
+    private static <K> Map<K, Instant> createBucket(Long index) {
+        return new ConcurrentHashMap<>();
+    }
+
+    private long index(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), this.resolution);
+    }
+
+    private void addToBucket(K key, Instant value) {
+        Long index = this.index(value);
+        Map<K, Instant> bucket = this.buckets.computeIfAbsent(index, BucketedScheduledEntries::createBucket);
+        bucket.put(key, value);
+        // Retry if the bucket was concurrently pruned
+        while (this.buckets.get(index) != bucket) {
+            bucket = this.buckets.computeIfAbsent(index, BucketedScheduledEntries::createBucket);
+            bucket.put(key, value);
+        }
+    }
+
+    private void removeFromBucket(K key, Instant value) {
+        Long index = this.index(value);
+        Map<K, Instant> bucket = this.buckets.get(index);
+        if ((bucket != null) && bucket.remove(key, value)) {
+            this.prune(index, bucket);
+        }
+    }
+
+    private void prune(Long index, Map<K, Instant> bucket) {
+        if (bucket.isEmpty() && this.buckets.remove(index, bucket)) {
+            // Restore any entries added to this bucket after our emptiness check
+            for (Map.Entry<K, Instant> entry : bucket.entrySet()) {
+                if (entry.getValue().equals(this.entries.get(entry.getKey()))) {
+                    this.addToBucket(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+}
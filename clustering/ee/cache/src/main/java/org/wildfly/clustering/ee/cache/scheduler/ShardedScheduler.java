@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Scheduler that partitions scheduled objects, by the hash of their identifier, across a number of {@link LocalScheduler} shards,
+ * each with its own {@link ScheduledEntries} and worker thread.
+ * This bounds the size of each set of entries, and allows tasks for different shards to run concurrently.
+ */
+public class ShardedScheduler<T> implements Scheduler<T, Instant>, Iterable<T> {
+
+    /**
+     * System property specifying the number of shards used by expiration schedulers.
+     * A value greater than 1 enables sharding, in which case shards use bucketed, rather than sorted, entries.
+     */
+    public static final String SHARDS = "jboss.clustering.expiration.shards";
+
+    private static final int DEFAULT_SHARDS = Math.max(Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(SHARDS, "1")), 1);
+
+    private final LocalScheduler<T>[] shards;
+
+    /**
+     * Creates a scheduler with the number of shards specified via the {@value #SHARDS} system property.
+     * If sharded, shards use {@link BucketedScheduledEntries} in place of sorted entries.
+     * @param entries a factory for the entries of each shard
+     * @param task the task to run for each scheduled object
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    public ShardedScheduler(Supplier<ScheduledEntries<T, Instant>> entries, Predicate<T> task, Duration closeTimeout) {
+        this(DEFAULT_SHARDS, (DEFAULT_SHARDS > 1) ? bucketed(entries) : entries, task, closeTimeout);
+    }
+
+    /**
+     * Creates a scheduler with the specified number of shards.
+     * @param shards the number of shards
+     * @param entries a factory for the entries of each shard
+     * @param task the task to run for each scheduled object
+     * @param closeTimeout the duration to wait for running tasks on close
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedScheduler(int shards, Supplier<ScheduledEntries<T, Instant>> entries, Predicate<T> task, Duration closeTimeout) {
+        this.shards = new LocalScheduler[Math.max(shards, 1)];
+        for (int i = 0; i < this.shards.length; ++i) {
+            this.shards[i] = new LocalScheduler<>(entries.get(), task, closeTimeout);
+        }
+    }
+
+    @Override
+    public void schedule(T id, Instant instant) {
+        this.shard(id).schedule(id, instant);
+    }
+
+    @Override
+    public void cancel(T id) {
+        this.shard(id).cancel(id);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        LocalScheduler<T>[] shards = this.shards;
+        return new Iterator<T>() {
+            private int index = 0;
+            private Iterator<T> ids = Collections.emptyIterator();
+            private Iterator<T> current = null;
+
+            @Override
+            public boolean hasNext() {
+                while (!this.ids.hasNext()) {
+                    if (this.index == shards.length) return false;
+                    this.ids = shards[this.index++].iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                this.current = this.ids;
+                return this.ids.next();
+            }
+
+            @Override
+            public void remove() {
+                if (this.current == null) {
+                    throw new IllegalStateException();
+                }
+                this.current.remove();
+                this.current = null;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        for (LocalScheduler<T> shard : this.shards) {
+            shard.close();
+        }
+    }
+
+    private static <T> Supplier<ScheduledEntries<T, Instant>> bucketed(Supplier<ScheduledEntries<T, Instant>> factory) {
+        return () -> {
+            ScheduledEntries<T, Instant> entries = factory.get();
+            return entries.isSorted() ? new BucketedScheduledEntries<>() : entries;
+        };
+    }
+
+    private LocalScheduler<T> shard(T id) {
+        if (this.shards.length == 1) return this.shards[0];
+        int hash = id.hashCode();
+        // Spread the high bits, since identifiers with poor hash codes would otherwise collide in few shards
+        hash ^= (hash >>> 16);
+        return this.shards[Math.floorMod(hash, this.shards.length)];
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BucketedScheduledEntries}
+ */
+public class BucketedScheduledEntriesTestCase extends AbstractScheduledEntriesTestCase {
+
+    public BucketedScheduledEntriesTestCase() {
+        // Entries scheduled 1 second apart always fall into distinct buckets
+        super(new BucketedScheduledEntries<>(), list -> {
+            List<Map.Entry<UUID, Instant>> result = new LinkedList<>(list);
+            Collections.sort(result, Map.Entry.comparingByValue());
+            return result;
+        });
+    }
+
+    @Test
+    public void reschedule() {
+        ScheduledEntries<UUID, Instant> entries = new BucketedScheduledEntries<>(Duration.ofSeconds(1));
+        Instant now = Instant.now();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        entries.add(first, now);
+        entries.add(second, now.plus(Duration.ofMinutes(1)));
+        Assert.assertSame(first, entries.peek().getKey());
+
+        // Rescheduling an entry moves it to another bucket
+        entries.add(first, now.plus(Duration.ofMinutes(2)));
+        Iterator<Map.Entry<UUID, Instant>> iterator = entries.iterator();
+        Assert.assertSame(second, iterator.next().getKey());
+        Assert.assertSame(first, iterator.next().getKey());
+        Assert.assertFalse(iterator.hasNext());
+
+        // Verify removal via iterator
+        iterator = entries.iterator();
+        iterator.next();
+        iterator.remove();
+        Assert.assertSame(first, entries.peek().getKey());
+
+        entries.remove(first);
+        Assert.assertNull(entries.peek());
+    }
+}
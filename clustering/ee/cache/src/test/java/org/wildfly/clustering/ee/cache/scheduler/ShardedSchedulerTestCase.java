@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ShardedScheduler}.
+ */
+public class ShardedSchedulerTestCase {
+
+    @Test
+    public void test() throws InterruptedException {
+        Set<Integer> expired = ConcurrentHashMap.newKeySet();
+        Predicate<Integer> task = expired::add;
+
+        try (ShardedScheduler<Integer> scheduler = new ShardedScheduler<>(4, BucketedScheduledEntries::new, task, Duration.ZERO)) {
+            Instant now = Instant.now();
+            Instant later = now.plus(Duration.ofMinutes(1));
+            for (int i = 0; i < 100; ++i) {
+                scheduler.schedule(i, (i % 2 == 0) ? now : later);
+            }
+            // Cancelled entries must not expire
+            scheduler.cancel(1);
+            scheduler.cancel(3);
+
+            Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < 100; i += 2) {
+                expected.add(i);
+            }
+            Set<Integer> remaining = new HashSet<>();
+            // An expired entry is removed from its shard after its task completes
+            for (int attempt = 0; attempt < 50; ++attempt) {
+                Thread.sleep(100);
+                remaining.clear();
+                for (Integer id : scheduler) {
+                    remaining.add(id);
+                }
+                if (expired.equals(expected) && (remaining.size() == 48)) break;
+            }
+            Assert.assertEquals(expected, expired);
+
+            // Remaining entries are those not yet expired
+            Assert.assertEquals(48, remaining.size());
+            for (Integer id : remaining) {
+                Assert.assertTrue(id % 2 == 1);
+            }
+            Assert.assertFalse(remaining.contains(1));
+            Assert.assertFalse(remaining.contains(3));
+        }
+    }
+}
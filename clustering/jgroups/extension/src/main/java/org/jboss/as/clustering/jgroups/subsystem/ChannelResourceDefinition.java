@@ -61,6 +61,7 @@ import org.jgroups.JChannel;
 import org.wildfly.clustering.jgroups.spi.JGroupsRequirement;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.spi.ClusteringRequirement;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 
 /**
  * Definition for /subsystem=jgroups/channel=* resources
@@ -286,11 +287,13 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
                 .setAddOperationTransformation(new AddOperationTransformation())
                 .addRuntimeResourceRegistration(new ChannelRuntimeResourceRegistration(executors))
                 ;
-        ResourceServiceHandler handler = new ChannelServiceHandler(executors);
+        ServiceValueExecutorRegistry<CommandDispatcherFactory> dispatcherFactoryExecutors = new ServiceValueExecutorRegistry<>();
+        ResourceServiceHandler handler = new ChannelServiceHandler(executors, dispatcherFactoryExecutors);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
         if (registration.isRuntimeOnlyRegistrationValid()) {
             new MetricHandler<>(new ChannelMetricExecutor(executors), ChannelMetric.class).register(registration);
+            new MetricHandler<>(new CommandDispatcherMetricExecutor(dispatcherFactoryExecutors), CommandDispatcherMetric.class).register(registration);
         }
 
         new ForkResourceDefinition(executors).register(registration);
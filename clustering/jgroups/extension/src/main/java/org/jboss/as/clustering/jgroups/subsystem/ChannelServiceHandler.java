@@ -36,6 +36,7 @@ import java.util.ServiceLoader;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
 import org.jboss.as.clustering.controller.ModuleServiceConfigurator;
+import org.jboss.as.clustering.controller.ServiceValueCaptor;
 import org.jboss.as.clustering.controller.ServiceValueCaptorServiceConfigurator;
 import org.jboss.as.clustering.controller.ResourceServiceHandler;
 import org.jboss.as.clustering.controller.ServiceValueRegistry;
@@ -47,6 +48,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.jgroups.JChannel;
 import org.wildfly.clustering.jgroups.spi.JGroupsRequirement;
@@ -57,6 +59,7 @@ import org.wildfly.clustering.spi.CapabilityServiceNameRegistry;
 import org.wildfly.clustering.spi.ClusteringRequirement;
 import org.wildfly.clustering.spi.DistributedGroupServiceConfiguratorProvider;
 import org.wildfly.clustering.spi.GroupServiceConfiguratorProvider;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 
 /**
  * @author Paul Ferraro
@@ -64,9 +67,11 @@ import org.wildfly.clustering.spi.GroupServiceConfiguratorProvider;
 public class ChannelServiceHandler implements ResourceServiceHandler {
 
     private final ServiceValueRegistry<JChannel> registry;
+    private final ServiceValueRegistry<CommandDispatcherFactory> dispatcherFactoryRegistry;
 
-    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry) {
+    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry, ServiceValueRegistry<CommandDispatcherFactory> dispatcherFactoryRegistry) {
         this.registry = registry;
+        this.dispatcherFactoryRegistry = dispatcherFactoryRegistry;
     }
 
     @Override
@@ -91,11 +96,16 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
 
         // Install group services for channel
         ServiceNameRegistry<ClusteringRequirement> registry = new CapabilityServiceNameRegistry<>(CLUSTERING_CAPABILITIES, address);
+        ServiceName dispatcherFactoryServiceName = registry.getServiceName(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY);
 
         for (GroupServiceConfiguratorProvider provider : ServiceLoader.load(DistributedGroupServiceConfiguratorProvider.class, DistributedGroupServiceConfiguratorProvider.class.getClassLoader())) {
             for (CapabilityServiceConfigurator configurator : provider.getServiceConfigurators(registry, name)) {
                 JGroupsLogger.ROOT_LOGGER.debugf("Installing %s for channel %s", configurator.getServiceName(), name);
                 configurator.configure(context).build(target).install();
+                // Capture the command dispatcher factory for its metrics
+                if (configurator.getServiceName().equals(dispatcherFactoryServiceName)) {
+                    new ServiceValueCaptorServiceConfigurator<>(this.dispatcherFactoryRegistry.add(dispatcherFactoryServiceName)).build(target).install();
+                }
             }
         }
     }
@@ -122,5 +132,10 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
         }
 
         context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.registry.remove(JCHANNEL.getServiceName(address))).getServiceName());
+
+        ServiceValueCaptor<CommandDispatcherFactory> dispatcherFactoryCaptor = this.dispatcherFactoryRegistry.remove(registry.getServiceName(ClusteringRequirement.COMMAND_DISPATCHER_FACTORY));
+        if (dispatcherFactoryCaptor != null) {
+            context.removeService(new ServiceValueCaptorServiceConfigurator<>(dispatcherFactoryCaptor).getServiceName());
+        }
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
+
+/**
+ * Enumerates management metrics for the command dispatchers of a channel.
+ */
+public enum CommandDispatcherMetric implements Metric<CommandDispatcherStatistics> {
+
+    AVERAGE_BATCH_SIZE("dispatcher-average-batch-size", ModelType.DOUBLE, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getAverageBatchSize());
+        }
+    },
+    AVERAGE_ROUND_TRIP_TIME("dispatcher-average-round-trip-time", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getAverageRoundTripTime().toMillis());
+        }
+    },
+    COMMANDS_SENT("dispatcher-commands-sent", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getCommandsSent());
+        }
+    },
+    MAX_BATCH_SIZE("dispatcher-max-batch-size", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getMaxBatchSize());
+        }
+    },
+    MAX_ROUND_TRIP_TIME("dispatcher-max-round-trip-time", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getMaxRoundTripTime().toMillis());
+        }
+    },
+    REQUESTS_SENT("dispatcher-requests-sent", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getRequestsSent());
+        }
+    },
+    TIMEOUTS("dispatcher-timeouts", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(CommandDispatcherStatistics statistics) {
+            return new ModelNode(statistics.getTimeouts());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    CommandDispatcherMetric(String name, ModelType type, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
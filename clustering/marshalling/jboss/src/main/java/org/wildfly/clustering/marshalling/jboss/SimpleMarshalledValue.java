@@ -33,8 +33,8 @@ import org.jboss.marshalling.Marshalling;
 import org.jboss.marshalling.SimpleDataInput;
 import org.jboss.marshalling.SimpleDataOutput;
 import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.marshalling.spi.IndexSerializer;
-import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -42,7 +42,7 @@ import org.wildfly.security.manager.WildFlySecurityManager;
  * This implementation does not preserve the hash code of its object in serialized form.
  * @author Paul Ferraro
  */
-public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingContext> {
+public class SimpleMarshalledValue<T> implements ByteBufferMarshalledValue<T, MarshallingContext> {
     private static final long serialVersionUID = -8852566958387608376L;
 
     private transient volatile MarshallingContext context;
@@ -83,6 +83,15 @@ public class SimpleMarshalledValue<T> implements MarshalledValue<T, MarshallingC
         }
     }
 
+    @Override
+    public synchronized ByteBuffer getBuffer(boolean retain) throws IOException {
+        ByteBuffer buffer = this.getBuffer();
+        if (retain) {
+            this.buffer = buffer;
+        }
+        return buffer;
+    }
+
     /**
      * {@inheritDoc}
      * @see org.wildfly.clustering.marshalling.spi.MarshalledValue#get(java.lang.Object)
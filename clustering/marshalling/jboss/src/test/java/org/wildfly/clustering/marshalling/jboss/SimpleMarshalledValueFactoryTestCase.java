@@ -28,6 +28,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.jboss.marshalling.Marshalling;
@@ -94,6 +97,32 @@ public class SimpleMarshalledValueFactoryTestCase {
         assertNull(mv.get(this.context));
     }
 
+    @Test
+    public void getBuffer() throws Exception {
+        List<String> list = new ArrayList<>();
+        list.add("foo");
+        SimpleMarshalledValue<List<String>> mv = this.factory.createMarshalledValue(list);
+
+        ByteBuffer buffer = mv.getBuffer(false);
+        assertNotNull(buffer);
+        list.add("bar");
+        // Marshalled form was not retained, so should reflect the current state of the object
+        assertNotEquals(buffer, mv.getBuffer(false));
+        assertEquals(list, replicate(mv).get(this.context));
+
+        buffer = mv.getBuffer(true);
+        list.add("baz");
+        // Marshalled form was retained, so should be reused
+        assertSame(buffer, mv.getBuffer(false));
+        assertSame(list, mv.get(this.context));
+        List<String> copy = replicate(mv).get(this.context);
+        assertEquals(2, copy.size());
+        assertFalse(copy.contains("baz"));
+
+        mv = this.factory.createMarshalledValue(null);
+        assertNull(mv.getBuffer(true));
+    }
+
     /**
      * Test method for {@link org.jboss.ha.framework.server.SimpleMarshalledValue#equals(java.lang.Object)}.
      */
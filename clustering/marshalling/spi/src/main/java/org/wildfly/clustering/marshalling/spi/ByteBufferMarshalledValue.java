@@ -0,0 +1,43 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.marshalling.spi;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A marshalled value whose marshalled form is accessible as a byte buffer.
+ * @param <T> the type of the marshalled object
+ * @param <C> the marshalling context type
+ */
+public interface ByteBufferMarshalledValue<T, C> extends MarshalledValue<T, C> {
+
+    /**
+     * Returns the marshalled form of this value, marshalling its object if necessary.
+     * A retained marshalled form is reused whenever this value is subsequently serialized,
+     * thus any subsequent changes to the state of the object will not be reflected in its serialized form.
+     * @param retain indicates whether a newly computed marshalled form should be retained by this value
+     * @return the marshalled form of this value, or null if this value represents a null object
+     * @throws IOException if the object of this value could not be marshalled
+     */
+    ByteBuffer getBuffer(boolean retain) throws IOException;
+}
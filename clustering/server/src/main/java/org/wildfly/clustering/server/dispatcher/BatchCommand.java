@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * A command that executes a batch of commands, destined for the same member, using a single request.
+ * The result of each command is returned at the corresponding position of the result array.
+ * A command that fails yields a {@link Failure} at its position, without affecting the remaining commands.
+ * @param <C> command execution context
+ */
+public class BatchCommand<C> implements Command<Object[], C> {
+    private static final long serialVersionUID = 3906823476587153734L;
+
+    private final Command<?, ? super C>[] commands;
+
+    @SuppressWarnings("unchecked")
+    public BatchCommand(List<Command<?, ? super C>> commands) {
+        this.commands = commands.toArray(new Command[commands.size()]);
+    }
+
+    @Override
+    public Object[] execute(C context) {
+        Object[] results = new Object[this.commands.length];
+        for (int i = 0; i < this.commands.length; ++i) {
+            try {
+                results[i] = this.commands[i].execute(context);
+            } catch (Exception e) {
+                results[i] = new Failure(e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The result of a batched command that completed exceptionally.
+     */
+    public static class Failure implements Serializable {
+        private static final long serialVersionUID = -5478926735491524309L;
+
+        private final Exception exception;
+
+        Failure(Exception exception) {
+            this.exception = exception;
+        }
+
+        public Exception getException() {
+            return this.exception;
+        }
+    }
+}
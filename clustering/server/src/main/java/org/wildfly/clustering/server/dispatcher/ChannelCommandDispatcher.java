@@ -26,12 +26,20 @@ import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 
 import org.jgroups.Address;
@@ -49,6 +57,8 @@ import org.wildfly.clustering.spi.group.Group;
 
 /**
  * MessageDispatcher-based command dispatcher.
+ * If configured with a non-zero batch window, commands targeting the same remote member within that window are sent as a single {@link BatchCommand},
+ * whose response completes each of the batched commands.
  * @author Paul Ferraro
  *
  * @param <CC> command execution context
@@ -76,8 +86,23 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     private final Runnable closeTask;
     private final Address localAddress;
     private final RequestOptions options;
+    private final ScheduledExecutorService batchExecutor;
+    private final Duration batchWindow;
+    private final Map<Address, Batch<CC>> batches = new ConcurrentHashMap<>();
+
+    private final ChannelCommandDispatcherStatistics statistics;
 
     public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
+        this(dispatcher, marshaller, context, group, timeout, localDispatcher, closeTask, null, Duration.ZERO, new ChannelCommandDispatcherStatistics());
+    }
+
+    /**
+     * Creates a command dispatcher that batches commands to the same member sent within the specified window.
+     * @param batchExecutor schedules the sending of batches, or null, if batching is disabled
+     * @param batchWindow the duration for which commands to a given member are collected before being sent as a single request
+     * @param statistics collects the statistics of the requests sent by this dispatcher
+     */
+    public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandDispatcher<CC> localDispatcher, Runnable closeTask, ScheduledExecutorService batchExecutor, Duration batchWindow, ChannelCommandDispatcherStatistics statistics) {
         this.dispatcher = dispatcher;
         this.marshaller = marshaller;
         this.context = context;
@@ -87,6 +112,9 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         this.closeTask = closeTask;
         this.localAddress = dispatcher.getChannel().getAddress();
         this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
+        this.batchExecutor = (batchExecutor != null) && !batchWindow.isZero() && !batchWindow.isNegative() ? batchExecutor : null;
+        this.batchWindow = batchWindow;
+        this.statistics = statistics;
     }
 
     @Override
@@ -96,6 +124,10 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
 
     @Override
     public void close() {
+        // Send any pending batches
+        for (Address address : this.batches.keySet()) {
+            this.flush(address);
+        }
         this.closeTask.run();
     }
 
@@ -106,9 +138,10 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         if (this.localAddress.equals(address)) {
             return this.localDispatcher.executeOnMember(command, member);
         }
-        Buffer buffer = this.createBuffer(command);
-        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-        return request.send(buffer);
+        if (this.batchExecutor != null) {
+            return this.enqueue(address, command);
+        }
+        return this.send(address, this.createBuffer(command), 1);
     }
 
     @Override
@@ -123,8 +156,7 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
                     results.put(member, this.localDispatcher.executeOnMember(command, member));
                 } else {
                     try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-                        CompletionStage<R> future = request.send(buffer);
+                        CompletionStage<R> future = this.send(address, buffer, 1);
                         results.put(member, future);
                         future.whenComplete(new PruneCancellationTask<>(results, member));
                     } catch (CommandDispatcherException e) {
@@ -140,6 +172,67 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         return results;
     }
 
+    private <R> ServiceRequest<R, MC> send(Address address, Buffer buffer, int commands) throws CommandDispatcherException {
+        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), address, this.options, this.context);
+        long start = System.nanoTime();
+        request.send(buffer);
+        this.statistics.requestSent(commands);
+        request.whenComplete(new RoundTripTask<>(this.statistics, start));
+        return request;
+    }
+
+    private <R> CompletionStage<R> enqueue(Address address, Command<R, ? super CC> command) throws CommandDispatcherException {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            this.batches.compute(address, (key, batch) -> {
+                if (batch == null) {
+                    batch = new Batch<>();
+                    this.batchExecutor.schedule(() -> this.flush(key), this.batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                batch.add(command, future);
+                return batch;
+            });
+        } catch (RejectedExecutionException e) {
+            throw new CommandDispatcherException(e);
+        }
+        return future;
+    }
+
+    private void flush(Address address) {
+        Batch<CC> batch = this.batches.remove(address);
+        if (batch == null) return;
+        List<Command<?, ? super CC>> commands = batch.getCommands();
+        List<CompletableFuture<Object>> futures = batch.getFutures();
+        try {
+            if (commands.size() == 1) {
+                ServiceRequest<Object, MC> request = this.send(address, this.createBuffer(commands.get(0)), 1);
+                this.scheduleTimeout(request);
+                request.whenComplete(new CompleteTask<>(futures.get(0)));
+            } else {
+                ServiceRequest<Object[], MC> request = this.send(address, this.createBuffer(new BatchCommand<>(commands)), commands.size());
+                this.scheduleTimeout(request);
+                request.whenComplete(new BatchCompleteTask(futures));
+            }
+        } catch (CommandDispatcherException | RuntimeException e) {
+            for (CompletableFuture<Object> future : futures) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Since batched commands complete asynchronously via the response, rather than via {@link ServiceRequest#get()}, the request timeout needs to be enforced explicitly.
+     * A request without a response within the timeout completes with a {@link java.util.concurrent.TimeoutException}.
+     */
+    private void scheduleTimeout(ServiceRequest<?, MC> request) {
+        try {
+            ScheduledFuture<?> timeoutFuture = this.batchExecutor.schedule(request::timeout, this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+            request.whenComplete((result, exception) -> timeoutFuture.cancel(false));
+        } catch (RejectedExecutionException e) {
+            request.cancel(true);
+        }
+    }
+
     private <R> Buffer createBuffer(Command<R, ? super CC> command) {
         try {
             ByteBuffer buffer = this.marshaller.marshal(command);
@@ -149,6 +242,87 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         }
     }
 
+    private static class Batch<C> {
+        private final List<Command<?, ? super C>> commands = new ArrayList<>();
+        private final List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        <R> void add(Command<R, ? super C> command, CompletableFuture<R> future) {
+            this.commands.add(command);
+            this.futures.add((CompletableFuture<Object>) future);
+        }
+
+        List<Command<?, ? super C>> getCommands() {
+            return this.commands;
+        }
+
+        List<CompletableFuture<Object>> getFutures() {
+            return this.futures;
+        }
+    }
+
+    /**
+     * Records the round-trip time of a request.
+     * Timed out requests are counted separately, since their duration reflects the request timeout rather than a round-trip.
+     */
+    private static class RoundTripTask<T> implements BiConsumer<T, Throwable> {
+        private final ChannelCommandDispatcherStatistics statistics;
+        private final long start;
+
+        RoundTripTask(ChannelCommandDispatcherStatistics statistics, long start) {
+            this.statistics = statistics;
+            this.start = start;
+        }
+
+        @Override
+        public void accept(T result, Throwable exception) {
+            if (exception instanceof TimeoutException) {
+                this.statistics.requestTimedOut();
+            } else if (!(exception instanceof CancellationException)) {
+                this.statistics.responseReceived(System.nanoTime() - this.start);
+            }
+        }
+    }
+
+    private static class CompleteTask<T> implements BiConsumer<T, Throwable> {
+        private final CompletableFuture<T> future;
+
+        CompleteTask(CompletableFuture<T> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void accept(T result, Throwable exception) {
+            if (exception != null) {
+                this.future.completeExceptionally(exception);
+            } else {
+                this.future.complete(result);
+            }
+        }
+    }
+
+    private static class BatchCompleteTask implements BiConsumer<Object[], Throwable> {
+        private final List<CompletableFuture<Object>> futures;
+
+        BatchCompleteTask(List<CompletableFuture<Object>> futures) {
+            this.futures = futures;
+        }
+
+        @Override
+        public void accept(Object[] results, Throwable exception) {
+            for (int i = 0; i < this.futures.size(); ++i) {
+                CompletableFuture<Object> future = this.futures.get(i);
+                if (exception != null) {
+                    future.completeExceptionally(exception);
+                } else if (results[i] instanceof BatchCommand.Failure) {
+                    future.completeExceptionally(((BatchCommand.Failure) results[i]).getException());
+                } else {
+                    future.complete(results[i]);
+                }
+            }
+        }
+    }
+
     private static class PruneCancellationTask<T> implements BiConsumer<T, Throwable> {
         private final Map<Node, CompletionStage<T>> results;
         private final Node member;
@@ -34,6 +34,9 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
@@ -83,6 +86,7 @@ import org.wildfly.clustering.server.group.AddressableNode;
 import org.wildfly.clustering.server.logging.ClusteringServerLogger;
 import org.wildfly.clustering.service.concurrent.ServiceExecutor;
 import org.wildfly.clustering.service.concurrent.StampedLockServiceExecutor;
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
 import org.wildfly.common.function.ExceptionSupplier;
 import org.wildfly.common.function.Functions;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -126,12 +130,17 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private final MessageDispatcher dispatcher;
     private final Duration timeout;
     private final ModuleLoader loader;
+    private final Duration batchWindow;
+    private final ScheduledExecutorService batchExecutor;
+    private final ChannelCommandDispatcherStatistics statistics = new ChannelCommandDispatcherStatistics();
 
     @SuppressWarnings("resource")
     public ChannelCommandDispatcherFactory(ChannelCommandDispatcherFactoryConfiguration config) {
         this.marshallingContext = config.getMarshallingContext();
         this.timeout = config.getTimeout();
         this.loader = config.getModuleLoader();
+        this.batchWindow = config.getBatchWindow();
+        this.batchExecutor = !this.batchWindow.isZero() && !this.batchWindow.isNegative() ? createBatchExecutor(new DefaultThreadFactory(this.getClass())) : null;
         JChannel channel = config.getChannel();
         RequestCorrelator correlator = new RequestCorrelator(channel.getProtocolStack(), this, channel.getAddress()).setMarshaller(new CommandResponseMarshaller(config));
         this.dispatcher = new MessageDispatcher()
@@ -145,9 +154,20 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         this.view.compareAndSet(null, channel.getView());
     }
 
+    private static ScheduledExecutorService createBatchExecutor(ThreadFactory factory) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, factory);
+        // Cancelled request timeouts would otherwise be retained until they expire
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
     @Override
     public void run() {
         this.shutdown(this.executorService);
+        if (this.batchExecutor != null) {
+            this.shutdown(this.batchExecutor);
+        }
+        ClusteringServerLogger.ROOT_LOGGER.debugf("Command dispatchers of %s sent %s", this.dispatcher.getChannel().getClusterName(), this.statistics);
         this.dispatcher.stop();
         this.dispatcher.getChannel().setUpHandler(null);
         // Cleanup any stray listeners
@@ -277,7 +297,12 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, marshallingContext, this, this.timeout, localDispatcher, () -> {
             localDispatcher.close();
             this.contexts.remove(id);
-        });
+        }, this.batchExecutor, this.batchWindow, this.statistics);
+    }
+
+    @Override
+    public CommandDispatcherStatistics getStatistics() {
+        return this.statistics;
     }
 
     @Override
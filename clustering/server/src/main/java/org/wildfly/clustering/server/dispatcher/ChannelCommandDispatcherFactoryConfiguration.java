@@ -27,15 +27,27 @@ import org.jboss.modules.ModuleLoader;
 import org.jgroups.JChannel;
 import org.wildfly.clustering.jgroups.spi.ChannelFactory;
 import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Configuration for a {@link ChannelCommandDispatcherFactory}.
  * @author Paul Ferraro
  */
 public interface ChannelCommandDispatcherFactoryConfiguration {
+    String BATCH_WINDOW = "org.wildfly.clustering.server.dispatcher.batch-window";
+
     ChannelFactory getChannelFactory();
     JChannel getChannel();
     MarshallingContext getMarshallingContext();
     Duration getTimeout();
     ModuleLoader getModuleLoader();
+
+    /**
+     * Returns the duration within which commands to the same member are batched into a single request.
+     * A zero duration disables batching.
+     * @return a batch window
+     */
+    default Duration getBatchWindow() {
+        return Duration.ofMillis(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(BATCH_WINDOW, "0")));
+    }
 }
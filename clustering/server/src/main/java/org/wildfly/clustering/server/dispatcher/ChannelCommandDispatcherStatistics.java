@@ -0,0 +1,106 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.clustering.spi.dispatcher.CommandDispatcherStatistics;
+
+/**
+ * Collects the statistics of the requests sent by {@link ChannelCommandDispatcher} instances.
+ */
+public class ChannelCommandDispatcherStatistics implements CommandDispatcherStatistics {
+
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder roundTripNanos = new LongAdder();
+    private final LongAccumulator maxRoundTripNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a request sent to a remote member.
+     * @param commands the number of commands sent via the request
+     */
+    void requestSent(int commands) {
+        this.commands.add(commands);
+        this.requests.increment();
+        this.maxBatchSize.accumulate(commands);
+    }
+
+    /**
+     * Records the response to a request.
+     * @param nanos the duration between sending the request and receiving its response, in nanoseconds
+     */
+    void responseReceived(long nanos) {
+        this.responses.increment();
+        this.roundTripNanos.add(nanos);
+        this.maxRoundTripNanos.accumulate(nanos);
+    }
+
+    /**
+     * Records a request that did not receive a response within the request timeout.
+     */
+    void requestTimedOut() {
+        this.timeouts.increment();
+    }
+
+    @Override
+    public long getCommandsSent() {
+        return this.commands.sum();
+    }
+
+    @Override
+    public long getRequestsSent() {
+        return this.requests.sum();
+    }
+
+    @Override
+    public long getMaxBatchSize() {
+        return this.maxBatchSize.get();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return this.timeouts.sum();
+    }
+
+    @Override
+    public Duration getAverageRoundTripTime() {
+        long responses = this.responses.sum();
+        return (responses > 0) ? Duration.ofNanos(this.roundTripNanos.sum() / responses) : Duration.ZERO;
+    }
+
+    @Override
+    public Duration getMaxRoundTripTime() {
+        return Duration.ofNanos(this.maxRoundTripNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d commands in %d requests (maximum batch size = %d), %d timeouts, average round-trip time = %s, maximum round-trip time = %s", this.getCommandsSent(), this.getRequestsSent(), this.getMaxBatchSize(), this.getTimeouts(), this.getAverageRoundTripTime(), this.getMaxRoundTripTime());
+    }
+}
@@ -81,6 +81,17 @@ public class ServiceRequest<T, C> extends UnicastRequest<T> {
         this.corrDone();
     }
 
+    /**
+     * Completes this request with a {@link TimeoutException}, if no response was received yet.
+     * Used for requests whose callers do not block via {@link #get()}.
+     */
+    public void timeout() {
+        if (this.isDone()) return;
+
+        this.completeExceptionally(new TimeoutException());
+        this.corrDone();
+    }
+
     @Override
     public boolean completeExceptionally(Throwable exception) {
         return super.completeExceptionally((exception instanceof SuspectedException) ? new CancellationException() : exception);
@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+
+/**
+ * Unit test for {@link BatchCommand}.
+ */
+public class BatchCommandTestCase {
+
+    @Test
+    public void test() throws Exception {
+        Command<Object, String> successCommand = mock(Command.class);
+        Command<Object, String> failureCommand = mock(Command.class);
+        String context = "context";
+        Object result = new Object();
+        Exception exception = new Exception();
+
+        when(successCommand.execute(context)).thenReturn(result);
+        when(failureCommand.execute(context)).thenThrow(exception);
+
+        Object[] results = new BatchCommand<>(Arrays.<Command<?, ? super String>>asList(failureCommand, successCommand)).execute(context);
+
+        assertEquals(2, results.length);
+        assertTrue(results[0] instanceof BatchCommand.Failure);
+        assertSame(exception, ((BatchCommand.Failure) results[0]).getException());
+        assertSame(result, results[1]);
+    }
+}
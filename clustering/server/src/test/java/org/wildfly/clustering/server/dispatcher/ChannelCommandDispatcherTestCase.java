@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.Request;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcher;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.spi.group.Group;
+
+/**
+ * Unit test for the command batching of {@link ChannelCommandDispatcher}.
+ */
+public class ChannelCommandDispatcherTestCase {
+    private final MessageDispatcher dispatcher = mock(MessageDispatcher.class);
+    private final JChannel channel = mock(JChannel.class);
+    private final RequestCorrelator correlator = mock(RequestCorrelator.class);
+    private final CommandMarshaller<String> marshaller = mock(CommandMarshaller.class);
+    private final Group<Address> group = mock(Group.class);
+    private final CommandDispatcher<String> localDispatcher = mock(CommandDispatcher.class);
+    private final Runnable closeTask = mock(Runnable.class);
+    private final Address localAddress = mock(Address.class);
+    private final Address remoteAddress = mock(Address.class);
+    private final Node member = mock(Node.class);
+    private final Object context = new Object();
+    private final ChannelCommandDispatcherStatistics statistics = new ChannelCommandDispatcherStatistics();
+
+    private ScheduledExecutorService executor;
+
+    @Before
+    public void init() throws Exception {
+        this.executor = new ScheduledThreadPoolExecutor(1);
+
+        when(this.dispatcher.getChannel()).thenReturn(this.channel);
+        when(this.dispatcher.getCorrelator()).thenReturn(this.correlator);
+        when(this.channel.getAddress()).thenReturn(this.localAddress);
+        when(this.group.getAddress(this.member)).thenReturn(this.remoteAddress);
+        when(this.marshaller.marshal(any())).thenReturn(ByteBuffer.wrap(new byte[] { 0 }));
+    }
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        ChannelCommandDispatcher<String, Object> subject = new ChannelCommandDispatcher<>(this.dispatcher, this.marshaller, this.context, this.group, Duration.ofMinutes(1), this.localDispatcher, this.closeTask, this.executor, Duration.ofHours(1), this.statistics);
+
+        Command<Object, String> command1 = mock(Command.class);
+        Command<Object, String> command2 = mock(Command.class);
+
+        CompletionStage<Object> result1 = subject.executeOnMember(command1, this.member);
+        CompletionStage<Object> result2 = subject.executeOnMember(command2, this.member);
+
+        // Nothing is sent until the batch window expires
+        verify(this.correlator, never()).sendUnicastRequest(any(), any(), any(), any());
+
+        // Close sends pending batches
+        subject.close();
+
+        ArgumentCaptor<Command> capturedCommand = ArgumentCaptor.forClass(Command.class);
+        verify(this.marshaller).marshal(capturedCommand.capture());
+        assertTrue(capturedCommand.getValue() instanceof BatchCommand);
+
+        ServiceRequest<Object[], Object> request = this.captureRequest();
+
+        assertFalse(result1.toCompletableFuture().isDone());
+        assertFalse(result2.toCompletableFuture().isDone());
+
+        Object value1 = new Object();
+        Object value2 = new Object();
+        this.respond(request, new Object[] { value1, value2 });
+
+        assertSame(value1, result1.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertSame(value2, result2.toCompletableFuture().get(10, TimeUnit.SECONDS));
+
+        assertEquals(2L, this.statistics.getCommandsSent());
+        assertEquals(1L, this.statistics.getRequestsSent());
+        assertEquals(2L, this.statistics.getMaxBatchSize());
+        verify(this.closeTask).run();
+    }
+
+    @Test
+    public void window() throws Exception {
+        ChannelCommandDispatcher<String, Object> subject = new ChannelCommandDispatcher<>(this.dispatcher, this.marshaller, this.context, this.group, Duration.ofMinutes(1), this.localDispatcher, this.closeTask, this.executor, Duration.ofMillis(10), this.statistics);
+
+        Command<Object, String> command = mock(Command.class);
+
+        CompletionStage<Object> result = subject.executeOnMember(command, this.member);
+
+        // Batch is sent once its window expires
+        verify(this.correlator, timeout(10000)).sendUnicastRequest(same(this.remoteAddress), any(Buffer.class), any(Request.class), any(RequestOptions.class));
+
+        // A batch of 1 command is sent as is
+        verify(this.marshaller).marshal(command);
+
+        Object value = new Object();
+        this.respond(this.captureRequest(), value);
+
+        assertSame(value, result.toCompletableFuture().get(10, TimeUnit.SECONDS));
+
+        assertEquals(1L, this.statistics.getCommandsSent());
+        assertEquals(1L, this.statistics.getRequestsSent());
+
+        subject.close();
+    }
+
+    @Test
+    public void requestTimeout() throws Exception {
+        ChannelCommandDispatcher<String, Object> subject = new ChannelCommandDispatcher<>(this.dispatcher, this.marshaller, this.context, this.group, Duration.ofMillis(100), this.localDispatcher, this.closeTask, this.executor, Duration.ofMillis(10), this.statistics);
+
+        Command<Object, String> command1 = mock(Command.class);
+        Command<Object, String> command2 = mock(Command.class);
+
+        CompletableFuture<Object> result1 = subject.executeOnMember(command1, this.member).toCompletableFuture();
+        CompletableFuture<Object> result2 = subject.executeOnMember(command2, this.member).toCompletableFuture();
+
+        // No response is ever received
+        for (CompletableFuture<Object> result : Arrays.asList(result1, result2)) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                fail("Request should have timed out");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertFalse(result.isCancelled());
+        }
+
+        // Ensure the timeout task, which also records the statistics, completed
+        this.executor.shutdown();
+        assertTrue(this.executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Timed out requests are not round-trips
+        assertEquals(1L, this.statistics.getRequestsSent());
+        assertEquals(1L, this.statistics.getTimeouts());
+        assertEquals(Duration.ZERO, this.statistics.getAverageRoundTripTime());
+        assertEquals(Duration.ZERO, this.statistics.getMaxRoundTripTime());
+
+        subject.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ServiceRequest<T, Object> captureRequest() throws Exception {
+        ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+        verify(this.correlator).sendUnicastRequest(same(this.remoteAddress), any(Buffer.class), request.capture(), any(RequestOptions.class));
+        List<Request> requests = request.getAllValues();
+        assertEquals(1, requests.size());
+        return (ServiceRequest<T, Object>) requests.get(0);
+    }
+
+    private <T> void respond(ServiceRequest<T, Object> request, T value) throws Exception {
+        MarshalledValue<T, Object> marshalledValue = mock(MarshalledValue.class);
+        when(marshalledValue.get(this.context)).thenReturn(value);
+        request.receiveResponse(marshalledValue, this.remoteAddress, false);
+    }
+}
@@ -36,4 +36,12 @@ public interface CommandDispatcherFactory extends org.wildfly.clustering.dispatc
     }
 
     <C> CommandDispatcher<C> createCommandDispatcher(Object id, C context, ClassLoader loader);
+
+    /**
+     * Returns the statistics of the commands dispatched to remote members by the dispatchers of this factory.
+     * @return command dispatcher statistics, or null, if this factory does not dispatch commands to remote members
+     */
+    default CommandDispatcherStatistics getStatistics() {
+        return null;
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.spi.dispatcher;
+
+import java.time.Duration;
+
+/**
+ * Statistics of the commands sent to remote members by the command dispatchers of a {@link CommandDispatcherFactory}.
+ */
+public interface CommandDispatcherStatistics {
+
+    /**
+     * Returns the number of commands sent to remote members.
+     * @return a number of commands
+     */
+    long getCommandsSent();
+
+    /**
+     * Returns the number of requests sent to remote members.  Without batching, this is the same as the number of commands sent.
+     * @return a number of requests
+     */
+    long getRequestsSent();
+
+    /**
+     * Returns the average number of commands sent per request.
+     * @return an average batch size
+     */
+    default double getAverageBatchSize() {
+        long requests = this.getRequestsSent();
+        return (requests > 0) ? (double) this.getCommandsSent() / requests : 0d;
+    }
+
+    /**
+     * Returns the largest number of commands sent in a single request.
+     * @return a maximum batch size
+     */
+    long getMaxBatchSize();
+
+    /**
+     * Returns the number of requests that did not receive a response within the request timeout.
+     * @return a number of timed out requests
+     */
+    long getTimeouts();
+
+    /**
+     * Returns the average duration between sending a request and receiving its response, excluding timed out requests.
+     * @return an average round-trip time
+     */
+    Duration getAverageRoundTripTime();
+
+    /**
+     * Returns the longest duration between sending a request and receiving its response, excluding timed out requests.
+     * @return a maximum round-trip time
+     */
+    Duration getMaxRoundTripTime();
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.cache.session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.OptionalLong;
+import java.util.zip.CRC32;
+
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+
+/**
+ * {@link SessionAttributeHasher} for session attributes marshalled via a {@link MarshalledValueFactory}.
+ * Computes a 64-bit hash, composed of the CRC-32 checksum and the polynomial hash code of the marshalled form.
+ * Marshalled values that do not expose their marshalled form are never hashed.
+ */
+public class MarshalledValueSessionAttributeHasher implements SessionAttributeHasher {
+
+    private final MarshalledValueFactory<?> factory;
+
+    public MarshalledValueSessionAttributeHasher(MarshalledValueFactory<?> factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public OptionalLong hash(Object attribute) {
+        return this.hashMarshalledValue(this.factory.createMarshalledValue(attribute), false);
+    }
+
+    @Override
+    public OptionalLong hashMarshalledValue(Object value, boolean retain) {
+        if (value instanceof ByteBufferMarshalledValue) {
+            try {
+                ByteBuffer buffer = ((ByteBufferMarshalledValue<?, ?>) value).getBuffer(retain);
+                if (buffer != null) {
+                    return OptionalLong.of(hash(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+                }
+            } catch (IOException e) {
+                // Value cannot be marshalled - let a subsequent mutation report the failure
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    private static long hash(byte[] bytes, int offset, int length) {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, offset, length);
+        int hash = 1;
+        for (int i = offset; i < offset + length; ++i) {
+            hash = 31 * hash + bytes[i];
+        }
+        return (checksum.getValue() << 32) | (hash & 0xFFFFFFFFL);
+    }
+}
@@ -28,6 +28,7 @@ import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueMarshaller;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
 import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
 
@@ -45,13 +46,15 @@ public abstract class MarshalledValueSessionAttributesFactoryConfiguration<S, SC
     private final Immutability immutability;
     private final Marshaller<V, MarshalledValue<V, MC>> marshaller;
     private final HttpSessionActivationListenerProvider<S, SC, AL> provider;
+    private final SessionAttributeHasher hasher;
 
-    protected MarshalledValueSessionAttributesFactoryConfiguration(SessionManagerFactoryConfiguration<S, SC, AL, ?, MC, LC> configuration) {
+    protected <C extends SessionManagerFactoryConfiguration<S, SC, AL, ?, MC, LC> & DistributableSessionManagementConfiguration> MarshalledValueSessionAttributesFactoryConfiguration(C configuration) {
         MarshalledValueFactory<MC> factory = configuration.getMarshalledValueFactory();
         MC context = configuration.getMarshallingContext();
         this.immutability = configuration.getImmutability();
         this.marshaller = new MarshalledValueMarshaller<>(factory, context);
         this.provider = configuration.getSpecificationProvider();
+        this.hasher = configuration.isHashMutationDetectionEnabled() ? new MarshalledValueSessionAttributeHasher(factory) : SessionAttributeHasher.NONE;
     }
 
     @Override
@@ -68,4 +71,9 @@ public abstract class MarshalledValueSessionAttributesFactoryConfiguration<S, SC
     public HttpSessionActivationListenerProvider<S, SC, AL> getHttpSessionActivationListenerProvider() {
         return this.provider;
     }
+
+    @Override
+    public SessionAttributeHasher getHasher() {
+        return this.hasher;
+    }
 }
\ No newline at end of file
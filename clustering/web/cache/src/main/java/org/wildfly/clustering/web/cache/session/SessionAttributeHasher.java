@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.cache.session;
+
+import java.util.OptionalLong;
+
+/**
+ * Computes a hash of the marshalled form of a session attribute.
+ * Used to detect whether a mutable session attribute was actually modified by a given request, in which case it requires replication.
+ */
+public interface SessionAttributeHasher {
+
+    /**
+     * Computes a hash of the marshalled form of the specified session attribute value.
+     * @param attribute a session attribute value
+     * @return a hash of the marshalled form of the specified attribute, or empty, if no hash could be computed
+     */
+    OptionalLong hash(Object attribute);
+
+    /**
+     * Computes a hash of the specified marshalled session attribute value.
+     * @param value a marshalled session attribute value
+     * @param retain indicates whether the marshalled form computed by this method should be retained by the specified value, for reuse during replication
+     * @return a hash of the marshalled form of the specified value, or empty, if no hash could be computed
+     */
+    OptionalLong hashMarshalledValue(Object value, boolean retain);
+
+    /**
+     * Hasher that never computes a hash, i.e. every read of a mutable session attribute is treated as a mutation.
+     */
+    SessionAttributeHasher NONE = new SessionAttributeHasher() {
+        @Override
+        public OptionalLong hash(Object attribute) {
+            return OptionalLong.empty();
+        }
+
+        @Override
+        public OptionalLong hashMarshalledValue(Object value, boolean retain) {
+            return OptionalLong.empty();
+        }
+    };
+}
@@ -41,4 +41,5 @@ public interface SessionAttributesFactoryConfiguration<S, C, L, V, SV> {
     CacheProperties getCacheProperties();
     Immutability getImmutability();
     HttpSessionActivationListenerProvider<S, C, L> getHttpSessionActivationListenerProvider();
+    SessionAttributeHasher getHasher();
 }
@@ -22,14 +22,20 @@
 package org.wildfly.clustering.web.cache.session.coarse;
 
 import java.io.NotSerializableException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.marshalling.spi.Marshallability;
 import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 
 /**
@@ -38,21 +44,35 @@ import org.wildfly.clustering.web.cache.session.SessionAttributes;
  */
 public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes implements SessionAttributes {
     private final Map<String, Object> attributes;
-    private final Mutator mutator;
+    private final Function<Map<String, Object>, Mutator> mutatorFactory;
     private final Marshallability marshallability;
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionActivationNotifier notifier;
-    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final SessionAttributeHasher hasher;
+    // Names of the attributes that were added, replaced, removed, or that reference a potentially mutated value
+    private final Set<String> mutations = ConcurrentHashMap.newKeySet();
+    // Hashes of the marshalled form of mutable attributes, as of their first read
+    private final Map<String, Long> hashes = new ConcurrentHashMap<>();
 
-    public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
+    public CoarseSessionAttributes(Map<String, Object> attributes, Mutator mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier, SessionAttributeHasher hasher) {
+        this(attributes, delta -> mutator, marshallability, immutability, properties, notifier, hasher);
+    }
+
+    /**
+     * Creates session attributes whose mutator is created from the attributes mutated since the previous {@link #close()}.
+     * The map supplied to the mutator factory contains the current value of each mutated attribute, or null if that attribute was removed.
+     * Mutable attributes that were only read are excluded, if the hash of their marshalled form is unchanged.
+     */
+    public CoarseSessionAttributes(Map<String, Object> attributes, Function<Map<String, Object>, Mutator> mutatorFactory, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier, SessionAttributeHasher hasher) {
         super(attributes);
         this.attributes = attributes;
-        this.mutator = mutator;
+        this.mutatorFactory = mutatorFactory;
         this.marshallability = marshallability;
         this.immutability = immutability;
         this.properties = properties;
         this.notifier = notifier;
+        this.hasher = hasher;
         if (this.properties.isPersistent()) {
             this.notifier.postActivate();
         }
@@ -62,7 +82,8 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     public Object removeAttribute(String name) {
         Object value = this.attributes.remove(name);
         if (value != null) {
-            this.dirty.set(true);
+            this.hashes.remove(name);
+            this.mutations.add(name);
         }
         return value;
     }
@@ -77,7 +98,8 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
         }
         Object old = this.attributes.put(name, value);
         // Always trigger mutation, even if this is an immutable object that was previously retrieved via getAttribute(...)
-        this.dirty.set(true);
+        this.hashes.remove(name);
+        this.mutations.add(name);
         return old;
     }
 
@@ -85,7 +107,13 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
     public Object getAttribute(String name) {
         Object value = this.attributes.get(name);
         if (!this.immutability.test(value)) {
-            this.dirty.set(true);
+            // Record the hash of the marshalled form of this attribute upon its first access
+            if (this.mutations.add(name) && this.properties.isMarshalling()) {
+                OptionalLong hash = this.hasher.hash(value);
+                if (hash.isPresent()) {
+                    this.hashes.put(name, hash.getAsLong());
+                }
+            }
         }
         return value;
     }
@@ -96,8 +124,24 @@ public class CoarseSessionAttributes extends CoarseImmutableSessionAttributes im
             this.notifier.prePassivate();
         }
 
-        if (this.dirty.compareAndSet(true, false)) {
-            this.mutator.mutate();
+        if (!this.mutations.isEmpty()) {
+            Map<String, Object> delta = new HashMap<>();
+            Iterator<String> names = this.mutations.iterator();
+            while (names.hasNext()) {
+                String name = names.next();
+                names.remove();
+                Object value = this.attributes.get(name);
+                Long hash = this.hashes.remove(name);
+                // Skip mutable attributes whose marshalled form did not change
+                if ((hash != null) && (value != null)) {
+                    OptionalLong currentHash = this.hasher.hash(value);
+                    if (currentHash.isPresent() && (currentHash.getAsLong() == hash.longValue())) continue;
+                }
+                delta.put(name, value);
+            }
+            if (!delta.isEmpty()) {
+                this.mutatorFactory.apply(delta).mutate();
+            }
         }
     }
 }
@@ -38,11 +38,13 @@ import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
 public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAttributes {
     private final Map<String, UUID> names;
     private final Function<UUID, K> keyFactory;
+    private final Map<UUID, V> values;
     private final Map<K, V> attributeCache;
     private final Marshaller<Object, V> marshaller;
 
-    public FineImmutableSessionAttributes(Map<String, UUID> names, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller) {
-        this.names = Collections.unmodifiableMap(names);
+    public FineImmutableSessionAttributes(FineSessionAttributesEntry<V> entry, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller) {
+        this.names = Collections.unmodifiableMap(entry.getNames());
+        this.values = entry.getValues();
         this.keyFactory = keyFactory;
         this.attributeCache = attributeCache;
         this.marshaller = marshaller;
@@ -57,8 +59,8 @@ public class FineImmutableSessionAttributes<K, V> implements ImmutableSessionAtt
     public Object getAttribute(String name) {
         UUID attributeId = this.names.get(name);
         if (attributeId == null) return null;
-        K key = this.keyFactory.apply(attributeId);
-        return this.read(this.attributeCache.get(key));
+        V value = this.values.get(attributeId);
+        return this.read((value != null) ? value : this.attributeCache.get(this.keyFactory.apply(attributeId)));
     }
 
     private Object read(V value) {
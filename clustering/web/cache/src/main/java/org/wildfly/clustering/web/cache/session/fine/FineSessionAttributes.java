@@ -25,6 +25,7 @@ import java.io.NotSerializableException;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -41,6 +42,7 @@ import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapRemoveFunction;
 import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 
 /**
@@ -52,18 +54,25 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
     private final Map<NK, Map<String, UUID>> namesCache;
     private final Function<UUID, K> keyFactory;
     private final Map<K, V> attributeCache;
+    // Marshalled values fetched along with the attribute names, these spare a cache read upon first access
+    // Shared with the immutable attributes of this session, so values are removed as soon as they become stale
+    private final Map<UUID, V> values;
     private final Map<K, Optional<Object>> mutations = new ConcurrentHashMap<>();
+    // Hashes of the marshalled form of mutable attributes, as of their first read or last write
+    private final Map<K, Long> hashes = new ConcurrentHashMap<>();
     private final Marshaller<Object, V> marshaller;
     private final MutatorFactory<K, V> mutatorFactory;
     private final Immutability immutability;
     private final CacheProperties properties;
     private final SessionAttributeActivationNotifier notifier;
+    private final SessionAttributeHasher hasher;
 
     private volatile Map<String, UUID> names;
 
-    public FineSessionAttributes(NK key, Map<String, UUID> names, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier) {
+    public FineSessionAttributes(NK key, FineSessionAttributesEntry<V> entry, Map<NK, Map<String, UUID>> namesCache, Function<UUID, K> keyFactory, Map<K, V> attributeCache, Marshaller<Object, V> marshaller, MutatorFactory<K, V> mutatorFactory, Immutability immutability, CacheProperties properties, SessionAttributeActivationNotifier notifier, SessionAttributeHasher hasher) {
         this.key = key;
-        this.setNames(names);
+        this.setNames(entry.getNames());
+        this.values = entry.getValues();
         this.namesCache = namesCache;
         this.keyFactory = keyFactory;
         this.attributeCache = attributeCache;
@@ -72,6 +81,7 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.immutability = immutability;
         this.properties = properties;
         this.notifier = notifier;
+        this.hasher = hasher;
     }
 
     @Override
@@ -82,9 +92,11 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
         this.setNames(this.namesCache.compute(this.key, this.properties.isTransactional() ? new CopyOnWriteMapRemoveFunction<>(name) : new ConcurrentMapRemoveFunction<>(name)));
 
         K key = this.keyFactory.apply(attributeId);
+        this.values.remove(attributeId);
         Object result = this.read(this.attributeCache.remove(key));
         if (result != null) {
             this.mutations.remove(key);
+            this.hashes.remove(key);
             if (this.properties.isPersistent()) {
                 this.notifier.postActivate(result);
             }
@@ -110,11 +122,14 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
         K key = this.keyFactory.apply(attributeId);
         V value = this.marshaller.write(attribute);
+        // Retain the marshalled form of a mutable attribute, so that it is reused by the put below
+        OptionalLong hash = (!this.properties.isTransactional() && this.properties.isMarshalling() && !this.immutability.test(attribute)) ? this.hasher.hashMarshalledValue(value, true) : OptionalLong.empty();
 
         if (this.properties.isPersistent()) {
             this.notifier.prePassivate(attribute);
         }
 
+        this.values.remove(attributeId);
         Object result = this.read(this.attributeCache.put(key, value));
 
         if (this.properties.isPersistent()) {
@@ -135,6 +150,11 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
             } else {
                 this.mutations.put(key, Optional.of(attribute));
             }
+            if (hash.isPresent()) {
+                this.hashes.put(key, hash.getAsLong());
+            } else {
+                this.hashes.remove(key);
+            }
         }
         return result;
     }
@@ -152,7 +172,10 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
             return mutableValue.get();
         }
 
-        V value = this.attributeCache.get(key);
+        V value = this.values.get(attributeId);
+        if (value == null) {
+            value = this.attributeCache.get(key);
+        }
         Object result = this.read(value);
         if (result != null) {
             if (this.properties.isPersistent()) {
@@ -161,7 +184,15 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
 
             // If the object is mutable, we need to trigger a mutation on close
             if (!this.immutability.test(result)) {
-                this.mutations.putIfAbsent(key, Optional.of(result));
+                // The fetched value no longer reflects the attribute, which may now be modified by the application
+                this.values.remove(attributeId);
+                if ((this.mutations.putIfAbsent(key, Optional.of(result)) == null) && this.properties.isMarshalling()) {
+                    // Record the hash of the marshalled form of this attribute upon its first access, reusing any marshalled form retained by the cached value
+                    OptionalLong hash = this.hasher.hashMarshalledValue(value, false);
+                    if (hash.isPresent()) {
+                        this.hashes.put(key, hash.getAsLong());
+                    }
+                }
             }
         }
         return result;
@@ -181,10 +212,17 @@ public class FineSessionAttributes<NK, K, V> implements SessionAttributes {
             if (optional.isPresent()) {
                 K key = entry.getKey();
                 V value = this.marshaller.write(optional.get());
+                Long hash = this.hashes.get(key);
+                // Skip mutable attributes whose marshalled form did not change, otherwise reuse the marshalled form computed for comparison
+                if (hash != null) {
+                    OptionalLong currentHash = this.hasher.hashMarshalledValue(value, true);
+                    if (currentHash.isPresent() && (currentHash.getAsLong() == hash.longValue())) continue;
+                }
                 this.mutatorFactory.createMutator(key, value).mutate();
             }
         }
         this.mutations.clear();
+        this.hashes.clear();
     }
 
     private void setNames(Map<String, UUID> names) {
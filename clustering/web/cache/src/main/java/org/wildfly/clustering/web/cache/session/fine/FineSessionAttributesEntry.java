@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.fine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The cache entry of a fine granularity session's attributes, i.e. the names of its attributes, along with the marshalled values
+ * already fetched while locating the session, if any.
+ * The fetched values are shared by the mutable and immutable attributes created from this entry; a value is removed once the
+ * attribute is set, removed, or may be modified by the application, after which the attribute is read from the cache.
+ * @param <V> the marshalled attribute value type
+ */
+public class FineSessionAttributesEntry<V> {
+
+    private final Map<String, UUID> names;
+    private final Map<UUID, V> values;
+
+    /**
+     * Creates an entry for the specified attribute names, without any fetched values.
+     * @param names a map of attribute name to attribute identifier
+     */
+    public FineSessionAttributesEntry(Map<String, UUID> names) {
+        this(names, Collections.emptyMap());
+    }
+
+    /**
+     * Creates an entry for the specified attribute names and fetched values.
+     * @param names a map of attribute name to attribute identifier
+     * @param values a map of attribute identifier to marshalled attribute value
+     */
+    public FineSessionAttributesEntry(Map<String, UUID> names, Map<UUID, V> values) {
+        this.names = names;
+        this.values = new ConcurrentHashMap<>(values);
+    }
+
+    /**
+     * Returns the attribute names of this session.
+     * @return a map of attribute name to attribute identifier
+     */
+    public Map<String, UUID> getNames() {
+        return this.names;
+    }
+
+    /**
+     * Returns the marshalled attribute values fetched while locating this session, that are still current.
+     * @return a mutable map of attribute identifier to marshalled attribute value
+     */
+    public Map<UUID, V> getValues() {
+        return this.values;
+    }
+}
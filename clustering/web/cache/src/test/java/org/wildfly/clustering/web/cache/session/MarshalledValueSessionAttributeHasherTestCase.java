@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session;
+
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+
+/**
+ * Unit test for {@link MarshalledValueSessionAttributeHasher}.
+ */
+public class MarshalledValueSessionAttributeHasherTestCase {
+
+    @Test
+    public void hashMarshalledValue() throws Exception {
+        SessionAttributeHasher hasher = new MarshalledValueSessionAttributeHasher(mock(MarshalledValueFactory.class));
+        byte[] bytes = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 };
+
+        OptionalLong expected = this.hash(hasher, ByteBuffer.wrap(bytes, 2, 4).slice());
+        Assert.assertTrue(expected.isPresent());
+
+        // Only the remaining bytes of the buffer are hashed, irrespective of its position or array offset
+        Assert.assertEquals(expected, this.hash(hasher, ByteBuffer.wrap(bytes, 2, 4)));
+        Assert.assertEquals(expected, this.hash(hasher, ByteBuffer.wrap(new byte[] { 3, 4, 5, 6 })));
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, 7).slice();
+        buffer.position(1);
+        buffer.limit(5);
+        Assert.assertEquals(expected, this.hash(hasher, buffer));
+
+        Assert.assertNotEquals(expected, this.hash(hasher, ByteBuffer.wrap(bytes, 2, 5)));
+        Assert.assertNotEquals(expected, this.hash(hasher, ByteBuffer.wrap(new byte[] { 3, 4, 5, 7 })));
+    }
+
+    @Test
+    public void hashUnsupportedValue() {
+        SessionAttributeHasher hasher = new MarshalledValueSessionAttributeHasher(mock(MarshalledValueFactory.class));
+
+        Assert.assertFalse(hasher.hashMarshalledValue(new Object(), false).isPresent());
+    }
+
+    private OptionalLong hash(SessionAttributeHasher hasher, ByteBuffer buffer) throws Exception {
+        ByteBufferMarshalledValue<?, ?> value = mock(ByteBufferMarshalledValue.class);
+        when(value.getBuffer(false)).thenReturn(buffer);
+        return hasher.hashMarshalledValue(value, false);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.coarse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshallability;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+
+/**
+ * Unit test for the delta tracking of {@link CoarseSessionAttributes}.
+ */
+public class CoarseSessionAttributesTestCase {
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final List<Map<String, Object>> deltas = new ArrayList<>();
+    private final Function<Map<String, Object>, Mutator> mutatorFactory = delta -> () -> this.deltas.add(delta);
+    private final Marshallability marshallability = mock(Marshallability.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionActivationNotifier notifier = mock(SessionActivationNotifier.class);
+    private final SessionAttributeHasher hasher = mock(SessionAttributeHasher.class);
+
+    private SessionAttributes subject;
+
+    @Before
+    public void init() {
+        when(this.properties.isMarshalling()).thenReturn(true);
+        when(this.marshallability.isMarshallable(any())).thenReturn(true);
+        this.subject = new CoarseSessionAttributes(this.attributes, this.mutatorFactory, this.marshallability, this.immutability, this.properties, this.notifier, this.hasher);
+    }
+
+    @Test
+    public void setAttribute() {
+        Object value = new Object();
+        this.attributes.put("existing", new Object());
+
+        assertNull(this.subject.setAttribute("name", value));
+        this.subject.close();
+
+        assertEquals(1, this.deltas.size());
+        assertEquals(Collections.singletonMap("name", value), this.deltas.get(0));
+        assertSame(value, this.attributes.get("name"));
+
+        // Nothing mutated since the previous close()
+        this.subject.close();
+
+        assertEquals(1, this.deltas.size());
+    }
+
+    @Test
+    public void removeAttribute() {
+        Object value = new Object();
+        this.attributes.put("name", value);
+
+        assertSame(value, this.subject.removeAttribute("name"));
+        // Removing a non-existent attribute is not a mutation
+        assertNull(this.subject.removeAttribute("missing"));
+        this.subject.close();
+
+        assertEquals(1, this.deltas.size());
+        Map<String, Object> delta = this.deltas.get(0);
+        assertEquals(1, delta.size());
+        assertTrue(delta.containsKey("name"));
+        assertNull(delta.get("name"));
+    }
+
+    @Test
+    public void setAndRemoveAttribute() {
+        this.subject.setAttribute("name", new Object());
+        this.subject.setAttribute("name", null);
+        this.subject.close();
+
+        // Attribute was removed, as far as the cache is concerned
+        assertEquals(1, this.deltas.size());
+        assertTrue(this.deltas.get(0).containsKey("name"));
+        assertNull(this.deltas.get(0).get("name"));
+    }
+
+    @Test
+    public void getImmutableAttribute() {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(true);
+
+        assertSame(value, this.subject.getAttribute("name"));
+        this.subject.close();
+
+        assertTrue(this.deltas.isEmpty());
+        verifyZeroInteractions(this.hasher);
+    }
+
+    @Test
+    public void getUnchangedMutableAttribute() {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.hasher.hash(value)).thenReturn(OptionalLong.of(1L));
+
+        assertSame(value, this.subject.getAttribute("name"));
+        // Subsequent reads do not rehash
+        assertSame(value, this.subject.getAttribute("name"));
+        this.subject.close();
+
+        // Marshalled form is unchanged, so there is nothing to replicate
+        assertTrue(this.deltas.isEmpty());
+        verify(this.hasher, times(2)).hash(value);
+    }
+
+    @Test
+    public void getChangedMutableAttribute() {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.hasher.hash(value)).thenReturn(OptionalLong.of(1L), OptionalLong.of(2L));
+
+        assertSame(value, this.subject.getAttribute("name"));
+        this.subject.close();
+
+        assertEquals(1, this.deltas.size());
+        assertEquals(Collections.singletonMap("name", value), this.deltas.get(0));
+    }
+
+    @Test
+    public void getUnhashableMutableAttribute() {
+        Object value = new Object();
+        this.attributes.put("name", value);
+        when(this.immutability.test(value)).thenReturn(false);
+        when(this.hasher.hash(value)).thenReturn(OptionalLong.empty());
+
+        assertSame(value, this.subject.getAttribute("name"));
+        this.subject.close();
+
+        // Without a hash, a mutable attribute must be assumed to have changed
+        assertEquals(1, this.deltas.size());
+        assertEquals(Collections.singletonMap("name", value), this.deltas.get(0));
+    }
+
+    @Test
+    public void setNonMarshallableAttribute() {
+        Object value = new Object();
+        when(this.marshallability.isMarshallable(value)).thenReturn(false);
+
+        try {
+            this.subject.setAttribute("name", value);
+            fail("Non-marshallable attribute should have been rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        this.subject.close();
+
+        assertTrue(this.deltas.isEmpty());
+    }
+
+    @Test
+    public void mutator() {
+        Mutator mutator = mock(Mutator.class);
+        SessionAttributes subject = new CoarseSessionAttributes(this.attributes, mutator, this.marshallability, this.immutability, this.properties, this.notifier, this.hasher);
+
+        subject.close();
+
+        verify(mutator, never()).mutate();
+
+        subject.setAttribute("name", new Object());
+        subject.close();
+
+        verify(mutator).mutate();
+    }
+}
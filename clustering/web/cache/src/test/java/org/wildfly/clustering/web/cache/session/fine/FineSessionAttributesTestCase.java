@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.fine;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+
+/**
+ * Unit test for the use of prefetched values by {@link FineSessionAttributes} and {@link FineImmutableSessionAttributes}.
+ */
+public class FineSessionAttributesTestCase {
+    private static final String NAMES_KEY = "names";
+
+    private final UUID immutableId = UUID.randomUUID();
+    private final UUID mutableId = UUID.randomUUID();
+    private final Object immutableValue = new Object();
+    private final Object mutableValue = new Object();
+    private final Map<String, Map<String, UUID>> namesCache = mock(Map.class);
+    private final Function<UUID, String> keyFactory = UUID::toString;
+    private final Map<String, String> attributeCache = mock(Map.class);
+    private final Marshaller<Object, String> marshaller = mock(Marshaller.class);
+    private final MutatorFactory<String, String> mutatorFactory = mock(MutatorFactory.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final SessionAttributeActivationNotifier notifier = mock(SessionAttributeActivationNotifier.class);
+    private final SessionAttributeHasher hasher = mock(SessionAttributeHasher.class);
+
+    private ImmutableSessionAttributes immutableSubject;
+    private SessionAttributes subject;
+
+    @Before
+    public void init() throws InvalidSerializedFormException {
+        Map<String, UUID> names = new HashMap<>();
+        names.put("immutable", this.immutableId);
+        names.put("mutable", this.mutableId);
+        Map<UUID, String> values = new HashMap<>();
+        values.put(this.immutableId, "IMMUTABLE");
+        values.put(this.mutableId, "MUTABLE");
+
+        when(this.marshaller.read("IMMUTABLE")).thenReturn(this.immutableValue);
+        when(this.marshaller.read("MUTABLE")).thenReturn(this.mutableValue);
+        when(this.immutability.test(this.immutableValue)).thenReturn(true);
+        when(this.immutability.test(this.mutableValue)).thenReturn(false);
+
+        FineSessionAttributesEntry<String> entry = new FineSessionAttributesEntry<>(names, values);
+        this.immutableSubject = new FineImmutableSessionAttributes<>(entry, this.keyFactory, this.attributeCache, this.marshaller);
+        this.subject = new FineSessionAttributes<>(NAMES_KEY, entry, this.namesCache, this.keyFactory, this.attributeCache, this.marshaller, this.mutatorFactory, this.immutability, this.properties, this.notifier, this.hasher);
+    }
+
+    @Test
+    public void getAttribute() {
+        assertSame(this.immutableValue, this.subject.getAttribute("immutable"));
+        assertSame(this.immutableValue, this.subject.getAttribute("immutable"));
+        assertSame(this.immutableValue, this.immutableSubject.getAttribute("immutable"));
+        assertSame(this.mutableValue, this.subject.getAttribute("mutable"));
+
+        // Prefetched values are read without accessing the cache
+        verify(this.attributeCache, never()).get(any());
+    }
+
+    @Test
+    public void getMutableAttribute() throws InvalidSerializedFormException {
+        Object modified = new Object();
+        when(this.attributeCache.get(this.mutableId.toString())).thenReturn("MODIFIED");
+        when(this.marshaller.read("MODIFIED")).thenReturn(modified);
+
+        assertSame(this.mutableValue, this.subject.getAttribute("mutable"));
+        // The prefetched value is stale, once the application may have modified the attribute
+        assertSame(modified, this.immutableSubject.getAttribute("mutable"));
+        // The session retains the instance returned to the application
+        assertSame(this.mutableValue, this.subject.getAttribute("mutable"));
+    }
+
+    @Test
+    public void setAttribute() throws InvalidSerializedFormException {
+        Object value = new Object();
+        when(this.marshaller.isMarshallable(value)).thenReturn(true);
+        when(this.immutability.test(value)).thenReturn(true);
+        when(this.marshaller.write(value)).thenReturn("VALUE");
+        when(this.marshaller.read("VALUE")).thenReturn(value);
+        when(this.attributeCache.put(this.immutableId.toString(), "VALUE")).thenReturn("IMMUTABLE");
+        when(this.attributeCache.get(this.immutableId.toString())).thenReturn("VALUE");
+
+        assertSame(this.immutableValue, this.subject.setAttribute("immutable", value));
+
+        assertSame(value, this.subject.getAttribute("immutable"));
+        assertSame(value, this.immutableSubject.getAttribute("immutable"));
+    }
+
+    @Test
+    public void removeAttribute() {
+        when(this.namesCache.compute(eq(NAMES_KEY), any())).thenReturn(Collections.singletonMap("mutable", this.mutableId));
+        when(this.attributeCache.remove(this.immutableId.toString())).thenReturn("IMMUTABLE");
+
+        assertSame(this.immutableValue, this.subject.removeAttribute("immutable"));
+
+        assertNull(this.subject.getAttribute("immutable"));
+        assertNull(this.immutableSubject.getAttribute("immutable"));
+        verify(this.attributeCache).get(this.immutableId.toString());
+    }
+}
@@ -35,11 +35,15 @@ import org.jboss.as.clustering.controller.ResourceServiceHandler;
 import org.jboss.as.clustering.controller.SubsystemResourceDefinition;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.CapabilityReferenceRecorder;
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SubsystemRegistration;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
 import org.jboss.as.server.deployment.jbossallxml.JBossAllXmlParserRegisteringProcessor;
@@ -98,6 +102,15 @@ public class DistributableWebResourceDefinition extends SubsystemResourceDefinit
         }
     }
 
+    static TransformationDescription buildTransformers(ModelVersion version) {
+        ResourceTransformationDescriptionBuilder builder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+
+        SessionManagementResourceDefinition.buildTransformation(version, builder, InfinispanSessionManagementResourceDefinition.WILDCARD_PATH);
+        HotRodSessionManagementResourceDefinition.buildTransformation(version, builder);
+
+        return builder.build();
+    }
+
     DistributableWebResourceDefinition() {
         super(PATH, DistributableWebExtension.SUBSYSTEM_RESOLVER);
     }
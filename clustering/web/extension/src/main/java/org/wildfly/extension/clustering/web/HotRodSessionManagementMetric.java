@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.web.hotrod.session.CoalescingStatistics;
+
+/**
+ * Enumeration of runtime metrics of a HotRod session management provider.
+ */
+public enum HotRodSessionManagementMetric implements Metric<CoalescingStatistics> {
+
+    LAST_ACCESS_UPDATES("last-access-updates", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CoalescingStatistics statistics) {
+            return new ModelNode(statistics.getMutations());
+        }
+    },
+    LAST_ACCESS_WRITES("last-access-writes", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CoalescingStatistics statistics) {
+            return new ModelNode(statistics.getWrites());
+        }
+    },
+    LAST_ACCESS_FLUSHES("last-access-flushes", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CoalescingStatistics statistics) {
+            return new ModelNode(statistics.getFlushes());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    HotRodSessionManagementMetric(String name, ModelType type, AttributeAccess.Flag metricType) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                .setFlags(metricType)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
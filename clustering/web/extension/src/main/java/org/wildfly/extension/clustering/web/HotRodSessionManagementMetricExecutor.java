@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.FunctionExecutor;
+import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.clustering.controller.MetricFunction;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.wildfly.clustering.web.hotrod.session.CoalescingStatistics;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagementProvider;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
+import org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Capability;
+
+/**
+ * Executes a runtime metric of a HotRod session management provider.
+ */
+public class HotRodSessionManagementMetricExecutor implements MetricExecutor<CoalescingStatistics> {
+
+    private final FunctionExecutorRegistry<DistributableSessionManagementProvider> executors;
+
+    public HotRodSessionManagementMetricExecutor(FunctionExecutorRegistry<DistributableSessionManagementProvider> executors) {
+        this.executors = executors;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<CoalescingStatistics> metric) throws OperationFailedException {
+        ServiceName name = Capability.SESSION_MANAGEMENT_PROVIDER.getServiceName(context.getCurrentAddress());
+        FunctionExecutor<DistributableSessionManagementProvider> executor = this.executors.get(name);
+        return (executor != null) ? executor.execute(new MetricFunction<>(provider -> ((HotRodSessionManagementProvider) provider).getLastAccessStatistics(), metric)) : null;
+    }
+}
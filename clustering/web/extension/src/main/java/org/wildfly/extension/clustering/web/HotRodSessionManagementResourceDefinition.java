@@ -25,13 +25,24 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.MetricHandler;
+import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.clustering.controller.SimpleResourceDescriptorConfigurator;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.infinispan.client.InfinispanClientRequirement;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 /**
  * @author Paul Ferraro
@@ -51,6 +62,15 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
             }
         },
         CACHE_CONFIGURATION("cache-configuration", ModelType.STRING),
+        LAST_ACCESS_FLUSH_INTERVAL("last-access-flush-interval", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0L))
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        ;
+            }
+        },
          ;
         private final AttributeDefinition definition;
 
@@ -73,7 +93,36 @@ public class HotRodSessionManagementResourceDefinition extends SessionManagement
         }
     }
 
+    static void buildTransformation(ModelVersion version, ResourceTransformationDescriptionBuilder parent) {
+        ResourceTransformationDescriptionBuilder builder = SessionManagementResourceDefinition.buildTransformation(version, parent, WILDCARD_PATH);
+
+        if (DistributableWebModel.VERSION_3_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, Attribute.LAST_ACCESS_FLUSH_INTERVAL.getDefinition().getDefaultValue()), Attribute.LAST_ACCESS_FLUSH_INTERVAL.getDefinition())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.LAST_ACCESS_FLUSH_INTERVAL.getDefinition())
+                .end();
+        }
+    }
+
+    private final ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors;
+
     HotRodSessionManagementResourceDefinition() {
-        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), HotRodSessionManagementServiceConfigurator::new);
+        this(new ServiceValueExecutorRegistry<>());
+    }
+
+    private HotRodSessionManagementResourceDefinition(ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors) {
+        super(WILDCARD_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class), new HotRodSessionManagementServiceHandler(executors));
+        this.executors = executors;
+    }
+
+    @Override
+    public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
+        ManagementResourceRegistration registration = super.register(parent);
+
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new HotRodSessionManagementMetricExecutor(this.executors), HotRodSessionManagementMetric.class).register(registration);
+        }
+
+        return registration;
     }
 }
@@ -23,8 +23,11 @@
 package org.wildfly.extension.clustering.web;
 
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.CACHE_CONFIGURATION;
+import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.LAST_ACCESS_FLUSH_INTERVAL;
 import static org.wildfly.extension.clustering.web.HotRodSessionManagementResourceDefinition.Attribute.REMOTE_CACHE_CONTAINER;
 
+import java.time.Duration;
+
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
@@ -42,6 +45,7 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
 
     private volatile String containerName;
     private volatile String configurationName;
+    private volatile Duration lastAccessFlushInterval;
 
     HotRodSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +55,7 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = REMOTE_CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.configurationName = CACHE_CONFIGURATION.resolveModelAttribute(context, model).asStringOrNull();
+        this.lastAccessFlushInterval = Duration.ofMillis(LAST_ACCESS_FLUSH_INTERVAL.resolveModelAttribute(context, model).asLong());
         return super.configure(context, model);
     }
 
@@ -68,4 +73,9 @@ public class HotRodSessionManagementServiceConfigurator extends SessionManagemen
     public String getConfigurationName() {
         return this.configurationName;
     }
+
+    @Override
+    public Duration getLastAccessFlushInterval() {
+        return this.lastAccessFlushInterval;
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.ServiceValueCaptorServiceConfigurator;
+import org.jboss.as.clustering.controller.ServiceValueRegistry;
+import org.jboss.as.clustering.controller.SimpleResourceServiceHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
+import org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Capability;
+
+/**
+ * Installs/removes the services of a HotRod session management provider, capturing the provider for use by runtime metrics.
+ */
+public class HotRodSessionManagementServiceHandler extends SimpleResourceServiceHandler {
+
+    private final ServiceValueRegistry<DistributableSessionManagementProvider> registry;
+
+    HotRodSessionManagementServiceHandler(ServiceValueRegistry<DistributableSessionManagementProvider> registry) {
+        super(HotRodSessionManagementServiceConfigurator::new);
+        this.registry = registry;
+    }
+
+    @Override
+    public void installServices(OperationContext context, ModelNode model) throws OperationFailedException {
+        super.installServices(context, model);
+
+        new ServiceValueCaptorServiceConfigurator<>(this.registry.add(Capability.SESSION_MANAGEMENT_PROVIDER.getServiceName(context.getCurrentAddress()))).build(context.getServiceTarget()).install();
+    }
+
+    @Override
+    public void removeServices(OperationContext context, ModelNode model) throws OperationFailedException {
+        PathAddress address = context.getCurrentAddress();
+
+        context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.registry.remove(Capability.SESSION_MANAGEMENT_PROVIDER.getServiceName(address))).getServiceName());
+
+        super.removeServices(context, model);
+    }
+}
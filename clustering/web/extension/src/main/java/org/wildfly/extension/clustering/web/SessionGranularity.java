@@ -32,6 +32,7 @@ public enum SessionGranularity {
 
     SESSION(SessionAttributePersistenceStrategy.COARSE),
     ATTRIBUTE(SessionAttributePersistenceStrategy.FINE),
+    SESSION_DELTA(SessionAttributePersistenceStrategy.COARSE_DELTA),
     ;
     private final SessionAttributePersistenceStrategy strategy;
 
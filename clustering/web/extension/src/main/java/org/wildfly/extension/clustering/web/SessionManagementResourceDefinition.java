@@ -35,11 +35,16 @@ import org.jboss.as.clustering.controller.UnaryCapabilityNameResolver;
 import org.jboss.as.clustering.controller.UnaryRequirementCapability;
 import org.jboss.as.clustering.controller.validation.EnumValidator;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.web.WebProviderRequirement;
@@ -79,6 +84,12 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 return builder.setValidator(new EnumValidator<>(SessionGranularity.class));
             }
         },
+        HASH_MUTATION_DETECTION("hash-mutation-detection", ModelType.BOOLEAN) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setRequired(false).setDefaultValue(ModelNode.FALSE);
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -96,13 +107,31 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
         }
     }
 
+    static ResourceTransformationDescriptionBuilder buildTransformation(ModelVersion version, ResourceTransformationDescriptionBuilder parent, PathElement path) {
+        ResourceTransformationDescriptionBuilder builder = parent.addChildResource(path);
+
+        if (DistributableWebModel.VERSION_3_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                .addRejectCheck(new RejectAttributeChecker.SimpleRejectAttributeChecker(new ModelNode(SessionGranularity.SESSION_DELTA.name())), Attribute.GRANULARITY.getDefinition())
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, Attribute.HASH_MUTATION_DETECTION.getDefinition().getDefaultValue()), Attribute.HASH_MUTATION_DETECTION.getDefinition())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.HASH_MUTATION_DETECTION.getDefinition())
+                .end();
+        }
+
+        return builder;
+    }
+
     private final UnaryOperator<ResourceDescriptor> configurator;
-    private final ResourceServiceConfiguratorFactory factory;
+    private final ResourceServiceHandler handler;
 
     public SessionManagementResourceDefinition(PathElement path, UnaryOperator<ResourceDescriptor> configurator, ResourceServiceConfiguratorFactory factory) {
+        this(path, configurator, new SimpleResourceServiceHandler(factory));
+    }
+
+    public SessionManagementResourceDefinition(PathElement path, UnaryOperator<ResourceDescriptor> configurator, ResourceServiceHandler handler) {
         super(path, DistributableWebExtension.SUBSYSTEM_RESOLVER.createChildResolver(path, PathElement.pathElement("session-management")));
         this.configurator = configurator;
-        this.factory = factory;
+        this.handler = handler;
     }
 
     @Override
@@ -112,8 +141,7 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 .addAttributes(Attribute.class)
                 .addCapabilities(Capability.class)
                 ;
-        ResourceServiceHandler handler = new SimpleResourceServiceHandler(this.factory);
-        new SimpleResourceRegistration(descriptor, handler).register(registration);
+        new SimpleResourceRegistration(descriptor, this.handler).register(registration);
 
         new NoAffinityResourceDefinition().register(registration);
         new LocalAffinityResourceDefinition().register(registration);
@@ -23,6 +23,7 @@
 package org.wildfly.extension.clustering.web;
 
 import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.GRANULARITY;
+import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.HASH_MUTATION_DETECTION;
 
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -56,6 +57,7 @@ import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 public abstract class SessionManagementServiceConfigurator<C extends DistributableSessionManagementConfiguration> extends CapabilityServiceNameProvider implements ResourceServiceConfigurator, DistributableSessionManagementConfiguration, Supplier<DistributableSessionManagementProvider> {
 
     private volatile SessionGranularity granularity;
+    private volatile boolean hashMutationDetection;
     private volatile SupplierDependency<RouteLocatorServiceConfiguratorFactory<C>> factory;
 
     SessionManagementServiceConfigurator(PathAddress address) {
@@ -65,6 +67,7 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
     @Override
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.granularity = ModelNodes.asEnum(GRANULARITY.resolveModelAttribute(context, model), SessionGranularity.class);
+        this.hashMutationDetection = HASH_MUTATION_DETECTION.resolveModelAttribute(context, model).asBoolean();
         this.factory = new ServiceSupplierDependency<>(new AffinityServiceNameProvider(context.getCurrentAddress()));
         return this;
     }
@@ -83,6 +86,11 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
         return this.granularity.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public boolean isHashMutationDetectionEnabled() {
+        return this.hashMutationDetection;
+    }
+
     public RouteLocatorServiceConfiguratorFactory<C> getRouteLocatorServiceConfiguratorFactory() {
         return this.factory.get();
     }
@@ -44,6 +44,7 @@ import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagement
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementProvider;
 import org.wildfly.clustering.web.routing.RouteLocatorServiceConfiguratorFactory;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
+import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
 
 /**
  * Parser for both jboss-all.xml distributable-web namespace parsing its standalone deployment descriptor counterpart.
@@ -141,7 +142,6 @@ public class DistributableWebDeploymentXMLReader implements XMLElementReader<Mut
         this.readImmutability(reader, configuration);
     }
 
-    @SuppressWarnings("static-method")
     private void readSessionManagementAttribute(XMLExtendedStreamReader reader, int index, MutableSessionManagementConfiguration configuration) throws XMLStreamException {
         String value = reader.getAttributeValue(index);
 
@@ -152,6 +152,10 @@ public class DistributableWebDeploymentXMLReader implements XMLElementReader<Mut
                 } catch (IllegalArgumentException e) {
                     throw ParseUtils.invalidAttributeValue(reader, index);
                 }
+                // SESSION_DELTA granularity was introduced in version 3.0
+                if ((configuration.getAttributePersistenceStrategy() == SessionAttributePersistenceStrategy.COARSE_DELTA) && !this.schema.since(DistributableWebDeploymentSchema.VERSION_3_0)) {
+                    throw ParseUtils.invalidAttributeValue(reader, index);
+                }
                 break;
             }
             default: {
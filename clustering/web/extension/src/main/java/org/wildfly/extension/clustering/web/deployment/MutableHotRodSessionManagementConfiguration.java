@@ -22,6 +22,7 @@
 
 package org.wildfly.extension.clustering.web.deployment;
 
+import java.time.Duration;
 import java.util.function.UnaryOperator;
 
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionManagementConfiguration;
@@ -59,4 +60,10 @@ public class MutableHotRodSessionManagementConfiguration extends MutableSessionM
     public void setConfigurationName(String configurationName) {
         this.configurationName = configurationName;
     }
+
+    @Override
+    public Duration getLastAccessFlushInterval() {
+        // Deployment descriptors do not support coalescing of last access updates
+        return Duration.ZERO;
+    }
 }
@@ -24,6 +24,7 @@ package org.wildfly.extension.clustering.web.deployment;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -105,7 +106,7 @@ public class DistributableWebDeploymentXMLReaderTestCase {
             InfinispanSessionManagementConfiguration configuration = provider.getSessionManagementConfiguration();
             Assert.assertEquals("foo", configuration.getContainerName());
             Assert.assertEquals("bar", configuration.getCacheName());
-            Assert.assertSame(SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
+            Assert.assertSame(this.schema.since(DistributableWebDeploymentSchema.VERSION_3_0) ? SessionAttributePersistenceStrategy.COARSE_DELTA : SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
 
             if (this.schema.since(DistributableWebDeploymentSchema.VERSION_2_0)) {
                 Assert.assertTrue(provider.getRouteLocatorServiceConfiguratorFactory() instanceof RankedRouteLocatorServiceConfiguratorFactory);
@@ -144,4 +145,25 @@ public class DistributableWebDeploymentXMLReaderTestCase {
             mapper.unregisterRootAttribute(this.schema.getRoot());
         }
     }
+
+    @Test
+    public void testSessionDeltaGranularity() throws XMLStreamException {
+        String xml = String.format("<distributable-web xmlns=\"%s\"><infinispan-session-management cache-container=\"foo\" granularity=\"SESSION_DELTA\"/></distributable-web>", this.schema.getNamespaceUri());
+        XMLMapper mapper = XMLMapper.Factory.create();
+        mapper.registerRootElement(this.schema.getRoot(), new DistributableWebDeploymentXMLReader(this.schema));
+        try {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new StringReader(xml));
+            MutableDistributableDeploymentConfiguration config = new MutableDistributableDeploymentConfiguration();
+            try {
+                mapper.parseDocument(config, reader);
+                Assert.assertTrue(this.schema.since(DistributableWebDeploymentSchema.VERSION_3_0));
+                Assert.assertSame(SessionAttributePersistenceStrategy.COARSE_DELTA, ((InfinispanSessionManagementProvider) config.getSessionManagement()).getSessionManagementConfiguration().getAttributePersistenceStrategy());
+            } catch (XMLStreamException e) {
+                // SESSION_DELTA granularity is not supported prior to version 3.0
+                Assert.assertFalse(this.schema.since(DistributableWebDeploymentSchema.VERSION_3_0));
+            }
+        } finally {
+            mapper.unregisterRootAttribute(this.schema.getRoot());
+        }
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.web.hotrod.logging.Logger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Mutator factory that coalesces mutations of the same cache entry, and writes them to the remote cache at a fixed interval
+ * using a single {@link RemoteCache#putAll(Map)} per interval, rather than one {@link RemoteCache#put(Object, Object)} per mutation.
+ * Values pending a write are visible via {@link #getPending(Object)}.
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class CoalescingMutatorFactory<K, V> implements MutatorFactory<K, V>, Runnable, AutoCloseable {
+
+    private final RemoteCache<K, V> cache;
+    private final CoalescingStatistics statistics;
+    private final Map<K, V> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final Future<?> future;
+
+    // Serializes flushes with the discarding of entries
+    private final Object flushLock = new Object();
+    // Keys of the most recent flush, guarded by flushLock
+    private Set<K> flushed = Collections.emptySet();
+
+    public CoalescingMutatorFactory(RemoteCache<K, V> cache, Duration interval, CoalescingStatistics statistics) {
+        this.cache = cache;
+        this.statistics = statistics;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+        this.future = executor.scheduleWithFixedDelay(this, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Mutator createMutator(K key, V value) {
+        return new Mutator() {
+            @Override
+            public void mutate() {
+                CoalescingMutatorFactory.this.pending.put(key, value);
+                CoalescingMutatorFactory.this.statistics.mutated();
+            }
+        };
+    }
+
+    /**
+     * Returns the value of the specified cache entry that is pending a write, if any.
+     * @param key a cache key
+     * @return the pending value, or null, if no write is pending
+     */
+    public V getPending(K key) {
+        return this.pending.get(key);
+    }
+
+    /**
+     * Discards any pending write of the specified cache entry, which must already have been removed from the remote cache.
+     * If a concurrent flush already included this entry, the entry is removed again once that flush completes.
+     * @param key a cache key
+     */
+    public void discard(K key) {
+        this.pending.remove(key);
+        synchronized (this.flushLock) {
+            // Any subsequent flush will skip this entry
+            if (this.flushed.contains(key)) {
+                this.cache.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        synchronized (this.flushLock) {
+            if (this.pending.isEmpty()) {
+                this.flushed = Collections.emptySet();
+                return;
+            }
+            // Entries discarded after this point are removed again by discard(...)
+            Map<K, V> batch = new HashMap<>(this.pending);
+            this.flushed = batch.keySet();
+            try {
+                this.cache.putAll(batch);
+                this.statistics.flushed(batch.size());
+                // Retain any entries mutated while writing
+                for (Map.Entry<K, V> entry : batch.entrySet()) {
+                    this.pending.remove(entry.getKey(), entry.getValue());
+                }
+            } catch (RuntimeException e) {
+                Logger.ROOT_LOGGER.failedToFlushCoalescedMutations(e, batch.size());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        this.future.cancel(false);
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_ACTION);
+        try {
+            this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write any remaining mutations
+        this.run();
+    }
+}
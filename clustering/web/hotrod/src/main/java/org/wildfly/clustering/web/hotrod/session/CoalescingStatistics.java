@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a {@link CoalescingMutatorFactory}, potentially shared by multiple factories.
+ */
+public class CoalescingStatistics {
+
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    void mutated() {
+        this.mutations.increment();
+    }
+
+    void flushed(int entries) {
+        this.flushes.increment();
+        this.writes.add(entries);
+    }
+
+    /**
+     * Returns the number of mutations requested of the associated factories.
+     * @return a number of mutations
+     */
+    public long getMutations() {
+        return this.mutations.sum();
+    }
+
+    /**
+     * Returns the number of cache entries actually written to the remote cache.
+     * @return a number of cache entry writes
+     */
+    public long getWrites() {
+        return this.writes.sum();
+    }
+
+    /**
+     * Returns the number of remote cache invocations used to write the coalesced mutations.
+     * @return a number of remote cache invocations
+     */
+    public long getFlushes() {
+        return this.flushes.sum();
+    }
+}
@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.time.Duration;
+
 import org.wildfly.clustering.web.hotrod.HotRodConfiguration;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 
@@ -30,4 +32,11 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface HotRodSessionManagementConfiguration extends DistributableSessionManagementConfiguration, HotRodConfiguration {
+
+    /**
+     * Returns the interval at which last access updates to session meta data are written to the remote cache.
+     * A zero interval writes every update immediately.
+     * @return a flush interval
+     */
+    Duration getLastAccessFlushInterval();
 }
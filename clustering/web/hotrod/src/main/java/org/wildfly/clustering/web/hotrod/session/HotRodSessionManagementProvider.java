@@ -35,6 +35,7 @@ import org.wildfly.clustering.web.session.SessionManagerFactoryConfiguration;
 public class HotRodSessionManagementProvider implements DistributableSessionManagementProvider {
 
     private final HotRodSessionManagementConfiguration configuration;
+    private final CoalescingStatistics lastAccessStatistics = new CoalescingStatistics();
 
     public HotRodSessionManagementProvider(HotRodSessionManagementConfiguration configuration) {
         this.configuration = configuration;
@@ -42,7 +43,7 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
 
     @Override
     public <S, SC, AL, BL, MC extends Marshallability, LC> CapabilityServiceConfigurator getSessionManagerFactoryServiceConfigurator(SessionManagerFactoryConfiguration<S, SC, AL, BL, MC, LC> config) {
-        return new HotRodSessionManagerFactoryServiceConfigurator<>(this.configuration, config);
+        return new HotRodSessionManagerFactoryServiceConfigurator<>(this.configuration, config, this.lastAccessStatistics);
     }
 
     @Override
@@ -53,4 +54,12 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
     public HotRodSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
+
+    /**
+     * Returns the statistics of coalesced last access updates of all session managers created by this provider.
+     * @return coalescing statistics
+     */
+    public CoalescingStatistics getLastAccessStatistics() {
+        return this.lastAccessStatistics;
+    }
 }
@@ -37,7 +37,6 @@ import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
 import org.wildfly.clustering.web.cache.session.MarshalledValueSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.SessionFactory;
-import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.hotrod.session.coarse.CoarseSessionAttributesFactory;
 import org.wildfly.clustering.web.hotrod.session.fine.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
@@ -62,11 +61,12 @@ public class HotRodSessionManagerFactory<S, SC, AL, BL, LC, MC extends Marshalla
     final Scheduler<String, ImmutableSessionMetaData> expirationScheduler;
     final Batcher<TransactionBatch> batcher;
     final Duration transactionTimeout;
+    private final HotRodSessionMetaDataFactory<LC> metaDataFactory;
     private final SessionFactory<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> sessionFactory;
 
     public HotRodSessionManagerFactory(HotRodSessionManagerFactoryConfiguration<S, SC, AL, BL, MC, LC> config) {
-        SessionMetaDataFactory<CompositeSessionMetaDataEntry<LC>> metaDataFactory = new HotRodSessionMetaDataFactory<>(config);
-        this.sessionFactory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
+        this.metaDataFactory = new HotRodSessionMetaDataFactory<>(config);
+        this.sessionFactory = new CompositeSessionFactory<>(this.metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
         ExpiredSessionRemover<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> remover = new ExpiredSessionRemover<>(this.sessionFactory);
         this.expirationRegistrar = remover;
         this.batcher = new HotRodBatcher(config.getCache());
@@ -118,6 +118,7 @@ public class HotRodSessionManagerFactory<S, SC, AL, BL, LC, MC extends Marshalla
     @Override
     public void close() {
         this.expirationScheduler.close();
+        this.metaDataFactory.close();
     }
 
     private SessionAttributesFactory<SC, ?> createSessionAttributesFactory(HotRodSessionManagerFactoryConfiguration<S, SC, AL, BL, MC, LC> configuration) {
@@ -125,7 +126,9 @@ public class HotRodSessionManagerFactory<S, SC, AL, BL, LC, MC extends Marshalla
             case FINE: {
                 return new FineSessionAttributesFactory<>(new HotRodMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
-            case COARSE: {
+            case COARSE:
+            // Remote caches cannot apply functions to cache entries, so replicate all attributes
+            case COARSE_DELTA: {
                 return new CoarseSessionAttributesFactory<>(new HotRodMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
             default: {
@@ -147,5 +150,15 @@ public class HotRodSessionManagerFactory<S, SC, AL, BL, LC, MC extends Marshalla
         public <CK, CV> RemoteCache<CK, CV> getCache() {
             return this.configuration.getCache();
         }
+
+        @Override
+        public Duration getLastAccessFlushInterval() {
+            return this.configuration.getLastAccessFlushInterval();
+        }
+
+        @Override
+        public CoalescingStatistics getLastAccessStatistics() {
+            return this.configuration.getLastAccessStatistics();
+        }
     }
 }
@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.time.Duration;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -64,15 +65,17 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, BL, MC ex
 
     private final HotRodSessionManagementConfiguration configuration;
     private final SessionManagerFactoryConfiguration<S, SC, AL, BL, MC, LC> factoryConfiguration;
+    private final CoalescingStatistics lastAccessStatistics;
 
     private volatile ServiceConfigurator cacheConfigurator;
     @SuppressWarnings("rawtypes")
     private volatile SupplierDependency<RemoteCache> cache;
 
-    public HotRodSessionManagerFactoryServiceConfigurator(HotRodSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<S, SC, AL, BL, MC, LC> factoryConfiguration) {
+    public HotRodSessionManagerFactoryServiceConfigurator(HotRodSessionManagementConfiguration configuration, SessionManagerFactoryConfiguration<S, SC, AL, BL, MC, LC> factoryConfiguration, CoalescingStatistics lastAccessStatistics) {
         super(ServiceName.JBOSS.append("clustering", "web", factoryConfiguration.getDeploymentName()));
         this.configuration = configuration;
         this.factoryConfiguration = factoryConfiguration;
+        this.lastAccessStatistics = lastAccessStatistics;
     }
 
     @Override
@@ -103,6 +106,11 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, BL, MC ex
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public boolean isHashMutationDetectionEnabled() {
+        return this.configuration.isHashMutationDetectionEnabled();
+    }
+
     @Override
     public String getContainerName() {
         return this.configuration.getContainerName();
@@ -113,6 +121,16 @@ public class HotRodSessionManagerFactoryServiceConfigurator<S, SC, AL, BL, MC ex
         return this.configuration.getConfigurationName();
     }
 
+    @Override
+    public Duration getLastAccessFlushInterval() {
+        return this.configuration.getLastAccessFlushInterval();
+    }
+
+    @Override
+    public CoalescingStatistics getLastAccessStatistics() {
+        return this.lastAccessStatistics;
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
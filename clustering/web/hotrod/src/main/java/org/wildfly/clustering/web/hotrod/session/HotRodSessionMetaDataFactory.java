@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.time.Duration;
+
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
@@ -43,20 +45,32 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 /**
  * @author Paul Ferraro
  */
-public class HotRodSessionMetaDataFactory<L> implements SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>> {
+public class HotRodSessionMetaDataFactory<L> implements SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>>, AutoCloseable {
 
     private final RemoteCache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataCache;
     private final MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataMutatorFactory;
     private final RemoteCache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final MutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataMutatorFactory;
+    // Non-null if last access updates are coalesced
+    private final CoalescingMutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> coalescingAccessMetaDataMutatorFactory;
     private final CacheProperties properties;
 
     public HotRodSessionMetaDataFactory(HotRodSessionMetaDataFactoryConfiguration configuration) {
         this.creationMetaDataCache = configuration.getCache();
         this.creationMetaDataMutatorFactory = new RemoteCacheMutatorFactory<>(this.creationMetaDataCache);
         this.accessMetaDataCache = configuration.getCache();
-        this.accessMetaDataMutatorFactory = new RemoteCacheMutatorFactory<>(this.accessMetaDataCache);
         this.properties = configuration.getCacheProperties();
+        Duration flushInterval = configuration.getLastAccessFlushInterval();
+        // Coalescing would defer writes beyond the scope of a transaction
+        this.coalescingAccessMetaDataMutatorFactory = !flushInterval.isZero() && !flushInterval.isNegative() && !this.properties.isTransactional() ? new CoalescingMutatorFactory<>(this.accessMetaDataCache, flushInterval, configuration.getLastAccessStatistics()) : null;
+        this.accessMetaDataMutatorFactory = (this.coalescingAccessMetaDataMutatorFactory != null) ? this.coalescingAccessMetaDataMutatorFactory : new RemoteCacheMutatorFactory<>(this.accessMetaDataCache);
+    }
+
+    @Override
+    public void close() {
+        if (this.coalescingAccessMetaDataMutatorFactory != null) {
+            this.coalescingAccessMetaDataMutatorFactory.close();
+        }
     }
 
     @Override
@@ -74,9 +88,10 @@ public class HotRodSessionMetaDataFactory<L> implements SessionMetaDataFactory<C
     public CompositeSessionMetaDataEntry<L> findValue(String id) {
         SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
         MetadataValue<SessionCreationMetaDataEntry<L>> value = this.creationMetaDataCache.getWithMetadata(key);
-        SessionCreationMetaDataEntry<L> creationMetaDataEntry = this.creationMetaDataCache.get(key);
-        if (creationMetaDataEntry != null) {
-            SessionAccessMetaData accessMetaData = this.accessMetaDataCache.get(new SessionAccessMetaDataKey(id));
+        if (value != null) {
+            SessionCreationMetaDataEntry<L> creationMetaDataEntry = value.getValue();
+            SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+            SessionAccessMetaData accessMetaData = this.findAccessMetaData(accessMetaDataKey);
             if (accessMetaData != null) {
                 return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry.getMetaData(), accessMetaData, creationMetaDataEntry.getLocalContext());
             }
@@ -85,6 +100,18 @@ public class HotRodSessionMetaDataFactory<L> implements SessionMetaDataFactory<C
         return null;
     }
 
+    private SessionAccessMetaData findAccessMetaData(SessionAccessMetaDataKey key) {
+        // Prefer any last access update not yet written to the remote cache
+        SessionAccessMetaData pending = (this.coalescingAccessMetaDataMutatorFactory != null) ? this.coalescingAccessMetaDataMutatorFactory.getPending(key) : null;
+        if (pending != null) {
+            // Copy, since the pending value must not be mutated while it awaits its write
+            SessionAccessMetaData accessMetaData = new SimpleSessionAccessMetaData();
+            accessMetaData.setLastAccessedDuration(pending.getLastAccessedDuration());
+            return accessMetaData;
+        }
+        return this.accessMetaDataCache.get(key);
+    }
+
     @Override
     public InvalidatableSessionMetaData createSessionMetaData(String id, CompositeSessionMetaDataEntry<L> entry) {
         SessionCreationMetaDataKey creationMetaDataKey = new SessionCreationMetaDataKey(id);
@@ -109,7 +136,12 @@ public class HotRodSessionMetaDataFactory<L> implements SessionMetaDataFactory<C
         SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
         SessionCreationMetaDataEntry<L> creationMetaData = this.creationMetaDataCache.withFlags(Flag.FORCE_RETURN_VALUE).remove(key);
         if (creationMetaData == null) return false;
-        this.accessMetaDataCache.remove(new SessionAccessMetaDataKey(id));
+        SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+        this.accessMetaDataCache.remove(accessMetaDataKey);
+        // Discard only after removal, so that a concurrent flush cannot resurrect the entry
+        if (this.coalescingAccessMetaDataMutatorFactory != null) {
+            this.coalescingAccessMetaDataMutatorFactory.discard(accessMetaDataKey);
+        }
         return true;
     }
 }
@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.web.hotrod.session;
 
+import java.time.Duration;
+
 import org.infinispan.client.hotrod.RemoteCache;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.hotrod.RemoteCacheManagerProperties;
@@ -30,10 +32,22 @@ import org.wildfly.clustering.ee.hotrod.RemoteCacheManagerProperties;
  * @author Paul Ferraro
  */
 public interface HotRodSessionMetaDataFactoryConfiguration {
-
     <CK, CV> RemoteCache<CK, CV> getCache();
 
     default CacheProperties getCacheProperties() {
         return new RemoteCacheManagerProperties(this.getCache().getRemoteCacheManager().getConfiguration());
     }
+
+    /**
+     * Returns the interval at which last access updates to session meta data are written to the remote cache.
+     * A zero interval writes every update immediately.
+     * @return a flush interval
+     */
+    Duration getLastAccessFlushInterval();
+
+    /**
+     * Returns the statistics to which coalesced last access updates are reported.
+     * @return coalescing statistics
+     */
+    CoalescingStatistics getLastAccessStatistics();
 }
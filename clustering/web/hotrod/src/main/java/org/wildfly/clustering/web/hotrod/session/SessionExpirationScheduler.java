@@ -29,7 +29,7 @@ import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ee.Scheduler;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.ShardedScheduler;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.web.hotrod.logging.Logger;
@@ -47,7 +47,7 @@ public class SessionExpirationScheduler implements Scheduler<String, ImmutableSe
     private final Remover<String> remover;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this.scheduler = new ShardedScheduler<>(SortedScheduledEntries::new, this, closeTimeout);
         this.batcher = batcher;
         this.remover = remover;
     }
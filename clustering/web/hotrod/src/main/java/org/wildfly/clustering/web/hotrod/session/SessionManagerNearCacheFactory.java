@@ -89,7 +89,8 @@ public class SessionManagerNearCacheFactory<K, V> implements Function<ClientList
             List<Object> keys = new LinkedList<>();
             keys.add(new SessionAccessMetaDataKey(id));
             switch (this.strategy) {
-                case COARSE: {
+                case COARSE:
+                case COARSE_DELTA: {
                     keys.add(new SessionAttributesKey(id));
                     break;
                 }
@@ -36,6 +36,7 @@ import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
@@ -54,6 +55,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final RemoteCache<SessionAttributesKey, V> cache;
     private final Marshaller<Map<String, Object>, V> marshaller;
     private final Immutability immutability;
+    private final SessionAttributeHasher hasher;
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
@@ -62,6 +64,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.cache = configuration.getCache();
         this.marshaller = configuration.getMarshaller();
         this.immutability = configuration.getImmutability();
+        this.hasher = configuration.getHasher();
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new RemoteCacheMutatorFactory<>(this.cache);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
@@ -94,7 +97,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, values);
         SessionActivationNotifier notifier = new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
         Mutator mutator = this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(values));
-        return new CoarseSessionAttributes(values, mutator, this.marshaller, this.immutability, this.properties, notifier);
+        return new CoarseSessionAttributes(values, mutator, this.marshaller, this.immutability, this.properties, notifier, this.hasher);
     }
 
     @Override
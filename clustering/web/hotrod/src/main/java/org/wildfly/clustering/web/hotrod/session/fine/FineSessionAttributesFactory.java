@@ -23,7 +23,10 @@
 package org.wildfly.clustering.web.hotrod.session.fine;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -38,10 +41,12 @@ import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.fine.FineImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributes;
+import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributesEntry;
 import org.wildfly.clustering.web.hotrod.logging.Logger;
 import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
@@ -54,12 +59,13 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  * A separate cache entry stores the activate attribute names for the session.
  * @author Paul Ferraro
  */
-public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, UUID>> {
+public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, FineSessionAttributesEntry<V>> {
 
     private final RemoteCache<SessionAttributeNamesKey, Map<String, UUID>> namesCache;
     private final RemoteCache<SessionAttributeKey, V> attributeCache;
     private final Marshaller<Object, V> marshaller;
     private final Immutability immutability;
+    private final SessionAttributeHasher hasher;
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributeKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
@@ -69,25 +75,37 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
         this.attributeCache = configuration.getCache();
         this.marshaller = configuration.getMarshaller();
         this.immutability = configuration.getImmutability();
+        this.hasher = configuration.getHasher();
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new RemoteCacheMutatorFactory<>(this.attributeCache);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
     }
 
     @Override
-    public Map<String, UUID> createValue(String id, Void context) {
-        return Collections.emptyMap();
+    public FineSessionAttributesEntry<V> createValue(String id, Void context) {
+        return new FineSessionAttributesEntry<>(Collections.emptyMap());
     }
 
     @Override
-    public Map<String, UUID> findValue(String id) {
+    public FineSessionAttributesEntry<V> findValue(String id) {
         Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
         if (names != null) {
+            if (names.isEmpty()) {
+                return new FineSessionAttributesEntry<>(names);
+            }
+            // Fetch all attributes of the session in a single round trip, rather than one round trip per attribute
+            Set<SessionAttributeKey> keys = new HashSet<>();
+            for (UUID attributeId : names.values()) {
+                keys.add(new SessionAttributeKey(id, attributeId));
+            }
+            Map<SessionAttributeKey, V> entries = this.attributeCache.getAll(keys);
+            Map<UUID, V> values = new HashMap<>();
             for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
+                V value = entries.get(new SessionAttributeKey(id, nameEntry.getValue()));
                 if (value != null) {
                     try {
                         this.marshaller.read(value);
+                        values.put(nameEntry.getValue(), value);
                         continue;
                     } catch (InvalidSerializedFormException e) {
                         Logger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, nameEntry.getKey());
@@ -98,9 +116,9 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
                 this.remove(id);
                 return null;
             }
-            return names;
+            return new FineSessionAttributesEntry<>(names, values);
         }
-        return Collections.emptyMap();
+        return new FineSessionAttributesEntry<>(Collections.emptyMap());
     }
 
     @Override
@@ -115,15 +133,15 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     @Override
-    public SessionAttributes createSessionAttributes(String id, Map<String, UUID> names, ImmutableSessionMetaData metaData, C context) {
-        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, names);
+    public SessionAttributes createSessionAttributes(String id, FineSessionAttributesEntry<V> entry, ImmutableSessionMetaData metaData, C context) {
+        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, entry);
         SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.withFlags(Flag.FORCE_RETURN_VALUE), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
+        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), entry, this.namesCache, getKeyFactory(id), this.attributeCache.withFlags(Flag.FORCE_RETURN_VALUE), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier, this.hasher);
     }
 
     @Override
-    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, FineSessionAttributesEntry<V> entry) {
+        return new FineImmutableSessionAttributes<>(entry, getKeyFactory(id), this.attributeCache, this.marshaller);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
@@ -0,0 +1,170 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CoalescingMutatorFactory}.
+ */
+public class CoalescingMutatorFactoryTestCase {
+    private final RemoteCache<String, String> cache = mock(RemoteCache.class);
+    private final CoalescingStatistics statistics = new CoalescingStatistics();
+
+    private CoalescingMutatorFactory<String, String> factory;
+
+    @Before
+    public void init() {
+        // Flushes are triggered explicitly by each test
+        this.factory = new CoalescingMutatorFactory<>(this.cache, Duration.ofHours(1), this.statistics);
+    }
+
+    @After
+    public void destroy() {
+        this.factory.close();
+    }
+
+    @Test
+    public void coalesce() {
+        this.factory.createMutator("foo", "1").mutate();
+        this.factory.createMutator("foo", "2").mutate();
+        this.factory.createMutator("foo", "3").mutate();
+        this.factory.createMutator("bar", "1").mutate();
+
+        assertEquals("3", this.factory.getPending("foo"));
+        assertEquals("1", this.factory.getPending("bar"));
+        verifyZeroInteractions(this.cache);
+
+        this.factory.run();
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("foo", "3");
+        expected.put("bar", "1");
+        verify(this.cache).putAll(expected);
+
+        assertNull(this.factory.getPending("foo"));
+        assertNull(this.factory.getPending("bar"));
+        assertEquals(4L, this.statistics.getMutations());
+        assertEquals(2L, this.statistics.getWrites());
+        assertEquals(1L, this.statistics.getFlushes());
+
+        // Nothing left to write
+        this.factory.run();
+
+        verifyNoMoreInteractions(this.cache);
+        assertEquals(1L, this.statistics.getFlushes());
+    }
+
+    @Test
+    public void retry() {
+        doThrow(new IllegalStateException()).doNothing().when(this.cache).putAll(anyMap());
+
+        this.factory.createMutator("foo", "1").mutate();
+
+        this.factory.run();
+
+        // Failed writes remain pending
+        assertEquals("1", this.factory.getPending("foo"));
+        assertEquals(0L, this.statistics.getFlushes());
+
+        this.factory.run();
+
+        verify(this.cache, times(2)).putAll(Collections.singletonMap("foo", "1"));
+        assertNull(this.factory.getPending("foo"));
+        assertEquals(1L, this.statistics.getWrites());
+        assertEquals(1L, this.statistics.getFlushes());
+    }
+
+    @Test
+    public void discard() {
+        this.factory.createMutator("foo", "1").mutate();
+
+        this.factory.discard("foo");
+
+        assertNull(this.factory.getPending("foo"));
+
+        this.factory.run();
+
+        verifyZeroInteractions(this.cache);
+    }
+
+    @Test
+    public void discardDuringFlush() throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            proceed.await();
+            return null;
+        }).when(this.cache).putAll(anyMap());
+
+        this.factory.createMutator("foo", "1").mutate();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flush = executor.submit(this.factory);
+            assertTrue(flushing.await(10, TimeUnit.SECONDS));
+
+            // Entry was removed from the remote cache, but is already being written by the flush
+            Future<?> discard = executor.submit(() -> this.factory.discard("foo"));
+            try {
+                discard.get(100, TimeUnit.MILLISECONDS);
+                fail("Discard should wait for the concurrent flush");
+            } catch (TimeoutException e) {
+                // Expected
+            }
+
+            proceed.countDown();
+            flush.get(10, TimeUnit.SECONDS);
+            discard.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Entry written by the flush must be removed again
+        verify(this.cache).remove("foo");
+        assertNull(this.factory.getPending("foo"));
+
+        this.factory.run();
+
+        verify(this.cache).putAll(anyMap());
+    }
+}
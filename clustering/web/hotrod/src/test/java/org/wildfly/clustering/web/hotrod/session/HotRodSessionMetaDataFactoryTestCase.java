@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.InvalidatableSessionMetaData;
+import org.wildfly.clustering.web.cache.session.SessionCreationMetaDataEntry;
+import org.wildfly.clustering.web.cache.session.SimpleSessionAccessMetaData;
+import org.wildfly.clustering.web.cache.session.SimpleSessionCreationMetaData;
+
+/**
+ * Unit test for the coalescing of last access updates by {@link HotRodSessionMetaDataFactory}.
+ */
+public class HotRodSessionMetaDataFactoryTestCase {
+    private final HotRodSessionMetaDataFactoryConfiguration configuration = mock(HotRodSessionMetaDataFactoryConfiguration.class);
+    private final RemoteCache<Object, Object> cache = mock(RemoteCache.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final CoalescingStatistics statistics = new CoalescingStatistics();
+
+    private final String id = "id";
+    private final SessionCreationMetaDataEntry<Object> creationMetaDataEntry = new SessionCreationMetaDataEntry<>(new SimpleSessionCreationMetaData());
+
+    @Before
+    public void init() {
+        when(this.configuration.getCache()).thenReturn(this.cache);
+        when(this.configuration.getCacheProperties()).thenReturn(this.properties);
+        when(this.configuration.getLastAccessFlushInterval()).thenReturn(Duration.ofHours(1));
+        when(this.configuration.getLastAccessStatistics()).thenReturn(this.statistics);
+        when(this.properties.isTransactional()).thenReturn(false);
+        when(this.cache.withFlags(Flag.FORCE_RETURN_VALUE)).thenReturn(this.cache);
+
+        MetadataValue<Object> value = mock(MetadataValue.class);
+        when(value.getValue()).thenReturn(this.creationMetaDataEntry);
+        when(this.cache.getWithMetadata(new SessionCreationMetaDataKey(this.id))).thenReturn(value);
+        when(this.cache.remove(new SessionCreationMetaDataKey(this.id))).thenReturn(this.creationMetaDataEntry);
+    }
+
+    @Test
+    public void coalesce() {
+        HotRodSessionMetaDataFactory<Object> factory = new HotRodSessionMetaDataFactory<>(this.configuration);
+        try {
+            this.access(factory, Duration.ofSeconds(1));
+            this.access(factory, Duration.ofSeconds(2));
+
+            verify(this.cache, never()).put(any(), any());
+
+            // Pending last access is visible prior to being written
+            CompositeSessionMetaDataEntry<Object> entry = factory.findValue(this.id);
+            assertNotNull(entry);
+            assertEquals(Duration.ofSeconds(2), entry.getAccessMetaData().getLastAccessedDuration());
+            verify(this.cache, never()).get(new SessionAccessMetaDataKey(this.id));
+        } finally {
+            factory.close();
+        }
+
+        // Remaining updates are written on close
+        verify(this.cache).putAll(anyMap());
+        assertEquals(2L, this.statistics.getMutations());
+        assertEquals(1L, this.statistics.getWrites());
+        assertEquals(1L, this.statistics.getFlushes());
+    }
+
+    @Test
+    public void remove() {
+        HotRodSessionMetaDataFactory<Object> factory = new HotRodSessionMetaDataFactory<>(this.configuration);
+        try {
+            this.access(factory, Duration.ofSeconds(1));
+
+            assertTrue(factory.remove(this.id));
+
+            InOrder order = inOrder(this.cache);
+            order.verify(this.cache).remove(new SessionCreationMetaDataKey(this.id));
+            order.verify(this.cache).remove(new SessionAccessMetaDataKey(this.id));
+
+            // Discarded last access is no longer visible
+            assertNull(factory.findValue(this.id));
+        } finally {
+            factory.close();
+        }
+
+        // Discarded last access is never written
+        verify(this.cache, never()).putAll(anyMap());
+    }
+
+    private void access(HotRodSessionMetaDataFactory<Object> factory, Duration duration) {
+        SimpleSessionAccessMetaData accessMetaData = new SimpleSessionAccessMetaData();
+        CompositeSessionMetaDataEntry<Object> entry = new CompositeSessionMetaDataEntry<>(this.creationMetaDataEntry.getMetaData(), accessMetaData, this.creationMetaDataEntry.getLocalContext());
+        InvalidatableSessionMetaData metaData = factory.createSessionMetaData(this.id, entry);
+        metaData.setLastAccessedTime(metaData.getCreationTime().plus(duration));
+    }
+}
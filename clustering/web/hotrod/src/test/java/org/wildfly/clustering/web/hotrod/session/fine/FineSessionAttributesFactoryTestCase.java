@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.hotrod.session.fine;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
+import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributesEntry;
+import org.wildfly.clustering.web.hotrod.session.HotRodSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+
+/**
+ * Unit test for the bulk read of session attributes by {@link FineSessionAttributesFactory}.
+ */
+public class FineSessionAttributesFactoryTestCase {
+    private final HotRodSessionAttributesFactoryConfiguration<Object, Object, Object, Object, String> configuration = mock(HotRodSessionAttributesFactoryConfiguration.class);
+    private final RemoteCache<Object, Object> cache = mock(RemoteCache.class);
+    private final Marshaller<Object, String> marshaller = mock(Marshaller.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final SessionAttributeHasher hasher = mock(SessionAttributeHasher.class);
+    private final HttpSessionActivationListenerProvider<Object, Object, Object> provider = mock(HttpSessionActivationListenerProvider.class);
+
+    private final String id = "id";
+    private final UUID fooId = UUID.randomUUID();
+    private final UUID barId = UUID.randomUUID();
+    private final Map<String, UUID> names = new HashMap<>();
+    private final Set<SessionAttributeKey> keys = new HashSet<>();
+
+    @Before
+    public void init() {
+        when(this.configuration.getCache()).thenReturn(this.cache);
+        when(this.configuration.getMarshaller()).thenReturn(this.marshaller);
+        when(this.configuration.getCacheProperties()).thenReturn(this.properties);
+        when(this.configuration.getImmutability()).thenReturn(this.immutability);
+        when(this.configuration.getHasher()).thenReturn(this.hasher);
+        when(this.configuration.getHttpSessionActivationListenerProvider()).thenReturn(this.provider);
+        when(this.cache.withFlags(Flag.FORCE_RETURN_VALUE)).thenReturn(this.cache);
+
+        this.names.put("foo", this.fooId);
+        this.names.put("bar", this.barId);
+        this.keys.add(new SessionAttributeKey(this.id, this.fooId));
+        this.keys.add(new SessionAttributeKey(this.id, this.barId));
+        when(this.cache.get(new SessionAttributeNamesKey(this.id))).thenReturn(this.names);
+    }
+
+    @Test
+    public void findValue() throws InvalidSerializedFormException {
+        FineSessionAttributesFactory<Object, Object, Object, String> factory = new FineSessionAttributesFactory<>(this.configuration);
+        Map<Object, Object> entries = new HashMap<>();
+        entries.put(new SessionAttributeKey(this.id, this.fooId), "FOO");
+        entries.put(new SessionAttributeKey(this.id, this.barId), "BAR");
+        when(this.cache.getAll(this.keys)).thenReturn(entries);
+        when(this.marshaller.read("FOO")).thenReturn(new Object());
+        when(this.marshaller.read("BAR")).thenReturn(new Object());
+
+        FineSessionAttributesEntry<String> result = factory.findValue(this.id);
+
+        assertNotNull(result);
+        assertEquals(this.names, result.getNames());
+        Map<UUID, String> expected = new HashMap<>();
+        expected.put(this.fooId, "FOO");
+        expected.put(this.barId, "BAR");
+        assertEquals(expected, result.getValues());
+
+        // All attributes are fetched with a single round trip
+        verify(this.cache).getAll(this.keys);
+        for (SessionAttributeKey key : this.keys) {
+            verify(this.cache, never()).get(key);
+        }
+    }
+
+    @Test
+    public void findEmptyValue() {
+        FineSessionAttributesFactory<Object, Object, Object, String> factory = new FineSessionAttributesFactory<>(this.configuration);
+        when(this.cache.get(new SessionAttributeNamesKey(this.id))).thenReturn(Collections.emptyMap());
+
+        FineSessionAttributesEntry<String> result = factory.findValue(this.id);
+
+        assertNotNull(result);
+        assertTrue(result.getNames().isEmpty());
+        assertTrue(result.getValues().isEmpty());
+        verify(this.cache, never()).getAll(any());
+    }
+
+    @Test
+    public void findMissingValue() throws InvalidSerializedFormException {
+        FineSessionAttributesFactory<Object, Object, Object, String> factory = new FineSessionAttributesFactory<>(this.configuration);
+        when(this.cache.getAll(this.keys)).thenReturn(Collections.singletonMap(new SessionAttributeKey(this.id, this.fooId), "FOO"));
+        when(this.marshaller.read("FOO")).thenReturn(new Object());
+
+        assertNull(factory.findValue(this.id));
+        verify(this.cache).remove(new SessionAttributeNamesKey(this.id));
+    }
+
+    @Test
+    public void findInvalidValue() throws InvalidSerializedFormException {
+        FineSessionAttributesFactory<Object, Object, Object, String> factory = new FineSessionAttributesFactory<>(this.configuration);
+        Map<Object, Object> entries = new HashMap<>();
+        entries.put(new SessionAttributeKey(this.id, this.fooId), "FOO");
+        entries.put(new SessionAttributeKey(this.id, this.barId), "BAR");
+        when(this.cache.getAll(this.keys)).thenReturn(entries);
+        when(this.marshaller.read("FOO")).thenReturn(new Object());
+        when(this.marshaller.read("BAR")).thenThrow(new InvalidSerializedFormException("invalid"));
+
+        assertNull(factory.findValue(this.id));
+        verify(this.cache).remove(new SessionAttributeNamesKey(this.id));
+    }
+}
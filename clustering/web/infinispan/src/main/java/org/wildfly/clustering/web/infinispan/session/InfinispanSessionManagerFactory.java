@@ -70,6 +70,7 @@ import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.SessionFactory;
 import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.infinispan.AffinityIdentifierFactory;
+import org.wildfly.clustering.web.infinispan.session.coarse.CoarseDeltaSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.session.ImmutableSession;
@@ -192,6 +193,9 @@ public class InfinispanSessionManagerFactory<S, SC, AL, BL, MC extends Marshalla
             case COARSE: {
                 return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
+            case COARSE_DELTA: {
+                return new CoarseDeltaSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
+            }
             default: {
                 // Impossible
                 throw new IllegalStateException();
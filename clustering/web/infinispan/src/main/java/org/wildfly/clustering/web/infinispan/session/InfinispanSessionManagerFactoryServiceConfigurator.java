@@ -186,6 +186,11 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, BL, M
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public boolean isHashMutationDetectionEnabled() {
+        return this.configuration.isHashMutationDetectionEnabled();
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
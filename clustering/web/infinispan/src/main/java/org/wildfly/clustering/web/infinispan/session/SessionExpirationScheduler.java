@@ -27,7 +27,7 @@ import java.util.function.Predicate;
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.ShardedScheduler;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -44,13 +44,13 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  */
 public class SessionExpirationScheduler<MV> implements Scheduler<String, ImmutableSessionMetaData>, Predicate<String> {
 
-    private final LocalScheduler<String> scheduler;
+    private final ShardedScheduler<String> scheduler;
     private final Batcher<TransactionBatch> batcher;
     private final Remover<String> remover;
     private final ImmutableSessionMetaDataFactory<MV> metaDataFactory;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this.scheduler = new ShardedScheduler<>(SortedScheduledEntries::new, this, closeTimeout);
         this.batcher = batcher;
         this.metaDataFactory = metaDataFactory;
         this.remover = remover;
@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.cache.function.ConcurrentMapComputeFunction;
+import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapComputeFunction;
+import org.wildfly.clustering.infinispan.spi.distribution.Key;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
+import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseSessionAttributes;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * {@link SessionAttributesFactory} for coarse granularity sessions that replicate only the attributes mutated by a given request.
+ * All session attributes are stored in a single cache entry, as a map of individually marshalled attribute values.
+ * Mutations are applied to that map, in place, by the owners of the cache entry via a {@link ConcurrentMapComputeFunction} (or {@link CopyOnWriteMapComputeFunction}, for transactional caches).
+ * Unlike {@link CoarseSessionAttributesFactory}, object references shared between distinct session attributes are not preserved.
+ */
+@Listener(sync = false)
+public class CoarseDeltaSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, Object>> {
+
+    private final Cache<SessionAttributesKey, Map<String, V>> cache;
+    private final Marshaller<Object, V> marshaller;
+    private final CacheProperties properties;
+    private final Immutability immutability;
+    private final SessionAttributeHasher hasher;
+    private final HttpSessionActivationListenerProvider<S, C, L> provider;
+
+    public CoarseDeltaSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
+        this.cache = configuration.getCache();
+        this.marshaller = configuration.getMarshaller();
+        this.immutability = configuration.getImmutability();
+        this.hasher = configuration.getHasher();
+        this.properties = configuration.getCacheProperties();
+        this.provider = configuration.getHttpSessionActivationListenerProvider();
+    }
+
+    @Override
+    public Map<String, Object> createValue(String id, Void context) {
+        // Cache entry is created on demand, by the first mutation
+        return this.createMap();
+    }
+
+    @Override
+    public Map<String, Object> findValue(String id) {
+        return this.getValue(id, true);
+    }
+
+    @Override
+    public Map<String, Object> tryValue(String id) {
+        return this.getValue(id, false);
+    }
+
+    private Map<String, Object> getValue(String id, boolean purgeIfInvalid) {
+        Map<String, Object> attributes = this.createMap();
+        Map<String, V> values = this.cache.get(new SessionAttributesKey(id));
+        if (values != null) {
+            for (Map.Entry<String, V> entry : values.entrySet()) {
+                String name = entry.getKey();
+                try {
+                    attributes.put(name, this.marshaller.read(entry.getValue()));
+                } catch (InvalidSerializedFormException e) {
+                    InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, name);
+                    if (purgeIfInvalid) {
+                        this.purge(id);
+                    }
+                    return null;
+                }
+            }
+        }
+        return attributes;
+    }
+
+    private Map<String, Object> createMap() {
+        return this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return this.delete(id);
+    }
+
+    @Override
+    public boolean purge(String id) {
+        return this.delete(id, Flag.SKIP_LISTENER_NOTIFICATION);
+    }
+
+    private boolean delete(String id, Flag... flags) {
+        this.cache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionAttributesKey(id));
+        return true;
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, Map<String, Object> values, ImmutableSessionMetaData metaData, C context) {
+        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, values);
+        SessionActivationNotifier notifier = new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
+        return new CoarseSessionAttributes(values, new DeltaMutatorFactory<>(this.cache, new SessionAttributesKey(id), this.marshaller, this.properties), this.marshaller, this.immutability, this.properties, notifier, this.hasher);
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, Object> values) {
+        return new CoarseImmutableSessionAttributes(values);
+    }
+
+    @CacheEntriesEvicted
+    public void evicted(CacheEntriesEvictedEvent<Key<String>, ?> event) {
+        if (!event.isPre()) {
+            Cache<SessionAttributesKey, Map<String, V>> cache = this.cache.getAdvancedCache().withFlags(Flag.SKIP_LISTENER_NOTIFICATION);
+            for (Key<String> key : event.getEntries().keySet()) {
+                // Workaround for ISPN-8324
+                if (key instanceof SessionCreationMetaDataKey) {
+                    cache.evict(new SessionAttributesKey(key.getValue()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a mutator that marshals the mutated attributes of a session and applies them to its cache entry.
+     */
+    private static class DeltaMutatorFactory<V> implements Function<Map<String, Object>, Mutator> {
+        private final Cache<SessionAttributesKey, Map<String, V>> cache;
+        private final SessionAttributesKey key;
+        private final Marshaller<Object, V> marshaller;
+        private final CacheProperties properties;
+
+        DeltaMutatorFactory(Cache<SessionAttributesKey, Map<String, V>> cache, SessionAttributesKey key, Marshaller<Object, V> marshaller, CacheProperties properties) {
+            this.cache = cache;
+            this.key = key;
+            this.marshaller = marshaller;
+            this.properties = properties;
+        }
+
+        @Override
+        public Mutator apply(Map<String, Object> delta) {
+            return new Mutator() {
+                @Override
+                public void mutate() {
+                    DeltaMutatorFactory.this.mutate(delta);
+                }
+            };
+        }
+
+        void mutate(Map<String, Object> delta) {
+            Map<String, V> values = new HashMap<>();
+            for (Map.Entry<String, Object> entry : delta.entrySet()) {
+                Object value = entry.getValue();
+                // A null value indicates a removed attribute
+                values.put(entry.getKey(), (value != null) ? this.marshaller.write(value) : null);
+            }
+            // Use IGNORE_RETURN_VALUES to avoid transferring the complete attribute map back from the primary owner
+            // Use FAIL_SILENTLY to prevent mutation from failing locally due to remote exceptions
+            this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY).compute(this.key, this.properties.isTransactional() ? new CopyOnWriteMapComputeFunction<>(values) : new ConcurrentMapComputeFunction<>(values));
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
@@ -65,6 +66,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final Marshaller<Map<String, Object>, V> marshaller;
     private final CacheProperties properties;
     private final Immutability immutability;
+    private final SessionAttributeHasher hasher;
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
 
@@ -72,6 +74,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.cache = configuration.getCache();
         this.marshaller = configuration.getMarshaller();
         this.immutability = configuration.getImmutability();
+        this.hasher = configuration.getHasher();
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.cache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
@@ -130,7 +133,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, values);
         SessionActivationNotifier notifier = new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
         Mutator mutator = (this.properties.isTransactional() && metaData.isNew()) ? Mutator.PASSIVE : this.mutatorFactory.createMutator(new SessionAttributesKey(id), this.marshaller.write(values));
-        return new CoarseSessionAttributes(values, mutator, this.marshaller, this.immutability, this.properties, notifier);
+        return new CoarseSessionAttributes(values, mutator, this.marshaller, this.immutability, this.properties, notifier, this.hasher);
     }
 
     @Override
@@ -24,6 +24,7 @@ package org.wildfly.clustering.web.infinispan.session.fine;
 
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -45,10 +46,12 @@ import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionAttributeActivationNotifier;
 import org.wildfly.clustering.web.cache.session.SessionAttributeActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
 import org.wildfly.clustering.web.cache.session.SessionAttributes;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.fine.FineImmutableSessionAttributes;
 import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributes;
+import org.wildfly.clustering.web.cache.session.fine.FineSessionAttributesEntry;
 import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
@@ -63,12 +66,13 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  * @author Paul Ferraro
  */
 @Listener(sync = false)
-public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, UUID>> {
+public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, FineSessionAttributesEntry<V>> {
 
     private final Cache<SessionAttributeNamesKey, Map<String, UUID>> namesCache;
     private final Cache<SessionAttributeKey, V> attributeCache;
     private final Marshaller<Object, V> marshaller;
     private final Immutability immutability;
+    private final SessionAttributeHasher hasher;
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributeKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
@@ -78,34 +82,46 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
         this.attributeCache = configuration.getCache();
         this.marshaller = configuration.getMarshaller();
         this.immutability = configuration.getImmutability();
+        this.hasher = configuration.getHasher();
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.attributeCache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
     }
 
     @Override
-    public Map<String, UUID> createValue(String id, Void context) {
-        return Collections.emptyMap();
+    public FineSessionAttributesEntry<V> createValue(String id, Void context) {
+        return new FineSessionAttributesEntry<>(Collections.emptyMap());
     }
 
     @Override
-    public Map<String, UUID> findValue(String id) {
+    public FineSessionAttributesEntry<V> findValue(String id) {
         return this.getValue(id, true);
     }
 
     @Override
-    public Map<String, UUID> tryValue(String id) {
+    public FineSessionAttributesEntry<V> tryValue(String id) {
         return this.getValue(id, false);
     }
 
-    private Map<String, UUID> getValue(String id, boolean purgeIfInvalid) {
+    private FineSessionAttributesEntry<V> getValue(String id, boolean purgeIfInvalid) {
         Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
         if (names != null) {
+            if (names.isEmpty()) {
+                return new FineSessionAttributesEntry<>(names);
+            }
+            // Fetch all attributes of the session in a single read, rather than one read per attribute
+            Set<SessionAttributeKey> keys = new HashSet<>();
+            for (UUID attributeId : names.values()) {
+                keys.add(new SessionAttributeKey(id, attributeId));
+            }
+            Map<SessionAttributeKey, V> entries = this.attributeCache.getAdvancedCache().getAll(keys);
+            Map<UUID, V> values = new HashMap<>();
             for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
+                V value = entries.get(new SessionAttributeKey(id, nameEntry.getValue()));
                 if (value != null) {
                     try {
                         this.marshaller.read(value);
+                        values.put(nameEntry.getValue(), value);
                         continue;
                     } catch (InvalidSerializedFormException e) {
                         InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, nameEntry.getKey());
@@ -118,9 +134,9 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
                 }
                 return null;
             }
-            return names;
+            return new FineSessionAttributesEntry<>(names, values);
         }
-        return Collections.emptyMap();
+        return new FineSessionAttributesEntry<>(Collections.emptyMap());
     }
 
     @Override
@@ -144,15 +160,15 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     @Override
-    public SessionAttributes createSessionAttributes(String id, Map<String, UUID> names, ImmutableSessionMetaData metaData, C context) {
-        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, names);
+    public SessionAttributes createSessionAttributes(String id, FineSessionAttributesEntry<V> entry, ImmutableSessionMetaData metaData, C context) {
+        ImmutableSessionAttributes attributes = this.createImmutableSessionAttributes(id, entry);
         SessionAttributeActivationNotifier notifier = new ImmutableSessionAttributeActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, attributes), context);
-        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), names, this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier);
+        return new FineSessionAttributes<>(new SessionAttributeNamesKey(id), entry, this.namesCache, getKeyFactory(id), this.attributeCache.getAdvancedCache().withFlags(Flag.FORCE_SYNCHRONOUS), this.marshaller, this.mutatorFactory, this.immutability, this.properties, notifier, this.hasher);
     }
 
     @Override
-    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, UUID> names) {
-        return new FineImmutableSessionAttributes<>(names, getKeyFactory(id), this.attributeCache, this.marshaller);
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, FineSessionAttributesEntry<V> entry) {
+        return new FineImmutableSessionAttributes<>(entry, getKeyFactory(id), this.attributeCache, this.marshaller);
     }
 
     private static Function<UUID, SessionAttributeKey> getKeyFactory(String id) {
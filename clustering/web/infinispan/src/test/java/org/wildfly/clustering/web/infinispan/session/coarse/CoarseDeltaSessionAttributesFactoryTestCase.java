@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.cache.function.ConcurrentMapComputeFunction;
+import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapComputeFunction;
+import org.wildfly.clustering.marshalling.spi.InvalidSerializedFormException;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.SessionAttributeHasher;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * Unit test for {@link CoarseDeltaSessionAttributesFactory}.
+ */
+public class CoarseDeltaSessionAttributesFactoryTestCase {
+    private final InfinispanSessionAttributesFactoryConfiguration<Object, Object, Object, Object, String> configuration = mock(InfinispanSessionAttributesFactoryConfiguration.class);
+    private final Cache<SessionAttributesKey, Map<String, String>> cache = mock(Cache.class);
+    private final AdvancedCache<SessionAttributesKey, Map<String, String>> advancedCache = mock(AdvancedCache.class);
+    private final Marshaller<Object, String> marshaller = mock(Marshaller.class);
+    private final CacheProperties properties = mock(CacheProperties.class);
+    private final Immutability immutability = mock(Immutability.class);
+    private final SessionAttributeHasher hasher = mock(SessionAttributeHasher.class);
+    private final HttpSessionActivationListenerProvider<Object, Object, Object> provider = mock(HttpSessionActivationListenerProvider.class);
+
+    @Before
+    public void init() {
+        when(this.configuration.<SessionAttributesKey, Map<String, String>>getCache()).thenReturn(this.cache);
+        when(this.configuration.getMarshaller()).thenReturn(this.marshaller);
+        when(this.configuration.getCacheProperties()).thenReturn(this.properties);
+        when(this.configuration.getImmutability()).thenReturn(this.immutability);
+        when(this.configuration.getHasher()).thenReturn(this.hasher);
+        when(this.configuration.getHttpSessionActivationListenerProvider()).thenReturn(this.provider);
+        when(this.cache.getAdvancedCache()).thenReturn(this.advancedCache);
+        when(this.advancedCache.withFlags(Flag.IGNORE_RETURN_VALUES, Flag.FAIL_SILENTLY)).thenReturn(this.advancedCache);
+        when(this.advancedCache.withFlags(anyCollection())).thenReturn(this.advancedCache);
+        when(this.marshaller.isMarshallable(any())).thenReturn(true);
+        when(this.hasher.hash(any())).thenReturn(OptionalLong.empty());
+    }
+
+    @Test
+    public void findValue() throws InvalidSerializedFormException {
+        CoarseDeltaSessionAttributesFactory<Object, Object, Object, String> factory = new CoarseDeltaSessionAttributesFactory<>(this.configuration);
+        String id = "id";
+        Object foo = new Object();
+        Object bar = new Object();
+        Map<String, String> values = new HashMap<>();
+        values.put("foo", "FOO");
+        values.put("bar", "BAR");
+
+        when(this.cache.get(new SessionAttributesKey(id))).thenReturn(values);
+        when(this.marshaller.read("FOO")).thenReturn(foo);
+        when(this.marshaller.read("BAR")).thenReturn(bar);
+
+        Map<String, Object> result = factory.findValue(id);
+
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertSame(foo, result.get("foo"));
+        assertSame(bar, result.get("bar"));
+
+        // A session without any attributes has no cache entry
+        when(this.cache.get(new SessionAttributesKey(id))).thenReturn(null);
+
+        result = factory.findValue(id);
+
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void findInvalidValue() throws InvalidSerializedFormException {
+        CoarseDeltaSessionAttributesFactory<Object, Object, Object, String> factory = new CoarseDeltaSessionAttributesFactory<>(this.configuration);
+        String id = "id";
+
+        when(this.cache.get(new SessionAttributesKey(id))).thenReturn(Collections.singletonMap("foo", "FOO"));
+        when(this.marshaller.read("FOO")).thenThrow(new InvalidSerializedFormException("invalid"));
+
+        assertNull(factory.tryValue(id));
+        verify(this.advancedCache, never()).remove(new SessionAttributesKey(id));
+
+        assertNull(factory.findValue(id));
+        verify(this.advancedCache).remove(new SessionAttributesKey(id));
+    }
+
+    @Test
+    public void mutateNonTransactional() {
+        this.mutate(false, ConcurrentMapComputeFunction.class);
+    }
+
+    @Test
+    public void mutateTransactional() {
+        this.mutate(true, CopyOnWriteMapComputeFunction.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mutate(boolean transactional, Class<?> functionClass) {
+        when(this.properties.isTransactional()).thenReturn(transactional);
+        when(this.properties.isMarshalling()).thenReturn(true);
+        CoarseDeltaSessionAttributesFactory<Object, Object, Object, String> factory = new CoarseDeltaSessionAttributesFactory<>(this.configuration);
+        String id = "id";
+        Object unchanged = new Object();
+        Object removed = new Object();
+        Object added = new Object();
+        Map<String, Object> values = factory.createValue(id, null);
+        values.put("unchanged", unchanged);
+        values.put("removed", removed);
+
+        when(this.immutability.test(any())).thenReturn(true);
+        when(this.marshaller.write(added)).thenReturn("ADDED");
+
+        SessionAttributes attributes = factory.createSessionAttributes(id, values, mock(ImmutableSessionMetaData.class), null);
+
+        assertSame(unchanged, attributes.getAttribute("unchanged"));
+        assertSame(removed, attributes.removeAttribute("removed"));
+        assertNull(attributes.setAttribute("added", added));
+
+        attributes.close();
+
+        ArgumentCaptor<BiFunction<? super SessionAttributesKey, ? super Map<String, String>, ? extends Map<String, String>>> capturedFunction = ArgumentCaptor.forClass(BiFunction.class);
+        verify(this.advancedCache).compute(eq(new SessionAttributesKey(id)), capturedFunction.capture());
+        BiFunction<? super SessionAttributesKey, ? super Map<String, String>, ? extends Map<String, String>> function = capturedFunction.getValue();
+        assertSame(functionClass, function.getClass());
+        // Only the mutated attributes are marshalled
+        verify(this.marshaller, never()).write(unchanged);
+        verify(this.marshaller, never()).write(removed);
+
+        // Verify the function applies the delta to the cache entry of the owner
+        Map<String, String> entry = new HashMap<>();
+        entry.put("unchanged", "UNCHANGED");
+        entry.put("removed", "REMOVED");
+
+        Map<String, String> result = function.apply(new SessionAttributesKey(id), entry);
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("unchanged", "UNCHANGED");
+        expected.put("added", "ADDED");
+        assertEquals(expected, result);
+
+        // The function creates the cache entry, if it does not yet exist
+        assertEquals(Collections.singletonMap("added", "ADDED"), function.apply(new SessionAttributesKey(id), null));
+    }
+}
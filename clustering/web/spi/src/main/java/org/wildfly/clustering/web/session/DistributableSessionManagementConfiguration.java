@@ -29,4 +29,12 @@ package org.wildfly.clustering.web.session;
 public interface DistributableSessionManagementConfiguration {
 
     SessionAttributePersistenceStrategy getAttributePersistenceStrategy();
+
+    /**
+     * Indicates whether mutable session attributes that were read, but not modified, are detected via a hash of their marshalled form.
+     * @return true, if hash-based mutation detection is enabled, false otherwise.
+     */
+    default boolean isHashMutationDetectionEnabled() {
+        return false;
+    }
 }
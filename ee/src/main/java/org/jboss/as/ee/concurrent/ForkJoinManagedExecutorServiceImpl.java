@@ -0,0 +1,363 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ee.concurrent;
+
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.internal.ManagedFutureTask;
+import org.jboss.as.ee.logging.EeLogger;
+import org.wildfly.extension.requestcontroller.ControlPoint;
+
+import java.lang.reflect.Method;
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.jboss.as.ee.concurrent.ControlPointUtils.doWrap;
+import static org.jboss.as.ee.concurrent.SecurityIdentityUtils.doIdentityWrap;
+
+/**
+ * A managed executor service whose tasks are executed by a work-stealing {@link ForkJoinPool}, or by virtual threads, if supported by the JVM,
+ * instead of by a bounded thread pool.
+ * <p/>
+ * Tasks are submitted, wrapped and executed exactly as by {@link ManagedExecutorServiceImpl}, thus context propagation, managed task listeners and
+ * request controller suspend semantics are retained. Since tasks do not run on managed threads, hung tasks are tracked by this executor itself.
+ * The queue of this executor is unbounded.
+ * <p/>
+ * If the executor hints long running tasks, the fork-join pool is informed that its tasks may block, by means of a {@link ForkJoinPool.ManagedBlocker},
+ * so that it may start compensating threads and retain its parallelism.
+ */
+public class ForkJoinManagedExecutorServiceImpl extends ManagedExecutorServiceImpl {
+
+    /**
+     * The type of threads executing the tasks of a {@link ForkJoinManagedExecutorServiceImpl}.
+     */
+    public enum ThreadType {
+        /**
+         * Platform threads of a work-stealing pool, whose parallelism is the maximum pool size of the executor.
+         */
+        FORK_JOIN,
+        /**
+         * A new virtual thread per task.
+         */
+        VIRTUAL,
+        ;
+    }
+
+    private final ExecutorService executor;
+    private final ForkJoinPool pool;
+    private final long hungTaskThreshold;
+    private final boolean longRunningTasks;
+    private final boolean blockingTasks;
+    // Start time of the task running on each thread
+    private final Map<Thread, Long> running = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAccumulator maxRunning = new LongAccumulator(Math::max, 0L);
+    private final ManagedExecutorRuntimeStats runtimeStats = new RuntimeStats();
+
+    public ForkJoinManagedExecutorServiceImpl(String name, ManagedThreadFactoryImpl managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, ContextServiceImpl contextService, RejectPolicy rejectPolicy, ControlPoint controlPoint, ThreadType threadType) {
+        // The thread pool of the super class remains unused, and thus never starts any thread
+        super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, 1, 1, keepAliveTime, keepAliveTimeUnit, threadLifeTime, Integer.MAX_VALUE, contextService, rejectPolicy, controlPoint);
+        this.hungTaskThreshold = hungTaskThreshold;
+        this.longRunningTasks = longRunningTasks;
+        ExecutorService virtualExecutor = (threadType == ThreadType.VIRTUAL) ? createVirtualThreadExecutor(name) : null;
+        if (virtualExecutor != null) {
+            this.executor = virtualExecutor;
+            this.pool = null;
+        } else {
+            if (threadType == ThreadType.VIRTUAL) {
+                EeLogger.ROOT_LOGGER.virtualThreadsNotSupported(name);
+            }
+            this.pool = new ForkJoinPool(maxPoolSize, new ManagedForkJoinWorkerThreadFactory("EE-ManagedExecutorService-" + name, managedThreadFactory.getPriority()), null, true);
+            this.executor = this.pool;
+        }
+        this.blockingTasks = longRunningTasks && (this.pool != null);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // Tasks of the super class's execute(...) bypass executeManagedFutureTask(...), and unlike submitted tasks have no future to report failures
+        this.execute(this.getNewManagedFutureTask(doIdentityWrap(doWrap(command, this.getControlPoint())), null), true);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    protected void executeManagedFutureTask(ManagedFutureTask task) {
+        this.execute(task, false);
+    }
+
+    /**
+     * Executes a managed future task.
+     * @param task the task
+     * @param reportFailure if true the failure of the task is reported to the uncaught exception handler of the executing thread
+     */
+    private void execute(ManagedFutureTask<?> task, boolean reportFailure) {
+        task.submitted();
+        this.submitted.increment();
+        try {
+            this.executor.execute(new ManagedFutureTaskRunner(task, reportFailure));
+        } catch (RejectedExecutionException e) {
+            this.submitted.decrement();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.executor.shutdown();
+        super.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> tasks = new ArrayList<>(this.executor.shutdownNow());
+        tasks.addAll(super.shutdownNow());
+        return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.executor.isTerminated() && super.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return this.executor.awaitTermination(timeout, unit) && super.awaitTermination(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *
+     * @return the executor's runtime stats
+     */
+    @Override
+    public ManagedExecutorRuntimeStats getRuntimeStats() {
+        return this.runtimeStats;
+    }
+
+    /**
+     * Creates an executor starting a new virtual thread per task, if supported by the JVM.
+     * @param name the name of the managed executor service
+     * @return an executor, or null, if virtual threads are not supported
+     */
+    private static ExecutorService createVirtualThreadExecutor(String name) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "EE-ManagedExecutorService-" + name + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the failure of a completed task.
+     * @param task the task
+     * @return the exception thrown by the task, or null if the task is not completed, was cancelled or succeeded
+     */
+    private static Throwable getFailure(Future<?> task) {
+        if (task.isDone() && !task.isCancelled()) {
+            try {
+                task.get();
+            } catch (ExecutionException e) {
+                return e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs a managed future task, performing the same lifecycle callbacks as the managed thread pool of the super class.
+     */
+    private class ManagedFutureTaskRunner implements Runnable, ForkJoinPool.ManagedBlocker {
+        private final ManagedFutureTask<?> task;
+        private final boolean reportFailure;
+
+        ManagedFutureTaskRunner(ManagedFutureTask<?> task, boolean reportFailure) {
+            this.task = task;
+            this.reportFailure = reportFailure;
+        }
+
+        @Override
+        public void run() {
+            Thread thread = Thread.currentThread();
+            Map<Thread, Long> running = ForkJoinManagedExecutorServiceImpl.this.running;
+            ForkJoinManagedExecutorServiceImpl.this.started.increment();
+            running.put(thread, System.currentTimeMillis());
+            ForkJoinManagedExecutorServiceImpl.this.maxRunning.accumulate(running.size());
+            Throwable exception = null;
+            try {
+                this.task.setupContext();
+                this.task.starting(thread);
+                if (ForkJoinManagedExecutorServiceImpl.this.blockingTasks) {
+                    ForkJoinPool.managedBlock(this);
+                } else {
+                    this.task.run();
+                }
+                exception = getFailure(this.task);
+            } catch (InterruptedException e) {
+                thread.interrupt();
+            } catch (RuntimeException | Error e) {
+                exception = e;
+                throw e;
+            } finally {
+                running.remove(thread);
+                try {
+                    this.task.done(exception);
+                } finally {
+                    this.task.resetContext();
+                    ForkJoinManagedExecutorServiceImpl.this.completed.increment();
+                }
+            }
+            if (this.reportFailure && (exception != null)) {
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+            }
+        }
+
+        @Override
+        public boolean block() {
+            this.task.run();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return this.task.isDone();
+        }
+    }
+
+    /**
+     * Creates fork-join worker threads, named and prioritized like the threads of a {@link ManagedThreadFactoryImpl}.
+     */
+    private static class ManagedForkJoinWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final String name;
+        private final int priority;
+        private final AccessControlContext accessControlContext = AccessController.getContext();
+        private final LongAdder count = new LongAdder();
+
+        ManagedForkJoinWorkerThreadFactory(String name, int priority) {
+            this.name = name;
+            this.priority = priority;
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            // use the factory's acc as privileged, otherwise the new thread inherits current thread's acc
+            return AccessController.doPrivileged((PrivilegedAction<ForkJoinWorkerThread>) () -> {
+                this.count.increment();
+                ForkJoinWorkerThread thread = new ManagedForkJoinWorkerThread(pool);
+                thread.setName(this.name + "-" + this.count.sum());
+                thread.setPriority(this.priority);
+                thread.setDaemon(true);
+                // reset thread classloader to prevent leaks
+                thread.setContextClassLoader(null);
+                return thread;
+            }, this.accessControlContext);
+        }
+    }
+
+    private static class ManagedForkJoinWorkerThread extends ForkJoinWorkerThread {
+        ManagedForkJoinWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+    }
+
+    /**
+     * Executor runtime stats obtained from the fork-join pool, if any, and from the tasks tracked by this executor.
+     */
+    private class RuntimeStats implements ManagedExecutorRuntimeStats {
+
+        @Override
+        public int getActiveThreadsCount() {
+            return ForkJoinManagedExecutorServiceImpl.this.running.size();
+        }
+
+        @Override
+        public long getCompletedTaskCount() {
+            return ForkJoinManagedExecutorServiceImpl.this.completed.sum();
+        }
+
+        @Override
+        public int getHungThreadsCount() {
+            long threshold = ForkJoinManagedExecutorServiceImpl.this.hungTaskThreshold;
+            if (ForkJoinManagedExecutorServiceImpl.this.longRunningTasks || (threshold <= 0)) return 0;
+            long now = System.currentTimeMillis();
+            int count = 0;
+            for (Long start : ForkJoinManagedExecutorServiceImpl.this.running.values()) {
+                if (now - start > threshold) {
+                    count += 1;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int getMaxThreadsCount() {
+            ForkJoinPool pool = ForkJoinManagedExecutorServiceImpl.this.pool;
+            int maxRunning = (int) ForkJoinManagedExecutorServiceImpl.this.maxRunning.get();
+            return (pool != null) ? Math.max(pool.getParallelism(), maxRunning) : maxRunning;
+        }
+
+        @Override
+        public int getQueueSize() {
+            long queued = ForkJoinManagedExecutorServiceImpl.this.submitted.sum() - ForkJoinManagedExecutorServiceImpl.this.started.sum();
+            return (int) Math.min(Math.max(queued, 0L), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getTaskCount() {
+            return ForkJoinManagedExecutorServiceImpl.this.submitted.sum();
+        }
+
+        @Override
+        public int getThreadsCount() {
+            ForkJoinPool pool = ForkJoinManagedExecutorServiceImpl.this.pool;
+            return (pool != null) ? pool.getPoolSize() : ForkJoinManagedExecutorServiceImpl.this.running.size();
+        }
+    }
+}
@@ -76,6 +76,10 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         super.execute(doIdentityWrap(doWrap(command, controlPoint)));
     }
 
+    ControlPoint getControlPoint() {
+        return controlPoint;
+    }
+
     @Override
     protected ThreadPoolExecutor getThreadPoolExecutor() {
         return (ThreadPoolExecutor) super.getThreadPoolExecutor();
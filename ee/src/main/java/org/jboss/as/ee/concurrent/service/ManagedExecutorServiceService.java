@@ -25,6 +25,7 @@ package org.jboss.as.ee.concurrent.service;
 import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
 import org.glassfish.enterprise.concurrent.ManagedExecutorServiceAdapter;
+import org.jboss.as.ee.concurrent.ForkJoinManagedExecutorServiceImpl;
 import org.jboss.as.ee.concurrent.ManagedThreadFactoryImpl;
 import org.jboss.as.ee.concurrent.ManagedExecutorServiceImpl;
 import org.jboss.as.ee.logging.EeLogger;
@@ -62,6 +63,7 @@ public class ManagedExecutorServiceService extends EEConcurrentAbstractService<M
     private final InjectedValue<ContextServiceImpl> contextService = new InjectedValue<>();
     private final AbstractManagedExecutorService.RejectPolicy rejectPolicy;
     private final Integer threadPriority;
+    private final ForkJoinManagedExecutorServiceImpl.ThreadType threadType;
     private final InjectedValue<RequestController> requestController = new InjectedValue<>();
     private ControlPoint controlPoint;
 
@@ -78,9 +80,10 @@ public class ManagedExecutorServiceService extends EEConcurrentAbstractService<M
      * @param queueCapacity
      * @param rejectPolicy
      * @param threadPriority
+     * @param threadType the type of threads executing the tasks, or null if tasks are executed by a bounded thread pool
      * @see ManagedExecutorServiceImpl#ManagedExecutorServiceImpl(String, org.jboss.as.ee.concurrent.ManagedThreadFactoryImpl, long, boolean, int, int, long, java.util.concurrent.TimeUnit, long, int, org.glassfish.enterprise.concurrent.ContextServiceImpl, org.glassfish.enterprise.concurrent.AbstractManagedExecutorService.RejectPolicy, org.wildfly.extension.requestcontroller.ControlPoint)
      */
-    public ManagedExecutorServiceService(String name, String jndiName, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, AbstractManagedExecutorService.RejectPolicy rejectPolicy, Integer threadPriority) {
+    public ManagedExecutorServiceService(String name, String jndiName, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, AbstractManagedExecutorService.RejectPolicy rejectPolicy, Integer threadPriority, ForkJoinManagedExecutorServiceImpl.ThreadType threadType) {
         super(jndiName);
         this.name = name;
         this.managedThreadFactoryInjectedValue = new InjectedValue<>();
@@ -94,6 +97,7 @@ public class ManagedExecutorServiceService extends EEConcurrentAbstractService<M
         this.queueCapacity = queueCapacity;
         this.rejectPolicy = rejectPolicy;
         this.threadPriority = threadPriority;
+        this.threadType = threadType;
     }
 
     @Override
@@ -109,7 +113,11 @@ public class ManagedExecutorServiceService extends EEConcurrentAbstractService<M
         if(requestController.getOptionalValue() != null) {
             controlPoint = requestController.getValue().getControlPoint(name, "managed-executor-service");
         }
-        executorService = new ManagedExecutorServiceImpl(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService.getOptionalValue(), rejectPolicy, controlPoint);
+        if (threadType != null) {
+            executorService = new ForkJoinManagedExecutorServiceImpl(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, contextService.getOptionalValue(), rejectPolicy, controlPoint, threadType);
+        } else {
+            executorService = new ManagedExecutorServiceImpl(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService.getOptionalValue(), rejectPolicy, controlPoint);
+        }
     }
 
     @Override
@@ -1159,4 +1159,8 @@ public interface EeLogger extends BasicLogger {
 
     @Message(id = 123, value = "Global directory %s cannot be added, because global directory %s is already defined.")
     OperationFailedException oneGlobalDirectory(String newGlobalDirectory, String existingGlobalDirectory);
+
+    @LogMessage(level = WARN)
+    @Message(id = 124, value = "Virtual threads are not supported by this JVM, managed executor service '%s' will use a fork-join pool instead")
+    void virtualThreadsNotSupported(String name);
 }
@@ -54,6 +54,7 @@ enum Attribute {
     KEEPALIVE_TIME(ManagedExecutorServiceResourceDefinition.KEEPALIVE_TIME),
     QUEUE_LENGTH(ManagedExecutorServiceResourceDefinition.QUEUE_LENGTH),
     REJECT_POLICY(ManagedExecutorServiceResourceDefinition.REJECT_POLICY),
+    THREAD_TYPE(ManagedExecutorServiceResourceDefinition.THREAD_TYPE),
 
     DATASOURCE(DefaultBindingsResourceDefinition.DATASOURCE),
     JMS_CONNECTION_FACTORY(DefaultBindingsResourceDefinition.JMS_CONNECTION_FACTORY),
@@ -448,6 +448,9 @@ class EESubsystemParser50 implements XMLStreamConstants, XMLElementReader<List<M
                 case REJECT_POLICY:
                     ManagedExecutorServiceResourceDefinition.REJECT_POLICY_AD.parseAndSetParameter(value, addOperation, reader);
                     break;
+                case THREAD_TYPE:
+                    ManagedExecutorServiceResourceDefinition.THREAD_TYPE_AD.parseAndSetParameter(value, addOperation, reader);
+                    break;
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -46,6 +46,7 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
 import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.ee.concurrent.ForkJoinManagedExecutorServiceImpl;
 import org.jboss.as.ee.concurrent.service.ManagedExecutorServiceService;
 import org.jboss.as.ee.logging.EeLogger;
 import org.jboss.dmr.ModelNode;
@@ -73,6 +74,7 @@ public class ManagedExecutorServiceResourceDefinition extends SimpleResourceDefi
     public static final String KEEPALIVE_TIME = "keepalive-time";
     public static final String QUEUE_LENGTH = "queue-length";
     public static final String REJECT_POLICY = "reject-policy";
+    public static final String THREAD_TYPE = "thread-type";
 
     public static final SimpleAttributeDefinition JNDI_NAME_AD =
             new SimpleAttributeDefinitionBuilder(JNDI_NAME, ModelType.STRING, false)
@@ -161,7 +163,14 @@ public class ManagedExecutorServiceResourceDefinition extends SimpleResourceDefi
                     .setValidator(EnumValidator.create(AbstractManagedExecutorService.RejectPolicy.class, true, true))
                     .build();
 
-    static final SimpleAttributeDefinition[] ATTRIBUTES = {JNDI_NAME_AD, CONTEXT_SERVICE_AD, THREAD_FACTORY_AD, THREAD_PRIORITY_AD, HUNG_TASK_THRESHOLD_AD, LONG_RUNNING_TASKS_AD, CORE_THREADS_AD, MAX_THREADS_AD, KEEPALIVE_TIME_AD, QUEUE_LENGTH_AD, REJECT_POLICY_AD};
+    public static final SimpleAttributeDefinition THREAD_TYPE_AD =
+            new SimpleAttributeDefinitionBuilder(THREAD_TYPE, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setValidator(EnumValidator.create(ForkJoinManagedExecutorServiceImpl.ThreadType.class, true, true))
+                    .build();
+
+    static final SimpleAttributeDefinition[] ATTRIBUTES = {JNDI_NAME_AD, CONTEXT_SERVICE_AD, THREAD_FACTORY_AD, THREAD_PRIORITY_AD, HUNG_TASK_THRESHOLD_AD, LONG_RUNNING_TASKS_AD, CORE_THREADS_AD, MAX_THREADS_AD, KEEPALIVE_TIME_AD, QUEUE_LENGTH_AD, REJECT_POLICY_AD, THREAD_TYPE_AD};
 
     public static final PathElement PATH_ELEMENT = PathElement.pathElement(EESubsystemModel.MANAGED_EXECUTOR_SERVICE);
 
@@ -212,8 +221,8 @@ public class ManagedExecutorServiceResourceDefinition extends SimpleResourceDefi
     static void registerTransformers5_0(final ResourceTransformationDescriptionBuilder builder) {
         final ResourceTransformationDescriptionBuilder resourceBuilder = builder.addChildResource(PATH_ELEMENT);
         resourceBuilder.getAttributeBuilder()
-                .setDiscard(DiscardAttributeChecker.UNDEFINED, THREAD_PRIORITY_AD)
-                .addRejectCheck(RejectAttributeChecker.DEFINED, THREAD_PRIORITY_AD)
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, THREAD_PRIORITY_AD, THREAD_TYPE_AD)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, THREAD_PRIORITY_AD, THREAD_TYPE_AD)
                 .end();
     }
 
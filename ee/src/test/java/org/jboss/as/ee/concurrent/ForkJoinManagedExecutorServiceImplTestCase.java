@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ForkJoinManagedExecutorServiceImpl}.
+ */
+public class ForkJoinManagedExecutorServiceImplTestCase {
+
+    private ManagedThreadFactoryImpl threadFactory;
+    private ForkJoinManagedExecutorServiceImpl executor;
+
+    private ForkJoinManagedExecutorServiceImpl createExecutor(boolean longRunningTasks, int maxPoolSize) {
+        this.threadFactory = new ManagedThreadFactoryImpl("test", null, Thread.NORM_PRIORITY);
+        this.executor = new ForkJoinManagedExecutorServiceImpl("test", this.threadFactory, 0L, longRunningTasks, maxPoolSize, 60000L, TimeUnit.MILLISECONDS, 0L, null, AbstractManagedExecutorService.RejectPolicy.ABORT, null, ForkJoinManagedExecutorServiceImpl.ThreadType.FORK_JOIN);
+        return this.executor;
+    }
+
+    @After
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.threadFactory.stop();
+        }
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        ForkJoinManagedExecutorServiceImpl executor = this.createExecutor(false, 2);
+        Assert.assertEquals("result", executor.submit(() -> "result").get(10, TimeUnit.SECONDS));
+
+        IllegalStateException exception = new IllegalStateException();
+        Future<?> future = executor.submit((Runnable) () -> {
+            throw exception;
+        });
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail("Failure of the submitted task not reported by its future");
+        } catch (ExecutionException e) {
+            Assert.assertSame(exception, e.getCause());
+        }
+    }
+
+    @Test
+    public void testExecuteFailure() throws Exception {
+        ForkJoinManagedExecutorServiceImpl executor = this.createExecutor(false, 2);
+        IllegalStateException exception = new IllegalStateException();
+        CompletableFuture<Throwable> reported = new CompletableFuture<>();
+        executor.execute(() -> {
+            Thread.currentThread().setUncaughtExceptionHandler((thread, e) -> reported.complete(e));
+            throw exception;
+        });
+        Assert.assertSame(exception, reported.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBlockingTasks() throws Exception {
+        // With a parallelism of 1 the second task only runs if the pool compensates for the blocked first task
+        ForkJoinManagedExecutorServiceImpl executor = this.createExecutor(true, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<Boolean> blocked = executor.submit(() -> latch.await(10, TimeUnit.SECONDS));
+        Future<?> releasing = executor.submit(latch::countDown);
+        releasing.get(10, TimeUnit.SECONDS);
+        Assert.assertTrue(blocked.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRuntimeStats() throws Exception {
+        ForkJoinManagedExecutorServiceImpl executor = this.createExecutor(false, 2);
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<Boolean> running = executor.submit(() -> latch.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> {
+        });
+
+        ManagedExecutorRuntimeStats stats = executor.getRuntimeStats();
+        Assert.assertEquals(2L, stats.getTaskCount());
+        Assert.assertEquals(0, stats.getHungThreadsCount());
+        Assert.assertTrue(stats.getMaxThreadsCount() >= 2);
+
+        latch.countDown();
+        Assert.assertTrue(running.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(2L, stats.getTaskCount());
+        Assert.assertEquals(2L, stats.getCompletedTaskCount());
+        Assert.assertEquals(0, stats.getActiveThreadsCount());
+        Assert.assertEquals(0, stats.getQueueSize());
+    }
+}
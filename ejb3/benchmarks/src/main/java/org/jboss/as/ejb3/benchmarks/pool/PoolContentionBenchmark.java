@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.benchmarks.pool;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.adaptive.AdaptivePool;
+import org.jboss.as.ejb3.pool.strictmax.StrictMaxPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Measures the contention of a {@link StrictMaxPool} compared to an {@link AdaptivePool}, as seen by concurrent back-to-back invocations of a stateless bean,
+ * each acquiring and releasing an instance.
+ * By default, the benchmark runs as many threads as there are processors; use -t to vary the number of concurrent invokers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+public class PoolContentionBenchmark {
+
+    private static final StatelessObjectFactory<Object> FACTORY = new StatelessObjectFactory<Object>() {
+        @Override
+        public Object create() {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object obj) {
+        }
+    };
+
+    public enum PoolType {
+        STRICT_MAX() {
+            @Override
+            Pool<Object> createPool(int maxSize) {
+                return new StrictMaxPool<>(FACTORY, maxSize, 5, TimeUnit.MINUTES);
+            }
+        },
+        ADAPTIVE() {
+            @Override
+            Pool<Object> createPool(int maxSize) {
+                return new AdaptivePool<>(FACTORY, 0, maxSize, 0, TimeUnit.MILLISECONDS, 5, TimeUnit.MINUTES);
+            }
+        },
+        ;
+        abstract Pool<Object> createPool(int maxSize);
+    }
+
+    @Param
+    public PoolType type;
+
+    /**
+     * The maximum pool size, relative to the number of benchmark threads, such that values lower than 1 also measure blocking on an exhausted pool.
+     */
+    @Param({ "0.5", "1", "2" })
+    public double sizeFactor;
+
+    private Pool<Object> pool;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) {
+        this.pool = this.type.createPool(Math.max((int) (params.getThreads() * this.sizeFactor), 1));
+        this.pool.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.pool.stop();
+    }
+
+    /**
+     * Measures the acquisition and release of a bean instance, as performed by an invocation of a stateless bean.
+     */
+    @Benchmark
+    public Object invoke() {
+        Object instance = this.pool.get();
+        this.pool.release(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.passivating;
+
+import java.util.Comparator;
+
+/**
+ * Determines which idle beans are passivated first, once a {@link PassivatingCache} exceeds its maximum size.
+ */
+public enum EvictionPolicy {
+    /**
+     * Passivates the least recently used beans first.
+     */
+    LRU(Comparator.comparingLong(PassivatingCache.Entry::getLastAccessed)),
+    /**
+     * Passivates the least frequently used beans first, breaking ties by recency.
+     */
+    LFU(Comparator.<PassivatingCache.Entry<?, ?>>comparingInt(PassivatingCache.Entry::getFrequency).thenComparingLong(PassivatingCache.Entry::getLastAccessed)),
+    ;
+    private final Comparator<PassivatingCache.Entry<?, ?>> comparator;
+
+    EvictionPolicy(Comparator<PassivatingCache.Entry<?, ?>> comparator) {
+        this.comparator = comparator;
+    }
+
+    Comparator<PassivatingCache.Entry<?, ?>> getComparator() {
+        return this.comparator;
+    }
+}
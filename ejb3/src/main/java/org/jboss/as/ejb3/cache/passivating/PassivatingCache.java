@@ -0,0 +1,434 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.passivating;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.ejb.client.Affinity;
+import org.jboss.ejb.client.NodeAffinity;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.Unmarshaller;
+import org.wildfly.clustering.ee.Scheduler;
+import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.ShardedScheduler;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Local {@link Cache} implementation that bounds the number of beans held in memory.
+ * Once the cache holds more than its maximum number of beans, idle beans, selected according to an {@link EvictionPolicy},
+ * are passivated to a local file store, using the marshalling configuration of the deployment.
+ * Passivated beans are activated lazily, on their next access.
+ * Like the {@link org.jboss.as.ejb3.cache.simple.SimpleCache}, beans are expired eagerly.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class PassivatingCache<K, V extends Identifiable<K>> implements Cache<K, V>, Predicate<K> {
+
+    private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    // The number of beans currently held in memory
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong fileIndex = new AtomicLong();
+    private final Lock evictionLock = new ReentrantLock();
+    private final StatefulObjectFactory<V> factory;
+    private final IdentifierFactory<K> identifierFactory;
+    private final PassivationListener<V> passivationListener;
+    private final PassivatingCacheConfiguration configuration;
+    private final int maxSize;
+    // Eviction passivates beans down to this size, so that a cache at its capacity does not evict on every release
+    private final int lowWatermark;
+    private final Comparator<Entry<?, ?>> evictionOrder;
+    private final Duration timeout;
+    private final ServerEnvironment environment;
+    private final Scheduler<K, Instant> scheduler = new ShardedScheduler<>(LinkedScheduledEntries::new, this, Duration.ZERO);
+    private volatile Path directory;
+
+    public PassivatingCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, PassivationListener<V> passivationListener, StatefulTimeoutInfo timeout, ServerEnvironment environment, PassivatingCacheConfiguration configuration) {
+        this.factory = factory;
+        this.identifierFactory = identifierFactory;
+        this.passivationListener = passivationListener;
+        this.configuration = configuration;
+        this.maxSize = configuration.getMaxSize();
+        this.lowWatermark = this.maxSize - (this.maxSize >> 4);
+        this.evictionOrder = configuration.getEvictionPolicy().getComparator();
+
+        // A value of -1 means the bean will never be removed due to timeout
+        if (timeout == null || timeout.getValue() < 0) {
+            this.timeout = null;
+        } else {
+            this.timeout = Duration.ofMillis(TimeUnit.MILLISECONDS.convert(timeout.getValue(), timeout.getTimeUnit()));
+        }
+
+        this.environment = environment;
+    }
+
+    @Override
+    public void start() {
+        try {
+            Path parent = Files.createDirectories(this.configuration.getDirectory());
+            this.directory = Files.createTempDirectory(parent, "beans");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        this.scheduler.close();
+        for (Entry<K, V> entry : this.entries.values()) {
+            V value;
+            synchronized (entry) {
+                value = entry.value;
+                entry.remove();
+            }
+            // Passivated beans are not activated just to be destroyed
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
+        }
+        this.entries.clear();
+        this.activeCount.set(0);
+        Path directory = this.directory;
+        if (directory != null) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(directory);
+            } catch (IOException e) {
+                EjbLogger.ROOT_LOGGER.debugf(e, "Failed to delete passivation directory %s", directory);
+            }
+        }
+    }
+
+    @Override
+    public Affinity getStrictAffinity() {
+        return new NodeAffinity(this.environment.getNodeName());
+    }
+
+    @Override
+    public Affinity getWeakAffinity(K key) {
+        return Affinity.NONE;
+    }
+
+    @Override
+    public K createIdentifier() {
+        return this.identifierFactory.createIdentifier();
+    }
+
+    @Override
+    public V create() {
+        if (CURRENT_GROUP.get() != null) {
+            // An SFSB that uses a distributable cache cannot contain an SFSB that uses a passivating cache
+            throw EjbLogger.ROOT_LOGGER.incompatibleCaches();
+        }
+        V bean = this.factory.createInstance();
+        this.entries.put(bean.getId(), new Entry<>(bean.getId(), bean));
+        this.activeCount.incrementAndGet();
+        return bean;
+    }
+
+    @Override
+    public void discard(V value) {
+        Entry<K, V> entry = this.entries.remove(value.getId());
+        if (entry != null) {
+            this.remove(entry);
+        }
+    }
+
+    @Override
+    public void remove(K key) {
+        Entry<K, V> entry = this.entries.remove(key);
+        if (entry != null) {
+            V value = this.remove(entry);
+            // Passivated beans are not activated just to be destroyed
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
+        }
+    }
+
+    /**
+     * Marks the specified entry, which is no longer referenced by the cache, as removed and deletes its passivated form, if any.
+     * @return the bean, if it was held in memory, null otherwise.
+     */
+    private V remove(Entry<K, V> entry) {
+        V value;
+        Path file;
+        synchronized (entry) {
+            value = entry.value;
+            file = entry.file;
+            entry.remove();
+        }
+        if (value != null) {
+            this.activeCount.decrementAndGet();
+        }
+        if (file != null) {
+            delete(file);
+        }
+        return value;
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<K, V> entry = this.entries.get(key);
+        if (entry == null) return null;
+        this.scheduler.cancel(key);
+        synchronized (entry) {
+            if (entry.isRemoved()) return null;
+            if (entry.value == null) {
+                this.activate(entry);
+            }
+            entry.use();
+            return entry.value;
+        }
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return this.entries.containsKey(key);
+    }
+
+    @Override
+    public void release(V bean) {
+        K id = bean.getId();
+        Entry<K, V> entry = this.entries.get(id);
+        if ((entry != null) && entry.done()) {
+            if (this.timeout != null) {
+                if (!this.timeout.isZero()) {
+                    this.scheduler.schedule(id, Instant.now().plus(this.timeout));
+                } else {
+                    // The EJB specification allows a 0 timeout, which means the bean is immediately eligible for removal.
+                    // However, removing it directly is faster than scheduling it for immediate removal.
+                    this.remove(id);
+                    return;
+                }
+            }
+        }
+        if (this.activeCount.get() > this.maxSize) {
+            this.evict();
+        }
+    }
+
+    @Override
+    public int getCacheSize() {
+        return this.activeCount.get();
+    }
+
+    @Override
+    public int getPassivatedCount() {
+        return Math.max(this.entries.size() - this.activeCount.get(), 0);
+    }
+
+    @Override
+    public int getTotalSize() {
+        return this.entries.size();
+    }
+
+    @Override
+    public boolean test(K key) {
+        this.remove(key);
+        return true;
+    }
+
+    /**
+     * Passivates idle beans, in eviction policy order, until the number of beans held in memory drops to the low watermark.
+     * Only one thread evicts at a time; other threads releasing beans in the meantime do not wait for it.
+     */
+    private void evict() {
+        if (!this.evictionLock.tryLock()) return;
+        try {
+            int excess = this.activeCount.get() - this.lowWatermark;
+            if (excess <= 0) return;
+            // Retain only the first candidates in eviction order, using a heap whose head is the last of these
+            PriorityQueue<Entry<K, V>> candidates = new PriorityQueue<>(excess, this.evictionOrder.reversed());
+            for (Entry<K, V> entry : this.entries.values()) {
+                if (entry.isIdle()) {
+                    candidates.add(entry);
+                    if (candidates.size() > excess) {
+                        candidates.poll();
+                    }
+                }
+            }
+            for (Entry<K, V> entry : candidates) {
+                this.passivate(entry);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private void passivate(Entry<K, V> entry) {
+        synchronized (entry) {
+            // Re-check, since the bean may have been accessed or removed since it was selected
+            if (!entry.isIdle()) return;
+            V value = entry.value;
+            this.passivationListener.prePassivate(value);
+            Path file = this.directory.resolve(Long.toString(this.fileIndex.incrementAndGet()));
+            try {
+                this.write(file, value);
+            } catch (IOException | RuntimeException e) {
+                EjbLogger.ROOT_LOGGER.failedToPassivateBean(entry.key, e);
+                delete(file);
+                this.passivationListener.postActivate(value);
+                return;
+            }
+            entry.value = null;
+            entry.file = file;
+        }
+        this.activeCount.decrementAndGet();
+    }
+
+    private void activate(Entry<K, V> entry) {
+        Path file = entry.file;
+        V value;
+        try {
+            value = this.read(file);
+        } catch (IOException | ClassNotFoundException e) {
+            throw EjbLogger.ROOT_LOGGER.failedToActivateBean(entry.key, e);
+        }
+        delete(file);
+        entry.file = null;
+        entry.value = value;
+        this.activeCount.incrementAndGet();
+        this.passivationListener.postActivate(value);
+    }
+
+    private void write(Path file, V value) throws IOException {
+        MarshallingContext context = this.configuration.getMarshallingContext();
+        int version = context.getCurrentVersion();
+        ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(context.getClassLoader());
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+            output.write(version);
+            try (Marshaller marshaller = context.createMarshaller(version)) {
+                marshaller.start(Marshalling.createByteOutput(output));
+                marshaller.writeObject(value);
+                marshaller.finish();
+            }
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V read(Path file) throws IOException, ClassNotFoundException {
+        MarshallingContext context = this.configuration.getMarshallingContext();
+        ClassLoader loader = WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(context.getClassLoader());
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            int version = input.read();
+            try (Unmarshaller unmarshaller = context.createUnmarshaller(version)) {
+                unmarshaller.start(Marshalling.createByteInput(input));
+                V value = (V) unmarshaller.readObject();
+                unmarshaller.finish();
+                return value;
+            }
+        } finally {
+            WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(loader);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            EjbLogger.ROOT_LOGGER.debugf(e, "Failed to delete passivated bean %s", file);
+        }
+    }
+
+    static class Entry<K, V> {
+        final K key;
+        // The bean, or null while it is passivated
+        volatile V value;
+        // The passivated form of the bean, guarded by this entry
+        Path file;
+        private volatile int usage;
+        private volatile int frequency;
+        private volatile long lastAccessed = System.nanoTime();
+        private boolean removed;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        synchronized void use() {
+            this.usage += 1;
+            this.frequency += 1;
+        }
+
+        synchronized boolean done() {
+            this.lastAccessed = System.nanoTime();
+            return (this.usage > 0) && (--this.usage == 0);
+        }
+
+        synchronized void remove() {
+            this.removed = true;
+            this.value = null;
+            this.file = null;
+        }
+
+        synchronized boolean isRemoved() {
+            return this.removed;
+        }
+
+        boolean isIdle() {
+            return (this.usage == 0) && (this.value != null);
+        }
+
+        int getFrequency() {
+            return this.frequency;
+        }
+
+        long getLastAccessed() {
+            return this.lastAccessed;
+        }
+    }
+}
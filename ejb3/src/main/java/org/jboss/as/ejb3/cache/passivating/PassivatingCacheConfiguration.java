@@ -0,0 +1,56 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.passivating;
+
+import java.nio.file.Path;
+
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+
+/**
+ * Configuration of a {@link PassivatingCache}.
+ */
+public interface PassivatingCacheConfiguration {
+
+    /**
+     * Returns the maximum number of beans retained in memory, beyond which idle beans are passivated.
+     * @return a maximum number of beans
+     */
+    int getMaxSize();
+
+    /**
+     * Returns the policy that determines which idle beans are passivated first.
+     * @return an eviction policy
+     */
+    EvictionPolicy getEvictionPolicy();
+
+    /**
+     * Returns the directory in which the cache creates its private store of passivated beans.
+     * @return a directory path
+     */
+    Path getDirectory();
+
+    /**
+     * Returns the marshalling context used to write passivated beans to, and read them from, the file store.
+     * @return a marshalling context
+     */
+    MarshallingContext getMarshallingContext();
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.passivating;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.jboss.as.ee.component.ComponentConfiguration;
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.CacheFactory;
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.as.ejb3.component.stateful.MarshallingConfigurationRepositoryServiceConfigurator;
+import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
+import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.as.server.ServerEnvironmentService;
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContextFactory;
+import org.wildfly.clustering.service.CompositeDependency;
+import org.wildfly.clustering.service.ServiceSupplierDependency;
+import org.wildfly.clustering.service.SimpleServiceNameProvider;
+import org.wildfly.clustering.service.SupplierDependency;
+
+/**
+ * Service that provides a {@link CacheFactory} creating {@link PassivatingCache} instances.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class PassivatingCacheFactoryServiceConfigurator<K, V extends Identifiable<K>> extends SimpleServiceNameProvider implements CapabilityServiceConfigurator, CacheFactory<K, V>, PassivatingCacheConfiguration {
+
+    private final StatefulTimeoutInfo timeout;
+    private final ClassLoader loader;
+    private final String storeName;
+    private final int maxSize;
+    private final EvictionPolicy evictionPolicy;
+    private final SupplierDependency<ServerEnvironment> environment = new ServiceSupplierDependency<>(ServerEnvironmentService.SERVICE_NAME);
+    private final SupplierDependency<MarshallingConfigurationRepository> repository;
+
+    private volatile MarshallingContext context;
+
+    public PassivatingCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration, String storeName, int maxSize, EvictionPolicy evictionPolicy) {
+        super(name);
+        this.timeout = description.getStatefulTimeout();
+        this.loader = configuration.getModuleClassLoader();
+        this.storeName = storeName;
+        this.maxSize = maxSize;
+        this.evictionPolicy = evictionPolicy;
+        this.repository = new ServiceSupplierDependency<>(MarshallingConfigurationRepositoryServiceConfigurator.getServiceName(description.getDeploymentUnitServiceName()));
+    }
+
+    @Override
+    public ServiceBuilder<?> build(ServiceTarget target) {
+        ServiceName name = this.getServiceName();
+        ServiceBuilder<?> builder = target.addService(name);
+        Consumer<CacheFactory<K, V>> factory = new CompositeDependency(this.environment, this.repository).register(builder).provides(name);
+        Service service = Service.newInstance(factory, this);
+        return builder.setInstance(service);
+    }
+
+    @Override
+    public Cache<K, V> createCache(IdentifierFactory<K> identifierFactory, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
+        this.context = new SimpleMarshallingContextFactory().createMarshallingContext(this.repository.get(), this.loader);
+        return new PassivatingCache<>(factory, identifierFactory, passivationListener, this.timeout, this.environment.get(), this);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public EvictionPolicy getEvictionPolicy() {
+        return this.evictionPolicy;
+    }
+
+    @Override
+    public Path getDirectory() {
+        return this.environment.get().getServerDataDir().toPath().resolve("ejb3").resolve("passivation").resolve(this.storeName);
+    }
+
+    @Override
+    public MarshallingContext getMarshallingContext() {
+        return this.context;
+    }
+}
@@ -40,7 +40,7 @@ import org.jboss.ejb.client.Affinity;
 import org.jboss.ejb.client.NodeAffinity;
 import org.wildfly.clustering.ee.Scheduler;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
-import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.ShardedScheduler;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 
 /**
@@ -58,7 +58,7 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     private final IdentifierFactory<K> identifierFactory;
     private final Duration timeout;
     private final ServerEnvironment environment;
-    private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), this, Duration.ZERO);
+    private final Scheduler<K, Instant> scheduler = new ShardedScheduler<>(LinkedScheduledEntries::new, this, Duration.ZERO);
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment) {
         this.factory = factory;
@@ -24,6 +24,9 @@ package org.jboss.as.ejb3.component.interceptors;
 import static java.lang.Math.max;
 
 import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -48,34 +51,54 @@ public abstract class AsyncInvocationTask implements Runnable, Future<Object> {
     private volatile int status = ST_RUNNING;
     private Object result;
     private Exception failed;
+    private final CompletableFuture<Object> completion = new CompletableFuture<>();
 
     public AsyncInvocationTask(final CancellationFlag cancelledFlag) {
         this.cancelledFlag = cancelledFlag;
     }
 
     @Override
-    public synchronized boolean cancel(final boolean mayInterruptIfRunning) {
-        if (status != ST_RUNNING) {
-            return status == ST_CANCELLED;
-        }
-        if (cancelledFlag.cancel(mayInterruptIfRunning)) {
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        synchronized (this) {
+            if (status != ST_RUNNING) {
+                return status == ST_CANCELLED;
+            }
+            if (! cancelledFlag.cancel(mayInterruptIfRunning)) {
+                return false;
+            }
             status = ST_CANCELLED;
             done();
-            return true;
         }
-        return false;
+        completion.cancel(false);
+        return true;
+    }
+
+    /**
+     * Returns a stage which completes with the outcome of this task, allowing callers to react to it without blocking.
+     * The stage completes exceptionally with the failure of the invocation, or with a {@link java.util.concurrent.CancellationException}
+     * if the task was cancelled.
+     *
+     * @return the completion stage of this task
+     */
+    public CompletionStage<Object> getCompletionStage() {
+        return completion;
     }
 
     protected abstract Object runInvocation() throws Exception;
 
     public void run() {
+        final boolean cancelled;
         synchronized (this) {
-            if (! cancelledFlag.runIfNotCancelled()) {
+            cancelled = ! cancelledFlag.runIfNotCancelled();
+            if (cancelled) {
                 status = ST_CANCELLED;
                 done();
-                return;
             }
         }
+        if (cancelled) {
+            completion.cancel(false);
+            return;
+        }
         Object result;
         try {
             result = runInvocation();
@@ -83,6 +106,18 @@ public abstract class AsyncInvocationTask implements Runnable, Future<Object> {
             setFailed(e);
             return;
         }
+        if (result instanceof CompletionStage) {
+            // do not block the executing thread until the stage returned by the bean completes
+            ((CompletionStage<?>) result).whenComplete((value, exception) -> {
+                if (exception == null) {
+                    setResult(value);
+                } else {
+                    final Throwable cause = (exception instanceof CompletionException) && (exception.getCause() != null) ? exception.getCause() : exception;
+                    setFailed((cause instanceof Exception) ? (Exception) cause : new UndeclaredThrowableException(cause));
+                }
+            });
+            return;
+        }
         Future<?> asyncResult = (Future<?>) result;
         try {
             if(asyncResult != null) {
@@ -106,16 +141,31 @@ public abstract class AsyncInvocationTask implements Runnable, Future<Object> {
         return;
     }
 
-    private synchronized void setResult(final Object result) {
-        this.result = result;
-        status = ST_DONE;
-        done();
+    private void setResult(final Object result) {
+        synchronized (this) {
+            if (status != ST_RUNNING) {
+                // cancelled while awaiting the outcome of the invocation
+                return;
+            }
+            this.result = result;
+            status = ST_DONE;
+            done();
+        }
+        // completion callbacks run outside of the lock
+        completion.complete(result);
     }
 
-    private synchronized void setFailed(final Exception e) {
-        this.failed = e;
-        status = ST_FAILED;
-        done();
+    private void setFailed(final Exception e) {
+        synchronized (this) {
+            if (status != ST_RUNNING) {
+                // cancelled while awaiting the outcome of the invocation
+                return;
+            }
+            this.failed = e;
+            status = ST_FAILED;
+            done();
+        }
+        completion.completeExceptionally(e);
     }
 
     private void done() {
@@ -22,17 +22,22 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
+ * Invocation statistics of an EJB component, in total and per method.
+ * Counters are striped, so that concurrent invocations do not contend, and recording an invocation does not allocate.
+ * Wait and execution times are additionally recorded in {@link LatencyHistogram}s, with microsecond precision.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -40,11 +45,15 @@ public class InvocationMetrics {
         final long invocations;
         final long executionTime;
         final long waitTime;
-
-        private Values(final long invocations, final long waitTime, final long executionTime) {
-            this.invocations = invocations;
-            this.executionTime = executionTime;
-            this.waitTime = waitTime;
+        final LatencyHistogram executionTimes;
+        final LatencyHistogram waitTimes;
+
+        private Values(final Statistics statistics) {
+            this.invocations = statistics.invocations.sum();
+            this.executionTime = TimeUnit.NANOSECONDS.toMillis(statistics.executionTime.sum());
+            this.waitTime = TimeUnit.NANOSECONDS.toMillis(statistics.waitTime.sum());
+            this.executionTimes = statistics.executionTimes;
+            this.waitTimes = statistics.waitTimes;
         }
 
         public long getExecutionTime() {
@@ -58,40 +67,72 @@ public class InvocationMetrics {
         public long getWaitTime() {
             return waitTime;
         }
+
+        /**
+         * @return the histogram of execution times, in microseconds
+         */
+        public LatencyHistogram getExecutionTimes() {
+            return executionTimes;
+        }
+
+        /**
+         * @return the histogram of wait times, in microseconds
+         */
+        public LatencyHistogram getWaitTimes() {
+            return waitTimes;
+        }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    private static class Statistics {
+        final LongAdder invocations = new LongAdder();
+        final LongAdder executionTime = new LongAdder();
+        final LongAdder waitTime = new LongAdder();
+        final LatencyHistogram executionTimes = new LatencyHistogram();
+        final LatencyHistogram waitTimes = new LatencyHistogram();
+
+        void record(final long invocationWaitTime, final long invocationExecutionTime) {
+            invocations.increment();
+            waitTime.add(invocationWaitTime);
+            executionTime.add(invocationExecutionTime);
+            waitTimes.record(TimeUnit.NANOSECONDS.toMicros(invocationWaitTime));
+            executionTimes.record(TimeUnit.NANOSECONDS.toMicros(invocationExecutionTime));
+        }
+    }
+
+    private final Statistics statistics = new Statistics();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    // Statistics per method, shared by methods with the same name and parameter types
+    private final ConcurrentMap<Method, Statistics> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Statistics> methodStatistics = new ConcurrentHashMap<>();
 
+    /**
+     * Records a completed invocation.
+     * @param method the invoked method
+     * @param invocationWaitTime the time, in nanoseconds, spent waiting for an instance
+     * @param invocationExecutionTime the time, in nanoseconds, spent within the bean method
+     */
     void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
+        statistics.record(invocationWaitTime, invocationExecutionTime);
+        Statistics methodValues = methods.get(method);
+        if (methodValues == null) {
+            methodValues = methods.computeIfAbsent(method, m -> methodStatistics.computeIfAbsent(methodKey(m), key -> new Statistics()));
         }
+        methodValues.record(invocationWaitTime, invocationExecutionTime);
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
+    /**
+     * Returns the name of the specified method, qualified by its parameter types if the method is overloaded.
+     */
+    private static String methodKey(final Method method) {
+        final String name = method.getName();
+        final long overloads = Stream.of(method.getDeclaringClass().getMethods()).filter(m -> m.getName().equals(name)).count();
+        if (overloads <= 1) {
+            return name;
         }
-        return ref;
+        return Stream.of(method.getParameterTypes()).map(Class::getTypeName).collect(Collectors.joining(",", name + "(", ")"));
     }
 
     public long getConcurrent() {
@@ -99,62 +140,31 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return TimeUnit.NANOSECONDS.toMillis(statistics.executionTime.sum());
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return statistics.invocations.sum();
+    }
+
+    /**
+     * @return the histogram of execution times, in microseconds
+     */
+    public LatencyHistogram getExecutionTimes() {
+        return statistics.executionTimes;
     }
 
+    /**
+     * Returns the invocation statistics per method, keyed by method name.
+     * The name of an overloaded method is qualified by its parameter types, e.g. {@code foo(java.lang.String,int)}.
+     * @return a snapshot of the method statistics
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
-            }
-        };
+        final Map<String, Values> result = new TreeMap<>();
+        for (Map.Entry<String, Statistics> entry : methodStatistics.entrySet()) {
+            result.put(entry.getKey(), new Values(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     public long getPeakConcurrent() {
@@ -162,7 +172,14 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return TimeUnit.NANOSECONDS.toMillis(statistics.waitTime.sum());
+    }
+
+    /**
+     * @return the histogram of wait times, in microseconds
+     */
+    public LatencyHistogram getWaitTimes() {
+        return statistics.waitTimes;
     }
 
     void startInvocation() {
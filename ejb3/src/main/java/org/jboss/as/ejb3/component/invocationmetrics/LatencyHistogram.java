@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A concurrent, fixed size histogram of latencies, with log-linear buckets in the manner of an HDR histogram.
+ * Values are bucketed by magnitude (power of 2), and each magnitude is subdivided into {@value #SUB_BUCKETS} linear sub-buckets,
+ * bounding the relative error of any reported value to about 6%.
+ * Recording a value does not allocate.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values are capped at 2^40 - 1, i.e. ~12.7 days in microseconds
+    private static final int MAX_MAGNITUDE = 40;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records the specified value.
+     * @param value a non-negative value
+     */
+    public void record(long value) {
+        long normalized = Math.min(Math.max(value, 0L), MAX_VALUE);
+        this.counts.incrementAndGet(index(normalized));
+        this.max.accumulate(normalized);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < this.counts.length(); ++i) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     * @return the largest recorded value, or 0, if no values were recorded
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns the value below which the specified percentage of recorded values fall.
+     * The result is the highest value equivalent to the bucket containing the percentile, bounded by the largest recorded value.
+     * @param percentile a percentile, between 0 and 100
+     * @return the value at the specified percentile, or 0, if no values were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[this.counts.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i] = this.counts.get(i);
+            total += counts[i];
+        }
+        if (total == 0) return 0L;
+        long target = Math.max((long) Math.ceil(Math.min(Math.max(percentile, 0d), 100d) / 100d * total), 1L);
+        long max = this.getMax();
+        long running = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            running += counts[i];
+            if (running >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int index(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = Math.max(magnitude - SUB_BUCKET_BITS, 0);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        int shift = Math.max((index >> SUB_BUCKET_BITS) - 1, 0);
+        long subBucket = index - (shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.adaptive.AdaptivePool;
+
+/**
+ * Configuration of an {@link AdaptivePool}.
+ * Changes to the configuration are applied to the pools created from it.
+ */
+public class AdaptivePoolConfig extends PoolConfig {
+
+    public static final int DEFAULT_MIN_POOL_SIZE = 0;
+
+    public static final int DEFAULT_MAX_POOL_SIZE = StrictMaxPoolConfig.DEFAULT_MAX_POOL_SIZE;
+
+    public static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+    private volatile int minPoolSize;
+
+    private volatile int maxPoolSize;
+
+    private volatile long idleTimeout;
+
+    private volatile TimeUnit timeoutUnit;
+
+    private volatile long timeout;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    // Pools created from this configuration, which are discarded along with their component
+    private final Set<AdaptivePool<?>> pools = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    public AdaptivePoolConfig(final String poolName, int minSize, int maxSize, long idleTimeout, long timeout, TimeUnit timeUnit) {
+        super(poolName);
+        this.minPoolSize = minSize;
+        this.maxPoolSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.timeout = timeout;
+        this.timeoutUnit = timeUnit;
+    }
+
+    @Override
+    public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
+        AdaptivePool<T> pool = new AdaptivePool<T>(statelessObjectFactory, this.minPoolSize, this.maxPoolSize, this.idleTimeout, TimeUnit.MILLISECONDS, this.timeout, this.timeoutUnit, this.scheduler);
+        this.pools.add(pool);
+        return pool;
+    }
+
+    /**
+     * Sets the scheduler used by pools created from this configuration to trim idle instances.
+     * @param scheduler a scheduler, or null, if idle instances should only be trimmed on release
+     */
+    void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    private void update(Consumer<AdaptivePool<?>> update) {
+        synchronized (this.pools) {
+            this.pools.forEach(update);
+        }
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(int minPoolSize) {
+        this.minPoolSize = minPoolSize;
+        this.update(pool -> pool.setMinSize(minPoolSize));
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        this.update(pool -> pool.setMaxSize(maxPoolSize));
+    }
+
+    /**
+     * Returns the time, in milliseconds, after which an idle instance may be removed from the pool.
+     * @return an idle timeout in milliseconds, or 0 if idle instances are never removed
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        this.update(pool -> pool.setIdleTimeout(idleTimeout, TimeUnit.MILLISECONDS));
+    }
+
+    public TimeUnit getTimeoutUnit() {
+        return timeoutUnit;
+    }
+
+    public void setTimeoutUnit(TimeUnit timeoutUnit) {
+        this.timeoutUnit = timeoutUnit;
+        this.update(pool -> pool.setTimeout(this.timeout, timeoutUnit));
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+        this.update(pool -> pool.setTimeout(timeout, this.timeoutUnit));
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptivePoolConfig{" +
+                "name=" + this.poolName +
+                ", minPoolSize=" + minPoolSize +
+                ", maxPoolSize=" + maxPoolSize +
+                ", idleTimeout=" + idleTimeout +
+                ", timeoutUnit=" + timeoutUnit +
+                ", timeout=" + timeout +
+                '}';
+    }
+}
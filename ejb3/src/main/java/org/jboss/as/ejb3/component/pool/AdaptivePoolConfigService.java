@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.component.pool;
+
+import static java.security.AccessController.doPrivileged;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.threads.JBossThreadFactory;
+
+/**
+ * Service providing the {@link AdaptivePoolConfig} of an adaptive-bean-instance-pool.
+ * Installed under {@link #ADAPTIVE_POOL_CONFIG_BASE_SERVICE_NAME}; beans reference the pool via a service under
+ * {@link StrictMaxPoolConfigService#EJB_POOL_CONFIG_BASE_SERVICE_NAME}, in the same way as a strict-max pool.
+ * While started, the service provides its pools with a scheduler that trims idle instances.
+ */
+public class AdaptivePoolConfigService implements Service<AdaptivePoolConfig> {
+
+    public static final ServiceName ADAPTIVE_POOL_CONFIG_BASE_SERVICE_NAME = ServiceName.JBOSS.append("ejb").append("adaptive-pool-config");
+
+    private final AdaptivePoolConfig poolConfig;
+    private volatile ScheduledThreadPoolExecutor scheduler;
+
+    public AdaptivePoolConfigService(final String poolName, int minSize, int maxSize, long idleTimeout, long timeout, TimeUnit timeUnit) {
+        this.poolConfig = new AdaptivePoolConfig(poolName, minSize, maxSize, idleTimeout, timeout, timeUnit);
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        final ThreadGroup group = new ThreadGroup("EJB adaptive pool maintenance-" + this.poolConfig.getPoolName());
+        final ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+            public JBossThreadFactory run() {
+                return new JBossThreadFactory(group, Boolean.TRUE, null, "%G - %t", null, null);
+            }
+        });
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler = scheduler;
+        this.poolConfig.setScheduler(scheduler);
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        this.poolConfig.setScheduler(null);
+        ScheduledThreadPoolExecutor scheduler = this.scheduler;
+        if (scheduler != null) {
+            this.scheduler = null;
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void setMinPoolSize(int minPoolSize) {
+        poolConfig.setMinPoolSize(minPoolSize);
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        poolConfig.setMaxPoolSize(maxPoolSize);
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        poolConfig.setIdleTimeout(idleTimeout);
+    }
+
+    public void setTimeout(long timeout) {
+        poolConfig.setTimeout(timeout);
+    }
+
+    public void setTimeoutUnit(TimeUnit timeUnit) {
+        poolConfig.setTimeoutUnit(timeUnit);
+    }
+
+    @Override
+    public AdaptivePoolConfig getValue() throws IllegalStateException, IllegalArgumentException {
+        return this.poolConfig;
+    }
+}
@@ -86,8 +86,17 @@ public class MarshallingConfigurationRepositoryServiceConfigurator extends Simpl
     private final Module module;
     private final SupplierDependency<ModuleDeployment> deployment;
 
+    /**
+     * Returns the name of the service providing the marshalling configuration repository of the specified deployment unit.
+     * @param deploymentUnitServiceName the service name of a deployment unit
+     * @return a service name
+     */
+    public static ServiceName getServiceName(ServiceName deploymentUnitServiceName) {
+        return deploymentUnitServiceName.append("marshalling");
+    }
+
     public MarshallingConfigurationRepositoryServiceConfigurator(DeploymentUnit unit) {
-        super(unit.getServiceName().append("marshalling"));
+        super(getServiceName(unit.getServiceName()));
         this.module = unit.getAttachment(Attachments.MODULE);
         this.deployment = new ServiceSupplierDependency<>(unit.getServiceName().append(ModuleDeployment.SERVICE_NAME));
     }
@@ -3204,4 +3204,30 @@ public interface EjbLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 515, value = "[EJB3.2 spec, section 4.9.2] Singleton session beans are not allowed to implement 'javax.ejb.SessionBean' interface. This interface on bean '%s' is going to be ignored and should be removed.")
     void singletonCantImplementSessionBean(String className);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 516, value = "Failed to run scheduled timer task %s")
+    void failedToRunScheduledTimerTask(Runnable task, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 517, value = "Timer journal segment %s is truncated or corrupted at offset %d, the remainder of the segment will be discarded")
+    void timerJournalSegmentTruncated(File segment, long offset);
+
+    @LogMessage(level = INFO)
+    @Message(id = 518, value = "Migrated %d persistent timers of %s to the timer journal in %s")
+    void timersMigratedToJournal(int count, String timedObjectId, File directory);
+
+    @LogMessage(level = WARN)
+    @Message(id = 519, value = "Failed to passivate stateful session bean %s, it will remain in memory")
+    void failedToPassivateBean(Object id, @Cause Throwable cause);
+
+    @Message(id = 520, value = "Failed to activate stateful session bean %s")
+    IllegalStateException failedToActivateBean(Object id, @Cause Throwable cause);
+
+    @Message(id = 521, value = "A bean instance pool named %s already exists")
+    OperationFailedException duplicateBeanInstancePool(String poolName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 522, value = "Failed to populate bean instance pool %s to its minimum size")
+    void failedToFillPool(Object pool, @Cause Throwable cause);
 }
@@ -0,0 +1,466 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.adaptive;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with an elastic size, designed for low contention under a high number of concurrent invokers.
+ * <p/>
+ * Free instances are kept in a set of striped, lock-free free lists. A thread releases instances to, and preferably
+ * acquires instances from, the stripe it maps to, and only steals from the other stripes when its own stripe is empty.
+ * The number of instances in use is bounded by a lock-free permit counter; callers only fall back to blocking when the
+ * pool is exhausted. The pool is populated to its configured minimum size on first use, and instances beyond it are
+ * created on demand; those which have been idle for longer than the configured idle timeout are trimmed, as long as the
+ * pool retains at least its configured minimum size.
+ * <p/>
+ * If the pool is given a scheduler, trimming, as well as replenishing the pool to its minimum size, is performed
+ * periodically by a maintenance task, such that an idle pool shrinks as well; otherwise idle instances are only trimmed
+ * on release.
+ */
+public class AdaptivePool<T> extends AbstractPool<T> {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe<T>[] stripes;
+    private final int mask;
+    /**
+     * The number of instances currently handed out by this pool, i.e. the number of acquired permits.
+     */
+    private final AtomicInteger inUse = new AtomicInteger(0);
+    /**
+     * The number of threads blocked waiting for a permit.
+     * Used to avoid touching the lock on release in the common, uncontended case.
+     */
+    private final AtomicInteger waiters = new AtomicInteger(0);
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final AtomicLong lastTrim = new AtomicLong(System.currentTimeMillis());
+    private final AtomicBoolean filled = new AtomicBoolean(false);
+    private final AtomicBoolean filling = new AtomicBoolean(false);
+    private final ScheduledExecutorService scheduler;
+    private volatile Future<?> maintenance;
+
+    private volatile int minSize;
+    private volatile int maxSize;
+    private volatile long idleTimeout;
+    private volatile long timeout;
+    private volatile TimeUnit timeUnit;
+
+    public AdaptivePool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long idleTimeout, TimeUnit idleTimeoutUnit, long timeout, TimeUnit timeUnit) {
+        this(factory, minSize, maxSize, idleTimeout, idleTimeoutUnit, timeout, timeUnit, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public AdaptivePool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long idleTimeout, TimeUnit idleTimeoutUnit, long timeout, TimeUnit timeUnit, ScheduledExecutorService scheduler) {
+        super(factory);
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeoutUnit.toMillis(idleTimeout);
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        this.scheduler = scheduler;
+        int stripeCount = 1;
+        while (stripeCount < Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES)) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; ++i) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    @Override
+    public void discard(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, obj);
+        }
+
+        this.releasePermit();
+
+        super.doRemove(obj);
+    }
+
+    @Override
+    public T get() {
+        if (!this.filled.get() && this.filled.compareAndSet(false, true)) {
+            // The component is available for instance construction once it is first invoked
+            this.fill();
+        }
+
+        this.acquirePermit();
+
+        T bean = this.poll();
+
+        if (bean != null) {
+            return bean;
+        }
+
+        try {
+            // Free lists are empty, create an instance
+            bean = this.create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit();
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.getCurrentSize(), this.maxSize, this);
+        }
+
+        long idleTimeout = this.idleTimeout;
+        long now = (idleTimeout > 0) ? System.currentTimeMillis() : 0L;
+        // If the pool was shrunk since this instance was acquired, do not retain it
+        if (this.getCurrentSize() > this.maxSize) {
+            this.releasePermit();
+            this.doRemove(obj);
+        } else {
+            this.stripes[index() & this.mask].push(obj, now);
+            this.releasePermit();
+        }
+
+        if ((this.scheduler == null) && (idleTimeout > 0)) {
+            long last = this.lastTrim.get();
+            if ((now - last >= idleTimeout) && this.lastTrim.compareAndSet(last, now)) {
+                this.trim(now);
+            }
+        }
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, obj);
+        }
+
+        this.releasePermit();
+
+        super.doRemove(obj);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return Math.max(this.maxSize - this.inUse.get(), 0);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public int getMinSize() {
+        return this.minSize;
+    }
+
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+
+    /**
+     * Returns the time, in milliseconds, after which an idle instance may be removed from the pool.
+     * @return an idle timeout in milliseconds, or 0 if idle instances are never removed
+     */
+    public long getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout, TimeUnit unit) {
+        this.idleTimeout = unit.toMillis(idleTimeout);
+        synchronized (this) {
+            if (this.maintenance != null) {
+                this.maintenance.cancel(false);
+                this.schedule();
+            }
+        }
+    }
+
+    public void setTimeout(long timeout, TimeUnit unit) {
+        this.timeUnit = unit;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        int previous = this.maxSize;
+        this.maxSize = maxSize;
+        if ((maxSize > previous) && (this.waiters.get() > 0)) {
+            this.lock.lock();
+            try {
+                this.available.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        // Instances are created on first use, the component is not yet available for instance construction
+        synchronized (this) {
+            if (this.scheduler != null) {
+                this.schedule();
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            if (this.maintenance != null) {
+                this.maintenance.cancel(false);
+                this.maintenance = null;
+            }
+        }
+        for (Stripe<T> stripe : this.stripes) {
+            for (Node<T> node = stripe.clear(); node != null; node = node.next) {
+                if (node.claim()) {
+                    this.destroy(node.instance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules the maintenance task, at an interval of half the idle timeout, or of the default idle timeout if idle instances are never removed.
+     */
+    private void schedule() {
+        long idleTimeout = this.idleTimeout;
+        long interval = Math.max(((idleTimeout > 0) ? idleTimeout : TimeUnit.MINUTES.toMillis(5)) / 2, 1L);
+        this.maintenance = this.scheduler.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void maintain() {
+        long now = System.currentTimeMillis();
+        this.lastTrim.set(now);
+        this.trim(now);
+        if (this.filled.get()) {
+            try {
+                this.fill();
+            } catch (RuntimeException e) {
+                ROOT_LOGGER.failedToFillPool(this, e);
+            }
+        }
+    }
+
+    /**
+     * Creates instances until the pool reaches its minimum size.
+     */
+    private void fill() {
+        if (!this.filling.compareAndSet(false, true)) return;
+        try {
+            long now = System.currentTimeMillis();
+            while (this.getCurrentSize() < Math.min(this.minSize, this.maxSize)) {
+                this.stripes[index() & this.mask].push(this.create(), now);
+            }
+        } finally {
+            this.filling.set(false);
+        }
+    }
+
+    private static int index() {
+        // Spread thread ids, which tend to be sequential, across the stripes
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32));
+        return h ^ (h >>> 16) ^ (h >>> 8);
+    }
+
+    /**
+     * Polls a free instance, most recently released first, from the current thread's stripe.
+     * If that stripe is empty, steals an instance from one of the other stripes.
+     */
+    private T poll() {
+        int home = index() & this.mask;
+        Node<T> node = this.stripes[home].pop();
+        for (int i = 1; (node == null) && (i < this.stripes.length); ++i) {
+            node = this.stripes[(home + i) & this.mask].pop();
+        }
+        return (node != null) ? node.instance : null;
+    }
+
+    /**
+     * Destroys instances that have been idle for longer than the idle timeout, while the pool is larger than its minimum size,
+     * as well as any instances beyond its maximum size.
+     * The free lists remain in place: expired nodes are claimed individually, so that concurrent callers skip them,
+     * and the trailing run of claimed nodes, i.e. the least recently used ones, is unlinked.
+     */
+    private void trim(long now) {
+        long idleTimeout = this.idleTimeout;
+        for (Stripe<T> stripe : this.stripes) {
+            Node<T> head = stripe.peek();
+            // The last node that remains available
+            Node<T> last = null;
+            for (Node<T> node = head; node != null; node = node.next) {
+                int size = this.getCurrentSize();
+                boolean idle = (idleTimeout > 0) && (now - node.timestamp >= idleTimeout) && (size > this.minSize);
+                // Free instances beyond a reduced maximum size are removed as well
+                if ((idle || (size > this.maxSize)) && node.claim()) {
+                    if (ROOT_LOGGER.isTraceEnabled()) {
+                        ROOT_LOGGER.tracef("Trimming idle instance: %s#%s", this, node.instance);
+                    }
+                    this.destroy(node.instance);
+                } else if (!node.isClaimed()) {
+                    last = node;
+                }
+            }
+            // Claimed nodes are skipped by concurrent callers, thus unlinking them is safe, even if it races with a concurrent pop
+            if (last != null) {
+                last.next = null;
+            } else if (head != null) {
+                stripe.top.compareAndSet(head, null);
+            }
+        }
+    }
+
+    private boolean tryAcquirePermit() {
+        for (;;) {
+            int current = this.inUse.get();
+            if (current >= this.maxSize) {
+                return false;
+            }
+            if (this.inUse.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void acquirePermit() {
+        if (this.tryAcquirePermit()) {
+            return;
+        }
+        long nanos = this.timeUnit.toNanos(this.timeout);
+        this.lock.lock();
+        this.waiters.incrementAndGet();
+        try {
+            while (!this.tryAcquirePermit()) {
+                if (nanos <= 0L) {
+                    throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                }
+                nanos = this.available.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.waiters.decrementAndGet();
+            this.lock.unlock();
+        }
+    }
+
+    private void releasePermit() {
+        this.inUse.decrementAndGet();
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.available.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A lock-free (Treiber) stack of free instances.
+     * A node is owned by whichever caller claims it first, thus nodes claimed by a trim are skipped when popped.
+     */
+    private static class Stripe<T> {
+        private final AtomicReference<Node<T>> top = new AtomicReference<>();
+
+        void push(T instance, long timestamp) {
+            Node<T> node = new Node<>(instance, timestamp);
+            Node<T> current;
+            do {
+                current = this.top.get();
+                node.next = current;
+            } while (!this.top.compareAndSet(current, node));
+        }
+
+        Node<T> pop() {
+            for (;;) {
+                Node<T> current = this.top.get();
+                if (current == null) {
+                    return null;
+                }
+                if (this.top.compareAndSet(current, current.next) && current.claim()) {
+                    return current;
+                }
+            }
+        }
+
+        Node<T> peek() {
+            return this.top.get();
+        }
+
+        Node<T> clear() {
+            return this.top.getAndSet(null);
+        }
+    }
+
+    private static class Node<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Node> CLAIMED = AtomicIntegerFieldUpdater.newUpdater(Node.class, "claimed");
+
+        final T instance;
+        final long timestamp;
+        volatile Node<T> next;
+        private volatile int claimed = 0;
+
+        Node(T instance, long timestamp) {
+            this.instance = instance;
+            this.timestamp = timestamp;
+        }
+
+        boolean claim() {
+            return CLAIMED.compareAndSet(this, 0, 1);
+        }
+
+        boolean isClaimed() {
+            return this.claimed != 0;
+        }
+    }
+}
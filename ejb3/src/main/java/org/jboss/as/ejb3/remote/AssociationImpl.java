@@ -27,6 +27,7 @@ import org.jboss.as.ee.component.ComponentIsStoppedException;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ee.component.interceptors.InvocationType;
 import org.jboss.as.ejb3.component.EJBComponentUnavailableException;
+import org.jboss.as.ejb3.component.interceptors.AsyncInvocationTask;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
@@ -82,10 +83,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * @author <a href="mailto:tadamski@redhat.com">Tomasz Adamski</a>
@@ -201,50 +206,21 @@ final class AssociationImpl implements Association, AutoCloseable {
             }
 
             try {
-                final Map<String, Object> contextDataHolder = new HashMap<>();
-                result = invokeMethod(componentView, invokedMethod, invocationRequest, requestContent, cancellationFlag, contextDataHolder);
-                attachments.putAll(contextDataHolder);
-            } catch (EJBComponentUnavailableException ex) {
-                // if the EJB is shutting down when the invocation was done, then it's as good as the EJB not being available. The client has to know about this as
-                // a "no such EJB" failure so that it can retry the invocation on a different node if possible.
-                EjbLogger.EJB3_INVOCATION_LOGGER.debugf("Cannot handle method invocation: %s on bean: %s due to EJB component unavailability exception. Returning a no such EJB available message back to client", invokedMethod, beanName);
-                if (! oneWay) invocationRequest.writeNoSuchEJB();
-                return;
-            } catch (ComponentIsStoppedException ex) {
-                EjbLogger.EJB3_INVOCATION_LOGGER.debugf("Cannot handle method invocation: %s on bean: %s due to EJB component stopped exception. Returning a no such EJB available message back to client", invokedMethod, beanName);
-                if (! oneWay) invocationRequest.writeNoSuchEJB();
-                return;
-                // TODO should we write a specifc response with a specific protocol letting client know that server is suspending?
-            } catch (CancellationException ex) {
-                if (! oneWay) invocationRequest.writeCancelResponse();
-                return;
+                // context data returned to the client is added directly to the response attachments
+                result = invokeMethod(componentView, invokedMethod, invocationRequest, requestContent, cancellationFlag, attachments);
             } catch (Exception exception) {
-                if (oneWay) return;
-                // write out the failure
-                final Exception exceptionToWrite;
-                final Throwable cause = exception.getCause();
-                if (componentView.getComponent() instanceof StatefulSessionComponent && exception instanceof EJBException && cause != null) {
-                    if (!(componentView.getComponent().isRemotable(cause))) {
-                        // Avoid serializing the cause of the exception in case it is not remotable
-                        // Client might not be able to deserialize and throw ClassNotFoundException
-                        exceptionToWrite = new EJBException(exception.getLocalizedMessage());
-                    } else {
-                        exceptionToWrite = exception;
-                    }
-                } else {
-                    exceptionToWrite = exception;
-                }
-                invocationRequest.writeException(exceptionToWrite);
+                writeFailure(invocationRequest, componentView, invokedMethod, exception, oneWay);
                 return;
             } finally {
                 SecurityActions.remotingContextClear();
             }
-            // invocation was successful
-            if (! oneWay) try {
-                updateAffinities(invocationRequest, attachments, ejbLocator, componentView);
-                requestContent.writeInvocationResult(result);
-            } catch (Throwable ioe) {
-                EjbLogger.REMOTE_LOGGER.couldNotWriteMethodInvocation(ioe, invokedMethod, beanName, appName, moduleName, distinctName);
+            if (oneWay) return;
+            if (isAsync && (result instanceof Future)) {
+                // the response is written once the asynchronous invocation completes
+                whenDone((Future<?>) result, value -> writeResult(invocationRequest, requestContent, attachments, ejbLocator, componentView, invokedMethod, value), exception -> writeFailure(invocationRequest, componentView, invokedMethod, exception, false));
+            } else {
+                // invocation was successful
+                writeResult(invocationRequest, requestContent, attachments, ejbLocator, componentView, invokedMethod, result);
             }
         };
         // invoke the method and write out the response, possibly on a separate thread
@@ -252,6 +228,88 @@ final class AssociationImpl implements Association, AutoCloseable {
         return cancellationFlag::cancel;
     }
 
+    /**
+     * Passes the outcome of the specified future to the given result or failure consumer.
+     * If the future is an {@link AsyncInvocationTask}, or a {@link CompletionStage} that has not completed yet, this method returns immediately
+     * and the outcome is passed on completion, otherwise this method blocks until the outcome is available.
+     * Failures are passed as an {@link ExecutionException}, or as a {@link CancellationException} if the future was cancelled.
+     *
+     * @param future the future returned by an asynchronous invocation
+     * @param result consumer of the result of the future
+     * @param failure consumer of the failure of the future
+     */
+    static void whenDone(Future<?> future, Consumer<Object> result, Consumer<Exception> failure) {
+        if (future instanceof AsyncInvocationTask) {
+            // release the calling thread
+            whenComplete(((AsyncInvocationTask) future).getCompletionStage(), result, failure);
+            return;
+        }
+        if ((future instanceof CompletionStage) && !future.isDone()) {
+            whenComplete((CompletionStage<?>) future, result, failure);
+            return;
+        }
+        final Object value;
+        try {
+            value = future.get();
+        } catch (Exception exception) {
+            failure.accept(exception);
+            return;
+        }
+        result.accept(value);
+    }
+
+    private static void whenComplete(CompletionStage<?> stage, Consumer<Object> result, Consumer<Exception> failure) {
+        stage.whenComplete((value, exception) -> {
+            if (exception == null) {
+                result.accept(value);
+            } else {
+                final Throwable cause = (exception instanceof CompletionException) && (exception.getCause() != null) ? exception.getCause() : exception;
+                failure.accept((cause instanceof CancellationException) ? (CancellationException) cause : new ExecutionException(cause));
+            }
+        });
+    }
+
+    private void writeResult(InvocationRequest invocationRequest, InvocationRequest.Resolved requestContent, Map<String, Object> attachments, EJBLocator<?> ejbLocator, ComponentView componentView, Method invokedMethod, Object result) {
+        try {
+            updateAffinities(invocationRequest, attachments, ejbLocator, componentView);
+            requestContent.writeInvocationResult(result);
+        } catch (Throwable ioe) {
+            final EJBIdentifier ejbIdentifier = invocationRequest.getEJBIdentifier();
+            EjbLogger.REMOTE_LOGGER.couldNotWriteMethodInvocation(ioe, invokedMethod, ejbIdentifier.getBeanName(), ejbIdentifier.getAppName(), ejbIdentifier.getModuleName(), ejbIdentifier.getDistinctName());
+        }
+    }
+
+    private static void writeFailure(InvocationRequest invocationRequest, ComponentView componentView, Method invokedMethod, Exception exception, boolean oneWay) {
+        if (exception instanceof EJBComponentUnavailableException) {
+            // if the EJB is shutting down when the invocation was done, then it's as good as the EJB not being available. The client has to know about this as
+            // a "no such EJB" failure so that it can retry the invocation on a different node if possible.
+            EjbLogger.EJB3_INVOCATION_LOGGER.debugf("Cannot handle method invocation: %s on bean: %s due to EJB component unavailability exception. Returning a no such EJB available message back to client", invokedMethod, invocationRequest.getEJBIdentifier().getBeanName());
+            if (! oneWay) invocationRequest.writeNoSuchEJB();
+        } else if (exception instanceof ComponentIsStoppedException) {
+            EjbLogger.EJB3_INVOCATION_LOGGER.debugf("Cannot handle method invocation: %s on bean: %s due to EJB component stopped exception. Returning a no such EJB available message back to client", invokedMethod, invocationRequest.getEJBIdentifier().getBeanName());
+            if (! oneWay) invocationRequest.writeNoSuchEJB();
+            // TODO should we write a specifc response with a specific protocol letting client know that server is suspending?
+        } else if (exception instanceof CancellationException) {
+            if (! oneWay) invocationRequest.writeCancelResponse();
+        } else if (! oneWay) {
+            // write out the failure
+            final Exception exceptionToWrite;
+            final Throwable cause = exception.getCause();
+            if (componentView.getComponent() instanceof StatefulSessionComponent && exception instanceof EJBException && cause != null) {
+                if (!(componentView.getComponent().isRemotable(cause))) {
+                    // Avoid serializing the cause of the exception in case it is not remotable
+                    // Client might not be able to deserialize and throw ClassNotFoundException
+                    exceptionToWrite = new EJBException(exception.getLocalizedMessage());
+                } else {
+                    exceptionToWrite = exception;
+                }
+            } else {
+                exceptionToWrite = exception;
+            }
+            invocationRequest.writeException(exceptionToWrite);
+        }
+    }
+
     private void updateAffinities(InvocationRequest invocationRequest, Map<String, Object> attachments, EJBLocator<?> ejbLocator, ComponentView componentView) {
         Affinity legacyAffinity = null;
         Affinity weakAffinity = null;
@@ -568,9 +626,10 @@ final class AssociationImpl implements Association, AutoCloseable {
             if (! oneWay) {
                 interceptorContext.putPrivateData(CancellationFlag.class, cancellationFlag);
             }
+            // the returned future, if any, is resolved by the caller
             final Object result = invokeWithIdentity(componentView, interceptorContext, securityIdentity);
             handleReturningContextData(contextDataHolder, interceptorContext, content);
-            return result == null ? null : ((Future<?>) result).get();
+            return result;
         } else {
             Object result = invokeWithIdentity(componentView, interceptorContext, securityIdentity);
             handleReturningContextData(contextDataHolder, interceptorContext, content);
@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfigService;
+import org.jboss.as.ejb3.component.pool.PoolConfig;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ValueInjectionService;
+
+/**
+ * Adds an adaptive-pool to the EJB3 subsystem's bean-instance-pools. The {#performRuntime runtime action}
+ * will create and install a {@link org.jboss.as.ejb3.component.pool.AdaptivePoolConfigService}, as well as
+ * the service via which beans reference the pool.
+ */
+public class AdaptivePoolAdd extends AbstractAddStepHandler {
+
+    AdaptivePoolAdd(AttributeDefinition... attributes) {
+        super(attributes);
+    }
+
+    @Override
+    protected void populateModel(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+        super.populateModel(context, operation, resource);
+        validatePoolName(context, EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL);
+    }
+
+    /**
+     * Verifies that no bean instance pool of the specified other type shares the name of the pool being added,
+     * since beans reference pools of either type by name.
+     */
+    static void validatePoolName(OperationContext context, String otherPoolType) throws OperationFailedException {
+        final PathAddress address = context.getCurrentAddress();
+        final String poolName = address.getLastElement().getValue();
+        if (context.readResourceFromRoot(address.getParent(), false).hasChild(PathElement.pathElement(otherPoolType, poolName))) {
+            throw EjbLogger.ROOT_LOGGER.duplicateBeanInstancePool(poolName);
+        }
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+
+        final String poolName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.ADDRESS)).getLastElement().getValue();
+        final int minPoolSize = AdaptivePoolResourceDefinition.MIN_POOL_SIZE.resolveModelAttribute(context, model).asInt();
+        final int maxPoolSize = AdaptivePoolResourceDefinition.MAX_POOL_SIZE.resolveModelAttribute(context, model).asInt();
+        final long idleTimeout = AdaptivePoolResourceDefinition.IDLE_TIMEOUT.resolveModelAttribute(context, model).asLong();
+        final long timeout = AdaptivePoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.resolveModelAttribute(context, model).asLong();
+        final String unit = AdaptivePoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, model).asString();
+        // create and install the service
+        final AdaptivePoolConfigService poolConfigService = new AdaptivePoolConfigService(poolName, minPoolSize, maxPoolSize, idleTimeout, timeout, TimeUnit.valueOf(unit));
+
+        final ServiceName serviceName = AdaptivePoolConfigService.ADAPTIVE_POOL_CONFIG_BASE_SERVICE_NAME.append(poolName);
+        context.getServiceTarget().addService(serviceName, poolConfigService).install();
+
+        // install the service via which beans reference the pool
+        final ValueInjectionService<PoolConfig> poolReferenceService = new ValueInjectionService<>();
+        context.getServiceTarget().addService(StrictMaxPoolConfigService.EJB_POOL_CONFIG_BASE_SERVICE_NAME.append(poolName), poolReferenceService)
+                .addDependency(serviceName, PoolConfig.class, poolReferenceService.getInjector())
+                .install();
+    }
+}
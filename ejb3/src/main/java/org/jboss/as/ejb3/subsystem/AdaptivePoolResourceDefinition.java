@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ServiceRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfig;
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfigService;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for the adaptive-bean-instance-pool resource.
+ */
+public class AdaptivePoolResourceDefinition extends SimpleResourceDefinition {
+
+    public static final SimpleAttributeDefinition MIN_POOL_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MIN_POOL_SIZE, ModelType.INT, true)
+                    .setDefaultValue(new ModelNode().set(AdaptivePoolConfig.DEFAULT_MIN_POOL_SIZE))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(0, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+    public static final SimpleAttributeDefinition MAX_POOL_SIZE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_POOL_SIZE, ModelType.INT, true)
+                    .setDefaultValue(new ModelNode().set(AdaptivePoolConfig.DEFAULT_MAX_POOL_SIZE))
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+    public static final SimpleAttributeDefinition IDLE_TIMEOUT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.IDLE_TIMEOUT, ModelType.LONG, true)
+                    .setDefaultValue(new ModelNode().set(AdaptivePoolConfig.DEFAULT_IDLE_TIMEOUT))
+                    .setAllowExpression(true)
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_NONE)
+                    .build();
+    public static final SimpleAttributeDefinition INSTANCE_ACQUISITION_TIMEOUT = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT;
+    public static final SimpleAttributeDefinition INSTANCE_ACQUISITION_TIMEOUT_UNIT = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT;
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { MIN_POOL_SIZE, MAX_POOL_SIZE, IDLE_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT, INSTANCE_ACQUISITION_TIMEOUT_UNIT };
+    private static final AdaptivePoolAdd ADD_HANDLER = new AdaptivePoolAdd(ATTRIBUTES);
+    public static final AdaptivePoolResourceDefinition INSTANCE = new AdaptivePoolResourceDefinition();
+
+    private AdaptivePoolResourceDefinition() {
+        super(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL),
+                EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL),
+                ADD_HANDLER, new AdaptivePoolRemove(ADD_HANDLER),
+                OperationEntry.Flag.RESTART_NONE, OperationEntry.Flag.RESTART_RESOURCE_SERVICES);
+    }
+
+    /**
+     * Removes the pool config service, as well as the service via which beans reference the pool.
+     */
+    private static class AdaptivePoolRemove extends ServiceRemoveStepHandler {
+
+        AdaptivePoolRemove(AdaptivePoolAdd addOperation) {
+            super(AdaptivePoolConfigService.ADAPTIVE_POOL_CONFIG_BASE_SERVICE_NAME, addOperation);
+        }
+
+        @Override
+        protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+            super.performRuntime(context, operation, model);
+            context.removeService(StrictMaxPoolConfigService.EJB_POOL_CONFIG_BASE_SERVICE_NAME.append(context.getCurrentAddressValue()));
+        }
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        OperationStepHandler osh = new AdaptivePoolWriteHandler(ATTRIBUTES);
+        for (AttributeDefinition attr : ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attr, null, osh);
+        }
+    }
+}
@@ -32,12 +32,16 @@ import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.ejb3.cache.CacheFactoryBuilderServiceNameProvider;
 import org.jboss.as.ejb3.cache.distributable.DistributableCacheFactoryBuilderServiceNameProvider;
+import org.jboss.as.ejb3.cache.passivating.PassivatingCacheFactoryBuilderServiceNameProvider;
 import org.jboss.as.ejb3.cache.simple.SimpleCacheFactoryBuilderServiceConfigurator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.service.IdentityServiceConfigurator;
 import org.wildfly.clustering.service.ServiceConfigurator;
@@ -61,11 +65,20 @@ public class CacheFactoryAdd extends AbstractAddStepHandler {
         final Collection<String> unwrappedAliasValues = CacheFactoryResourceDefinition.ALIASES.unwrap(context,model);
         final Set<String> aliases = unwrappedAliasValues != null ? new HashSet<>(unwrappedAliasValues) : Collections.<String>emptySet();
         ServiceTarget target = context.getServiceTarget();
-        ServiceConfigurator configurator = (passivationStore != null) ? new IdentityServiceConfigurator<>(new CacheFactoryBuilderServiceNameProvider(name).getServiceName(), new DistributableCacheFactoryBuilderServiceNameProvider(passivationStore).getServiceName()) : new SimpleCacheFactoryBuilderServiceConfigurator<>(name);
+        ServiceConfigurator configurator = (passivationStore != null) ? new IdentityServiceConfigurator<>(new CacheFactoryBuilderServiceNameProvider(name).getServiceName(), getPassivationStoreServiceName(context, passivationStore)) : new SimpleCacheFactoryBuilderServiceConfigurator<>(name);
         ServiceBuilder<?> builder = configurator.build(target);
         for (String alias: aliases) {
             new IdentityServiceConfigurator<>(new CacheFactoryBuilderServiceNameProvider(alias).getServiceName(), configurator.getServiceName()).build(target).install();
         }
         builder.install();
     }
+
+    /**
+     * Returns the service name of the cache factory builder of the referenced passivation store,
+     * which is either a local passivation store or a distributable passivation store.
+     */
+    private static ServiceName getPassivationStoreServiceName(OperationContext context, String passivationStore) {
+        Resource subsystem = context.readResourceFromRoot(context.getCurrentAddress().getParent(), false);
+        return subsystem.hasChild(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE, passivationStore)) ? new PassivatingCacheFactoryBuilderServiceNameProvider(passivationStore).getServiceName() : new DistributableCacheFactoryBuilderServiceNameProvider(passivationStore).getServiceName();
+    }
 }
@@ -28,6 +28,7 @@ import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -79,7 +80,15 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
                     .setDefaultValue(ModelNode.TRUE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION };
+    public static final SimpleAttributeDefinition REFRESH_MODE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.REFRESH_MODE, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setDefaultValue(new ModelNode(RefreshMode.FULL.toString()))
+                    .setValidator(EnumValidator.create(RefreshMode.class, true, true))
+                    .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION, REFRESH_MODE };
     private static final DatabaseDataStoreAdd ADD_HANDLER = new DatabaseDataStoreAdd(ATTRIBUTES);
     public static final DatabaseDataStoreResourceDefinition INSTANCE = new DatabaseDataStoreResourceDefinition();
 
@@ -96,4 +105,40 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
         }
     }
 
+    private static final String FULL_VALUE = "full";
+    private static final String INCREMENTAL_VALUE = "incremental";
+
+    /**
+     * The strategy by which the timers are refreshed against the database.
+     */
+    enum RefreshMode {
+        /**
+         * All timers of all timed objects are reloaded on every refresh.
+         */
+        FULL(FULL_VALUE),
+        /**
+         * Only the timers changed by other nodes since the previous refresh are reloaded, based on a change log table.
+         */
+        INCREMENTAL(INCREMENTAL_VALUE);
+
+        private final String value;
+
+        RefreshMode(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        public static RefreshMode fromValue(String value) {
+            switch (value) {
+                case FULL_VALUE: return FULL;
+                case INCREMENTAL_VALUE: return INCREMENTAL;
+                default: throw new IllegalArgumentException(value);
+            }
+        }
+    }
+
 }
@@ -22,22 +22,34 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
 import org.jboss.dmr.ModelNode;
 import org.jboss.staxmapper.XMLExtendedStreamReader;
 
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.parsing.ParseUtils.missingRequired;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoAttributes;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoContent;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoNamespaceAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.CLASS;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.CLIENT_INTERCEPTORS;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.DATABASE_DATA_STORE;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.FILE_DATA_STORE;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.LOCAL_PASSIVATION_STORE;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.MODULE;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.SERVER_INTERCEPTORS;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.SERVICE;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.TIMER_SERVICE;
 
 /**
  * Parser for ejb3:6.0 namespace.
@@ -71,6 +83,277 @@ public class EJB3Subsystem60Parser extends EJB3Subsystem50Parser {
         }
     }
 
+    @Override
+    protected void parseTimerService(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        final PathAddress address = this.getEJB3SubsystemAddress().append(SERVICE, TIMER_SERVICE);
+        final ModelNode timerServiceAdd = Util.createAddOperation(address);
+
+        final EnumSet<EJB3SubsystemXMLAttribute> required = EnumSet.of(EJB3SubsystemXMLAttribute.THREAD_POOL_NAME, EJB3SubsystemXMLAttribute.DEFAULT_DATA_STORE);
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case THREAD_POOL_NAME:
+                    TimerServiceResourceDefinition.THREAD_POOL_NAME.parseAndSetParameter(value, timerServiceAdd, reader);
+                    break;
+                case DEFAULT_DATA_STORE:
+                    TimerServiceResourceDefinition.DEFAULT_DATA_STORE.parseAndSetParameter(value, timerServiceAdd, reader);
+                    break;
+                case THREAD_MODE:
+                    TimerServiceResourceDefinition.THREAD_MODE.parseAndSetParameter(value, timerServiceAdd, reader);
+                    break;
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        operations.add(timerServiceAdd);
+
+        while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            switch (EJB3SubsystemXMLElement.forName(reader.getLocalName())) {
+                case DATA_STORES: {
+                    this.parseDataStores(reader, operations);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void parseDataStores(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
+        while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            switch (EJB3SubsystemXMLElement.forName(reader.getLocalName())) {
+                case FILE_DATA_STORE: {
+                    this.parseFileDataStore(reader, operations);
+                    break;
+                }
+                case DATABASE_DATA_STORE: {
+                    this.parseDatabaseDataStore(reader, operations);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+    }
+
+    protected void parseFileDataStore(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
+        String name = null;
+        final ModelNode fileDataStore = Util.createAddOperation();
+        final EnumSet<EJB3SubsystemXMLAttribute> required = EnumSet.of(EJB3SubsystemXMLAttribute.NAME, EJB3SubsystemXMLAttribute.PATH);
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME:
+                    if (name != null) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    name = value;
+                    break;
+                case PATH:
+                    FileDataStoreResourceDefinition.PATH.parseAndSetParameter(value, fileDataStore, reader);
+                    break;
+                case RELATIVE_TO:
+                    FileDataStoreResourceDefinition.RELATIVE_TO.parseAndSetParameter(value, fileDataStore, reader);
+                    break;
+                case FORMAT:
+                    FileDataStoreResourceDefinition.FORMAT.parseAndSetParameter(value, fileDataStore, reader);
+                    break;
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        requireNoContent(reader);
+        // create /subsystem=ejb3/service=timer-service/file-data-store=name:add(...)
+        final PathAddress address = this.getEJB3SubsystemAddress().append(SERVICE, TIMER_SERVICE).append(FILE_DATA_STORE, name);
+        fileDataStore.get(OP_ADDR).set(address.toModelNode());
+        operations.add(fileDataStore);
+    }
+
+    @Override
+    protected void parseDatabaseDataStore(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
+        String name = null;
+        final ModelNode databaseDataStore = Util.createAddOperation();
+        final EnumSet<EJB3SubsystemXMLAttribute> required = EnumSet.of(EJB3SubsystemXMLAttribute.NAME, EJB3SubsystemXMLAttribute.DATASOURCE_JNDI_NAME);
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME:
+                    if (name != null) {
+                        throw unexpectedAttribute(reader, i);
+                    }
+                    name = value;
+                    break;
+                case DATASOURCE_JNDI_NAME:
+                    DatabaseDataStoreResourceDefinition.DATASOURCE_JNDI_NAME.parseAndSetParameter(value, databaseDataStore, reader);
+                    break;
+                case DATABASE:
+                    DatabaseDataStoreResourceDefinition.DATABASE.parseAndSetParameter(value, databaseDataStore, reader);
+                    break;
+                case PARTITION:
+                    DatabaseDataStoreResourceDefinition.PARTITION.parseAndSetParameter(value, databaseDataStore, reader);
+                    break;
+                case REFRESH_INTERVAL:
+                    DatabaseDataStoreResourceDefinition.REFRESH_INTERVAL.parseAndSetParameter(value, databaseDataStore, reader);
+                    break;
+                case ALLOW_EXECUTION:
+                    DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.parseAndSetParameter(value, databaseDataStore, reader);
+                    break;
+                case REFRESH_MODE:
+                    DatabaseDataStoreResourceDefinition.REFRESH_MODE.parseAndSetParameter(value, databaseDataStore, reader);
+                    break;
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        requireNoContent(reader);
+        // create /subsystem=ejb3/service=timer-service/database-data-store=name:add(...)
+        final PathAddress address = this.getEJB3SubsystemAddress().append(SERVICE, TIMER_SERVICE).append(DATABASE_DATA_STORE, name);
+        databaseDataStore.get(OP_ADDR).set(address.toModelNode());
+        operations.add(databaseDataStore);
+    }
+
+    @Override
+    protected void parseBeanInstancePools(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        // no attributes expected
+        requireNoAttributes(reader);
+
+        while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            switch (EJB3SubsystemXMLElement.forName(reader.getLocalName())) {
+                case STRICT_MAX_POOL: {
+                    this.parseStrictMaxPool(reader, operations);
+                    break;
+                }
+                case ADAPTIVE_POOL: {
+                    this.parseAdaptivePool(reader, operations);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+    }
+
+    protected void parseAdaptivePool(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        String poolName = null;
+        final ModelNode operation = Util.createAddOperation();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            switch (EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i))) {
+                case NAME:
+                    poolName = value;
+                    break;
+                case MIN_POOL_SIZE:
+                    AdaptivePoolResourceDefinition.MIN_POOL_SIZE.parseAndSetParameter(value, operation, reader);
+                    break;
+                case MAX_POOL_SIZE:
+                    AdaptivePoolResourceDefinition.MAX_POOL_SIZE.parseAndSetParameter(value, operation, reader);
+                    break;
+                case IDLE_TIMEOUT:
+                    AdaptivePoolResourceDefinition.IDLE_TIMEOUT.parseAndSetParameter(value, operation, reader);
+                    break;
+                case INSTANCE_ACQUISITION_TIMEOUT:
+                    AdaptivePoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.parseAndSetParameter(value, operation, reader);
+                    break;
+                case INSTANCE_ACQUISITION_TIMEOUT_UNIT:
+                    AdaptivePoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.parseAndSetParameter(value, operation, reader);
+                    break;
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        requireNoContent(reader);
+        if (poolName == null) {
+            throw missingRequired(reader, Collections.singleton(EJB3SubsystemXMLAttribute.NAME.getLocalName()));
+        }
+        // create /subsystem=ejb3/adaptive-bean-instance-pool=name:add(...)
+        final PathAddress address = this.getEJB3SubsystemAddress().append(ADAPTIVE_BEAN_INSTANCE_POOL, poolName);
+        operation.get(OP_ADDR).set(address.toModelNode());
+        operations.add(operation);
+    }
+
+    @Override
+    protected void parsePassivationStores(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        // no attributes expected
+        requireNoAttributes(reader);
+
+        while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            switch (EJB3SubsystemXMLElement.forName(reader.getLocalName())) {
+                case PASSIVATION_STORE: {
+                    this.parsePassivationStore(reader, operations);
+                    break;
+                }
+                case LOCAL_PASSIVATION_STORE: {
+                    this.parseLocalPassivationStore(reader, operations);
+                    break;
+                }
+                case FILE_PASSIVATION_STORE: {
+                    this.parseFilePassivationStore(reader, operations);
+                    break;
+                }
+                case CLUSTER_PASSIVATION_STORE: {
+                    this.parseClusterPassivationStore(reader, operations);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+    }
+
+    protected void parseLocalPassivationStore(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        String name = null;
+        final ModelNode operation = Util.createAddOperation();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            switch (EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i))) {
+                case NAME:
+                    name = value;
+                    break;
+                case MAX_SIZE:
+                    LocalPassivationStoreResourceDefinition.MAX_SIZE.parseAndSetParameter(value, operation, reader);
+                    break;
+                case EVICTION_POLICY:
+                    LocalPassivationStoreResourceDefinition.EVICTION_POLICY.parseAndSetParameter(value, operation, reader);
+                    break;
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        requireNoContent(reader);
+        if (name == null) {
+            throw missingRequired(reader, Collections.singleton(EJB3SubsystemXMLAttribute.NAME.getLocalName()));
+        }
+        // create /subsystem=ejb3/local-passivation-store=name:add(...)
+        final PathAddress address = this.getEJB3SubsystemAddress().append(LOCAL_PASSIVATION_STORE, name);
+        operation.get(OP_ADDR).set(address.toModelNode());
+        operations.add(operation);
+    }
+
     protected void parseServerInterceptors(final XMLExtendedStreamReader reader, final ModelNode ejbSubsystemAddOperation) throws XMLStreamException {
         final ModelNode interceptors = new ModelNode();
 
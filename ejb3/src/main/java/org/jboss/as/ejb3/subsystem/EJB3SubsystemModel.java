@@ -69,12 +69,15 @@ public interface EJB3SubsystemModel {
     String STATISTICS_ENABLED = "statistics-enabled";
 
     String FILE_DATA_STORE = "file-data-store";
+    String FORMAT = "format";
 
     String MAX_POOL_SIZE = "max-pool-size";
+    String MIN_POOL_SIZE = "min-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
+    String ADAPTIVE_BEAN_INSTANCE_POOL = "adaptive-bean-instance-pool";
 
     String MAX_THREADS = "max-threads";
     String KEEPALIVE_TIME = "keepalive-time";
@@ -101,6 +104,7 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String THREAD_MODE = "thread-mode";
     String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
@@ -108,12 +112,14 @@ public interface EJB3SubsystemModel {
 
     String CACHE = "cache";
     String PASSIVATION_STORE = "passivation-store";
+    String LOCAL_PASSIVATION_STORE = "local-passivation-store";
+    String EVICTION_POLICY = "eviction-policy";
 
     String MDB_DELIVERY_GROUP="mdb-delivery-group";
     String MDB_DELVIERY_GROUP_ACTIVE = "active";
 
     @Deprecated String FILE_PASSIVATION_STORE = "file-passivation-store";
-    @Deprecated String IDLE_TIMEOUT = "idle-timeout";
+    String IDLE_TIMEOUT = "idle-timeout";
     @Deprecated String IDLE_TIMEOUT_UNIT = "idle-timeout-unit";
     String MAX_SIZE = "max-size";
     @Deprecated String GROUPS_PATH = "groups-path";
@@ -135,6 +141,7 @@ public interface EJB3SubsystemModel {
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
     String ALLOW_EXECUTION = "allow-execution";
+    String REFRESH_MODE = "refresh-mode";
 
     String STATIC_URLS = "static-urls";
 
@@ -360,8 +360,12 @@ public class EJB3SubsystemRootResourceDefinition extends SimpleResourceDefinitio
         // subsystem=ejb3/strict-max-bean-instance-pool=*
         subsystemRegistration.registerSubModel(StrictMaxPoolResourceDefinition.INSTANCE);
 
+        // subsystem=ejb3/adaptive-bean-instance-pool=*
+        subsystemRegistration.registerSubModel(AdaptivePoolResourceDefinition.INSTANCE);
+
         subsystemRegistration.registerSubModel(CacheFactoryResourceDefinition.INSTANCE);
         subsystemRegistration.registerSubModel(PassivationStoreResourceDefinition.INSTANCE);
+        subsystemRegistration.registerSubModel(LocalPassivationStoreResourceDefinition.INSTANCE);
         subsystemRegistration.registerSubModel(FilePassivationStoreResourceDefinition.INSTANCE);
         subsystemRegistration.registerSubModel(ClusterPassivationStoreResourceDefinition.INSTANCE);
 
@@ -53,11 +53,14 @@ public enum EJB3SubsystemXMLAttribute {
 
     ENABLED("enabled"),
     ENABLE_BY_DEFAULT("enable-by-default"),
+    EVICTION_POLICY("eviction-policy"),
     EXCLUDE_LOCAL_RECEIVER("exclude-local-receiver"),
 
+    FORMAT("format"),
+
     @Deprecated GROUPS_PATH("groups-path"),
 
-    @Deprecated IDLE_TIMEOUT("idle-timeout"),
+    IDLE_TIMEOUT("idle-timeout"),
     @Deprecated IDLE_TIMEOUT_UNIT("idle-timeout-unit"),
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
@@ -67,6 +70,7 @@ public enum EJB3SubsystemXMLAttribute {
     LOCAL_RECEIVER_PASS_BY_VALUE("local-receiver-pass-by-value"),
 
     MAX_POOL_SIZE("max-pool-size"),
+    MIN_POOL_SIZE("min-pool-size"),
     MAX_SIZE("max-size"),
     DERIVE_SIZE("derive-size"),
     MAX_THREADS("max-threads"),
@@ -77,6 +81,7 @@ public enum EJB3SubsystemXMLAttribute {
 
     PARTITION("partition"),
     REFRESH_INTERVAL("refresh-interval"),
+    REFRESH_MODE("refresh-mode"),
     PASS_BY_VALUE("pass-by-value"),
     @Deprecated PASSIVATE_EVENTS_ON_REPLICATE("passivate-events-on-replicate"),
     PASSIVATION_DISABLED_CACHE_REF("passivation-disabled-cache-ref"),
@@ -91,6 +96,7 @@ public enum EJB3SubsystemXMLAttribute {
     STATIC_URLS("static-urls"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
+    THREAD_MODE("thread-mode"),
     THREAD_POOL_NAME("thread-pool-name"),
     TYPE("type"),
 
@@ -34,6 +34,7 @@ public enum EJB3SubsystemXMLElement {
     // must be first
     UNKNOWN(null),
 
+    ADAPTIVE_POOL("adaptive-pool"),
     ASYNC("async"),
     ALLOW_EJB_NAME_REGEX("allow-ejb-name-regex"),
 
@@ -71,6 +72,7 @@ public enum EJB3SubsystemXMLElement {
 
     PASSIVATION_STORE("passivation-store"),
     PASSIVATION_STORES("passivation-stores"),
+    LOCAL_PASSIVATION_STORE("local-passivation-store"),
     PROFILE("profile"),
     PROFILES("profiles"),
     PROPERTY("property"),
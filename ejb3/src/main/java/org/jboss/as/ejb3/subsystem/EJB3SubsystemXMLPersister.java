@@ -149,7 +149,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
             writer.writeEndElement();
         }
         // write the pools element
-        if (model.hasDefined(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL)) {
+        if (model.hasDefined(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL) || model.hasDefined(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL)) {
             // <pools>
             writer.writeStartElement(EJB3SubsystemXMLElement.POOLS.getLocalName());
             // <bean-instance-pools>
@@ -173,12 +173,14 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
         }
         // write the passivation-stores element
         if (model.hasDefined(EJB3SubsystemModel.PASSIVATION_STORE)
+                || model.hasDefined(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE)
                 || model.hasDefined(EJB3SubsystemModel.CLUSTER_PASSIVATION_STORE)
                 || model.hasDefined(EJB3SubsystemModel.FILE_PASSIVATION_STORE)) {
             // <passivation-stores>
             writer.writeStartElement(EJB3SubsystemXMLElement.PASSIVATION_STORES.getLocalName());
             // write the caches
             this.writePassivationStores(writer, model);
+            this.writeLocalPassivationStores(writer, model);
             this.writeFilePassivationStores(writer, model);
             this.writeClusterPassivationStores(writer, model);
             // </passivation-stores>
@@ -481,6 +483,16 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
                 writer.writeEndElement();
             }
         }
+        if (beanInstancePoolModelNode.hasDefined(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL)) {
+            for (Property property : beanInstancePoolModelNode.get(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL).asPropertyList()) {
+                // <adaptive-pool>
+                writer.writeStartElement(EJB3SubsystemXMLElement.ADAPTIVE_POOL.getLocalName());
+                // contents of adaptive-pool
+                this.writeAdaptivePoolConfig(writer, property);
+                // </adaptive-pool>
+                writer.writeEndElement();
+            }
+        }
     }
 
     private void writeStrictMaxPoolConfig(final XMLExtendedStreamWriter writer, final Property strictMaxPoolModel) throws XMLStreamException {
@@ -495,6 +507,18 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
         StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.marshallAsAttribute(strictMaxPoolModelNode, writer);
     }
 
+    private void writeAdaptivePoolConfig(final XMLExtendedStreamWriter writer, final Property adaptivePoolModel) throws XMLStreamException {
+        final ModelNode adaptivePoolModelNode = adaptivePoolModel.getValue();
+
+        writer.writeAttribute(EJB3SubsystemXMLAttribute.NAME.getLocalName(), adaptivePoolModel.getName());
+
+        AdaptivePoolResourceDefinition.MIN_POOL_SIZE.marshallAsAttribute(adaptivePoolModelNode, writer);
+        AdaptivePoolResourceDefinition.MAX_POOL_SIZE.marshallAsAttribute(adaptivePoolModelNode, writer);
+        AdaptivePoolResourceDefinition.IDLE_TIMEOUT.marshallAsAttribute(adaptivePoolModelNode, writer);
+        AdaptivePoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.marshallAsAttribute(adaptivePoolModelNode, writer);
+        AdaptivePoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.marshallAsAttribute(adaptivePoolModelNode, writer);
+    }
+
     private void writeCaches(XMLExtendedStreamWriter writer, ModelNode model) throws XMLStreamException {
         List<Property> caches = model.get(EJB3SubsystemModel.CACHE).asPropertyList();
         for (Property property : caches) {
@@ -522,6 +546,20 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
         }
     }
 
+    private void writeLocalPassivationStores(XMLExtendedStreamWriter writer, ModelNode model) throws XMLStreamException {
+        if (model.hasDefined(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE)) {
+            List<Property> stores = model.get(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE).asPropertyList();
+            for (Property property : stores) {
+                writer.writeStartElement(EJB3SubsystemXMLElement.LOCAL_PASSIVATION_STORE.getLocalName());
+                ModelNode store = property.getValue();
+                writer.writeAttribute(EJB3SubsystemXMLAttribute.NAME.getLocalName(), property.getName());
+                LocalPassivationStoreResourceDefinition.MAX_SIZE.marshallAsAttribute(store, writer);
+                LocalPassivationStoreResourceDefinition.EVICTION_POLICY.marshallAsAttribute(store, writer);
+                writer.writeEndElement();
+            }
+        }
+    }
+
     /**
      * Persist as a passivation-store using relevant attributes
      */
@@ -572,6 +610,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
 
         TimerServiceResourceDefinition.THREAD_POOL_NAME.marshallAsAttribute(timerServiceModel, writer);
         TimerServiceResourceDefinition.DEFAULT_DATA_STORE.marshallAsAttribute(timerServiceModel, writer);
+        TimerServiceResourceDefinition.THREAD_MODE.marshallAsAttribute(timerServiceModel, writer);
 
         writer.writeStartElement(EJB3SubsystemXMLElement.DATA_STORES.getLocalName());
         writeFileDataStores(writer, timerServiceModel);
@@ -592,6 +631,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
                 DatabaseDataStoreResourceDefinition.PARTITION.marshallAsAttribute(store, writer);
                 DatabaseDataStoreResourceDefinition.REFRESH_INTERVAL.marshallAsAttribute(store, writer);
                 DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.marshallAsAttribute(store, writer);
+                DatabaseDataStoreResourceDefinition.REFRESH_MODE.marshallAsAttribute(store, writer);
                 writer.writeEndElement();
             }
         }
@@ -606,6 +646,7 @@ public class EJB3SubsystemXMLPersister implements XMLElementWriter<SubsystemMars
                 writer.writeAttribute(EJB3SubsystemXMLAttribute.NAME.getLocalName(), property.getName());
                 FileDataStoreResourceDefinition.PATH.marshallAsAttribute(store, writer);
                 FileDataStoreResourceDefinition.RELATIVE_TO.marshallAsAttribute(store, writer);
+                FileDataStoreResourceDefinition.FORMAT.marshallAsAttribute(store, writer);
                 writer.writeEndElement();
             }
         }
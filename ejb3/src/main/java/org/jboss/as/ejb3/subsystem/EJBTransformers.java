@@ -260,6 +260,33 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
                 .setDiscard(DiscardAttributeChecker.UNDEFINED, PoolAttributeDefinitions.CORE_THREADS)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, PoolAttributeDefinitions.CORE_THREADS)
                 .end();
+
+        // adaptive bean instance pools
+        subsystemBuilder.rejectChildResource(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL));
+
+        // local passivation stores
+        subsystemBuilder.rejectChildResource(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE));
+
+        // timer service thread mode
+        ResourceTransformationDescriptionBuilder timerService = subsystemBuilder.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        timerService.getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, TimerServiceResourceDefinition.THREAD_MODE.getDefaultValue()), TimerServiceResourceDefinition.THREAD_MODE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, TimerServiceResourceDefinition.THREAD_MODE)
+                .end();
+
+        // database data store refresh mode
+        timerService.addChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH)
+                .getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, DatabaseDataStoreResourceDefinition.REFRESH_MODE.getDefaultValue()), DatabaseDataStoreResourceDefinition.REFRESH_MODE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, DatabaseDataStoreResourceDefinition.REFRESH_MODE)
+                .end();
+
+        // file data store format
+        timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH)
+                .getAttributeBuilder()
+                .setDiscard(new DiscardAttributeChecker.DiscardAttributeValueChecker(false, true, FileDataStoreResourceDefinition.FORMAT.getDefaultValue()), FileDataStoreResourceDefinition.FORMAT)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.FORMAT)
+                .end();
     }
 
     /*
@@ -58,7 +58,9 @@ public class FileDataStoreAdd extends AbstractAddStepHandler {
         final ModelNode relativeToNode = FileDataStoreResourceDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
 
-        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo);
+        final FileDataStoreResourceDefinition.Format format = FileDataStoreResourceDefinition.Format.fromValue(FileDataStoreResourceDefinition.FORMAT.resolveModelAttribute(context, model).asString());
+
+        final FileTimerPersistence fileTimerPersistence = new FileTimerPersistence(true, path, relativeTo, format == FileDataStoreResourceDefinition.Format.JOURNAL);
         final PathAddress address = PathAddress.pathAddress(operation.get(OP_ADDR));
         final ServiceName serviceName = TimerPersistence.SERVICE_NAME.append(address.getLastElement().getValue());
         final ServiceBuilder sb = context.getServiceTarget().addService(serviceName, fileTimerPersistence);
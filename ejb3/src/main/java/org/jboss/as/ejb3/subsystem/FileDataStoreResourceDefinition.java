@@ -28,6 +28,7 @@ import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -36,6 +37,7 @@ import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.controller.services.path.ResolvePathHandler;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -56,9 +58,17 @@ public class FileDataStoreResourceDefinition extends SimpleResourceDefinition {
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
                     .build();
 
+    public static final SimpleAttributeDefinition FORMAT =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.FORMAT, ModelType.STRING, true)
+                    .setAllowExpression(true)
+                    .setDefaultValue(new ModelNode(Format.XML.toString()))
+                    .setValidator(EnumValidator.create(Format.class, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
     private final PathManager pathManager;
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { PATH, RELATIVE_TO };
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { PATH, RELATIVE_TO, FORMAT };
     private static final FileDataStoreAdd ADD_HANDER = new FileDataStoreAdd(ATTRIBUTES);
 
     public FileDataStoreResourceDefinition(final PathManager pathManager) {
@@ -87,4 +97,40 @@ public class FileDataStoreResourceDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerOperationHandler(resolvePathHandler.getOperationDefinition(), resolvePathHandler);
         }
     }
+
+    private static final String XML_VALUE = "xml";
+    private static final String JOURNAL_VALUE = "journal";
+
+    /**
+     * The format in which the timers are stored.
+     */
+    enum Format {
+        /**
+         * One XML file per timer.
+         */
+        XML(XML_VALUE),
+        /**
+         * A segmented, append-only journal per timed object.
+         */
+        JOURNAL(JOURNAL_VALUE);
+
+        private final String value;
+
+        Format(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        public static Format fromValue(String value) {
+            switch (value) {
+                case XML_VALUE: return XML;
+                case JOURNAL_VALUE: return JOURNAL;
+                default: throw new IllegalArgumentException(value);
+            }
+        }
+    }
 }
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.ejb3.cache.passivating.EvictionPolicy;
+import org.jboss.as.ejb3.cache.passivating.PassivatingCacheFactoryBuilderServiceConfigurator;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Adds a local passivation store, i.e. installs the builder of local, passivating cache factories.
+ */
+public class LocalPassivationStoreAdd extends AbstractAddStepHandler {
+
+    LocalPassivationStoreAdd(AttributeDefinition... attributes) {
+        super(attributes);
+    }
+
+    @Override
+    protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
+        String name = context.getCurrentAddressValue();
+        int maxSize = LocalPassivationStoreResourceDefinition.MAX_SIZE.resolveModelAttribute(context, model).asInt();
+        EvictionPolicy evictionPolicy = EvictionPolicy.valueOf(LocalPassivationStoreResourceDefinition.EVICTION_POLICY.resolveModelAttribute(context, model).asString());
+        new PassivatingCacheFactoryBuilderServiceConfigurator<>(name, maxSize, evictionPolicy).build(context.getServiceTarget()).install();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+import org.jboss.as.ejb3.cache.passivating.EvictionPolicy;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for the local-passivation-store resource.
+ * A cache referencing a local passivation store bounds the number of stateful session beans held in memory,
+ * and passivates idle beans to the local file system.
+ */
+public class LocalPassivationStoreResourceDefinition extends SimpleResourceDefinition {
+
+    static final SimpleAttributeDefinition MAX_SIZE = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.MAX_SIZE, ModelType.INT, true)
+            .setXmlName(EJB3SubsystemXMLAttribute.MAX_SIZE.getLocalName())
+            .setDefaultValue(new ModelNode(10000))
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true))
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .build()
+    ;
+    static final SimpleAttributeDefinition EVICTION_POLICY = new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.EVICTION_POLICY, ModelType.STRING, true)
+            .setXmlName(EJB3SubsystemXMLAttribute.EVICTION_POLICY.getLocalName())
+            .setDefaultValue(new ModelNode(EvictionPolicy.LRU.name()))
+            .setAllowExpression(true)
+            .setValidator(EnumValidator.create(EvictionPolicy.class, true, true))
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .build()
+    ;
+
+    static final AttributeDefinition[] ATTRIBUTES = { MAX_SIZE, EVICTION_POLICY };
+
+    static final LocalPassivationStoreAdd ADD_HANDLER = new LocalPassivationStoreAdd(ATTRIBUTES);
+
+    static final LocalPassivationStoreResourceDefinition INSTANCE = new LocalPassivationStoreResourceDefinition();
+
+    private LocalPassivationStoreResourceDefinition() {
+        super(new Parameters(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE), EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE))
+                .setAddHandler(ADD_HANDLER)
+                .setRemoveHandler(new LocalPassivationStoreRemove(ADD_HANDLER))
+                .setRemoveRestartLevel(OperationEntry.Flag.RESTART_RESOURCE_SERVICES));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        OperationStepHandler writeHandler = new ReloadRequiredWriteAttributeHandler(ATTRIBUTES);
+        for (AttributeDefinition definition: ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(definition, null, writeHandler);
+        }
+    }
+}
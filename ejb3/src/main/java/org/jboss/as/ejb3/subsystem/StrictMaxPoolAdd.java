@@ -32,6 +32,7 @@ import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
 import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService;
 import org.jboss.dmr.ModelNode;
@@ -52,6 +53,12 @@ public class StrictMaxPoolAdd extends AbstractAddStepHandler {
         super(attributes);
     }
 
+    @Override
+    protected void populateModel(OperationContext context, ModelNode operation, Resource resource) throws OperationFailedException {
+        super.populateModel(context, operation, resource);
+        AdaptivePoolAdd.validatePoolName(context, EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL);
+    }
+
     @Override
     protected void performRuntime(OperationContext context, ModelNode operation, ModelNode strictMaxPoolModel) throws OperationFailedException {
 
@@ -46,7 +46,7 @@ public class StrictMaxPoolDerivedSizeReadHandler extends AbstractRuntimeOnlyHand
         final ServiceName serviceName = StrictMaxPoolConfigService.EJB_POOL_CONFIG_BASE_SERVICE_NAME.append(poolName);
         final ServiceRegistry registry = context.getServiceRegistry(true);
         ServiceController<?> sc = registry.getService(serviceName);
-        if (sc != null) {
+        if (sc != null && sc.getService() instanceof StrictMaxPoolConfigService) {
             StrictMaxPoolConfigService smpc = (StrictMaxPoolConfigService) sc.getService();
             if (smpc != null) {
                 context.getResult().set(smpc.getDerivedSize());
@@ -24,8 +24,6 @@ package org.jboss.as.ejb3.subsystem;
 
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
-import java.util.Timer;
-
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -33,6 +31,7 @@ import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingPro
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
@@ -62,6 +61,7 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
         final String defaultDataStore = TimerServiceResourceDefinition.DEFAULT_DATA_STORE.resolveModelAttribute(context, model).asString();
         final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
         final ServiceName threadPoolServiceName = EJB3SubsystemModel.BASE_THREAD_POOL_SERVICE_NAME.append(threadPoolName);
+        final TimerServiceResourceDefinition.ThreadMode threadMode = TimerServiceResourceDefinition.ThreadMode.fromValue(TimerServiceResourceDefinition.THREAD_MODE.resolveModelAttribute(context, model).asString());
 
         context.addStep(new AbstractDeploymentChainStep() {
             protected void execute(DeploymentProcessorTarget processorTarget) {
@@ -74,28 +74,33 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             }
         }, OperationContext.Stage.RUNTIME);
 
-        context.getServiceTarget().addService(TimerServiceDeploymentProcessor.TIMER_SERVICE_NAME, new TimerValueService())
+        context.getServiceTarget().addService(TimerServiceDeploymentProcessor.TIMER_SERVICE_NAME, new TimerValueService(threadMode))
                 .install();
 
     }
 
-    private static final class TimerValueService implements Service<Timer> {
+    private static final class TimerValueService implements Service<TimerScheduler> {
+
+        private final TimerServiceResourceDefinition.ThreadMode threadMode;
+        private TimerScheduler timer;
 
-        private Timer timer;
+        TimerValueService(final TimerServiceResourceDefinition.ThreadMode threadMode) {
+            this.threadMode = threadMode;
+        }
 
         @Override
         public synchronized void start(final StartContext context) throws StartException {
-            timer = new Timer();
+            timer = threadMode.createScheduler();
         }
 
         @Override
         public synchronized void stop(final StopContext context) {
-            timer.cancel();
+            timer.shutdown();
             timer = null;
         }
 
         @Override
-        public synchronized Timer getValue() throws IllegalStateException, IllegalArgumentException {
+        public synchronized TimerScheduler getValue() throws IllegalStateException, IllegalArgumentException {
             return timer;
         }
     }
@@ -28,10 +28,15 @@ import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerThreadScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelScheduler;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -53,7 +58,15 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     //.setDefaultValue(new ModelNode("default-file-store")) //for backward compatibility!
                     .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE };
+    static final SimpleAttributeDefinition THREAD_MODE =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_MODE, ModelType.STRING, true)
+                    .setDefaultValue(new ModelNode(ThreadMode.TIMER.toString()))
+                    .setAllowExpression(true)
+                    .setValidator(EnumValidator.create(ThreadMode.class, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, THREAD_MODE };
 
     private final PathManager pathManager;
 
@@ -79,4 +92,52 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
     }
 
+    private static final String TIMER_VALUE = "timer";
+    private static final String TIMING_WHEEL_VALUE = "timing-wheel";
+
+    /**
+     * The strategy by which the timeouts of all timers are scheduled.
+     */
+    enum ThreadMode {
+        /**
+         * A single thread scheduling timeouts from a binary heap, i.e. {@link java.util.Timer}.
+         */
+        TIMER(TIMER_VALUE) {
+            @Override
+            TimerScheduler createScheduler() {
+                return new TimerThreadScheduler();
+            }
+        },
+        /**
+         * A single thread scheduling timeouts from a hashed timing wheel, suited to large numbers of timers.
+         */
+        TIMING_WHEEL(TIMING_WHEEL_VALUE) {
+            @Override
+            TimerScheduler createScheduler() {
+                return new TimingWheelScheduler();
+            }
+        };
+
+        private final String value;
+
+        ThreadMode(String value) {
+            this.value = value;
+        }
+
+        abstract TimerScheduler createScheduler();
+
+        @Override
+        public String toString() {
+            return value;
+        }
+
+        public static ThreadMode fromValue(String value) {
+            switch (value) {
+                case TIMER_VALUE: return TIMER;
+                case TIMING_WHEEL_VALUE: return TIMING_WHEEL;
+                default: throw new IllegalArgumentException(value);
+            }
+        }
+    }
+
 }
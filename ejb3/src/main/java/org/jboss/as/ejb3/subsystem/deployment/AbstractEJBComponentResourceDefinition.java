@@ -34,11 +34,13 @@ import org.jboss.as.controller.PrimitiveListAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
+import org.jboss.as.ejb3.component.invocationmetrics.LatencyHistogram;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.dmr.ModelNode;
@@ -80,7 +82,23 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
-    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
+    private static final AttributeDefinition P50 = createPercentile("p50");
+    private static final AttributeDefinition P90 = createPercentile("p90");
+    private static final AttributeDefinition P99 = createPercentile("p99");
+    private static final AttributeDefinition P999 = createPercentile("p999");
+    private static final AttributeDefinition MAX = createPercentile("max");
+
+    private static final AttributeDefinition EXECUTION_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("execution-time-percentiles", P50, P90, P99, P999, MAX)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition WAIT_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("wait-time-percentiles", P50, P90, P99, P999, MAX)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition METHODS = ObjectTypeAttributeDefinition.Builder.of("methods", EXECUTION_TIME, INVOCATIONS, WAIT_TIME, EXECUTION_TIME_PERCENTILES, WAIT_TIME_PERCENTILES)
             .setRequired(false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
@@ -130,6 +148,24 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
 
     private final EJBComponentType componentType;
 
+    private static AttributeDefinition createPercentile(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
+    private static ModelNode percentiles(LatencyHistogram histogram) {
+        final ModelNode result = new ModelNode();
+        result.get(P50.getName()).set(histogram.getValueAtPercentile(50));
+        result.get(P90.getName()).set(histogram.getValueAtPercentile(90));
+        result.get(P99.getName()).set(histogram.getValueAtPercentile(99));
+        result.get(P999.getName()).set(histogram.getValueAtPercentile(99.9));
+        result.get(MAX.getName()).set(histogram.getMax());
+        return result;
+    }
+
     public AbstractEJBComponentResourceDefinition(final EJBComponentType componentType) {
         super(PathElement.pathElement(componentType.getResourceType()),
                 EJB3Extension.getResourceDescriptionResolver(componentType.getResourceType()));
@@ -201,6 +237,18 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        resourceRegistration.registerMetric(EXECUTION_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                context.getResult().set(percentiles(component.getInvocationMetrics().getExecutionTimes()));
+            }
+        });
+        resourceRegistration.registerMetric(WAIT_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                context.getResult().set(percentiles(component.getInvocationMetrics().getWaitTimes()));
+            }
+        });
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
@@ -211,6 +259,8 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     result.get("execution-time").set(values.getExecutionTime());
                     result.get("invocations").set(values.getInvocations());
                     result.get("wait-time").set(values.getWaitTime());
+                    result.get(EXECUTION_TIME_PERCENTILES.getName()).set(percentiles(values.getExecutionTimes()));
+                    result.get(WAIT_TIME_PERCENTILES.getName()).set(percentiles(values.getWaitTimes()));
                     context.getResult().get(entry.getKey()).set(result);
                 }
             }
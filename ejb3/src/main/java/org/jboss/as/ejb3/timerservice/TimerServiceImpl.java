@@ -36,7 +36,9 @@ import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
 
 import javax.ejb.EJBException;
 import javax.ejb.ScheduleExpression;
@@ -61,6 +63,8 @@ import org.jboss.as.ejb3.context.CurrentInvocationContext;
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.subsystem.deployment.TimerServiceResource;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.ScheduledTask;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
 import org.jboss.as.ejb3.timerservice.spi.ScheduleTimer;
 import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
 import org.jboss.invocation.InterceptorContext;
@@ -100,7 +104,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
 
     private final InjectedValue<ExecutorService> executorServiceInjectedValue = new InjectedValue<ExecutorService>();
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimerScheduler> timerInjectedValue = new InjectedValue<TimerScheduler>();
 
     private final InjectedValue<TimedObjectInvoker> timedObjectInvoker = new InjectedValue<TimedObjectInvoker>();
 
@@ -117,12 +121,12 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     /**
      * All timers which were created by this {@link TimerService}
      */
-    private final Map<String, TimerImpl> timers = Collections.synchronizedMap(new HashMap<String, TimerImpl>());
+    private final Map<String, TimerImpl> timers = new ConcurrentHashMap<String, TimerImpl>();
 
     /**
-     * Holds the {@link java.util.concurrent.Future} of each of the timer tasks that have been scheduled
+     * Holds each of the timer tasks that have been scheduled, keyed by timer id
      */
-    private final Map<String, java.util.TimerTask> scheduledTimerFutures = new HashMap<String, java.util.TimerTask>();
+    private final Map<String, Task> scheduledTimerFutures = new ConcurrentHashMap<String, Task>();
 
     /**
      * Key that is used to store timers that are waiting on transaction completion in the transaction local
@@ -397,13 +401,11 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         Object pk = currentPrimaryKey();
         final Set<Timer> activeTimers = new HashSet<Timer>();
         // get all active timers for this timerservice
-        synchronized (this.timers) {
-            for (final TimerImpl timer : this.timers.values()) {
-                // Less disruptive way to get WFLY-8457 fixed.
-                if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
-                    if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
-                        activeTimers.add(timer);
-                    }
+        for (final TimerImpl timer : this.timers.values()) {
+            // Less disruptive way to get WFLY-8457 fixed.
+            if (timer.isActive() || (!timer.isActive() && timer.getState() == TimerState.ACTIVE)) {
+                if (timer.getPrimaryKey() == null || timer.getPrimaryKey().equals(pk)) {
+                    activeTimers.add(timer);
                 }
             }
         }
@@ -880,16 +882,13 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * Creates and schedules a {@link TimerTask} for the next timeout of the passed <code>timer</code>
      */
     protected void scheduleTimeout(TimerImpl timer, boolean newTimer) {
-        synchronized (scheduledTimerFutures) {
-            if (!newTimer && !scheduledTimerFutures.containsKey(timer.getId())) {
-                //this timer has been cancelled by another thread. We just return
-                return;
-            }
-
+        // the task is scheduled while holding the lock of its map entry only, so that a concurrent cancellation
+        // can never leave a scheduled task behind
+        BiFunction<String, Task, Task> scheduler = (id, existing) -> {
             Date nextExpiration = timer.getNextExpiration();
             if (nextExpiration == null) {
                 EJB3_TIMER_LOGGER.nextExpirationIsNull(timer);
-                return;
+                return existing;
             }
             // create the timer task
             final TimerTask<?> timerTask = timer.getTimerTask();
@@ -905,17 +904,20 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
                 EJB3_TIMER_LOGGER.debugv("Scheduling timer {0} at fixed rate, starting at {1} milliseconds from now with repeated interval={2}",
                         timer, delay, intervalDuration);
                 // schedule the task
-                this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
+                task.scheduled = this.timerInjectedValue.getValue().scheduleAtFixedRate(task, delay, intervalDuration);
             } else {
                 EJB3_TIMER_LOGGER.debugv("Scheduling a single action timer {0} starting at {1} milliseconds from now", timer, delay);
                 // schedule the task
-                this.timerInjectedValue.getValue().schedule(task, delay);
-                // maintain it in timerservice for future use (like cancellation)
-                this.scheduledTimerFutures.put(timer.getId(), task);
-
+                task.scheduled = this.timerInjectedValue.getValue().schedule(task, delay);
             }
+            // maintain it in timerservice for future use (like cancellation)
+            return task;
+        };
+        if (newTimer) {
+            this.scheduledTimerFutures.compute(timer.getId(), scheduler);
+        } else {
+            // if this timer has been cancelled by another thread, there is nothing to reschedule
+            this.scheduledTimerFutures.computeIfPresent(timer.getId(), scheduler);
         }
     }
 
@@ -925,11 +927,9 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
      * @param timer
      */
     protected void cancelTimeout(final TimerImpl timer) {
-        synchronized (this.scheduledTimerFutures) {
-            java.util.TimerTask timerTask = this.scheduledTimerFutures.remove(timer.getId());
-            if (timerTask != null) {
-                timerTask.cancel();
-            }
+        Task timerTask = this.scheduledTimerFutures.remove(timer.getId());
+        if (timerTask != null) {
+            timerTask.cancel();
         }
     }
 
@@ -939,9 +939,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
     }
 
     public boolean isScheduled(final String tid){
-        synchronized (this.scheduledTimerFutures) {
-            return this.scheduledTimerFutures.containsKey(tid);
-        }
+        return this.scheduledTimerFutures.containsKey(tid);
     }
 
     /**
@@ -1109,7 +1107,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         return executorServiceInjectedValue;
     }
 
-    public InjectedValue<java.util.Timer> getTimerInjectedValue() {
+    public InjectedValue<TimerScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
@@ -1228,7 +1226,7 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class TaskPostPersist extends java.util.TimerTask {
+    private class TaskPostPersist implements Runnable {
         private final TimerImpl timer;
         private long delta = 0;
         private long nextExpirationPristine = 0;
@@ -1280,10 +1278,14 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
         }
     }
 
-    private class Task extends java.util.TimerTask {
+    private class Task implements Runnable {
 
         private final TimerTask<?> delegate;
         private final ControlPoint controlPoint;
+        /**
+         * The handle of this task within the timer scheduler.
+         */
+        private volatile ScheduledTask scheduled;
         /**
          * This is true if a task is queued up to be run by the request controller,
          * used to stop timer tasks banking up when the container is suspended.
@@ -1316,10 +1318,10 @@ public class TimerServiceImpl implements TimerService, Service<TimerService> {
             }
         }
 
-        @Override
         public boolean cancel() {
             delegate.cancel();
-            return super.cancel();
+            final ScheduledTask scheduled = this.scheduled;
+            return scheduled != null && scheduled.cancel();
         }
     }
 
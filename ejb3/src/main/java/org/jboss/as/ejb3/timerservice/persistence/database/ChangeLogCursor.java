@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the position of the incremental refresh within the timer change log, whose entries are identified by a
+ * monotonically increasing sequence id.
+ * <p>
+ * Sequence ids are allocated when a change is written, rather than when its transaction commits, so an entry may
+ * become visible after entries with a greater id. Any ids below the greatest id seen so far, which were not seen yet,
+ * are therefore tracked as gaps, which are read again by subsequent refreshes until their entries are seen, or until
+ * they expire, e.g. because the transaction rolled back, or because the database skipped those ids.
+ * <p>
+ * Not thread-safe, instances are only used by a single refresh at a time.
+ */
+class ChangeLogCursor {
+
+    private final long gapTimeout;
+    private final LongSupplier clock;
+    /** The unseen ids, as the first id of each gap, mapped to its last id and its expiration*/
+    private final NavigableMap<Long, long[]> gaps;
+    private long last;
+
+    /**
+     * Creates a cursor positioned after the given change log entry.
+     *
+     * @param last the sequence id of the most recent change log entry
+     * @param gapTimeout how long unseen sequence ids are waited for
+     * @param unit the unit of the gap timeout
+     */
+    ChangeLogCursor(final long last, final long gapTimeout, final TimeUnit unit) {
+        this(last, unit.toNanos(gapTimeout), System::nanoTime);
+    }
+
+    ChangeLogCursor(final long last, final long gapTimeout, final LongSupplier clock) {
+        this.last = last;
+        this.gapTimeout = gapTimeout;
+        this.clock = clock;
+        this.gaps = new TreeMap<>();
+    }
+
+    /**
+     * Creates a copy of the given cursor, which can be advanced independently.
+     */
+    ChangeLogCursor(final ChangeLogCursor cursor) {
+        this.last = cursor.last;
+        this.gapTimeout = cursor.gapTimeout;
+        this.clock = cursor.clock;
+        this.gaps = new TreeMap<>();
+        for (Map.Entry<Long, long[]> entry : cursor.gaps.entrySet()) {
+            this.gaps.put(entry.getKey(), entry.getValue().clone());
+        }
+    }
+
+    /**
+     * Returns the sequence id after which the change log must be read, i.e. the greatest sequence id seen so far,
+     * or the id preceding the oldest unexpired gap.
+     */
+    long getPosition() {
+        final long now = this.clock.getAsLong();
+        this.gaps.values().removeIf(gap -> now - gap[1] >= 0);
+        return this.gaps.isEmpty() ? this.last : this.gaps.firstKey() - 1;
+    }
+
+    /**
+     * Records a change log entry read from the current position.
+     *
+     * @param id the sequence id of the change log entry
+     * @return true, if the entry was not seen before, false otherwise
+     */
+    boolean advance(final long id) {
+        if (id > this.last) {
+            if (id > this.last + 1) {
+                this.gaps.put(this.last + 1, new long[] { id - 1, this.clock.getAsLong() + this.gapTimeout });
+            }
+            this.last = id;
+            return true;
+        }
+        final Map.Entry<Long, long[]> entry = this.gaps.floorEntry(id);
+        if (entry == null || entry.getValue()[0] < id) {
+            return false;
+        }
+        final long first = entry.getKey();
+        final long[] gap = entry.getValue();
+        this.gaps.remove(first);
+        if (first < id) {
+            this.gaps.put(first, new long[] { id - 1, gap[1] });
+        }
+        if (id < gap[0]) {
+            this.gaps.put(id + 1, new long[] { gap[0], gap[1] });
+        }
+        return true;
+    }
+}
@@ -41,17 +41,18 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -60,8 +61,11 @@ import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
 import javax.transaction.NotSupportedException;
 import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.timerservice.CalendarTimer;
@@ -70,6 +74,8 @@ import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
 import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.ScheduledTask;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerScheduler;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.marshalling.InputStreamByteInput;
@@ -87,6 +93,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.wildfly.transaction.client.ContextTransactionManager;
+import org.wildfly.transaction.client.ContextTransactionSynchronizationRegistry;
 
 /**
  * <p>
@@ -103,7 +110,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
 
-    private final InjectedValue<java.util.Timer> timerInjectedValue = new InjectedValue<java.util.Timer>();
+    private final InjectedValue<TimerScheduler> timerInjectedValue = new InjectedValue<TimerScheduler>();
 
     private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
 
@@ -119,12 +126,18 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Flag whether the timers are refreshed incrementally, based on the change log, rather than by reloading all timers*/
+    private final boolean incrementalRefresh;
+    /** The position of the refresh task within the change log*/
+    private volatile ChangeLogCursor changeLogCursor;
+    /** The value of {@link System#nanoTime()} when the change log was last purged*/
+    private volatile long lastChangeLogPurge;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
-    private RefreshTask refreshTask;
+    private ScheduledTask refreshTask;
 
     /** Names for the different SQL commands stored in the properties*/
     private static final String CREATE_TABLE = "create-table";
@@ -134,17 +147,35 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String CREATE_CHANGE_TABLE = "create-change-table";
+    private static final String LOG_TIMER_CHANGE = "log-timer-change";
+    private static final String LOAD_LAST_CHANGE_ID = "load-last-change-id";
+    private static final String LOAD_CHANGED_TIMERS = "load-changed-timers";
+    private static final String PURGE_TIMER_CHANGES = "purge-timer-changes";
+    private static final String CURRENT_TIMESTAMP = "current-timestamp";
+    /**
+     * How long each incremental refresh waits for change log entries whose sequence id is below the most recent one
+     * it has seen, to cover changes of transactions which committed late
+     */
+    private static final long CHANGE_LOG_GAP_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+    /** How long change log entries are retained*/
+    private static final long CHANGE_LOG_RETENTION = TimeUnit.HOURS.toMillis(1);
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
     private static final Pattern MSSQL_PATTERN = Pattern.compile("(sqlserver|microsoft|mssql)");
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+        this(database, partition, nodeName, refreshInterval, allowExecution, false);
+    }
+
+    public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, boolean incrementalRefresh) {
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.incrementalRefresh = incrementalRefresh;
     }
 
     @Override
@@ -168,9 +199,13 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
+        if (incrementalRefresh) {
+            checkChangeLog();
+            changeLogCursor = new ChangeLogCursor(lastChangeId(), CHANGE_LOG_GAP_TIMEOUT, TimeUnit.MILLISECONDS);
+            lastChangeLogPurge = System.nanoTime();
+        }
         if (refreshInterval > 0) {
-            refreshTask = new RefreshTask();
-            timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
+            refreshTask = timerInjectedValue.getValue().schedule(new RefreshTask(), refreshInterval, refreshInterval);
         }
     }
 
@@ -178,6 +213,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     public synchronized void stop(final StopContext context) {
         if (refreshTask != null) {
             refreshTask.cancel();
+            refreshTask = null;
         }
         knownTimerIds.clear();
         managedReference.release();
@@ -316,79 +352,230 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private String sql(final String key) {
-        if (database != null) {
-            String result = sql.getProperty(key + "." + database);
-            if (result != null) {
-                return result;
+    /**
+     * Creates the change log table, used by the incremental refresh, if necessary.
+     */
+    private void checkChangeLog() {
+        Connection connection = null;
+        Statement statement = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            //test for the existence of the table by running the last change query
+            connection = dataSource.getConnection();
+            preparedStatement = connection.prepareStatement(sql(LOAD_LAST_CHANGE_ID));
+            preparedStatement.setString(1, "NON-EXISTENT");
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            //the query failed, assume it is because the table does not exist
+            if (connection != null) {
+                try {
+                    for (final String sql : sql(CREATE_CHANGE_TABLE).split(";")) {
+                        try {
+                            statement = connection.createStatement();
+                            statement.executeUpdate(sql);
+                        } finally {
+                            safeClose(statement);
+                        }
+                    }
+                } catch (SQLException e1) {
+                    EjbLogger.EJB3_TIMER_LOGGER.couldNotCreateTable(e1);
+                }
+            } else {
+                EjbLogger.EJB3_TIMER_LOGGER.couldNotCreateTable(e);
             }
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(statement);
+            safeClose(connection);
         }
-        return sql.getProperty(key);
     }
 
-    @Override
-    public void addTimer(final TimerImpl timerEntity) {
-        String createTimer = sql(CREATE_TIMER);
+    /**
+     * Reads the sequence id of the most recent change log entry of this partition, from which the incremental refresh starts.
+     * Falls back to the start of the change log if the database cannot be queried, which merely causes the first refresh
+     * to process the retained changes again.
+     */
+    private long lastChangeId() {
         Connection connection = null;
         PreparedStatement statement = null;
+        ResultSet resultSet = null;
         try {
-            synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-            }
             connection = dataSource.getConnection();
-            statement = connection.prepareStatement(createTimer);
-            statementParameters(timerEntity, statement);
-            statement.execute();
+            statement = connection.prepareStatement(sql(LOAD_LAST_CHANGE_ID));
+            statement.setString(1, partition);
+            resultSet = statement.executeQuery();
+            if (resultSet.next()) {
+                return resultSet.getLong(1);
+            }
         } catch (SQLException e) {
-            throw new RuntimeException(e);
+            EjbLogger.EJB3_TIMER_LOGGER.debug("Unable to read the most recent change log entry, refreshing from the start of the change log.", e);
         } finally {
+            safeClose(resultSet);
             safeClose(statement);
             safeClose(connection);
         }
+        return 0;
+    }
+
+    /**
+     * Reads the current time from the database clock, which is the clock the change log entries are recorded with.
+     */
+    private Timestamp currentTimestamp(final Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql(CURRENT_TIMESTAMP));
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getTimestamp(1) : null;
+        }
+    }
+
+    private String sql(final String key) {
+        if (database != null) {
+            String result = sql.getProperty(key + "." + database);
+            if (result != null) {
+                return result;
+            }
+        }
+        return sql.getProperty(key);
+    }
+
+    @Override
+    public void addTimer(final TimerImpl timerEntity) {
+        synchronized (this) {
+            knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+        }
+        write(timerEntity, true);
     }
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
+        synchronized (this) {
+            if (timerEntity.getState() == TimerState.CANCELED ||
+                    timerEntity.getState() == TimerState.EXPIRED) {
+                knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+            } else {
+                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+            }
+        }
+        write(timerEntity, false);
+    }
+
+    /**
+     * Writes the state of the given timer. Within an active transaction the write is deferred until the transaction
+     * completes, so that all timers written by the transaction are persisted using a single JDBC batch per statement
+     * type, and repeated writes of the same timer are coalesced into one.
+     */
+    private void write(final TimerImpl timer, final boolean newTimer) {
+        final TransactionSynchronizationRegistry registry = ContextTransactionSynchronizationRegistry.getInstance();
+        if (registry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            PendingWrites writes = (PendingWrites) registry.getResource(this);
+            if (writes == null) {
+                writes = new PendingWrites();
+                registry.registerInterposedSynchronization(writes);
+                registry.putResource(this, writes);
+            }
+            writes.add(timer, newTimer);
+        } else {
+            persistTimers(Collections.singletonList(new PendingWrite(timer, newTimer)));
+        }
+    }
+
+    /**
+     * Persists the state of the given timers, using a single JDBC batch per statement type.
+     */
+    private void persistTimers(final Collection<PendingWrite> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
         Connection connection = null;
-        PreparedStatement statement = null;
+        PreparedStatement createStatement = null;
+        PreparedStatement updateStatement = null;
+        PreparedStatement deleteStatement = null;
+        PreparedStatement logStatement = null;
         try {
             connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
-                String deleteTimer = sql(DELETE_TIMER);
-                statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
-                statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+            for (PendingWrite write : writes) {
+                final TimerImpl timer = write.timer;
+                if (timer.getState() == TimerState.CANCELED ||
+                        timer.getState() == TimerState.EXPIRED) {
+                    if (write.newTimer) {
+                        // the timer was created and cancelled by the same transaction, it never reaches the database
+                        continue;
+                    }
+                    if (deleteStatement == null) {
+                        deleteStatement = connection.prepareStatement(sql(DELETE_TIMER));
+                    }
+                    deleteParameters(timer.getTimedObjectId(), timer.getId(), deleteStatement);
+                    deleteStatement.addBatch();
+                } else if (write.newTimer) {
+                    if (createStatement == null) {
+                        createStatement = connection.prepareStatement(sql(CREATE_TIMER));
+                    }
+                    statementParameters(timer, createStatement);
+                    createStatement.addBatch();
+                } else {
+                    if (updateStatement == null) {
+                        updateStatement = connection.prepareStatement(sql(UPDATE_TIMER));
+                    }
+                    updateParameters(timer, updateStatement);
+                    updateStatement.addBatch();
                 }
-            } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+                if (incrementalRefresh) {
+                    if (logStatement == null) {
+                        logStatement = connection.prepareStatement(sql(LOG_TIMER_CHANGE));
+                    }
+                    logChangeParameters(timer.getTimedObjectId(), timer.getId(), logStatement);
+                    logStatement.addBatch();
                 }
-                String updateTimer = sql(UPDATE_TIMER);
-                statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
-                statement.execute();
+            }
+            if (createStatement != null) {
+                createStatement.executeBatch();
+            }
+            if (updateStatement != null) {
+                updateStatement.executeBatch();
+            }
+            if (deleteStatement != null) {
+                deleteStatement.executeBatch();
+            }
+            if (logStatement != null) {
+                logStatement.executeBatch();
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         } finally {
-            safeClose(statement);
+            safeClose(logStatement);
+            safeClose(deleteStatement);
+            safeClose(updateStatement);
+            safeClose(createStatement);
             safeClose(connection);
         }
     }
 
+    private void updateParameters(final TimerImpl timerEntity, final PreparedStatement statement) throws SQLException {
+        statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+        statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+        statement.setString(3, timerEntity.getState().name());
+        setNodeName(timerEntity.getState(), statement, 4);
+        // WHERE CLAUSE
+        statement.setString(5, timerEntity.getTimedObjectId());
+        statement.setString(6, timerEntity.getId());
+        statement.setString(7, partition);
+        statement.setString(8, nodeName);   // only persist if this node or empty
+    }
+
+    private void deleteParameters(final String timedObjectId, final String timerId, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timedObjectId);
+        statement.setString(2, timerId);
+        statement.setString(3, partition);
+    }
+
+    private void logChangeParameters(final String timedObjectId, final String timerId, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timerId);
+        statement.setString(2, timedObjectId);
+        statement.setString(3, partition);
+        statement.setString(4, nodeName);
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, @Deprecated TransactionManager ignored) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -465,43 +652,52 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             statement.setString(2, partition);
             resultSet = statement.executeQuery();
             final List<Holder> timers = new ArrayList<>();
+            final List<String> invalidTimerIds = new ArrayList<>();
             while (resultSet.next()) {
                 try {
                     final Holder timerImpl = timerFromResult(resultSet, timerService);
                     if (timerImpl != null) {
                         timers.add(timerImpl);
                     } else {
-                        final String deleteTimer = sql(DELETE_TIMER);
-                        try (PreparedStatement deleteStatement = connection.prepareStatement(deleteTimer)) {
-                            deleteStatement.setString(1, resultSet.getString(2));
-                            deleteStatement.setString(2, resultSet.getString(1));
-                            deleteStatement.setString(3, partition);
-                            deleteStatement.execute();
-                        }
+                        invalidTimerIds.add(resultSet.getString(1));
                     }
                 } catch (Exception e) {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                 }
             }
+            if (!invalidTimerIds.isEmpty()) {
+                // remove the timers that cannot be restored, in a single batch
+                try (PreparedStatement deleteStatement = connection.prepareStatement(sql(DELETE_TIMER))) {
+                    for (String timerId : invalidTimerIds) {
+                        deleteParameters(timedObjectId, timerId, deleteStatement);
+                        deleteStatement.addBatch();
+                    }
+                    deleteStatement.executeBatch();
+                }
+            }
             synchronized (this) {
                 Set<String> ids = new HashSet<>();
                 for (Holder timer : timers) {
                     ids.add(timer.timer.getId());
                 }
                 knownTimerIds.put(timedObjectId, ids);
+                final List<PendingWrite> resetTimers = new ArrayList<>();
                 for(Holder timer : timers) {
                     if(timer.requiresReset) {
                         TimerImpl ret = timer.timer;
                         EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
                         if(ret.getNextExpiration() == null) {
                             ret.setTimerState(TimerState.CANCELED);
-                            persistTimer(ret);
                         } else {
                             ret.setTimerState(TimerState.ACTIVE);
-                            persistTimer(ret);
                         }
+                        if (ret.getState() == TimerState.CANCELED) {
+                            ids.remove(ret.getId());
+                        }
+                        resetTimers.add(new PendingWrite(ret, false));
                     }
                 }
+                persistTimers(resetTimers);
             }
             List<TimerImpl> ret = new ArrayList<>();
             for(Holder timer : timers) {
@@ -749,7 +945,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         return moduleLoader;
     }
 
-    public InjectedValue<Timer> getTimerInjectedValue() {
+    public InjectedValue<TimerScheduler> getTimerInjectedValue() {
         return timerInjectedValue;
     }
 
@@ -793,7 +989,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    private class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
 
@@ -801,92 +997,237 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
-                    synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                    if (incrementalRefresh) {
+                        refreshChangedTimers();
+                    } else {
+                        refreshAllTimers();
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Reloads all timers of all known timed objects, and compares them with the timers known to this node.
+         */
+        private void refreshAllTimers() {
+            Set<String> timedObjects;
+            synchronized (DatabaseTimerPersistence.this) {
+                timedObjects = new HashSet<>(knownTimerIds.keySet());
+            }
+            for (String timedObjectId : timedObjects) {
+                TimerChangeListener listener = changeListeners.get(timedObjectId);
+                if (listener == null) {
+                    continue;
+                }
+                final Set<String> existing;
+                synchronized (DatabaseTimerPersistence.this) {
+                    existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                }
+                String loadTimer = sql(LOAD_ALL_TIMERS);
+                Connection connection = null;
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    connection = dataSource.getConnection();
+                    statement = connection.prepareStatement(loadTimer);
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        refreshTimer(timedObjectId, listener, resultSet, existing.remove(resultSet.getString(1)));
+                    }
+                    removeTimers(timedObjectId, listener, existing);
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                } finally {
+                    safeClose(resultSet);
+                    safeClose(statement);
+                    safeClose(connection);
+                }
+            }
+        }
+
+        /**
+         * Reloads only the timers which were changed by other nodes since the last refresh, according to the change log,
+         * using a single query which also reports the changed timers that no longer exist.
+         * The change log is read from the position of the {@link ChangeLogCursor}, which only moves once all the changes
+         * read were processed. Changes read again while waiting for a gap in the sequence ids are skipped, and
+         * each timer is refreshed at most once, as every change log entry of a timer is joined with its current state.
+         */
+        private void refreshChangedTimers() {
+            final ChangeLogCursor cursor = new ChangeLogCursor(changeLogCursor);
+            final Map<String, Set<String>> removed = new HashMap<>();
+            final Set<String> refreshed = new HashSet<>();
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(sql(LOAD_CHANGED_TIMERS));
+                statement.setString(1, nodeName);
+                statement.setString(2, partition);
+                statement.setLong(3, cursor.getPosition());
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    if (!cursor.advance(resultSet.getLong(28)) || nodeName.equals(resultSet.getString(29))) {
+                        // already processed, or changed by this node
+                        continue;
+                    }
+                    final String timerId = resultSet.getString(26);
+                    if (!refreshed.add(timerId)) {
+                        continue;
+                    }
+                    final String timedObjectId = resultSet.getString(27);
+                    final TimerChangeListener listener = changeListeners.get(timedObjectId);
+                    final boolean known;
+                    synchronized (DatabaseTimerPersistence.this) {
+                        final Set<String> timers = knownTimerIds.get(timedObjectId);
+                        if (listener == null || timers == null) {
+                            // timed object is not deployed on this node
                             continue;
                         }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
-                        }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        synchronized (DatabaseTimerPersistence.this) {
-                                            knownTimerIds.get(timedObjectId).add(id);
-                                        }
-                                        final Holder holder = timerFromResult(resultSet, timerService);
-                                        if(holder != null) {
-                                            listener.timerAdded(holder.timer);
-                                        }
-                                    } else {
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if (holder != null) {
-                                            TimerImpl oldTimer = listener.getTimerService().getTimer(id);
-                                            // if it is already in memory but it is not in sync we have a problem
-                                            // remove and add -> the probable cause is db glitch
-                                            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
-                                            boolean validDBTimer = valid.contains(holder.timer.getState());
-                                            boolean validMemoryTimer = !valid.contains(oldTimer.getState());
-                                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                            if (validMemoryTimer && validDBTimer) {
-                                                synchronized (DatabaseTimerPersistence.this) {
-                                                    Set<String> timers = knownTimerIds.get(timedObjectId);
-                                                    timers.remove(oldTimer.getId());
-                                                    listener.timerSync(oldTimer, holder.timer);
-                                                }
-
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
-                            }
+                        known = timers.contains(timerId);
+                    }
+                    if (resultSet.getString(1) == null) {
+                        // the timer changed, but no longer exists
+                        removed.computeIfAbsent(timedObjectId, key -> new HashSet<>()).add(timerId);
+                    } else {
+                        refreshTimer(timedObjectId, listener, resultSet, known);
+                    }
+                }
+                for (Map.Entry<String, Set<String>> entry : removed.entrySet()) {
+                    final TimerChangeListener listener = changeListeners.get(entry.getKey());
+                    if (listener != null) {
+                        removeTimers(entry.getKey(), listener, entry.getValue());
+                    }
+                }
+                changeLogCursor = cursor;
+
+                if (System.nanoTime() - lastChangeLogPurge >= TimeUnit.MILLISECONDS.toNanos(CHANGE_LOG_RETENTION)) {
+                    final Timestamp now = currentTimestamp(connection);
+                    if (now != null) {
+                        safeClose(statement);
+                        statement = connection.prepareStatement(sql(PURGE_TIMER_CHANGES));
+                        statement.setString(1, partition);
+                        statement.setTimestamp(2, new Timestamp(now.getTime() - CHANGE_LOG_RETENTION));
+                        statement.executeUpdate();
+                    }
+                    lastChangeLogPurge = System.nanoTime();
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+        }
 
+        /**
+         * Brings the timer, read from the current row of the given result set, in sync with its counterpart on this node.
+         *
+         * @param known whether the timer is known to this node
+         */
+        private void refreshTimer(final String timedObjectId, final TimerChangeListener listener, final ResultSet resultSet, final boolean known) throws SQLException {
+            try {
+                String id = resultSet.getString(1);
+                if (!known) {
+                    synchronized (DatabaseTimerPersistence.this) {
+                        knownTimerIds.get(timedObjectId).add(id);
+                    }
+                    final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                    if(holder != null) {
+                        listener.timerAdded(holder.timer);
+                    }
+                } else {
+                    final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+                    if (holder != null) {
+                        TimerImpl oldTimer = listener.getTimerService().getTimer(id);
+                        // if it is already in memory but it is not in sync we have a problem
+                        // remove and add -> the probable cause is db glitch
+                        EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
+                        boolean validDBTimer = valid.contains(holder.timer.getState());
+                        boolean validMemoryTimer = !valid.contains(oldTimer.getState());
+                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                        if (validMemoryTimer && validDBTimer) {
                             synchronized (DatabaseTimerPersistence.this) {
                                 Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    TimerImpl timer1 = timerService.getTimer(timer);
-                                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
-                                }
+                                timers.remove(oldTimer.getId());
+                                listener.timerSync(oldTimer, holder.timer);
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
+
                         }
                     }
-                } finally {
-                    running.set(false);
                 }
+            } catch (Exception e) {
+                EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
             }
+        }
 
+        /**
+         * Removes the given timers, which no longer exist in the database, from this node.
+         */
+        private void removeTimers(final String timedObjectId, final TimerChangeListener listener, final Set<String> removed) {
+            synchronized (DatabaseTimerPersistence.this) {
+                Set<String> timers = knownTimerIds.get(timedObjectId);
+                if (timers == null) {
+                    return;
+                }
+                final TimerServiceImpl timerService = listener.getTimerService();
+                for (String timer : removed) {
+                    TimerImpl timer1 = timerService.getTimer(timer);
+                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                        timers.remove(timer);
+                        listener.timerRemoved(timer);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A write of a timer, deferred until the end of the transaction which performed it.
+     */
+    static final class PendingWrite {
+        final TimerImpl timer;
+        final boolean newTimer;
+
+        PendingWrite(TimerImpl timer, boolean newTimer) {
+            this.timer = timer;
+            this.newTimer = newTimer;
         }
     }
 
+    /**
+     * The timer writes of a transaction, which are persisted in a batch before the transaction completes.
+     */
+    private class PendingWrites implements Synchronization {
+        private final Map<String, PendingWrite> writes = new LinkedHashMap<>();
+
+        synchronized void add(final TimerImpl timer, final boolean newTimer) {
+            final PendingWrite previous = writes.get(timer.getId());
+            // a timer created by this transaction still needs to be inserted, whatever happened to it since
+            writes.put(timer.getId(), new PendingWrite(timer, newTimer || (previous != null && previous.newTimer)));
+        }
+
+        @Override
+        public void beforeCompletion() {
+            final List<PendingWrite> writes;
+            synchronized (this) {
+                writes = new ArrayList<>(this.writes.values());
+                this.writes.clear();
+            }
+            persistTimers(writes);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+        }
+    }
 
     static final class Holder {
         final TimerImpl timer;
@@ -0,0 +1,227 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Converts persistent timers to and from the binary form stored in a {@link TimerJournal}.
+ * <p/>
+ * The timer info and primary key are marshalled in the same way as by the XML file store.
+ */
+class EjbTimerBinaryCodec {
+
+    private static final byte TIMER = 0;
+    private static final byte CALENDAR_TIMER = 1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    EjbTimerBinaryCodec(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    byte[] encode(TimerImpl timer) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final boolean calendar = timer instanceof CalendarTimer;
+        output.writeByte(calendar ? CALENDAR_TIMER : TIMER);
+        writeString(output, timer.getState().name());
+        writeDate(output, timer.getInitialExpiration());
+        output.writeLong(timer.getInterval());
+        writeDate(output, timer.getNextExpiration());
+        writeDate(output, timer.getPreviousRun());
+        this.writeObject(output, timer.getTimerInfo());
+        this.writeObject(output, timer.getPrimaryKey());
+        if (calendar) {
+            final CalendarTimer calendarTimer = (CalendarTimer) timer;
+            final ScheduleExpression expression = calendarTimer.getScheduleExpression();
+            writeString(output, expression.getSecond());
+            writeString(output, expression.getMinute());
+            writeString(output, expression.getHour());
+            writeString(output, expression.getDayOfWeek());
+            writeString(output, expression.getDayOfMonth());
+            writeString(output, expression.getMonth());
+            writeString(output, expression.getYear());
+            writeDate(output, expression.getStart());
+            writeDate(output, expression.getEnd());
+            writeString(output, expression.getTimezone());
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                final Method method = calendarTimer.getTimeoutMethod();
+                writeString(output, method.getDeclaringClass().getName());
+                writeString(output, method.getName());
+                final Class<?>[] parameterTypes = method.getParameterTypes();
+                output.writeInt(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    writeString(output, parameterType.getName());
+                }
+            }
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Restores a timer from its binary form.
+     *
+     * @return the timer, or null if the timeout method of an auto timer no longer exists
+     */
+    TimerImpl decode(String timedObjectId, String id, ByteBuffer buffer, TimerServiceImpl timerService, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        final boolean calendar = buffer.get() == CALENDAR_TIMER;
+        final TimerState state = TimerState.valueOf(readString(buffer));
+        final Date initialDate = readDate(buffer);
+        final long repeatInterval = buffer.getLong();
+        final Date nextDate = readDate(buffer);
+        final Date previousRun = readDate(buffer);
+        final Serializable info = (Serializable) this.readObject(buffer);
+        final Object primaryKey = this.readObject(buffer);
+
+        final TimerImpl.Builder builder;
+        if (calendar) {
+            final CalendarTimer.Builder calendarBuilder = CalendarTimer.builder()
+                    .setScheduleExprSecond(readString(buffer))
+                    .setScheduleExprMinute(readString(buffer))
+                    .setScheduleExprHour(readString(buffer))
+                    .setScheduleExprDayOfWeek(readString(buffer))
+                    .setScheduleExprDayOfMonth(readString(buffer))
+                    .setScheduleExprMonth(readString(buffer))
+                    .setScheduleExprYear(readString(buffer))
+                    .setScheduleExprStartDate(readDate(buffer))
+                    .setScheduleExprEndDate(readDate(buffer))
+                    .setScheduleExprTimezone(readString(buffer));
+            final boolean autoTimer = buffer.get() != 0;
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                final String declaringClass = readString(buffer);
+                final String methodName = readString(buffer);
+                final String[] parameters = new String[buffer.getInt()];
+                for (int i = 0; i < parameters.length; ++i) {
+                    parameters[i] = readString(buffer);
+                }
+                final Method timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, methodName, parameters), classLoader);
+                if (timeoutMethod == null) {
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+            builder = calendarBuilder;
+        } else {
+            builder = TimerImpl.builder();
+        }
+        builder.setId(id)
+                .setTimedObjectId(timedObjectId)
+                .setInitialDate(initialDate)
+                .setRepeatInterval(repeatInterval)
+                .setNextDate(nextDate)
+                .setPreviousRun(previousRun)
+                .setInfo(info)
+                .setPrimaryKey(primaryKey)
+                .setTimerState(state)
+                .setPersistent(true);
+        return builder.build(timerService);
+    }
+
+    private void writeObject(DataOutputStream output, Object object) throws IOException {
+        if (object == null) {
+            output.writeInt(-1);
+            return;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final Marshaller marshaller = this.factory.createMarshaller(this.configuration);
+        marshaller.start(new OutputStreamByteOutput(bytes));
+        marshaller.writeObject(object);
+        marshaller.finish();
+        marshaller.flush();
+        output.writeInt(bytes.size());
+        bytes.writeTo(output);
+    }
+
+    private Object readObject(ByteBuffer buffer) throws IOException, ClassNotFoundException {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final ByteBuffer data = buffer.slice();
+        data.limit(length);
+        buffer.position(buffer.position() + length);
+        final Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration);
+        unmarshaller.start(new ByteBufferInput(data));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+
+    private static void writeDate(DataOutputStream output, Date date) throws IOException {
+        output.writeLong((date != null) ? date.getTime() : NO_DATE);
+    }
+
+    private static Date readDate(ByteBuffer buffer) {
+        final long time = buffer.getLong();
+        return (time != NO_DATE) ? new Date(time) : null;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -58,6 +58,9 @@ import java.io.FileOutputStream;
 import java.io.FilePermission;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -75,6 +78,10 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * Timers are either stored as one XML file per timer, or, in journal mode, in a {@link TimerJournal} per timed object.
+ * In journal mode the timers of a timed object are kept in memory once loaded, and the existing XML files are migrated
+ * into the journal the first time the timed object is loaded.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -83,10 +90,13 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String JOURNAL_SUFFIX = ".journal";
 
     private final boolean createIfNotExists;
+    private final boolean journal;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
+    private EjbTimerBinaryCodec codec;
     private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistry = new InjectedValue<TransactionSynchronizationRegistry>();
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final InjectedValue<PathManager> pathManager = new InjectedValue<PathManager>();
@@ -97,8 +107,13 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, JournaledTimers> journals = new ConcurrentHashMap<String, JournaledTimers>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, false);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final boolean journal) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
@@ -106,6 +121,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journal = journal;
     }
 
     @Override
@@ -130,6 +146,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
         this.configuration = configuration;
         this.factory = factory;
+        this.codec = new EjbTimerBinaryCodec(factory, configuration);
         if (pathRelativeTo != null) {
             callbackHandle = pathManager.getValue().registerCallback(pathRelativeTo, PathManager.ReloadServerCallback.create(), PathManager.Event.UPDATED, PathManager.Event.REMOVED);
         }
@@ -150,6 +167,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     @Override
     public void stop(final StopContext context) {
+        for (JournaledTimers journaled : journals.values()) {
+            safeClose(journaled.journal);
+        }
+        journals.clear();
         locks.clear();
         directories.clear();
         if (callbackHandle != null) {
@@ -157,6 +178,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
         factory = null;
         configuration = null;
+        codec = null;
     }
 
     @Override
@@ -253,6 +275,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            final JournaledTimers journaled = journals.remove(timedObjectId);
+            if (journaled != null) {
+                safeClose(journaled.journal);
+            }
         } finally {
             lock.unlock();
         }
@@ -331,16 +357,89 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (journal) {
+            return getJournal(timedObjectId, timerService).timers;
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Gets the journal of the given timed object, loading its timers if necessary. Should be called under lock
+     */
+    private JournaledTimers getJournal(final String timedObjectId, final TimerServiceImpl timerService) {
+        JournaledTimers journaled = journals.get(timedObjectId);
+        if (journaled == null) {
+            journaled = loadTimersFromJournal(timedObjectId, timerService);
+            journals.put(timedObjectId, journaled);
+        }
+        return journaled;
+    }
+
+    private JournaledTimers loadTimersFromJournal(final String timedObjectId, final TimerServiceImpl timerService) {
+        final File directory = new File(getDirectory(timedObjectId) + JOURNAL_SUFFIX);
+        try {
+            if (!directory.exists()) {
+                migrateToJournal(timedObjectId, timerService, directory);
+            }
+            final TimerJournal timerJournal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE, true);
+            final Map<String, TimerImpl> timers = new HashMap<>();
+            final List<String> unrestorable = new ArrayList<>();
+            final ClassLoader classLoader = timerService.getTimedObjectInvoker().getValue().getClassLoader();
+            for (Map.Entry<String, ByteBuffer> entry : timerJournal.load().entrySet()) {
+                try {
+                    final TimerImpl timer = codec.decode(timedObjectId, entry.getKey(), entry.getValue(), timerService, classLoader);
+                    if (timer != null) {
+                        timers.put(timer.getId(), timer);
+                    } else {
+                        // the timeout method no longer exists
+                        EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), null);
+                        unrestorable.add(entry.getKey());
+                    }
+                } catch (Exception e) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+                }
+            }
+            for (String id : unrestorable) {
+                timerJournal.remove(id);
+            }
+            return new JournaledTimers(timerJournal, timers);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Copies the timers stored in the legacy and XML formats into a new journal. The journal is written to a staging
+     * directory, which is only moved into place once complete, so that an interrupted migration is simply started over.
+     */
+    private void migrateToJournal(final String timedObjectId, final TimerServiceImpl timerService, final File directory) throws IOException {
+        final Map<String, TimerImpl> timers = loadTimersFromFile(timedObjectId, timerService);
+        final File staging = new File(directory.getPath() + ".tmp");
+        final File[] leftovers = staging.listFiles();
+        if (leftovers != null) {
+            for (File leftover : leftovers) {
+                Files.delete(leftover.toPath());
+            }
+        }
+        try (TimerJournal timerJournal = new TimerJournal(staging, TimerJournal.DEFAULT_SEGMENT_SIZE, false)) {
+            timerJournal.load();
+            for (TimerImpl timer : timers.values()) {
+                timerJournal.put(timer.getId(), codec.encode(timer));
+            }
+        }
+        Files.move(staging.toPath(), directory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        if (!timers.isEmpty()) {
+            EJB3_TIMER_LOGGER.timersMigratedToJournal(timers.size(), timedObjectId, directory);
+        }
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
 
         timers.putAll(LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, directory, factory, configuration));
         for(Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-            writeFile(entry.getValue()); //write legacy timers into the new format
+            writeXmlFile(entry.getValue()); //write legacy timers into the new format
             //the legacy code handling code will write a marker file, to make sure that the old timers will not be loaded on next restart.
         }
         final File file = new File(directory);
@@ -484,6 +583,36 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     }
 
     private void writeFile(TimerImpl timer) {
+        if (journal) {
+            writeJournal(timer);
+        } else {
+            writeXmlFile(timer);
+        }
+    }
+
+    private void writeJournal(TimerImpl timer) {
+        final JournaledTimers journaled = getJournal(timer.getTimedObjectId(), timer.getTimerService());
+        final TimerJournal timerJournal = journaled.journal;
+        try {
+            //if the timer is expired or cancelled, or has been removed by another thread, remove it from the journal
+            if (!journaled.timers.containsKey(timer.getId())) {
+                timerJournal.remove(timer.getId());
+                return;
+            }
+            final byte[] data;
+            try {
+                data = codec.encode(timer);
+            } catch (IOException e) {
+                EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+                return;
+            }
+            timerJournal.put(timer.getId(), data);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void writeXmlFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
         //if the timer is expired or cancelled delete the file
@@ -529,6 +658,19 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
     }
 
+    /**
+     * The journal of a timed object, along with its current timers.
+     */
+    private static final class JournaledTimers {
+        final TimerJournal journal;
+        final Map<String, TimerImpl> timers;
+
+        JournaledTimers(TimerJournal journal, Map<String, TimerImpl> timers) {
+            this.journal = journal;
+            this.timers = timers;
+        }
+    }
+
     private static void safeClose(final Closeable closeable) {
         if (closeable != null) {
             try {
@@ -0,0 +1,378 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A segmented, append-only journal holding the persistent timers of a single timed object.
+ * <p/>
+ * Every change to a timer appends a record to the active segment, which is rolled over once it reaches the configured
+ * segment size. Each record carries its length and a CRC32 checksum, so that a record torn by a crash is detected, and
+ * discarded, when the journal is loaded. The journal keeps the location of the most recent record of every live entry;
+ * once the superseded records outweigh both the live records and a whole segment, the live records are copied into a
+ * fresh segment and the older segments are deleted.
+ * <p/>
+ * Segments are read through memory-mapped buffers on load. This class is not thread safe, callers are expected to
+ * guard a journal with the lock of its timed object.
+ */
+final class TimerJournal implements Closeable {
+
+    static final String SEGMENT_SUFFIX = ".journal";
+    static final long DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static final int MAGIC = 0x454A544A;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+
+    private final File directory;
+    private final long segmentSize;
+    private final boolean sync;
+    private final List<Segment> segments = new ArrayList<>();
+    private final Map<String, Location> index = new HashMap<>();
+    /** The size of all records in all segments */
+    private long totalBytes;
+    /** The size of the most recent record of each live entry */
+    private long liveBytes;
+    private Segment active;
+    private FileChannel channel;
+
+    /**
+     * @param directory the directory holding the segments of this journal
+     * @param segmentSize the size beyond which the active segment is rolled over
+     * @param sync whether each record is forced to the storage device before returning, rather than only on close
+     */
+    TimerJournal(File directory, long segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+    }
+
+    /**
+     * Replays the journal, creating its directory if necessary.
+     *
+     * @return the content of the most recent record of each live entry, keyed by entry id. The returned buffers are
+     * only valid until the next change to this journal.
+     */
+    Map<String, ByteBuffer> load() throws IOException {
+        if (!this.directory.exists() && !this.directory.mkdirs()) {
+            throw EJB3_TIMER_LOGGER.failToCreateTimerFileStoreDir(this.directory);
+        }
+        final List<Segment> found = new ArrayList<>();
+        final File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                final String name = file.getName();
+                if (name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        found.add(new Segment(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), file));
+                    } catch (NumberFormatException e) {
+                        // not one of ours
+                    }
+                }
+            }
+        }
+        Collections.sort(found, (first, second) -> Long.compare(first.sequence, second.sequence));
+
+        final Map<String, ByteBuffer> entries = new HashMap<>();
+        for (Segment segment : found) {
+            final long size = segment.file.length();
+            final long end;
+            try (FileChannel channel = FileChannel.open(segment.file.toPath(), StandardOpenOption.READ)) {
+                end = this.replay(segment, channel.map(FileChannel.MapMode.READ_ONLY, 0, size), entries);
+            }
+            if (end < size) {
+                EJB3_TIMER_LOGGER.timerJournalSegmentTruncated(segment.file, end);
+                if (end < SEGMENT_HEADER_SIZE) {
+                    // not even the header is intact, there is nothing to keep
+                    Files.delete(segment.file.toPath());
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(segment.file.toPath(), StandardOpenOption.WRITE)) {
+                    channel.truncate(end);
+                }
+            }
+            segment.size = end;
+            this.segments.add(segment);
+        }
+
+        final Segment last = this.segments.isEmpty() ? null : this.segments.get(this.segments.size() - 1);
+        if (last != null && last.size < this.segmentSize) {
+            this.open(last);
+        } else {
+            this.roll();
+        }
+        // compaction is deferred to the next change, as the returned buffers map the current segments
+        return entries;
+    }
+
+    /**
+     * Appends a record holding the new content of the given entry.
+     */
+    void put(String id, byte[] data) throws IOException {
+        this.append(PUT, id, data);
+    }
+
+    /**
+     * Appends a record for the removal of the given entry, if it is live.
+     */
+    void remove(String id) throws IOException {
+        if (this.index.containsKey(id)) {
+            this.append(REMOVE, id, null);
+        }
+    }
+
+    boolean contains(String id) {
+        return this.index.containsKey(id);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            try {
+                this.channel.force(false);
+            } finally {
+                this.channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+    private long replay(Segment segment, MappedByteBuffer buffer, Map<String, ByteBuffer> entries) {
+        if (buffer.remaining() < SEGMENT_HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return 0;
+        }
+        final CRC32 checksum = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            final int position = buffer.position();
+            final int length = buffer.getInt();
+            final int expected = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                return position;
+            }
+            final ByteBuffer record = buffer.slice();
+            record.limit(length);
+            checksum.reset();
+            checksum.update(record.duplicate());
+            if ((int) checksum.getValue() != expected) {
+                return position;
+            }
+            buffer.position(position + RECORD_HEADER_SIZE + length);
+
+            final byte operation = record.get();
+            final String id = readString(record);
+            if (operation == PUT) {
+                entries.put(id, record.slice());
+                this.track(id, new Location(segment, position, RECORD_HEADER_SIZE + length));
+            } else {
+                entries.remove(id);
+                this.untrack(id);
+            }
+            this.totalBytes += RECORD_HEADER_SIZE + length;
+        }
+        return buffer.position();
+    }
+
+    private void append(byte operation, String id, byte[] data) throws IOException {
+        final byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        final int length = 1 + 4 + key.length + ((data != null) ? data.length : 0);
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + length);
+        buffer.putInt(length);
+        buffer.putInt(0);
+        buffer.put(operation);
+        buffer.putInt(key.length);
+        buffer.put(key);
+        if (data != null) {
+            buffer.put(data);
+        }
+        final CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), RECORD_HEADER_SIZE, length);
+        buffer.putInt(4, (int) checksum.getValue());
+        buffer.flip();
+
+        final long position = this.active.size;
+        this.write(buffer, position);
+        if (this.sync) {
+            this.channel.force(false);
+        }
+        this.active.size += buffer.limit();
+        this.totalBytes += buffer.limit();
+
+        if (operation == PUT) {
+            this.track(id, new Location(this.active, position, buffer.limit()));
+        } else {
+            this.untrack(id);
+        }
+        if (this.active.size >= this.segmentSize) {
+            this.roll();
+        }
+        if (this.isCompactionRequired()) {
+            this.compact();
+        }
+    }
+
+    private void track(String id, Location location) {
+        final Location previous = this.index.put(id, location);
+        if (previous != null) {
+            this.liveBytes -= previous.length;
+        }
+        this.liveBytes += location.length;
+    }
+
+    private void untrack(String id) {
+        final Location previous = this.index.remove(id);
+        if (previous != null) {
+            this.liveBytes -= previous.length;
+        }
+    }
+
+    private boolean isCompactionRequired() {
+        final long garbage = this.totalBytes - this.liveBytes;
+        return (garbage > this.segmentSize) && (garbage > this.liveBytes);
+    }
+
+    /**
+     * Copies the most recent record of each live entry into new segments, then deletes the older segments.
+     * The old segments are deleted in ascending order, so that replaying whatever remains of them after a crash, followed
+     * by the new segments, still yields the same entries.
+     */
+    private void compact() throws IOException {
+        final List<Segment> compacted = new ArrayList<>(this.segments);
+        final Map<Segment, FileChannel> readers = new IdentityHashMap<>();
+        final Map<String, Location> relocated = new HashMap<>();
+        try {
+            this.roll();
+            for (Map.Entry<String, Location> entry : this.index.entrySet()) {
+                final Location location = entry.getValue();
+                FileChannel reader = readers.get(location.segment);
+                if (reader == null) {
+                    reader = FileChannel.open(location.segment.file.toPath(), StandardOpenOption.READ);
+                    readers.put(location.segment, reader);
+                }
+                final ByteBuffer buffer = ByteBuffer.allocate(location.length);
+                while (buffer.hasRemaining()) {
+                    if (reader.read(buffer, location.position + buffer.position()) < 0) {
+                        throw new IOException(location.segment.file.getPath());
+                    }
+                }
+                buffer.flip();
+                if ((this.active.size > SEGMENT_HEADER_SIZE) && (this.active.size + location.length > this.segmentSize)) {
+                    this.channel.force(false);
+                    this.roll();
+                }
+                final long position = this.active.size;
+                this.write(buffer, position);
+                this.active.size += location.length;
+                relocated.put(entry.getKey(), new Location(this.active, position, location.length));
+            }
+            this.channel.force(false);
+        } finally {
+            for (FileChannel reader : readers.values()) {
+                reader.close();
+            }
+        }
+        for (Segment segment : compacted) {
+            Files.deleteIfExists(segment.file.toPath());
+        }
+        this.segments.removeAll(compacted);
+        this.index.clear();
+        this.index.putAll(relocated);
+        this.totalBytes = this.liveBytes;
+    }
+
+    private void roll() throws IOException {
+        final long sequence = this.segments.isEmpty() ? 0 : this.segments.get(this.segments.size() - 1).sequence + 1;
+        final Segment segment = new Segment(sequence, new File(this.directory, String.format("%016d%s", sequence, SEGMENT_SUFFIX)));
+        this.open(segment);
+        final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.flip();
+        this.channel.truncate(0);
+        this.write(header, 0);
+        this.channel.force(true);
+        segment.size = SEGMENT_HEADER_SIZE;
+        this.segments.add(segment);
+    }
+
+    private void open(Segment segment) throws IOException {
+        this.close();
+        this.channel = FileChannel.open(segment.file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.active = segment;
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += this.channel.write(buffer, offset);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class Segment {
+        final long sequence;
+        final File file;
+        long size;
+
+        Segment(long sequence, File file) {
+            this.sequence = sequence;
+            this.file = file;
+        }
+    }
+
+    private static class Location {
+        final Segment segment;
+        final long position;
+        final int length;
+
+        Location(Segment segment, long position, int length) {
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the timeouts of the EJB timer service, as well as the periodic tasks of the timer persistence stores.
+ * <p/>
+ * Implementations are expected to only hand off expired tasks; scheduled tasks must therefore be short-lived and
+ * delegate any actual work, such as the invocation of a timeout method, to an executor.
+ */
+public interface TimerScheduler {
+
+    /**
+     * Schedules the given task for a single execution after the given delay.
+     *
+     * @param task  the task to run
+     * @param delay the delay, in milliseconds, before the task is run
+     * @return a handle that may be used to cancel the task
+     */
+    ScheduledTask schedule(Runnable task, long delay);
+
+    /**
+     * Schedules the given task for repeated fixed-delay execution, i.e. each execution is scheduled relative to the
+     * actual time of the previous execution.
+     *
+     * @param task   the task to run
+     * @param delay  the delay, in milliseconds, before the task is first run
+     * @param period the time, in milliseconds, between successive executions
+     * @return a handle that may be used to cancel the task
+     */
+    ScheduledTask schedule(Runnable task, long delay, long period);
+
+    /**
+     * Schedules the given task for repeated fixed-rate execution, i.e. each execution is scheduled relative to the
+     * scheduled time of the initial execution.
+     *
+     * @param task   the task to run
+     * @param delay  the delay, in milliseconds, before the task is first run
+     * @param period the time, in milliseconds, between successive executions
+     * @return a handle that may be used to cancel the task
+     */
+    ScheduledTask scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Removes all cancelled tasks from this scheduler.
+     */
+    void purge();
+
+    /**
+     * Terminates this scheduler, discarding any scheduled tasks.
+     */
+    void shutdown();
+}
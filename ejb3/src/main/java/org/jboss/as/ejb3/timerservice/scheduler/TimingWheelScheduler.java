@@ -0,0 +1,341 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link TimerScheduler} based on a hashed timing wheel.
+ * <p/>
+ * The wheel is an array of buckets, each of which covers one tick. A task is hashed to the bucket of the tick in which
+ * it expires, together with the number of complete rotations of the wheel that must elapse before it is due, so that
+ * scheduling and cancellation are both O(1), regardless of the number of scheduled tasks.
+ * <p/>
+ * Callers never touch the wheel itself: scheduled and cancelled tasks are passed to the worker thread via lock-free
+ * queues, and are applied to the wheel at the start of each tick. The tasks that expire within a tick are then handed
+ * off as a single batch, once the bucket has been processed. The trade-off is that tasks are run with a precision of a
+ * tick rather than of a millisecond, although never before they are due.
+ */
+public class TimingWheelScheduler implements TimerScheduler {
+
+    public static final long DEFAULT_TICK_DURATION = 10L;
+    public static final int DEFAULT_WHEEL_SIZE = 4096;
+
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger(0);
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickDuration;
+    private final long startTime;
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // The following are only ever accessed by the worker thread
+    private final List<Timeout> expired = new ArrayList<>();
+    private long tick = 0L;
+
+    /**
+     * Creates a scheduler using the default tick duration of {@value #DEFAULT_TICK_DURATION} ms and the default wheel
+     * size of {@value #DEFAULT_WHEEL_SIZE} buckets.
+     */
+    public TimingWheelScheduler() {
+        this(DEFAULT_TICK_DURATION, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * @param tickDuration the duration of a tick
+     * @param unit         the unit of the tick duration
+     * @param wheelSize    the number of buckets of the wheel, rounded up to the next power of two
+     */
+    public TimingWheelScheduler(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0L) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30: " + wheelSize);
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; ++i) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, "EJB timer wheel-" + WORKER_COUNT.incrementAndGet());
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delay) {
+        return this.submit(task, delay, 0L);
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, long delay, long period) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("Non-positive period: " + period);
+        }
+        return this.submit(task, delay, -period);
+    }
+
+    @Override
+    public ScheduledTask scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("Non-positive period: " + period);
+        }
+        return this.submit(task, delay, period);
+    }
+
+    @Override
+    public void purge() {
+        // Cancelled tasks are unlinked from the wheel by the worker thread on the next tick
+    }
+
+    @Override
+    public void shutdown() {
+        this.running = false;
+        LockSupport.unpark(this.worker);
+    }
+
+    /**
+     * @param period in milliseconds; positive for fixed-rate execution, negative for fixed-delay execution, or 0 for a
+     *               single execution
+     */
+    private ScheduledTask submit(Runnable task, long delay, long period) {
+        if (delay < 0L) {
+            throw new IllegalArgumentException("Negative delay: " + delay);
+        }
+        if (!this.running) {
+            throw new IllegalStateException("Scheduler already shut down");
+        }
+        Timeout timeout = new Timeout(this.cancelled, task, this.currentTime() + TimeUnit.MILLISECONDS.toNanos(delay), TimeUnit.MILLISECONDS.toNanos(period));
+        this.scheduled.add(timeout);
+        return timeout;
+    }
+
+    private long currentTime() {
+        return System.nanoTime() - this.startTime;
+    }
+
+    private void run() {
+        while (this.running) {
+            long now = this.waitForNextTick();
+            if (!this.running) {
+                break;
+            }
+            this.unlinkCancelled();
+            this.linkScheduled();
+            this.wheel[(int) (this.tick & this.mask)].expire(this.expired);
+            this.tick += 1L;
+            this.dispatch(now);
+        }
+        for (Bucket bucket : this.wheel) {
+            bucket.clear();
+        }
+        this.scheduled.clear();
+        this.cancelled.clear();
+    }
+
+    /**
+     * Waits until the end of the current tick.
+     *
+     * @return the current time, relative to the start time of this scheduler
+     */
+    private long waitForNextTick() {
+        long deadline = this.tickDuration * (this.tick + 1L);
+        for (;;) {
+            long now = this.currentTime();
+            long remaining = deadline - now;
+            if (remaining <= 0L || !this.running) {
+                return now;
+            }
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void unlinkCancelled() {
+        Timeout timeout;
+        while ((timeout = this.cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void linkScheduled() {
+        Timeout timeout;
+        while ((timeout = this.scheduled.poll()) != null) {
+            if (timeout.state == Timeout.WAITING) {
+                this.link(timeout);
+            }
+        }
+    }
+
+    private void link(Timeout timeout) {
+        long expiryTick = timeout.deadline / this.tickDuration;
+        // Tasks which are already due are linked to the current bucket, which is expired next
+        timeout.remainingRounds = Math.max(expiryTick - this.tick, 0L) / this.wheel.length;
+        this.wheel[(int) (Math.max(expiryTick, this.tick) & this.mask)].add(timeout);
+    }
+
+    /**
+     * Hands off the tasks which expired within the last tick, and reschedules the periodic ones.
+     */
+    private void dispatch(long now) {
+        for (Timeout timeout : this.expired) {
+            if (timeout.period == 0L) {
+                if (Timeout.STATE_UPDATER.compareAndSet(timeout, Timeout.WAITING, Timeout.EXPIRED)) {
+                    timeout.run();
+                }
+            } else if (timeout.state == Timeout.WAITING) {
+                timeout.run();
+                // A periodic task remains in the waiting state until it is cancelled
+                if (timeout.state == Timeout.WAITING) {
+                    timeout.deadline = (timeout.period > 0L) ? timeout.deadline + timeout.period : this.currentTime() - timeout.period;
+                    this.link(timeout);
+                }
+            }
+        }
+        this.expired.clear();
+    }
+
+    /**
+     * A doubly linked list of the timeouts hashed to a given tick of the wheel.
+     */
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        /**
+         * Unlinks the timeouts which are due in the current rotation of the wheel, and adds them to the given list.
+         */
+        void expire(List<Timeout> expired) {
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0L) {
+                    this.remove(timeout);
+                    if (timeout.state == Timeout.WAITING) {
+                        expired.add(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds -= 1L;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == this.head) {
+                this.head = next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void clear() {
+            this.head = null;
+            this.tail = null;
+        }
+    }
+
+    private static class Timeout implements ScheduledTask {
+        static final int WAITING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+        static final AtomicIntegerFieldUpdater<Timeout> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final Queue<Timeout> cancelled;
+        private final Runnable task;
+        private final long period;
+        private volatile int state = WAITING;
+
+        // The following are only ever accessed by the worker thread, after this timeout was handed over via a queue
+        long deadline;
+        long remainingRounds;
+        Bucket bucket;
+        Timeout prev;
+        Timeout next;
+
+        Timeout(Queue<Timeout> cancelled, Runnable task, long deadline, long period) {
+            this.cancelled = cancelled;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATE_UPDATER.compareAndSet(this, WAITING, CANCELLED)) {
+                this.cancelled.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        void run() {
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                EJB3_TIMER_LOGGER.failedToRunScheduledTimerTask(this.task, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.passivating;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.jboss.MarshallingContext;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingContext;
+
+/**
+ * Unit test for {@link PassivatingCache}.
+ */
+public class PassivatingCacheTestCase {
+
+    private final Set<UUID> destroyed = ConcurrentHashMap.newKeySet();
+    private final List<UUID> passivated = new ArrayList<>();
+    private final List<UUID> activated = new ArrayList<>();
+
+    private Path directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("passivating-cache");
+    }
+
+    @After
+    public void destroy() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.directory)) {
+            paths.sorted((path1, path2) -> path2.compareTo(path1)).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void passivateLeastRecentlyUsed() {
+        PassivatingCache<UUID, TestBean> cache = this.createCache(4, EvictionPolicy.LRU);
+        cache.start();
+        try {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                TestBean bean = cache.create();
+                ids.add(bean.getId());
+                cache.release(access(cache, bean.getId()));
+            }
+            // The cache passivates down to its low watermark, in order of last access
+            assertTrue(cache.getCacheSize() <= 4);
+            assertEquals(8, cache.getTotalSize());
+            assertEquals(8 - cache.getCacheSize(), cache.getPassivatedCount());
+            assertEquals(ids.subList(0, this.passivated.size()), this.passivated);
+            assertTrue(this.destroyed.isEmpty());
+
+            // Passivated beans are activated on their next access, with their state intact
+            UUID id = ids.get(0);
+            TestBean bean = cache.get(id);
+            assertNotNull(bean);
+            assertEquals(id, bean.getId());
+            assertEquals(1, bean.getCount());
+            assertEquals(Collections.singletonList(id), this.activated);
+            bean.increment();
+            cache.release(bean);
+
+            // A bean in use is never passivated
+            TestBean active = cache.get(ids.get(7));
+            for (int i = 0; i < 8; ++i) {
+                cache.release(access(cache, cache.create().getId()));
+            }
+            assertFalse(this.passivated.contains(active.getId()));
+            assertSame(active, cache.get(active.getId()));
+            cache.release(active);
+            cache.release(active);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void passivateLeastFrequentlyUsed() {
+        PassivatingCache<UUID, TestBean> cache = this.createCache(4, EvictionPolicy.LFU);
+        cache.start();
+        try {
+            UUID frequent = cache.create().getId();
+            for (int i = 0; i < 10; ++i) {
+                cache.release(access(cache, frequent));
+            }
+            for (int i = 0; i < 8; ++i) {
+                cache.release(access(cache, cache.create().getId()));
+            }
+            // The most frequently used bean, though also the least recently used, was not passivated
+            assertFalse(this.passivated.isEmpty());
+            assertFalse(this.passivated.contains(frequent));
+            assertTrue(cache.getCacheSize() <= 4);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void removePassivated() throws IOException {
+        PassivatingCache<UUID, TestBean> cache = this.createCache(1, EvictionPolicy.LRU);
+        cache.start();
+        try {
+            UUID id = cache.create().getId();
+            cache.release(access(cache, id));
+            cache.release(access(cache, cache.create().getId()));
+            assertEquals(Collections.singletonList(id), this.passivated);
+            assertEquals(1, cache.getPassivatedCount());
+
+            // Passivated beans are not activated, just to be destroyed
+            cache.remove(id);
+            assertFalse(cache.contains(id));
+            assertNull(cache.get(id));
+            assertTrue(this.activated.isEmpty());
+            assertTrue(this.destroyed.isEmpty());
+            assertEquals(0, cache.getPassivatedCount());
+            assertEquals(0, countFiles(this.directory));
+        } finally {
+            cache.stop();
+        }
+    }
+
+    @Test
+    public void stop() throws IOException {
+        PassivatingCache<UUID, TestBean> cache = this.createCache(2, EvictionPolicy.LRU);
+        cache.start();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            TestBean bean = cache.create();
+            ids.add(bean.getId());
+            cache.release(access(cache, bean.getId()));
+        }
+        assertEquals(2, cache.getPassivatedCount());
+        assertEquals(2, countFiles(this.directory));
+
+        cache.stop();
+
+        // Only the beans held in memory are destroyed, and the file store is deleted
+        assertEquals(new HashSet<>(ids.subList(2, 4)), this.destroyed);
+        assertEquals(0, countFiles(this.directory));
+        assertEquals(0, cache.getTotalSize());
+    }
+
+    @Test
+    public void activatedBeanIsNewInstance() {
+        PassivatingCache<UUID, TestBean> cache = this.createCache(1, EvictionPolicy.LRU);
+        cache.start();
+        try {
+            TestBean bean = cache.create();
+            cache.release(access(cache, bean.getId()));
+            cache.release(access(cache, cache.create().getId()));
+            TestBean activated = cache.get(bean.getId());
+            assertNotSame(bean, activated);
+            assertEquals(bean.getId(), activated.getId());
+            cache.release(activated);
+        } finally {
+            cache.stop();
+        }
+    }
+
+    private static TestBean access(PassivatingCache<UUID, TestBean> cache, UUID id) {
+        TestBean bean = cache.get(id);
+        bean.increment();
+        return bean;
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private PassivatingCache<UUID, TestBean> createCache(int maxSize, EvictionPolicy policy) {
+        StatefulObjectFactory<TestBean> factory = new StatefulObjectFactory<TestBean>() {
+            @Override
+            public TestBean createInstance() {
+                return new TestBean(UUID.randomUUID());
+            }
+
+            @Override
+            public void destroyInstance(TestBean instance) {
+                PassivatingCacheTestCase.this.destroyed.add(instance.getId());
+            }
+        };
+        PassivationListener<TestBean> listener = new PassivationListener<TestBean>() {
+            @Override
+            public void prePassivate(TestBean bean) {
+                PassivatingCacheTestCase.this.passivated.add(bean.getId());
+            }
+
+            @Override
+            public void postActivate(TestBean bean) {
+                PassivatingCacheTestCase.this.activated.add(bean.getId());
+            }
+        };
+        MarshallingConfigurationRepository repository = new MarshallingConfigurationRepository() {
+            @Override
+            public int getCurrentMarshallingVersion() {
+                return 1;
+            }
+
+            @Override
+            public MarshallingConfiguration getMarshallingConfiguration(int version) {
+                return new MarshallingConfiguration();
+            }
+        };
+        MarshallingContext context = new SimpleMarshallingContext(Marshalling.getProvidedMarshallerFactory("river"), repository, TestBean.class.getClassLoader());
+        Path directory = this.directory;
+        PassivatingCacheConfiguration configuration = new PassivatingCacheConfiguration() {
+            @Override
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            @Override
+            public EvictionPolicy getEvictionPolicy() {
+                return policy;
+            }
+
+            @Override
+            public Path getDirectory() {
+                return directory.resolve("store");
+            }
+
+            @Override
+            public MarshallingContext getMarshallingContext() {
+                return context;
+            }
+        };
+        return new PassivatingCache<>(factory, UUID::randomUUID, listener, null, null, configuration);
+    }
+
+    public static class TestBean implements Identifiable<UUID>, Serializable {
+        private static final long serialVersionUID = 2412658541925429066L;
+
+        private final UUID id;
+        private int count;
+
+        TestBean(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        int getCount() {
+            return this.count;
+        }
+
+        void increment() {
+            this.count += 1;
+        }
+    }
+}
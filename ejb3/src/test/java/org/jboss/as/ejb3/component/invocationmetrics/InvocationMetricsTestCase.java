@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics} and {@link LatencyHistogram}.
+ */
+public class InvocationMetricsTestCase {
+
+    public interface Bean {
+        void foo();
+        void foo(String value);
+        void bar(int value);
+    }
+
+    @Test
+    public void methods() throws NoSuchMethodException {
+        InvocationMetrics metrics = new InvocationMetrics();
+        Method foo = Bean.class.getMethod("foo");
+        Method fooString = Bean.class.getMethod("foo", String.class);
+        Method bar = Bean.class.getMethod("bar", int.class);
+
+        invoke(metrics, foo, 1, 10);
+        invoke(metrics, foo, 3, 30);
+        invoke(metrics, fooString, 0, 5);
+        invoke(metrics, bar, 0, 7);
+
+        assertEquals(4L, metrics.getInvocations());
+        assertEquals(52L, metrics.getExecutionTime());
+        assertEquals(4L, metrics.getWaitTime());
+        assertEquals(0L, metrics.getConcurrent());
+        assertEquals(4L, metrics.getExecutionTimes().getCount());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        assertEquals(3, methods.size());
+        // Overloaded methods are distinguished by their parameter types
+        InvocationMetrics.Values values = methods.get("foo()");
+        assertEquals(2L, values.getInvocations());
+        assertEquals(40L, values.getExecutionTime());
+        assertEquals(4L, values.getWaitTime());
+        assertEquals(30000L, values.getExecutionTimes().getMax());
+        assertEquals(1L, methods.get("foo(java.lang.String)").getInvocations());
+        // Methods that are not overloaded are keyed by name
+        assertEquals(1L, methods.get("bar").getInvocations());
+    }
+
+    @Test
+    public void histogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getValueAtPercentile(50));
+
+        for (long i = 1; i <= 10000; ++i) {
+            histogram.record(i);
+        }
+        assertEquals(10000L, histogram.getCount());
+        assertEquals(10000L, histogram.getMax());
+        assertEquals(10000L, histogram.getValueAtPercentile(100));
+        assertWithinError(5000L, histogram.getValueAtPercentile(50));
+        assertWithinError(9000L, histogram.getValueAtPercentile(90));
+        assertWithinError(9900L, histogram.getValueAtPercentile(99));
+
+        // Small values are recorded exactly
+        LatencyHistogram small = new LatencyHistogram();
+        small.record(0);
+        small.record(3);
+        small.record(-1);
+        assertEquals(0L, small.getValueAtPercentile(50));
+        assertEquals(3L, small.getValueAtPercentile(100));
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(String.format("%d is not within 7%% of %d", actual, expected), Math.abs(actual - expected) <= expected * 7 / 100);
+    }
+
+    private static void invoke(InvocationMetrics metrics, Method method, long waitMillis, long executionMillis) {
+        metrics.startInvocation();
+        metrics.finishInvocation(method, TimeUnit.MILLISECONDS.toNanos(waitMillis), TimeUnit.MILLISECONDS.toNanos(executionMillis));
+    }
+}
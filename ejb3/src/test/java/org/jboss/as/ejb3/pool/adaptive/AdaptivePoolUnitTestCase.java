@@ -0,0 +1,359 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.adaptive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.component.pool.AdaptivePoolConfig;
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.common.MockBean;
+import org.jboss.as.ejb3.pool.common.MockFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptivePool}.
+ */
+public class AdaptivePoolUnitTestCase {
+
+    @Test
+    public void test1() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new AdaptivePool<>(factory, 0, 10, 0, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(10, pool.getAvailableCount());
+
+        // Released instances must be reused
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    /**
+     * More threads than the pool size.
+     */
+    @Test
+    public void testMultiThread() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        final Pool<MockBean> pool = new AdaptivePool<>(factory, 0, 10, 0, TimeUnit.MILLISECONDS, 60, TimeUnit.SECONDS);
+        pool.start();
+
+        final AtomicInteger used = new AtomicInteger(0);
+        final CountDownLatch in = new CountDownLatch(1);
+        final CountDownLatch ready = new CountDownLatch(10);
+
+        Callable<Void> task = new Callable<Void>() {
+            public Void call() throws Exception {
+                MockBean bean = pool.get();
+                ready.countDown();
+                in.await();
+                pool.release(bean);
+
+                used.incrementAndGet();
+
+                return null;
+            }
+        };
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        Future<?>[] results = new Future<?>[20];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = service.submit(task);
+        }
+
+        ready.await(120, TimeUnit.SECONDS);
+        in.countDown();
+
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        service.shutdown();
+
+        pool.stop();
+
+        assertEquals(20, used.intValue());
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testTooMany() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new AdaptivePool<>(factory, 0, 10, 0, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+
+        try {
+            pool.get();
+            fail("should have thrown an exception");
+        } catch (Exception e) {
+            assertEquals(EjbLogger.ROOT_LOGGER.failedToAcquirePermit(1, TimeUnit.SECONDS).getMessage(), e.getMessage());
+        }
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testIdleTrimming() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new AdaptivePool<>(factory, 2, 10, 50, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(10, pool.getCurrentSize());
+
+        Thread.sleep(100);
+
+        // Next release triggers trimming of idle instances, down to the minimum size
+        pool.release(pool.get());
+
+        assertEquals(2, pool.getCurrentSize());
+        assertEquals(8, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testShrink() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new AdaptivePool<>(factory, 0, 10, 0, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+
+        pool.setMaxSize(5);
+
+        // Instances exceeding the new maximum size are destroyed on release
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(5, pool.getCurrentSize());
+        assertEquals(5, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testFill() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new AdaptivePool<>(factory, 3, 10, 0, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        // The pool is populated to its minimum size on first use
+        assertEquals(0, pool.getCurrentSize());
+        MockBean bean = pool.get();
+        assertEquals(3, pool.getCurrentSize());
+        assertEquals(3, MockBean.getPostConstructs());
+        pool.release(bean);
+
+        pool.stop();
+
+        assertEquals(3, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testScheduledTrimming() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Pool<MockBean> pool = new AdaptivePool<>(factory, 2, 10, 50, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS, scheduler);
+            pool.start();
+
+            MockBean[] beans = new MockBean[10];
+            for (int i = 0; i < beans.length; i++) {
+                beans[i] = pool.get();
+            }
+            // Destroy 2 instances, such that the pool must be replenished to its minimum size
+            pool.discard(beans[0]);
+            pool.discard(beans[1]);
+            for (int i = 2; i < beans.length; i++) {
+                pool.release(beans[i]);
+            }
+            assertEquals(8, pool.getCurrentSize());
+
+            // An idle pool shrinks to its minimum size without further invocations
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while ((pool.getCurrentSize() != 2) && (System.currentTimeMillis() < deadline)) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, pool.getCurrentSize());
+
+            pool.stop();
+
+            assertEquals(MockBean.getPostConstructs(), MockBean.getPreDestroys());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Many threads contending for a small pool.
+     */
+    @Test
+    public void testContention() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        int threads = 16;
+        int maxSize = 4;
+        final Pool<MockBean> pool = new AdaptivePool<>(factory, 0, maxSize, 0, TimeUnit.MILLISECONDS, 60, TimeUnit.SECONDS);
+        pool.start();
+
+        final Set<MockBean> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        final AtomicInteger maxInUse = new AtomicInteger(0);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        Callable<Void> task = new Callable<Void>() {
+            public Void call() throws Exception {
+                start.await();
+                for (int i = 0; i < 10000; i++) {
+                    MockBean bean = pool.get();
+                    // An instance must never be handed out to more than one caller at a time
+                    assertTrue(inUse.add(bean));
+                    maxInUse.accumulateAndGet(inUse.size(), Math::max);
+                    inUse.remove(bean);
+                    pool.release(bean);
+                }
+                return null;
+            }
+        };
+
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        Future<?>[] results = new Future<?>[threads];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = service.submit(task);
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        service.shutdown();
+
+        assertTrue(maxInUse.get() <= maxSize);
+        assertTrue(pool.getCurrentSize() <= maxSize);
+        assertEquals(maxSize, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(MockBean.getPostConstructs(), MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testConfigUpdate() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        AdaptivePoolConfig config = new AdaptivePoolConfig("test", 0, 10, 0, 1, TimeUnit.SECONDS);
+        Pool<MockBean> pool = config.createPool(factory);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+
+        // Changes to the configuration apply to pools already created from it
+        config.setMaxPoolSize(5);
+        assertEquals(5, pool.getMaxSize());
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(5, pool.getCurrentSize());
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+}
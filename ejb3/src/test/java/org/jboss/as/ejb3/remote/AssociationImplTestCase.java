@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ejb.AsyncResult;
+
+import org.jboss.as.ee.component.Component;
+import org.jboss.as.ejb3.component.interceptors.AsyncFutureInterceptorFactory;
+import org.jboss.as.ejb3.component.interceptors.AsyncInvocationTask;
+import org.jboss.as.ejb3.component.session.SessionBeanComponent;
+import org.jboss.invocation.Interceptor;
+import org.jboss.invocation.InterceptorContext;
+import org.jboss.invocation.SimpleInterceptorFactoryContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the resolution by {@link AssociationImpl#whenDone} of the results of asynchronous invocations,
+ * performed through the asynchronous interceptor of a session bean.
+ */
+public class AssociationImplTestCase {
+
+    private ExecutorService executor;
+
+    @Before
+    public void init() {
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void destroy() {
+        this.executor.shutdownNow();
+    }
+
+    private Future<?> invokeAsync(Callable<Object> method) throws Exception {
+        SessionBeanComponent component = mock(SessionBeanComponent.class);
+        when(component.isSecurityDomainKnown()).thenReturn(true);
+        when(component.getAsynchronousExecutor()).thenReturn(this.executor);
+        SimpleInterceptorFactoryContext factoryContext = new SimpleInterceptorFactoryContext();
+        factoryContext.getContextData().put(Component.class, component);
+
+        InterceptorContext context = new InterceptorContext();
+        context.setBlockingCaller(true);
+        Interceptor bean = new Interceptor() {
+            @Override
+            public Object processInvocation(InterceptorContext context) throws Exception {
+                return method.call();
+            }
+        };
+        context.setInterceptors(Arrays.asList(AsyncFutureInterceptorFactory.INSTANCE.create(factoryContext), bean));
+        return (Future<?>) context.proceed();
+    }
+
+    private static CompletableFuture<Object> whenDone(Future<?> future) {
+        CompletableFuture<Object> outcome = new CompletableFuture<>();
+        // Wrap failures, so that cancellations are also reported as the cause of an ExecutionException
+        AssociationImpl.whenDone(future, outcome::complete, failure -> outcome.completeExceptionally(new CompletionException(failure)));
+        return outcome;
+    }
+
+    private static Exception getFailure(CompletableFuture<Object> outcome) throws Exception {
+        try {
+            outcome.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return (Exception) e.getCause();
+        }
+        fail("Invocation did not fail");
+        return null;
+    }
+
+    @Test
+    public void beanStageCompletesNormally() throws Exception {
+        CompletableFuture<Object> stage = new CompletableFuture<>();
+        Future<?> task = this.invokeAsync(() -> stage);
+        assertTrue(task instanceof AsyncInvocationTask);
+
+        // Must not block
+        CompletableFuture<Object> outcome = whenDone(task);
+
+        // The asynchronous executor is not blocked by the incomplete stage returned by the bean
+        this.executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+        assertFalse(outcome.isDone());
+
+        stage.complete("foo");
+
+        assertEquals("foo", outcome.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void beanStageCompletesExceptionally() throws Exception {
+        CompletableFuture<Object> stage = new CompletableFuture<>();
+        RuntimeException exception = new IllegalStateException();
+        CompletableFuture<Object> outcome = whenDone(this.invokeAsync(() -> stage.thenApply(value -> {
+            throw exception;
+        })));
+
+        this.executor.submit(() -> null).get(10, TimeUnit.SECONDS);
+        assertFalse(outcome.isDone());
+
+        stage.complete("foo");
+
+        // The CompletionException of the dependent stage is not exposed
+        Exception failure = getFailure(outcome);
+        assertTrue(failure instanceof ExecutionException);
+        assertSame(exception, failure.getCause());
+    }
+
+    @Test
+    public void beanFuture() throws Exception {
+        CompletableFuture<Object> outcome = whenDone(this.invokeAsync(() -> new AsyncResult<>("foo")));
+
+        assertEquals("foo", outcome.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void beanFailure() throws Exception {
+        Exception exception = new IllegalStateException();
+        CompletableFuture<Object> outcome = whenDone(this.invokeAsync(() -> {
+            throw exception;
+        }));
+
+        Exception failure = getFailure(outcome);
+        assertTrue(failure instanceof ExecutionException);
+        assertSame(exception, failure.getCause());
+    }
+
+    @Test
+    public void cancelled() throws Exception {
+        // Occupy the asynchronous executor, so that the invocation is cancelled before it runs
+        CompletableFuture<Object> blocker = new CompletableFuture<>();
+        this.executor.submit(() -> blocker.get());
+        Future<?> task = this.invokeAsync(() -> new AsyncResult<>("foo"));
+        CompletableFuture<Object> outcome = whenDone(task);
+
+        assertTrue(task.cancel(false));
+        blocker.complete(null);
+
+        Exception failure = getFailure(outcome);
+        assertTrue(failure instanceof CancellationException);
+    }
+}
@@ -325,6 +325,15 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             // reject the attribute core-threads from resource /subsystem=ejb3/thread-pool=default
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.THREAD_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(PoolAttributeDefinitions.CORE_THREADS));
 
+            // reject the resource /subsystem=ejb3/adaptive-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL, "adaptive-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the resource /subsystem=ejb3/local-passivation-store=local
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE, "local")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the attribute thread-mode from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.THREAD_MODE));
+
             // register rejections for changes in 7.0.0
 
             // create a chained config to apply multiple transformation configs to each one of a collection of attributes
@@ -413,6 +422,18 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
             // reject the attribute core-threads from resource /subsystem=ejb3/thread-pool=default
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.THREAD_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(PoolAttributeDefinitions.CORE_THREADS));
+
+            // reject the resource /subsystem=ejb3/adaptive-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL, "adaptive-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the resource /subsystem=ejb3/local-passivation-store=local
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE, "local")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the attribute thread-mode from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.THREAD_MODE));
+
+            // reject the attribute format from resource /subsystem=ejb3/service=timer-service/file-data-store=file-data-store-rejected
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, PathElement.pathElement(EJB3SubsystemModel.FILE_DATA_STORE, "file-data-store-rejected")), new FailedOperationTransformationConfig.NewAttributesConfig(FileDataStoreResourceDefinition.FORMAT));
         }
 
         // need to include all changes from current to 4.0.0
@@ -428,6 +449,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             // reject the attribute core-threads from resource /subsystem=ejb3/thread-pool=default
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.THREAD_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(PoolAttributeDefinitions.CORE_THREADS));
 
+            // reject the resource /subsystem=ejb3/adaptive-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL, "adaptive-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the resource /subsystem=ejb3/local-passivation-store=local
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE, "local")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the attribute thread-mode from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.THREAD_MODE));
+
+            // reject the attribute refresh-mode from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.REFRESH_MODE));
+
+            // reject the attribute format from resource /subsystem=ejb3/service=timer-service/file-data-store=file-data-store-rejected
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, PathElement.pathElement(EJB3SubsystemModel.FILE_DATA_STORE, "file-data-store-rejected")), new FailedOperationTransformationConfig.NewAttributesConfig(FileDataStoreResourceDefinition.FORMAT));
+
             // reject the resource /subsystem=ejb3/application-security-domain=domain
             config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN, "domain")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
 
@@ -444,6 +480,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             // reject the attribute core-threads from resource /subsystem=ejb3/thread-pool=default
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.THREAD_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(PoolAttributeDefinitions.CORE_THREADS));
 
+            // reject the resource /subsystem=ejb3/adaptive-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.ADAPTIVE_BEAN_INSTANCE_POOL, "adaptive-pool")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the resource /subsystem=ejb3/local-passivation-store=local
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.LOCAL_PASSIVATION_STORE, "local")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+
+            // reject the attribute thread-mode from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.THREAD_MODE));
+
+            // reject the attribute refresh-mode from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.REFRESH_MODE));
+
+            // reject the attribute format from resource /subsystem=ejb3/service=timer-service/file-data-store=file-data-store-rejected
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, PathElement.pathElement(EJB3SubsystemModel.FILE_DATA_STORE, "file-data-store-rejected")), new FailedOperationTransformationConfig.NewAttributesConfig(FileDataStoreResourceDefinition.FORMAT));
+
         }
         return config;
     }
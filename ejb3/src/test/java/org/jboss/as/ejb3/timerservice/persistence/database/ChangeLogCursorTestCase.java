@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the tracking of the position of the incremental refresh within the timer change log by {@link ChangeLogCursor}.
+ */
+public class ChangeLogCursorTestCase {
+
+    private long now = 0L;
+    private final ChangeLogCursor cursor = new ChangeLogCursor(10L, TimeUnit.SECONDS.toNanos(60), () -> this.now);
+
+    @Test
+    public void testContiguousChanges() {
+        Assert.assertEquals(10L, this.cursor.getPosition());
+        Assert.assertTrue(this.cursor.advance(11L));
+        Assert.assertTrue(this.cursor.advance(12L));
+        Assert.assertEquals(12L, this.cursor.getPosition());
+
+        // changes seen before are not processed again
+        Assert.assertFalse(this.cursor.advance(10L));
+        Assert.assertFalse(this.cursor.advance(12L));
+    }
+
+    @Test
+    public void testGaps() {
+        Assert.assertTrue(this.cursor.advance(11L));
+        Assert.assertTrue(this.cursor.advance(15L));
+        Assert.assertTrue(this.cursor.advance(17L));
+        // 12, 13, 14 and 16 are not visible yet
+        Assert.assertEquals(11L, this.cursor.getPosition());
+
+        Assert.assertTrue(this.cursor.advance(13L));
+        Assert.assertFalse(this.cursor.advance(13L));
+        Assert.assertFalse(this.cursor.advance(15L));
+        Assert.assertEquals(11L, this.cursor.getPosition());
+
+        Assert.assertTrue(this.cursor.advance(12L));
+        Assert.assertEquals(13L, this.cursor.getPosition());
+
+        Assert.assertTrue(this.cursor.advance(14L));
+        Assert.assertEquals(15L, this.cursor.getPosition());
+
+        Assert.assertTrue(this.cursor.advance(16L));
+        Assert.assertEquals(17L, this.cursor.getPosition());
+    }
+
+    @Test
+    public void testExpiredGaps() {
+        Assert.assertTrue(this.cursor.advance(12L));
+        this.now += TimeUnit.SECONDS.toNanos(30);
+        Assert.assertTrue(this.cursor.advance(15L));
+        Assert.assertEquals(10L, this.cursor.getPosition());
+
+        // a gap which is never filled, e.g. by a rolled back transaction, is eventually skipped
+        this.now += TimeUnit.SECONDS.toNanos(30);
+        Assert.assertEquals(12L, this.cursor.getPosition());
+        Assert.assertFalse(this.cursor.advance(11L));
+
+        this.now += TimeUnit.SECONDS.toNanos(30);
+        Assert.assertEquals(15L, this.cursor.getPosition());
+    }
+
+    @Test
+    public void testCopy() {
+        Assert.assertTrue(this.cursor.advance(12L));
+
+        ChangeLogCursor copy = new ChangeLogCursor(this.cursor);
+        Assert.assertTrue(copy.advance(11L));
+        Assert.assertTrue(copy.advance(13L));
+        Assert.assertEquals(13L, copy.getPosition());
+
+        // the original cursor is unaffected
+        Assert.assertEquals(10L, this.cursor.getPosition());
+        Assert.assertTrue(this.cursor.advance(11L));
+    }
+}
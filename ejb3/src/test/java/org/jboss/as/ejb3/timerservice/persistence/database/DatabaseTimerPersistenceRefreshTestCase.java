@@ -0,0 +1,357 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+import javax.transaction.Synchronization;
+
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence.TimerChangeListener;
+import org.jboss.as.ejb3.timerservice.spi.TimedObjectInvoker;
+import org.jboss.msc.service.ServiceName;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the incremental refresh and the batched writes of the {@link DatabaseTimerPersistence}, against a mocked database.
+ */
+public class DatabaseTimerPersistenceRefreshTestCase {
+
+    private static final String TIMED_OBJECT_ID = "bean";
+
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private DatabaseTimerPersistence persistence;
+    private DataSource dataSource;
+    private Connection connection;
+    private TimerChangeListener listener;
+    private TimerServiceImpl timerService;
+    private Set<String> knownTimers;
+
+    @Before
+    public void setup() throws Exception {
+        persistence = new DatabaseTimerPersistence("h2", "partition", "node1", 0, true, true);
+
+        Properties sql = new Properties();
+        for (String key : Arrays.asList("create-timer", "update-timer", "delete-timer", "log-timer-change", "load-changed-timers", "load-last-change-id", "purge-timer-changes", "current-timestamp")) {
+            sql.setProperty(key, key);
+            statements.put(key, mock(PreparedStatement.class));
+        }
+        set("sql", sql);
+
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> statements.get(invocation.<String>getArgument(0)));
+        set("dataSource", dataSource);
+
+        timerService = mock(TimerServiceImpl.class);
+        TimedObjectInvoker invoker = mock(TimedObjectInvoker.class);
+        when(invoker.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(timerService.getInvoker()).thenReturn(invoker);
+        when(timerService.getServiceName()).thenReturn(ServiceName.of("timer-service"));
+        listener = mock(TimerChangeListener.class);
+        when(listener.getTimerService()).thenReturn(timerService);
+        persistence.registerChangeListener(TIMED_OBJECT_ID, listener);
+
+        knownTimers = new HashSet<>();
+        this.<Map<String, Set<String>>>get("knownTimerIds").put(TIMED_OBJECT_ID, knownTimers);
+        set("changeLogCursor", new ChangeLogCursor(100L, 1L, TimeUnit.MINUTES));
+        set("lastChangeLogPurge", System.nanoTime());
+    }
+
+    @Test
+    public void testLastChangeId() throws Exception {
+        ResultSet resultSet = resultSet(new Object[] { 42L });
+        PreparedStatement statement = statements.get("load-last-change-id");
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        Assert.assertEquals(42L, invoke("lastChangeId"));
+        verify(statement).setString(1, "partition");
+
+        // if the database cannot be queried, the change log is read from its start
+        when(dataSource.getConnection()).thenThrow(new SQLException());
+        Assert.assertEquals(0L, invoke("lastChangeId"));
+    }
+
+    @Test
+    public void testIncrementalRefresh() throws Exception {
+        knownTimers.add("removed");
+        knownTimers.add("unchanged");
+        TimerImpl removed = mock(TimerImpl.class);
+        when(removed.getState()).thenReturn(TimerState.ACTIVE);
+        when(timerService.getTimer("removed")).thenReturn(removed);
+
+        PreparedStatement statement = statements.get("load-changed-timers");
+        ResultSet resultSet = resultSet(
+                changedTimerRow("added", TIMED_OBJECT_ID, 101L),
+                // changes of this node are skipped
+                ownTimerRow("own", TIMED_OBJECT_ID, 102L),
+                removedTimerRow("removed", TIMED_OBJECT_ID, 104L),
+                // each timer is refreshed once
+                changedTimerRow("added", TIMED_OBJECT_ID, 105L),
+                // timers of timed objects not deployed on this node are ignored
+                changedTimerRow("other", "undeployed", 106L));
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        refresh();
+
+        // a single query, from the most recent change seen
+        verify(connection, times(1)).prepareStatement(anyString());
+        verify(statement).setString(1, "node1");
+        verify(statement).setString(2, "partition");
+        verify(statement).setLong(3, 100L);
+
+        verify(listener, times(1)).timerAdded(argThat(timer -> timer.getId().equals("added")));
+        verify(listener).timerRemoved("removed");
+        verify(listener, never()).timerRemoved("unchanged");
+        Assert.assertEquals(new HashSet<>(Arrays.asList("added", "unchanged")), knownTimers);
+        verify(statements.get("purge-timer-changes"), never()).executeUpdate();
+
+        // the next refresh reads again from the unseen change
+        when(statement.executeQuery()).thenReturn(resultSet(removedTimerRow("unchanged", TIMED_OBJECT_ID, 103L), removedTimerRow("removed", TIMED_OBJECT_ID, 104L)));
+        TimerImpl unchanged = mock(TimerImpl.class);
+        when(unchanged.getState()).thenReturn(TimerState.ACTIVE);
+        when(timerService.getTimer("unchanged")).thenReturn(unchanged);
+
+        refresh();
+
+        verify(statement).setLong(3, 102L);
+        verify(listener).timerRemoved("unchanged");
+        // changes already processed are skipped
+        verify(listener, times(1)).timerRemoved("removed");
+        Assert.assertEquals(106L, this.<ChangeLogCursor>get("changeLogCursor").getPosition());
+    }
+
+    @Test
+    public void testFailedRefresh() throws Exception {
+        ResultSet resultSet = resultSet(changedTimerRow("added", TIMED_OBJECT_ID, 101L));
+        doThrow(new SQLException()).when(resultSet).getString(29);
+        when(statements.get("load-changed-timers").executeQuery()).thenReturn(resultSet);
+
+        refresh();
+
+        // the cursor only moves once all the changes read were processed
+        Assert.assertEquals(100L, this.<ChangeLogCursor>get("changeLogCursor").getPosition());
+    }
+
+    @Test
+    public void testRefreshWithoutChanges() throws Exception {
+        when(statements.get("load-changed-timers").executeQuery()).thenReturn(resultSet());
+
+        refresh();
+
+        verify(listener, never()).timerAdded(any());
+        verify(listener, never()).timerRemoved(anyString());
+        Assert.assertEquals(100L, this.<ChangeLogCursor>get("changeLogCursor").getPosition());
+    }
+
+    @Test
+    public void testChangeLogPurge() throws Exception {
+        set("lastChangeLogPurge", System.nanoTime() - TimeUnit.HOURS.toNanos(2));
+        when(statements.get("load-changed-timers").executeQuery()).thenReturn(resultSet());
+        when(statements.get("current-timestamp").executeQuery()).thenReturn(resultSet(new Object[] { new Timestamp(TimeUnit.HOURS.toMillis(5)) }));
+
+        refresh();
+
+        PreparedStatement purge = statements.get("purge-timer-changes");
+        verify(purge).setString(1, "partition");
+        verify(purge).setTimestamp(2, new Timestamp(TimeUnit.HOURS.toMillis(4)));
+        verify(purge).executeUpdate();
+
+        // the next refresh does not purge again
+        when(statements.get("load-changed-timers").executeQuery()).thenReturn(resultSet());
+        refresh();
+        verify(purge, times(1)).executeUpdate();
+    }
+
+    @Test
+    public void testBatchedWrites() throws Exception {
+        List<DatabaseTimerPersistence.PendingWrite> writes = Arrays.asList(
+                new DatabaseTimerPersistence.PendingWrite(timer("created1", TimerState.CREATED), true),
+                new DatabaseTimerPersistence.PendingWrite(timer("created2", TimerState.CREATED), true),
+                new DatabaseTimerPersistence.PendingWrite(timer("updated", TimerState.ACTIVE), false),
+                new DatabaseTimerPersistence.PendingWrite(timer("cancelled", TimerState.CANCELED), false),
+                // created and cancelled by the same transaction
+                new DatabaseTimerPersistence.PendingWrite(timer("discarded", TimerState.CANCELED), true));
+
+        Method method = DatabaseTimerPersistence.class.getDeclaredMethod("persistTimers", Collection.class);
+        method.setAccessible(true);
+        method.invoke(persistence, writes);
+
+        verify(dataSource, times(1)).getConnection();
+        verifyBatch("create-timer", 2);
+        verifyBatch("update-timer", 1);
+        verifyBatch("delete-timer", 1);
+        verifyBatch("log-timer-change", 4);
+    }
+
+    @Test
+    public void testTransactionWritesCoalesced() throws Exception {
+        TimerImpl created = timer("created", TimerState.CREATED);
+        TimerImpl updated = timer("updated", TimerState.ACTIVE);
+
+        Class<?> writesClass = Class.forName(DatabaseTimerPersistence.class.getName() + "$PendingWrites");
+        Constructor<?> constructor = writesClass.getDeclaredConstructor(DatabaseTimerPersistence.class);
+        constructor.setAccessible(true);
+        Object writes = constructor.newInstance(persistence);
+        Method add = writesClass.getDeclaredMethod("add", TimerImpl.class, boolean.class);
+        add.setAccessible(true);
+        add.invoke(writes, created, true);
+        add.invoke(writes, created, false);
+        add.invoke(writes, updated, false);
+        add.invoke(writes, updated, false);
+
+        verify(dataSource, never()).getConnection();
+
+        ((Synchronization) writes).beforeCompletion();
+
+        verify(dataSource, times(1)).getConnection();
+        // the timer created by the transaction is inserted once, with its latest state
+        verifyBatch("create-timer", 1);
+        verifyBatch("update-timer", 1);
+        verifyBatch("log-timer-change", 2);
+        verify(statements.get("delete-timer"), never()).executeBatch();
+    }
+
+    private void verifyBatch(String key, int size) throws SQLException {
+        PreparedStatement statement = statements.get(key);
+        verify(statement, times(size)).addBatch();
+        verify(statement, times(1)).executeBatch();
+    }
+
+    private static TimerImpl timer(String id, TimerState state) {
+        TimerImpl timer = mock(TimerImpl.class);
+        when(timer.getId()).thenReturn(id);
+        when(timer.getTimedObjectId()).thenReturn(TIMED_OBJECT_ID);
+        when(timer.getState()).thenReturn(state);
+        return timer;
+    }
+
+    private void refresh() throws Exception {
+        Class<?> taskClass = Class.forName(DatabaseTimerPersistence.class.getName() + "$RefreshTask");
+        Constructor<?> constructor = taskClass.getDeclaredConstructor(DatabaseTimerPersistence.class);
+        constructor.setAccessible(true);
+        ((Runnable) constructor.newInstance(persistence)).run();
+    }
+
+    /**
+     * Creates a row of the load-changed-timers query, for an interval timer which still exists.
+     */
+    private static Object[] changedTimerRow(String id, String timedObjectId, long changeId) {
+        Object[] row = removedTimerRow(id, timedObjectId, changeId);
+        row[0] = id;
+        row[1] = timedObjectId;
+        row[2] = new Timestamp(System.currentTimeMillis() + 60_000L);
+        row[3] = 1_000L;
+        row[4] = new Timestamp(System.currentTimeMillis() + 60_000L);
+        row[8] = TimerState.ACTIVE.name();
+        row[23] = Boolean.FALSE;
+        return row;
+    }
+
+    /**
+     * Creates a row of the load-changed-timers query, for a timer which no longer exists.
+     */
+    private static Object[] removedTimerRow(String id, String timedObjectId, long changeId) {
+        Object[] row = new Object[29];
+        row[25] = id;
+        row[26] = timedObjectId;
+        row[27] = changeId;
+        row[28] = "node2";
+        return row;
+    }
+
+    /**
+     * Creates a row of the load-changed-timers query, for a change made by this node, which is not joined with its timer.
+     */
+    private static Object[] ownTimerRow(String id, String timedObjectId, long changeId) {
+        Object[] row = removedTimerRow(id, timedObjectId, changeId);
+        row[28] = "node1";
+        return row;
+    }
+
+    private static ResultSet resultSet(Object[]... rows) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] index = new int[] { -1 };
+        when(resultSet.next()).thenAnswer(invocation -> ++index[0] < rows.length);
+        when(resultSet.getString(anyInt())).thenAnswer(invocation -> (String) rows[index[0]][invocation.<Integer>getArgument(0) - 1]);
+        when(resultSet.getTimestamp(anyInt())).thenAnswer(invocation -> (Timestamp) rows[index[0]][invocation.<Integer>getArgument(0) - 1]);
+        when(resultSet.getBoolean(anyInt())).thenAnswer(invocation -> Boolean.TRUE.equals(rows[index[0]][invocation.<Integer>getArgument(0) - 1]));
+        when(resultSet.getLong(anyInt())).thenAnswer(invocation -> {
+            Object value = rows[index[0]][invocation.<Integer>getArgument(0) - 1];
+            return value == null ? 0L : (Long) value;
+        });
+        return resultSet;
+    }
+
+    private Object invoke(String name) throws Exception {
+        Method method = DatabaseTimerPersistence.class.getDeclaredMethod(name);
+        method.setAccessible(true);
+        return method.invoke(persistence);
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(persistence, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String name) throws Exception {
+        Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(persistence);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final long SEGMENT_SIZE = 1024;
+
+    private File directory;
+
+    @Before
+    public void before() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+    }
+
+    @After
+    public void after() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void testPutAndRemove() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            assertTrue(journal.load().isEmpty());
+            journal.put("a", bytes("first"));
+            journal.put("b", bytes("second"));
+            journal.put("a", bytes("third"));
+            journal.remove("b");
+            journal.remove("unknown");
+            assertTrue(journal.contains("a"));
+            assertFalse(journal.contains("b"));
+        }
+        try (TimerJournal journal = this.createJournal()) {
+            Map<String, ByteBuffer> entries = journal.load();
+            assertEquals(1, entries.size());
+            assertArrayEquals(bytes("third"), toArray(entries.get("a")));
+        }
+    }
+
+    @Test
+    public void testRollover() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.load();
+            for (int i = 0; i < 100; ++i) {
+                journal.put("timer-" + i, new byte[64]);
+            }
+        }
+        assertTrue(this.segments() > 1);
+        try (TimerJournal journal = this.createJournal()) {
+            assertEquals(100, journal.load().size());
+        }
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.load();
+            journal.put("live", bytes("live"));
+            for (int i = 0; i < 200; ++i) {
+                journal.put("timer-" + i, new byte[64]);
+                journal.remove("timer-" + i);
+            }
+        }
+        // superseded records are compacted away, so only a couple of segments should remain
+        assertTrue(this.segments() <= 2);
+        try (TimerJournal journal = this.createJournal()) {
+            Map<String, ByteBuffer> entries = journal.load();
+            assertEquals(1, entries.size());
+            assertArrayEquals(bytes("live"), toArray(entries.get("live")));
+            journal.put("after", bytes("after"));
+        }
+        try (TimerJournal journal = this.createJournal()) {
+            assertEquals(2, journal.load().size());
+        }
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.load();
+            journal.put("a", bytes("first"));
+            journal.put("b", bytes("second"));
+        }
+        File segment = this.directory.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            // simulate a crash in the middle of writing the last record
+            file.setLength(file.length() - 3);
+        }
+        try (TimerJournal journal = this.createJournal()) {
+            Map<String, ByteBuffer> entries = journal.load();
+            assertEquals(1, entries.size());
+            assertArrayEquals(bytes("first"), toArray(entries.get("a")));
+            journal.put("c", bytes("third"));
+        }
+        try (TimerJournal journal = this.createJournal()) {
+            Map<String, ByteBuffer> entries = journal.load();
+            assertEquals(2, entries.size());
+            assertArrayEquals(bytes("third"), toArray(entries.get("c")));
+        }
+    }
+
+    @Test
+    public void testCorruptedRecord() throws IOException {
+        try (TimerJournal journal = this.createJournal()) {
+            journal.load();
+            journal.put("a", bytes("first"));
+            journal.put("b", bytes("second"));
+        }
+        File segment = this.directory.listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            // flip the last byte of the last record, which invalidates its checksum
+            file.seek(file.length() - 1);
+            int value = file.read();
+            file.seek(file.length() - 1);
+            file.write(~value);
+        }
+        try (TimerJournal journal = this.createJournal()) {
+            Map<String, ByteBuffer> entries = journal.load();
+            assertEquals(1, entries.size());
+            assertTrue(entries.containsKey("a"));
+        }
+    }
+
+    private TimerJournal createJournal() {
+        return new TimerJournal(this.directory, SEGMENT_SIZE, true);
+    }
+
+    private int segments() {
+        return this.directory.listFiles((dir, name) -> name.endsWith(TimerJournal.SEGMENT_SUFFIX)).length;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.duplicate().get(result);
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link TimingWheelScheduler}.
+ */
+public class TimingWheelSchedulerTestCase {
+
+    private TimingWheelScheduler scheduler;
+
+    @Before
+    public void before() {
+        // a small wheel, so that tasks span multiple rotations
+        this.scheduler = new TimingWheelScheduler(5, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void after() {
+        this.scheduler.shutdown();
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        final long start = System.nanoTime();
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 100);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+        Thread.sleep(50);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void testImmediate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(latch::countDown, 0);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        ScheduledTask task = this.scheduler.schedule(runs::incrementAndGet, 50);
+        assertTrue(task.cancel());
+        assertFalse(task.cancel());
+        Thread.sleep(150);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testCancelExpired() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        ScheduledTask task = this.scheduler.schedule(latch::countDown, 10);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // give the worker a chance to complete the transition to the expired state
+        Thread.sleep(20);
+        assertFalse(task.cancel());
+    }
+
+    @Test
+    public void testFixedRate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(5);
+        ScheduledTask task = this.scheduler.scheduleAtFixedRate(latch::countDown, 0, 20);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(task.cancel());
+    }
+
+    @Test
+    public void testFixedDelay() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(3);
+        ScheduledTask task = this.scheduler.schedule(() -> {
+            runs.incrementAndGet();
+            latch.countDown();
+        }, 0, 20);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(task.cancel());
+        int count = runs.get();
+        Thread.sleep(100);
+        assertEquals(count, runs.get());
+    }
+
+    @Test
+    public void testFailingTask() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.scheduler.schedule(() -> {
+            throw new IllegalStateException();
+        }, 0);
+        this.scheduler.schedule(latch::countDown, 10);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testManyTasks() throws Exception {
+        final int count = 10000;
+        final CountDownLatch latch = new CountDownLatch(count / 2);
+        final AtomicInteger cancelledRuns = new AtomicInteger();
+        for (int i = 0; i < count; ++i) {
+            if (i % 2 == 0) {
+                this.scheduler.schedule(latch::countDown, i % 200);
+            } else {
+                this.scheduler.schedule(cancelledRuns::incrementAndGet, 50 + i % 200).cancel();
+            }
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduleAfterShutdown() {
+        this.scheduler.shutdown();
+        this.scheduler.schedule(() -> { }, 0);
+    }
+}
@@ -164,6 +164,12 @@ public class Configuration {
      */
     private static final String JPA_DEFER_DETACH = "jboss.as.jpa.deferdetach";
 
+    /**
+     * maximum number of entity managers pooled for reuse by transaction scoped entity managers invoked without a
+     * JTA transaction, defaults to zero (no pooling)
+     */
+    private static final String JPA_NON_TX_POOL_SIZE = "wildfly.jpa.nontxpoolsize";
+
     /**
      * unique name for the persistence unit that is unique across all deployments (
      * defaults to include the application name prepended to the persistence unit name)
@@ -335,6 +341,21 @@ public class Configuration {
         return result;
     }
 
+    /**
+     * Return the maximum number of entity managers to pool for reuse by non-tx invocations of transaction scoped
+     * entity managers, zero if they should not be pooled.
+     *
+     * @param properties
+     * @return
+     */
+    public static int nonTxEntityManagerPoolSize(final Map<String, Object> properties) {
+        int result = 0;
+        if (properties.containsKey(JPA_NON_TX_POOL_SIZE)) {
+            result = Math.max(Integer.parseInt(((String) properties.get(JPA_NON_TX_POOL_SIZE)).trim()), 0);
+        }
+        return result;
+    }
+
     public static String getScopedPersistenceUnitName(PersistenceUnitMetadata pu) {
 
         Object name = pu.getProperties().get(JPA_SCOPED_PERSISTENCE_UNIT_NAME);
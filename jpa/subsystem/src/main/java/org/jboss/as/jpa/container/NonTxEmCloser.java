@@ -53,12 +53,17 @@ public class NonTxEmCloser {
 
     /**
      * current session bean invocation is ending, close any transactional entity managers created without a JTA
-     * transaction.
+     * transaction.  Entity managers obtained from a {@link NonTxEntityManagerPool} are returned to it instead.
      */
     public static void popCall() {
         Map<String, EntityManager> emStack = nonTxStack.pop();
         if (emStack != null) {
-            for (EntityManager entityManager : emStack.values()) {
+            for (Map.Entry<String, EntityManager> entry : emStack.entrySet()) {
+                EntityManager entityManager = entry.getValue();
+                NonTxEntityManagerPool pool = NonTxEntityManagerPool.get(entry.getKey());
+                if (pool != null && pool.release(entityManager)) {
+                    continue;
+                }
                 try {
                     if (entityManager.isOpen()) {
                         entityManager.close();
@@ -88,6 +93,16 @@ public class NonTxEmCloser {
         return null;
     }
 
+    /**
+     * Return true if entity managers created without a JTA transaction are tracked (and closed at the end of the current
+     * invocation).
+     *
+     * @return
+     */
+    public static boolean isTracking() {
+        return !nonTxStack.isEmpty();
+    }
+
     public static void add(String puScopedName, EntityManager entityManager) {
         Map<String, EntityManager> map = nonTxStack.peek();
         if (map == null && !nonTxStack.isEmpty()) {
@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.jboss.as.jpa.messages.JpaLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
+
+/**
+ * Bounded pool of entity managers, reused by transaction scoped entity managers invoked without a JTA transaction.
+ * <p/>
+ * Rather than being closed at the end of the session bean (or web) invocation, a pooled entity manager is cleared, which
+ * detaches all of its managed entities, and returned to the pool.  An entity manager is only returned to the pool if it
+ * is otherwise in the state it was created in, that is its flush mode and properties are unchanged and it is not
+ * joined to a transaction; any entity manager the application reconfigured is closed instead.  Only entity managers
+ * created by the pool itself are ever returned to it, and at most {@code maxSize} of them exist at any time; any
+ * additional entity manager is created and closed as usual.
+ */
+public class NonTxEntityManagerPool {
+
+    /**
+     * Key = scoped persistence unit name
+     */
+    private static final Map<String, NonTxEntityManagerPool> pools = new ConcurrentHashMap<>();
+
+    private final EntityManagerFactory emf;
+    private final int maxSize;
+    private final Deque<EntityManager> available = new ConcurrentLinkedDeque<>();
+    // Value = the initial state of the pooled entity manager
+    private final Map<EntityManager, InitialState> members = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private NonTxEntityManagerPool(EntityManagerFactory emf, int maxSize) {
+        this.emf = emf;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the pool of the specified persistence unit, creating it if needed.
+     *
+     * @param puScopedName scoped persistence unit name
+     * @param emf the entity manager factory of the persistence unit
+     * @param maxSize the maximum number of pooled entity managers
+     * @return the pool
+     */
+    public static NonTxEntityManagerPool getOrCreate(String puScopedName, EntityManagerFactory emf, int maxSize) {
+        NonTxEntityManagerPool pool = pools.get(puScopedName);
+        if (pool == null || pool.emf != emf) {
+            pool = pools.compute(puScopedName, (name, existing) -> (existing != null && existing.emf == emf) ? existing : new NonTxEntityManagerPool(emf, maxSize));
+        }
+        return pool;
+    }
+
+    /**
+     * Return the pool of the specified persistence unit, if any.
+     *
+     * @param puScopedName scoped persistence unit name
+     * @return the pool or null
+     */
+    public static NonTxEntityManagerPool get(String puScopedName) {
+        return pools.get(puScopedName);
+    }
+
+    /**
+     * Close the pooled entity managers of the specified persistence unit.  Called when the persistence unit is stopped,
+     * before its entity manager factory is closed.
+     *
+     * @param puScopedName scoped persistence unit name
+     */
+    public static void remove(String puScopedName) {
+        NonTxEntityManagerPool pool = pools.remove(puScopedName);
+        if (pool != null) {
+            EntityManager entityManager;
+            while ((entityManager = pool.available.pollFirst()) != null) {
+                pool.destroy(entityManager);
+            }
+        }
+    }
+
+    /**
+     * Take an entity manager out of the pool, creating one if the pool has room for it.
+     *
+     * @return an entity manager or null if the pool is exhausted
+     */
+    public EntityManager acquire() {
+        EntityManager entityManager;
+        // most recently released first
+        while ((entityManager = available.pollFirst()) != null) {
+            if (entityManager.isOpen()) {
+                return entityManager;
+            }
+            destroy(entityManager);
+        }
+        int current;
+        do {
+            current = size.get();
+            if (current >= maxSize) {
+                return null;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        InitialState state = null;
+        try {
+            entityManager = emf.createEntityManager();
+            state = new InitialState(entityManager);
+        } finally {
+            if (state == null) {
+                size.decrementAndGet();
+                if (entityManager != null) {
+                    entityManager.close();
+                }
+            }
+        }
+        members.put(entityManager, state);
+        return entityManager;
+    }
+
+    /**
+     * Return an entity manager to the pool, after clearing it, or close it if its state could not be reset.
+     *
+     * @param entityManager the entity manager
+     * @return true if the entity manager was pooled, false if it was not created by this pool and should be closed by the caller
+     */
+    public boolean release(EntityManager entityManager) {
+        InitialState state = members.get(entityManager);
+        if (state == null) {
+            return false;
+        }
+        try {
+            if (entityManager.isOpen() && emf.isOpen()) {
+                entityManager.clear();
+                if (state.matches(entityManager)) {
+                    available.offerFirst(entityManager);
+                    return true;
+                }
+                if (ROOT_LOGGER.isTraceEnabled()) {
+                    ROOT_LOGGER.tracef("Not returning reconfigured (non-transactional) container managed entity manager %s to pool", entityManager);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (ROOT_LOGGER.isTraceEnabled()) {
+                ROOT_LOGGER.trace("Could not return (non-transactional) container managed entity manager to pool", e);
+            }
+        }
+        destroy(entityManager);
+        return true;
+    }
+
+    private void destroy(EntityManager entityManager) {
+        if (members.remove(entityManager) != null) {
+            size.decrementAndGet();
+        }
+        try {
+            if (entityManager.isOpen()) {
+                entityManager.close();
+            }
+        } catch (RuntimeException safeToIgnore) {
+            if (ROOT_LOGGER.isTraceEnabled()) {
+                ROOT_LOGGER.trace("Could not close (non-transactional) container managed entity manager", safeToIgnore);
+            }
+        }
+    }
+
+    /**
+     * The settings of an entity manager which the application may change, and {@link EntityManager#clear()} does not
+     * reset.
+     */
+    private static final class InitialState {
+        private final FlushModeType flushMode;
+        private final Map<String, Object> properties;
+
+        InitialState(EntityManager entityManager) {
+            this.flushMode = entityManager.getFlushMode();
+            this.properties = new HashMap<>(entityManager.getProperties());
+        }
+
+        boolean matches(EntityManager entityManager) {
+            return !entityManager.isJoinedToTransaction() && flushMode == entityManager.getFlushMode() && properties.equals(entityManager.getProperties());
+        }
+    }
+}
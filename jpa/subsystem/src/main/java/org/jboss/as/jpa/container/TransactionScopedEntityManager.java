@@ -32,6 +32,7 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.SynchronizationType;
+import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 import javax.transaction.TransactionSynchronizationRegistry;
 
@@ -65,6 +66,9 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     private transient TransactionSynchronizationRegistry transactionSynchronizationRegistry;
     private transient TransactionManager transactionManager;
     private transient Boolean deferDetach;
+    private transient volatile NonTxEntityManagerPool nonTxPool;
+    private transient volatile boolean nonTxPoolResolved;
+    private transient volatile TransactionEntityManager resolved;
 
     public TransactionScopedEntityManager(String puScopedName, Map properties, EntityManagerFactory emf, SynchronizationType synchronizationType, TransactionSynchronizationRegistry transactionSynchronizationRegistry, TransactionManager transactionManager) {
         this.puScopedName = puScopedName;
@@ -78,22 +82,61 @@ public class TransactionScopedEntityManager extends AbstractEntityManager implem
     @Override
     protected EntityManager getEntityManager() {
         EntityManager entityManager;
-        boolean isInTx;
+        Transaction transaction = TransactionUtil.getActiveTransaction(transactionManager);
 
-        isInTx = TransactionUtil.isInTx(transactionManager);
-
-        if (isInTx) {
+        if (transaction != null) {
+            // the entity manager already resolved by this transaction scoped entity manager in the current transaction,
+            // saves the transaction synchronization registry lookup and the mixed synchronization type checks for every invocation
+            TransactionEntityManager resolved = this.resolved;
+            if (resolved != null && resolved.transaction == transaction) {
+                return resolved.entityManager;
+            }
             entityManager = getOrCreateTransactionScopedEntityManager(emf, puScopedName, properties, synchronizationType);
+            this.resolved = new TransactionEntityManager(transaction, entityManager);
         } else {
             entityManager = NonTxEmCloser.get(puScopedName);
             if (entityManager == null) {
-                entityManager = createEntityManager(emf, properties, synchronizationType);
+                NonTxEntityManagerPool pool = NonTxEmCloser.isTracking() ? getNonTxPool() : null;
+                if (pool != null) {
+                    entityManager = pool.acquire();
+                }
+                if (entityManager == null) {
+                    entityManager = createEntityManager(emf, properties, synchronizationType);
+                }
                 NonTxEmCloser.add(puScopedName, entityManager);
             }
         }
         return entityManager;
     }
 
+    /**
+     * Return the pool of entity managers reused by non-tx invocations, if pooling is enabled for the persistence unit.
+     * Only entity managers created with the default properties and synchronization type are pooled.
+     */
+    private NonTxEntityManagerPool getNonTxPool() {
+        if (!nonTxPoolResolved) {
+            int maxSize = Configuration.nonTxEntityManagerPoolSize(emf.getProperties());
+            if (maxSize > 0 && (properties == null || properties.isEmpty()) && !SynchronizationType.UNSYNCHRONIZED.equals(synchronizationType)) {
+                nonTxPool = NonTxEntityManagerPool.getOrCreate(puScopedName, emf, maxSize);
+            }
+            nonTxPoolResolved = true;
+        }
+        return nonTxPool;
+    }
+
+    /**
+     * The entity manager last resolved by this transaction scoped entity manager, and the transaction it belongs to.
+     */
+    private static class TransactionEntityManager {
+        final Transaction transaction;
+        final EntityManager entityManager;
+
+        TransactionEntityManager(Transaction transaction, EntityManager entityManager) {
+            this.transaction = transaction;
+            this.entityManager = entityManager;
+        }
+    }
+
     @Override
     protected boolean isExtendedPersistenceContext() {
         return false;
@@ -39,6 +39,7 @@ import javax.validation.ValidatorFactory;
 import org.jboss.as.jpa.beanmanager.BeanManagerAfterDeploymentValidation;
 import org.jboss.as.jpa.beanmanager.ProxyBeanManager;
 import org.jboss.as.jpa.classloader.TempClassLoaderFactoryImpl;
+import org.jboss.as.jpa.container.NonTxEntityManagerPool;
 import org.jboss.as.jpa.spi.PersistenceUnitService;
 import org.jboss.as.jpa.subsystem.PersistenceUnitRegistryImpl;
 import org.jboss.as.jpa.util.JPAServiceNames;
@@ -255,6 +256,7 @@ public class PersistenceUnitServiceImpl implements Service<PersistenceUnitServic
                                             if (entityManagerFactory != null) {
                                                 WritableServiceBasedNamingStore.pushOwner(deploymentUnitServiceName);
                                                 try {
+                                                    NonTxEntityManagerPool.remove(pu.getScopedPersistenceUnitName());
                                                     if (entityManagerFactory.isOpen()) {
                                                         entityManagerFactory.close();
                                                     }
@@ -53,10 +53,20 @@ public class TransactionUtil {
     private static final EnumSet<EventType> eventTypes = EnumSet.of(EventType.ASSOCIATED, EventType.DISASSOCIATING);
 
     public static boolean isInTx(TransactionManager transactionManager) {
+        return getActiveTransaction(transactionManager) != null;
+    }
+
+    /**
+     * Get the transaction associated with the current thread, if it is active.
+     *
+     * @param transactionManager
+     * @return the active transaction or null
+     */
+    public static Transaction getActiveTransaction(TransactionManager transactionManager) {
         Transaction tx = getTransaction(transactionManager);
         if (tx == null || !TxUtils.isActive(tx))
-            return false;
-        return true;
+            return null;
+        return tx;
     }
 
     /**
@@ -0,0 +1,175 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the reuse of entity managers by {@link NonTxEntityManagerPool}.
+ */
+public class NonTxEntityManagerPoolTestCase {
+
+    private static final String PU_NAME = "test.jar#test-pu";
+
+    private final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    private NonTxEntityManagerPool pool;
+
+    @Before
+    public void setup() {
+        when(emf.isOpen()).thenReturn(true);
+        when(emf.createEntityManager()).thenAnswer(invocation -> createEntityManager());
+        pool = NonTxEntityManagerPool.getOrCreate(PU_NAME, emf, 2);
+    }
+
+    @After
+    public void cleanup() {
+        NonTxEntityManagerPool.remove(PU_NAME);
+    }
+
+    @Test
+    public void testGetOrCreate() {
+        assertSame(pool, NonTxEntityManagerPool.get(PU_NAME));
+        assertSame(pool, NonTxEntityManagerPool.getOrCreate(PU_NAME, emf, 2));
+        // a redeployed persistence unit gets a new pool
+        assertNotSame(pool, NonTxEntityManagerPool.getOrCreate(PU_NAME, mock(EntityManagerFactory.class), 2));
+    }
+
+    @Test
+    public void testBounded() {
+        assertNotNull(pool.acquire());
+        assertNotNull(pool.acquire());
+        assertNull(pool.acquire());
+    }
+
+    @Test
+    public void testReuse() {
+        EntityManager entityManager = pool.acquire();
+        assertTrue(pool.release(entityManager));
+        verify(entityManager).clear();
+        verify(entityManager, never()).close();
+        assertSame(entityManager, pool.acquire());
+    }
+
+    @Test
+    public void testForeignEntityManager() {
+        EntityManager entityManager = createEntityManager();
+        assertFalse(pool.release(entityManager));
+        verify(entityManager, never()).clear();
+        verify(entityManager, never()).close();
+    }
+
+    @Test
+    public void testChangedFlushMode() {
+        EntityManager entityManager = pool.acquire();
+        entityManager.setFlushMode(FlushModeType.COMMIT);
+        assertTrue(pool.release(entityManager));
+        verify(entityManager).close();
+        assertNotSame(entityManager, pool.acquire());
+    }
+
+    @Test
+    public void testChangedProperties() {
+        EntityManager entityManager = pool.acquire();
+        entityManager.setProperty("javax.persistence.cache.retrieveMode", "BYPASS");
+        assertTrue(pool.release(entityManager));
+        verify(entityManager).close();
+        // the closed entity manager no longer counts towards the pool size
+        assertNotNull(pool.acquire());
+        assertNotNull(pool.acquire());
+        assertNull(pool.acquire());
+    }
+
+    @Test
+    public void testJoinedToTransaction() {
+        EntityManager entityManager = pool.acquire();
+        when(entityManager.isJoinedToTransaction()).thenReturn(true);
+        assertTrue(pool.release(entityManager));
+        verify(entityManager).close();
+    }
+
+    @Test
+    public void testClosedEntityManager() {
+        EntityManager entityManager = pool.acquire();
+        entityManager.close();
+        assertTrue(pool.release(entityManager));
+        assertNotSame(entityManager, pool.acquire());
+    }
+
+    @Test
+    public void testRemove() {
+        EntityManager entityManager = pool.acquire();
+        pool.release(entityManager);
+        NonTxEntityManagerPool.remove(PU_NAME);
+        verify(entityManager).close();
+        assertNull(NonTxEntityManagerPool.get(PU_NAME));
+    }
+
+    private static EntityManager createEntityManager() {
+        EntityManager entityManager = mock(EntityManager.class);
+        AtomicBoolean open = new AtomicBoolean(true);
+        AtomicReference<FlushModeType> flushMode = new AtomicReference<>(FlushModeType.AUTO);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("javax.persistence.lock.timeout", 1000);
+        when(entityManager.isOpen()).thenAnswer(invocation -> open.get());
+        doAnswer(invocation -> {
+            open.set(false);
+            return null;
+        }).when(entityManager).close();
+        when(entityManager.getFlushMode()).thenAnswer(invocation -> flushMode.get());
+        doAnswer(invocation -> {
+            flushMode.set(invocation.getArgument(0));
+            return null;
+        }).when(entityManager).setFlushMode(any());
+        when(entityManager.getProperties()).thenAnswer(invocation -> new HashMap<>(properties));
+        doAnswer(invocation -> {
+            properties.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(entityManager).setProperty(anyString(), any());
+        return entityManager;
+    }
+}
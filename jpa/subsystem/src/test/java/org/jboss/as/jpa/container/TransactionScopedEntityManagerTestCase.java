@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.jpa.container;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.SynchronizationType;
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the resolution of the entity manager of the current transaction by {@link TransactionScopedEntityManager}.
+ */
+public class TransactionScopedEntityManagerTestCase {
+
+    private static final String PU_NAME = "test.jar#test-pu";
+
+    // The transaction, and the resources of the transaction, associated with the current thread
+    private final ThreadLocal<Transaction> transaction = new ThreadLocal<>();
+    private final ThreadLocal<Map<Object, Object>> resources = new ThreadLocal<>();
+
+    private final EntityManagerFactory emf = mock(EntityManagerFactory.class);
+    private final TransactionManager transactionManager = mock(TransactionManager.class);
+    private final TransactionSynchronizationRegistry tsr = mock(TransactionSynchronizationRegistry.class);
+    private TransactionScopedEntityManager entityManager;
+
+    @Before
+    public void setup() throws Exception {
+        when(emf.getProperties()).thenReturn(Collections.emptyMap());
+        when(transactionManager.getTransaction()).thenAnswer(invocation -> transaction.get());
+        when(tsr.getResource(any())).thenAnswer(invocation -> resources.get().get(invocation.getArgument(0)));
+        doAnswer(invocation -> resources.get().put(invocation.getArgument(0), invocation.getArgument(1))).when(tsr).putResource(any(), any());
+        entityManager = new TransactionScopedEntityManager(PU_NAME, Collections.emptyMap(), emf, SynchronizationType.SYNCHRONIZED, tsr, transactionManager);
+    }
+
+    @Test
+    public void testTransactionEntityManager() throws Exception {
+        Context first = new Context();
+        Context second = new Context();
+
+        first.begin();
+        assertSame(first.entityManager, entityManager.getEntityManager());
+        assertSame(first.entityManager, entityManager.getEntityManager());
+        assertSame(first.entityManager, entityManager.getEntityManager());
+
+        // repeated calls within the same transaction do not access the transaction synchronization registry
+        verify(tsr, times(1)).getResource(any());
+        verify(tsr, never()).putResource(any(), any());
+
+        second.begin();
+        assertSame(second.entityManager, entityManager.getEntityManager());
+        assertSame(second.entityManager, entityManager.getEntityManager());
+        first.begin();
+        assertSame(first.entityManager, entityManager.getEntityManager());
+
+        // the persistence context is looked up again whenever the transaction changes
+        verify(tsr, times(3)).getResource(PU_NAME);
+    }
+
+    @Test
+    public void testConcurrentTransactions() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Void> task = () -> {
+                Context context = new Context();
+                for (int i = 0; i < 1000; ++i) {
+                    context.begin();
+                    assertSame(context.entityManager, entityManager.getEntityManager());
+                }
+                return null;
+            };
+            Future<Void> first = executor.submit(task);
+            Future<Void> second = executor.submit(task);
+            first.get();
+            second.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * An active transaction, whose persistence context has already been created.
+     */
+    private class Context {
+        final Transaction tx = mock(Transaction.class);
+        final Map<Object, Object> txResources = new HashMap<>();
+        final EntityManager entityManager = mock(EntityManager.class);
+
+        Context() throws Exception {
+            when(tx.getStatus()).thenReturn(Status.STATUS_ACTIVE);
+            txResources.put(PU_NAME, entityManager);
+        }
+
+        void begin() {
+            transaction.set(tx);
+            resources.set(txResources);
+        }
+    }
+}
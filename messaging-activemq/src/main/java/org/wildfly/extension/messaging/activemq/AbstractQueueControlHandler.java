@@ -37,6 +37,8 @@ import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.runtimeReadOnlyOperation;
 import static org.wildfly.extension.messaging.activemq.logging.MessagingLogger.ROOT_LOGGER;
 
+import java.util.UUID;
+
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -71,6 +73,8 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
     public static final String LIST_MESSAGES = "list-messages";
     public static final String LIST_MESSAGES_AS_JSON = "list-messages-as-json";
+    public static final String LIST_MESSAGES_PAGED = "list-messages-paged";
+    public static final String LIST_MESSAGES_AS_STREAM = "list-messages-as-stream";
     public static final String COUNT_MESSAGES = "count-messages";
     public static final String REMOVE_MESSAGE = "remove-message";
     public static final String REMOVE_MESSAGES = "remove-messages";
@@ -95,6 +99,8 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     public static final String LIST_CONSUMERS_AS_JSON = "list-consumers-as-json";
     public static final String LIST_SCHEDULED_MESSAGES = "list-scheduled-messages";
     public static final String LIST_SCHEDULED_MESSAGES_AS_JSON = LIST_SCHEDULED_MESSAGES + "-as-json";
+    public static final String LIST_SCHEDULED_MESSAGES_PAGED = LIST_SCHEDULED_MESSAGES + "-paged";
+    public static final String LIST_SCHEDULED_MESSAGES_AS_STREAM = LIST_SCHEDULED_MESSAGES + "-as-stream";
     public static final String LIST_DELIVERING_MESSAGES = "list-delivering-messages";
     public static final String LIST_DELIVERING_MESSAGES_AS_JSON = LIST_DELIVERING_MESSAGES + "-as-json";
 
@@ -107,6 +113,20 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
     private static final AttributeDefinition NEW_PRIORITY = SimpleAttributeDefinitionBuilder.create("new-priority", INT)
             .setValidator(PRIORITY_VALIDATOR)
             .build();
+    private static final AttributeDefinition OFFSET = SimpleAttributeDefinitionBuilder.create("offset", INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(0))
+            .setValidator(new IntRangeValidator(0, true))
+            .build();
+    private static final AttributeDefinition PAGE_LIMIT = SimpleAttributeDefinitionBuilder.create("limit", INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(100))
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+    private static final AttributeDefinition STREAM_LIMIT = SimpleAttributeDefinitionBuilder.create("limit", INT)
+            .setRequired(false)
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
 
     protected abstract AttributeDefinition getMessageIDAttributeDefinition();
 
@@ -125,6 +145,17 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
                 .setReplyType(STRING)
                 .build(),
                 this);
+        registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES_PAGED, resolver)
+                .setParameters(FILTER, OFFSET, PAGE_LIMIT)
+                .setReplyType(LIST)
+                .setReplyParameters(getReplyMessageParameterDefinitions())
+                .build(),
+                this);
+        registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_MESSAGES_AS_STREAM, RESOLVER)
+                .setParameters(FILTER, OFFSET, STREAM_LIMIT)
+                .setReplyType(STRING)
+                .build(),
+                this);
         registry.registerOperationHandler(runtimeReadOnlyOperation(COUNT_MESSAGES, RESOLVER)
                 .setParameters(FILTER)
                 .setReplyType(LONG)
@@ -237,6 +268,18 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
                 .setReplyType(STRING)
                 .build(),
                 this);
+        // Delivering messages are bounded by the consumer windows, and are grouped by consumer, so they have no paged or streamed variants
+        registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_SCHEDULED_MESSAGES_PAGED, resolver)
+                .setParameters(OFFSET, PAGE_LIMIT)
+                .setReplyType(LIST)
+                .setReplyParameters(getReplyMessageParameterDefinitions())
+                .build(),
+                this);
+        registry.registerOperationHandler(runtimeReadOnlyOperation(LIST_SCHEDULED_MESSAGES_AS_STREAM, RESOLVER)
+                .setParameters(OFFSET, STREAM_LIMIT)
+                .setReplyType(STRING)
+                .build(),
+                this);
     }
 
     @Override
@@ -269,6 +312,20 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
             } else if (LIST_MESSAGES_AS_JSON.equals(operationName)) {
                 String filter = resolveFilter(context, operation);
                 context.getResult().set(control.listMessagesAsJSON(filter));
+            } else if (LIST_MESSAGES_PAGED.equals(operationName)) {
+                String filter = resolveFilter(context, operation);
+                int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+                listMessagesPaged(context, operation, control.browseMessages(filter, offset));
+            } else if (LIST_MESSAGES_AS_STREAM.equals(operationName)) {
+                String filter = resolveFilter(context, operation);
+                int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+                listMessagesAsStream(context, operation, control.browseMessages(filter, offset));
+            } else if (LIST_SCHEDULED_MESSAGES_PAGED.equals(operationName)) {
+                int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+                listMessagesPaged(context, operation, control.browseScheduledMessages(offset));
+            } else if (LIST_SCHEDULED_MESSAGES_AS_STREAM.equals(operationName)) {
+                int offset = OFFSET.resolveModelAttribute(context, operation).asInt();
+                listMessagesAsStream(context, operation, control.browseScheduledMessages(offset));
             } else if (LIST_DELIVERING_MESSAGES.equals(operationName)) {
                 String json = control.listDeliveringMessagesAsJSON();
                 context.getResult().set(ModelNode.fromJSONString(json));
@@ -386,6 +443,39 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
         context.completeStep(rh);
     }
 
+    private static void listMessagesPaged(OperationContext context, ModelNode operation, MessageBrowser browser) throws OperationFailedException {
+        if (browser == null) {
+            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(PathAddress.pathAddress(operation.require(OP_ADDR)));
+        }
+        int limit = PAGE_LIMIT.resolveModelAttribute(context, operation).asInt();
+        ModelNode result = context.getResult().setEmptyList();
+        try {
+            for (int i = 0; (i < limit) && browser.hasNext(); ++i) {
+                result.add(browser.next());
+            }
+        } finally {
+            browser.close();
+        }
+    }
+
+    private static void listMessagesAsStream(OperationContext context, ModelNode operation, MessageBrowser browser) throws OperationFailedException {
+        if (browser == null) {
+            throw ControllerLogger.ROOT_LOGGER.managementResourceNotFound(PathAddress.pathAddress(operation.require(OP_ADDR)));
+        }
+        // Messages are read from the queue as the attached stream is consumed by the client
+        // The queue is not browsed until the client starts reading, and the browser is released once the
+        // stream is closed, either by the client or when the management layer discards the unread stream
+        String uuid = UUID.randomUUID().toString();
+        try {
+            ModelNode limit = STREAM_LIMIT.resolveModelAttribute(context, operation);
+            context.attachResultStream(uuid, "application/json", browser.toJSONStream(limit.isDefined() ? limit.asInt() : Integer.MAX_VALUE));
+        } catch (OperationFailedException | RuntimeException | Error e) {
+            browser.close();
+            throw e;
+        }
+        context.getResult().set(uuid);
+    }
+
     protected AttributeDefinition[] getReplyMapConsumerMessageParameterDefinition() {
         return new AttributeDefinition[]{
                 createNonEmptyStringAttribute("consumerName"),
@@ -418,6 +508,18 @@ public abstract class AbstractQueueControlHandler<T> extends AbstractRuntimeOnly
 
         String listMessagesAsJSON(String filter) throws Exception;
 
+        /**
+         * Returns a browser over the messages matching the given filter, skipping the given number of them,
+         * or null if the queue no longer exists.
+         */
+        MessageBrowser browseMessages(String filter, int offset) throws Exception;
+
+        /**
+         * Returns a browser over the messages scheduled for delivery, skipping the given number of them,
+         * or null if the queue no longer exists.
+         */
+        MessageBrowser browseScheduledMessages(int offset) throws Exception;
+
         long countMessages(String filter) throws Exception;
 
         boolean removeMessage(ModelNode id) throws Exception;
@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Iterates lazily over the messages of a queue, or over its scheduled messages, matching a filter, starting at a given offset.
+ * Unlike {@link org.apache.activemq.artemis.api.core.management.QueueControl#listMessagesAsJSON(String)}, messages are
+ * only converted as they are consumed, so that large queues can be paged through, or streamed, with bounded memory.
+ * The browser iterator of the queue is only opened once the first message is requested, and must be released by
+ * closing the browser once it is no longer used.
+ */
+public class MessageBrowser implements Iterator<ModelNode>, AutoCloseable {
+
+    private final Supplier<? extends Iterator<MessageReference>> source;
+    private final Filter filter;
+    private final int offset;
+    private final UnaryOperator<String> propertyNames;
+    private Iterator<MessageReference> references;
+    private Message next;
+    private boolean closed = false;
+
+    /**
+     * @param queue the queue to browse
+     * @param filter a core message filter, or null to browse all messages
+     * @param offset the number of matching messages to skip
+     * @param propertyNames the mapping of message property names to the names used in the returned messages
+     */
+    public MessageBrowser(Queue queue, String filter, int offset, UnaryOperator<String> propertyNames) throws ActiveMQException {
+        this(queue::browserIterator, filter, offset, propertyNames);
+    }
+
+    /**
+     * @param source supplies the message references to browse, which are released on close if they are a {@link LinkedListIterator}
+     * @param filter a core message filter, or null to browse all messages
+     * @param offset the number of matching messages to skip
+     * @param propertyNames the mapping of message property names to the names used in the returned messages
+     */
+    public MessageBrowser(Supplier<? extends Iterator<MessageReference>> source, String filter, int offset, UnaryOperator<String> propertyNames) throws ActiveMQException {
+        this.source = source;
+        this.filter = FilterImpl.createFilter(filter);
+        this.offset = offset;
+        this.propertyNames = propertyNames;
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (this.closed) {
+            return false;
+        }
+        if (this.references == null) {
+            this.references = this.source.get();
+            for (int i = 0; (i < this.offset) && this.hasNext(); ++i) {
+                this.next = null;
+            }
+        }
+        while ((this.next == null) && this.references.hasNext()) {
+            Message message = this.references.next().getMessage();
+            if ((this.filter == null) || this.filter.match(message)) {
+                this.next = message;
+            }
+        }
+        return this.next != null;
+    }
+
+    @Override
+    public synchronized ModelNode next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ModelNode result = new ModelNode();
+        for (Map.Entry<String, Object> entry : this.next.toMap().entrySet()) {
+            setValue(result.get(this.propertyNames.apply(entry.getKey())), entry.getValue());
+        }
+        this.next = null;
+        return result;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.next = null;
+            if (this.references instanceof LinkedListIterator) {
+                ((LinkedListIterator<?>) this.references).close();
+            }
+        }
+    }
+
+    /**
+     * Returns a stream of at most the given number of the remaining messages, as a list in JSON format.
+     * Messages are read from the queue as the stream is consumed; closing the stream closes this browser.
+     */
+    public InputStream toJSONStream(final int limit) {
+        return new InputStream() {
+            private byte[] chunk = "[".getBytes(UTF_8);
+            private int index = 0;
+            private int count = 0;
+            private boolean complete = false;
+
+            @Override
+            public int read() {
+                return this.fill() ? this.chunk[this.index++] & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) {
+                if (length == 0) {
+                    return 0;
+                }
+                if (!this.fill()) {
+                    return -1;
+                }
+                int read = Math.min(length, this.chunk.length - this.index);
+                System.arraycopy(this.chunk, this.index, bytes, offset, read);
+                this.index += read;
+                return read;
+            }
+
+            @Override
+            public void close() {
+                MessageBrowser.this.close();
+            }
+
+            /**
+             * Ensures the current chunk has remaining bytes, if any remain in the stream.
+             */
+            private boolean fill() {
+                while (this.index == this.chunk.length) {
+                    if (this.complete) {
+                        return false;
+                    }
+                    if ((this.count < limit) && MessageBrowser.this.hasNext()) {
+                        String json = MessageBrowser.this.next().toJSONString(true);
+                        this.chunk = ((this.count++ == 0) ? json : "," + json).getBytes(UTF_8);
+                    } else {
+                        this.chunk = "]".getBytes(UTF_8);
+                        this.complete = true;
+                        MessageBrowser.this.close();
+                    }
+                    this.index = 0;
+                }
+                return true;
+            }
+        };
+    }
+
+    private static void setValue(ModelNode node, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Boolean) {
+            node.set((Boolean) value);
+        } else if ((value instanceof Integer) || (value instanceof Short) || (value instanceof Byte)) {
+            node.set(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            node.set((Long) value);
+        } else if ((value instanceof Float) || (value instanceof Double)) {
+            node.set(((Number) value).doubleValue());
+        } else if (value instanceof byte[]) {
+            node.set((byte[]) value);
+        } else {
+            node.set(value.toString());
+        }
+    }
+}
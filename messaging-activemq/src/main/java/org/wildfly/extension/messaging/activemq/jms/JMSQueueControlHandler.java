@@ -26,14 +26,20 @@ import static org.apache.activemq.artemis.utils.SelectorTranslator.convertToActi
 import static org.wildfly.extension.messaging.activemq.OperationDefinitionHelper.createNonEmptyStringAttribute;
 import static org.wildfly.extension.messaging.activemq.jms.JMSQueueService.JMS_QUEUE_PREFIX;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.api.core.management.QueueControl;
 import org.apache.activemq.artemis.api.core.management.ResourceNames;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.Queue;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.extension.messaging.activemq.AbstractQueueControlHandler;
+import org.wildfly.extension.messaging.activemq.MessageBrowser;
 
 /**
  * Handler for runtime operations that invoke on a ActiveMQ {@link QueueControl}.
@@ -45,10 +51,28 @@ public class JMSQueueControlHandler extends AbstractQueueControlHandler<QueueCon
     public static final JMSQueueControlHandler INSTANCE = new JMSQueueControlHandler();
 
     private static final AttributeDefinition MESSAGE_ID = createNonEmptyStringAttribute("message-id");
+    /**
+     * The names by which the message properties returned by ActiveMQ are exposed for JMS queues.
+     */
+    private static final Map<String, String> JMS_PROPERTY_NAMES = new HashMap<>();
+    static {
+        JMS_PROPERTY_NAMES.put("priority", "JMSPriority");
+        JMS_PROPERTY_NAMES.put("timestamp", "JMSTimestamp");
+        JMS_PROPERTY_NAMES.put("expiration", "JMSExpiration");
+        JMS_PROPERTY_NAMES.put("durable", "JMSDeliveryMode");
+        JMS_PROPERTY_NAMES.put("userID", "JMSMessageID");
+    }
 
     private JMSQueueControlHandler() {
     }
 
+    /**
+     * Returns the name by which the given message property returned by ActiveMQ is exposed for JMS queues.
+     */
+    static String toJMSPropertyName(String name) {
+        return JMS_PROPERTY_NAMES.getOrDefault(name, name);
+    }
+
     @Override
     protected AttributeDefinition getMessageIDAttributeDefinition() {
         return MESSAGE_ID;
@@ -77,6 +101,18 @@ public class JMSQueueControlHandler extends AbstractQueueControlHandler<QueueCon
                 return convertToJMSProperties(result);
             }
 
+            @Override
+            public MessageBrowser browseMessages(String filter, int offset) throws Exception {
+                Queue queue = server.locateQueue(SimpleString.toSimpleString(JMS_QUEUE_PREFIX + queueName));
+                return (queue != null) ? new MessageBrowser(queue, convertToActiveMQFilterString(filter), offset, JMSQueueControlHandler::toJMSPropertyName) : null;
+            }
+
+            @Override
+            public MessageBrowser browseScheduledMessages(int offset) throws Exception {
+                Queue queue = server.locateQueue(SimpleString.toSimpleString(JMS_QUEUE_PREFIX + queueName));
+                return (queue != null) ? new MessageBrowser(() -> queue.getScheduledMessages().iterator(), null, offset, JMSQueueControlHandler::toJMSPropertyName) : null;
+            }
+
             @Override
             public long countMessages(String filter) throws Exception {
                 return control.countMessages(convertToActiveMQFilterString(filter));
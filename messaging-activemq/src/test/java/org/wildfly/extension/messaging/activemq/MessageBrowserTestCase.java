@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link MessageBrowser}.
+ */
+public class MessageBrowserTestCase {
+
+    private static final int MESSAGES = 10;
+
+    private final List<MessageReference> references = new ArrayList<>();
+    private Queue queue;
+    private LinkedListIterator<MessageReference> iterator;
+
+    @Before
+    public void setup() {
+        for (int i = 0; i < MESSAGES; ++i) {
+            Message message = new CoreMessage(i, 100);
+            message.putIntProperty("index", i);
+            message.putStringProperty("color", (i % 2 == 0) ? "red" : "blue");
+            MessageReference reference = mock(MessageReference.class);
+            when(reference.getMessage()).thenReturn(message);
+            this.references.add(reference);
+        }
+        this.queue = mock(Queue.class);
+        this.iterator = iterator(this.references);
+        when(this.queue.browserIterator()).thenReturn(this.iterator);
+    }
+
+    @Test
+    public void testOffsetAndLimit() throws Exception {
+        try (MessageBrowser browser = new MessageBrowser(this.queue, null, 3, UnaryOperator.identity())) {
+            assertEquals(3, browser.next().get("index").asInt());
+            assertEquals(4, browser.next().get("index").asInt());
+            assertEquals(5, browser.next().get("index").asInt());
+        }
+        verify(this.iterator).close();
+    }
+
+    @Test
+    public void testOffsetBeyondEnd() throws Exception {
+        try (MessageBrowser browser = new MessageBrowser(this.queue, null, MESSAGES, UnaryOperator.identity())) {
+            assertFalse(browser.hasNext());
+        }
+        verify(this.iterator).close();
+    }
+
+    @Test
+    public void testFilter() throws Exception {
+        List<Integer> indexes = new ArrayList<>();
+        try (MessageBrowser browser = new MessageBrowser(this.queue, "color = 'red'", 1, UnaryOperator.identity())) {
+            while (browser.hasNext()) {
+                ModelNode message = browser.next();
+                assertEquals("red", message.get("color").asString());
+                indexes.add(message.get("index").asInt());
+            }
+        }
+        // the offset applies to the matching messages
+        assertEquals(Arrays.asList(2, 4, 6, 8), indexes);
+    }
+
+    @Test
+    public void testPropertyNames() throws Exception {
+        try (MessageBrowser browser = new MessageBrowser(this.queue, null, 0, name -> name.equals("index") ? "position" : name)) {
+            ModelNode message = browser.next();
+            assertTrue(message.hasDefined("position"));
+            assertFalse(message.has("index"));
+            assertEquals("red", message.get("color").asString());
+        }
+    }
+
+    @Test
+    public void testScheduledMessages() throws Exception {
+        List<MessageReference> scheduled = this.references.subList(0, 4);
+        List<Integer> indexes = new ArrayList<>();
+        try (MessageBrowser browser = new MessageBrowser(scheduled::iterator, null, 1, UnaryOperator.identity())) {
+            while (browser.hasNext()) {
+                indexes.add(browser.next().get("index").asInt());
+            }
+        }
+        assertEquals(Arrays.asList(1, 2, 3), indexes);
+        verify(this.queue, never()).browserIterator();
+    }
+
+    @Test
+    public void testLazyIterator() throws Exception {
+        MessageBrowser browser = new MessageBrowser(this.queue, null, 0, UnaryOperator.identity());
+        // an unused browser never opens the browser iterator of the queue
+        browser.close();
+        assertFalse(browser.hasNext());
+        verify(this.queue, never()).browserIterator();
+
+        browser = new MessageBrowser(this.queue, null, 0, UnaryOperator.identity());
+        InputStream stream = browser.toJSONStream(Integer.MAX_VALUE);
+        // neither does a stream that is closed without being read
+        stream.close();
+        verify(this.queue, never()).browserIterator();
+    }
+
+    @Test
+    public void testJSONStream() throws Exception {
+        MessageBrowser browser = new MessageBrowser(this.queue, "color = 'blue'", 1, UnaryOperator.identity());
+        ModelNode result;
+        try (InputStream stream = browser.toJSONStream(3)) {
+            result = ModelNode.fromJSONString(read(stream));
+        }
+        List<ModelNode> messages = result.asList();
+        assertEquals(3, messages.size());
+        assertEquals(3, messages.get(0).get("index").asInt());
+        assertEquals(5, messages.get(1).get("index").asInt());
+        assertEquals(7, messages.get(2).get("index").asInt());
+        // the iterator is closed once the stream is complete, closing the stream again has no effect
+        verify(this.iterator, times(1)).close();
+    }
+
+    @Test
+    public void testEmptyJSONStream() throws Exception {
+        MessageBrowser browser = new MessageBrowser(this.queue, "color = 'green'", 0, UnaryOperator.identity());
+        try (InputStream stream = browser.toJSONStream(Integer.MAX_VALUE)) {
+            assertEquals(0, ModelNode.fromJSONString(read(stream)).asList().size());
+        }
+    }
+
+    private static String read(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int read = stream.read(buffer);
+        while (read >= 0) {
+            out.write(buffer, 0, read);
+            read = stream.read(buffer);
+        }
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LinkedListIterator<MessageReference> iterator(List<MessageReference> references) {
+        Iterator<MessageReference> delegate = references.iterator();
+        LinkedListIterator<MessageReference> iterator = mock(LinkedListIterator.class);
+        when(iterator.hasNext()).thenAnswer(invocation -> delegate.hasNext());
+        when(iterator.next()).thenAnswer(invocation -> delegate.next());
+        return iterator;
+    }
+}
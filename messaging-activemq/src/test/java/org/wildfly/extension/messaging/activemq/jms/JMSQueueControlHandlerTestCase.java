@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.messaging.activemq.jms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
+import org.jboss.dmr.ModelNode;
+import org.junit.Test;
+import org.wildfly.extension.messaging.activemq.MessageBrowser;
+
+/**
+ * Unit test for the message property mapping of {@link JMSQueueControlHandler}.
+ */
+public class JMSQueueControlHandlerTestCase {
+
+    @Test
+    public void testPropertyNames() {
+        assertEquals("JMSPriority", JMSQueueControlHandler.toJMSPropertyName("priority"));
+        assertEquals("JMSTimestamp", JMSQueueControlHandler.toJMSPropertyName("timestamp"));
+        assertEquals("JMSExpiration", JMSQueueControlHandler.toJMSPropertyName("expiration"));
+        assertEquals("JMSDeliveryMode", JMSQueueControlHandler.toJMSPropertyName("durable"));
+        assertEquals("JMSMessageID", JMSQueueControlHandler.toJMSPropertyName("userID"));
+        assertEquals("color", JMSQueueControlHandler.toJMSPropertyName("color"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBrowseMessages() throws Exception {
+        Message message = new CoreMessage(1, 100);
+        message.setPriority((byte) 7);
+        message.setTimestamp(1000L);
+        message.setExpiration(2000L);
+        message.setDurable(true);
+        message.putStringProperty("color", "red");
+        MessageReference reference = mock(MessageReference.class);
+        when(reference.getMessage()).thenReturn(message);
+        Iterator<MessageReference> delegate = Collections.singletonList(reference).iterator();
+        LinkedListIterator<MessageReference> iterator = mock(LinkedListIterator.class);
+        when(iterator.hasNext()).thenAnswer(invocation -> delegate.hasNext());
+        when(iterator.next()).thenAnswer(invocation -> delegate.next());
+        Queue queue = mock(Queue.class);
+        when(queue.browserIterator()).thenReturn(iterator);
+
+        try (MessageBrowser browser = new MessageBrowser(queue, null, 0, JMSQueueControlHandler::toJMSPropertyName)) {
+            ModelNode result = browser.next();
+            assertEquals(7, result.get("JMSPriority").asInt());
+            assertEquals(1000L, result.get("JMSTimestamp").asLong());
+            assertEquals(2000L, result.get("JMSExpiration").asLong());
+            assertTrue(result.get("JMSDeliveryMode").asBoolean());
+            assertEquals("red", result.get("color").asString());
+            assertFalse(result.has("priority"));
+            assertFalse(result.has("timestamp"));
+            assertFalse(browser.hasNext());
+        }
+    }
+}
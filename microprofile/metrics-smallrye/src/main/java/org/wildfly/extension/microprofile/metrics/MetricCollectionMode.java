@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.microprofile.metrics;
+
+/**
+ * Defines how the values of the WildFly metrics are read from the management model when the metrics are scraped.
+ */
+public enum MetricCollectionMode {
+    /**
+     * Each metric reads its own attribute, using a read-attribute operation.
+     */
+    ATTRIBUTE("attribute"),
+    /**
+     * The metrics of a resource share a snapshot of its runtime attributes, read using a single read-resource operation
+     * and reused for the duration of the scrape window.
+     */
+    RESOURCE("resource"),
+    ;
+    private final String name;
+
+    MetricCollectionMode(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    static MetricCollectionMode forName(String name) {
+        for (MetricCollectionMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+}
@@ -23,13 +23,16 @@ package org.wildfly.extension.microprofile.metrics;
 
 import static org.jboss.as.controller.PathAddress.EMPTY_ADDRESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DESCRIPTION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
@@ -40,6 +43,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -74,12 +79,26 @@ public class MetricCollector {
     private String globalPrefix;
     private final List<String> exposedSubsystems;
     private final LocalModelControllerClient modelControllerClient;
+    private final MetricCollectionMode collectionMode;
+    private final long scrapeWindow;
+    // snapshots of the runtime attributes of the resources exposing metrics, only used by the RESOURCE collection mode
+    private final Map<PathAddress, ResourceSnapshot> snapshots = new ConcurrentHashMap<>();
 
     public MetricCollector(LocalModelControllerClient modelControllerClient, List<String> exposedSubsystems, String globalPrefix) {
+        this(modelControllerClient, exposedSubsystems, globalPrefix, MetricCollectionMode.ATTRIBUTE, 0L);
+    }
+
+    /**
+     * @param collectionMode how metric values are read from the management model
+     * @param scrapeWindow the duration, in milliseconds, during which a resource snapshot is reused by the {@link MetricCollectionMode#RESOURCE} collection mode
+     */
+    public MetricCollector(LocalModelControllerClient modelControllerClient, List<String> exposedSubsystems, String globalPrefix, MetricCollectionMode collectionMode, long scrapeWindow) {
         this.modelControllerClient = modelControllerClient;
         this.exposedSubsystems = exposedSubsystems;
         this.exposeAnySubsystem = exposedSubsystems.remove("*");
         this.globalPrefix = globalPrefix;
+        this.collectionMode = collectionMode;
+        this.scrapeWindow = TimeUnit.MILLISECONDS.toNanos(scrapeWindow);
     }
 
     // collect metrics from the resources
@@ -106,6 +125,7 @@ public class MetricCollector {
         }
 
         ModelNode resourceDescription = null;
+        PathAddress snapshotAddress = null;
         for (Map.Entry<String, AttributeAccess> entry : attributes.entrySet()) {
             String attributeName = entry.getKey();
 
@@ -129,6 +149,11 @@ public class MetricCollector {
 
             registerMetric(metricMetadata, resourceAddress, attributeName, unit, attributeDescription, isCounter, tags);
             registration.addUnregistrationTask(() -> MetricRegistries.get(MetricRegistry.Type.VENDOR).remove(metricID));
+            snapshotAddress = resourceAddress;
+        }
+        if (snapshotAddress != null && collectionMode == MetricCollectionMode.RESOURCE) {
+            PathAddress resourceAddress = snapshotAddress;
+            registration.addUnregistrationTask(() -> snapshots.remove(resourceAddress));
         }
 
         for (String type : current.getChildTypes()) {
@@ -156,7 +181,7 @@ public class MetricCollector {
 
                 @Override
                 public long getCount() {
-                    ModelNode result = readAttributeValue(address, attributeName);
+                    ModelNode result = readMetricValue(address, attributeName);
                     if (result.isDefined()) {
                         try {
                             return result.asLong();
@@ -171,7 +196,7 @@ public class MetricCollector {
             metric = new Gauge<Number>() {
                 @Override
                 public Double getValue() {
-                    ModelNode result = readAttributeValue(address, attributeName);
+                    ModelNode result = readMetricValue(address, attributeName);
                     if (result.isDefined()) {
                         try {
                             return result.asDouble();
@@ -291,6 +316,32 @@ public class MetricCollector {
         return tags;
     }
 
+    private ModelNode readMetricValue(PathAddress address, String attributeName) {
+        if (collectionMode == MetricCollectionMode.RESOURCE) {
+            ModelNode value = snapshots.computeIfAbsent(address, ResourceSnapshot::new).getAttribute(attributeName);
+            if (value != null) {
+                return value;
+            }
+            // the attribute is missing from the snapshot, read it individually so that any failure is reported for this attribute
+        }
+        return readAttributeValue(address, attributeName);
+    }
+
+    private ModelNode readResourceAttributes(PathAddress address) {
+        final ModelNode readResourceOp = new ModelNode();
+        readResourceOp.get(OP).set(READ_RESOURCE_OPERATION);
+        readResourceOp.get(OP_ADDR).set(address.toModelNode());
+        readResourceOp.get(INCLUDE_RUNTIME).set(true);
+        readResourceOp.get(ATTRIBUTES_ONLY).set(true);
+        readResourceOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(true);
+        ModelNode response = modelControllerClient.execute(readResourceOp);
+        String error = getFailureDescription(response);
+        if (error != null) {
+            throw LOGGER.unableToReadResource(address, error);
+        }
+        return response.get(RESULT);
+    }
+
     private ModelNode readAttributeValue(PathAddress address, String attributeName) {
         final ModelNode readAttributeOp = new ModelNode();
         readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
@@ -368,6 +419,31 @@ public class MetricCollector {
         }
     }
 
+    /**
+     * Runtime attributes of a resource, read in a single management operation and shared by all the metrics of the resource
+     * until the scrape window elapses.
+     */
+    private class ResourceSnapshot {
+        private final PathAddress address;
+        private ModelNode attributes;
+        private long expiration;
+
+        ResourceSnapshot(PathAddress address) {
+            this.address = address;
+        }
+
+        synchronized ModelNode getAttribute(String attributeName) {
+            long now = System.nanoTime();
+            if (attributes == null || now - expiration >= 0) {
+                // Do not retain a previous snapshot if the resource can no longer be read
+                attributes = null;
+                attributes = readResourceAttributes(address);
+                expiration = now + scrapeWindow;
+            }
+            return attributes.has(attributeName) ? attributes.get(attributeName) : null;
+        }
+    }
+
     private static class MetricMetadata {
 
         private static final Pattern SNAKE_CASE_PATTERN = Pattern.compile("(?<=[a-z])[A-Z]");
@@ -52,25 +52,29 @@ public class MetricsCollectorService implements Service<MetricCollector> {
     private final Supplier<Executor> managementExecutor;
     private final List<String> exposedSubsystems;
     private final String globalPrefix;
+    private final MetricCollectionMode collectionMode;
+    private final long scrapeWindow;
 
     private MetricCollector metricCollector;
     private JmxRegistrar jmxRegistrar;
     private LocalModelControllerClient modelControllerClient;
 
-    static void install(OperationContext context, List<String> exposedSubsystems, String prefix) {
+    static void install(OperationContext context, List<String> exposedSubsystems, String prefix, MetricCollectionMode collectionMode, long scrapeWindow) {
         ServiceBuilder<?> serviceBuilder = context.getServiceTarget().addService(WILDFLY_COLLECTOR_SERVICE);
         Supplier<ModelControllerClientFactory> modelControllerClientFactory = serviceBuilder.requires(context.getCapabilityServiceName(CLIENT_FACTORY_CAPABILITY, ModelControllerClientFactory.class));
         Supplier<Executor> managementExecutor = serviceBuilder.requires(context.getCapabilityServiceName(MANAGEMENT_EXECUTOR, Executor.class));
-        MetricsCollectorService service = new MetricsCollectorService(modelControllerClientFactory, managementExecutor, exposedSubsystems, prefix);
+        MetricsCollectorService service = new MetricsCollectorService(modelControllerClientFactory, managementExecutor, exposedSubsystems, prefix, collectionMode, scrapeWindow);
         serviceBuilder.setInstance(service)
                 .install();
     }
 
-    MetricsCollectorService(Supplier<ModelControllerClientFactory> modelControllerClientFactory, Supplier<Executor> managementExecutor, List<String> exposedSubsystems, String globalPrefix) {
+    MetricsCollectorService(Supplier<ModelControllerClientFactory> modelControllerClientFactory, Supplier<Executor> managementExecutor, List<String> exposedSubsystems, String globalPrefix, MetricCollectionMode collectionMode, long scrapeWindow) {
         this.modelControllerClientFactory = modelControllerClientFactory;
         this.managementExecutor = managementExecutor;
         this.exposedSubsystems = exposedSubsystems;
         this.globalPrefix = globalPrefix;
+        this.collectionMode = collectionMode;
+        this.scrapeWindow = scrapeWindow;
     }
 
     @Override
@@ -84,7 +88,7 @@ public class MetricsCollectorService implements Service<MetricCollector> {
 
         modelControllerClient = modelControllerClientFactory.get().createClient(managementExecutor.get());
 
-        this.metricCollector = new MetricCollector(modelControllerClient, exposedSubsystems, globalPrefix);
+        this.metricCollector = new MetricCollector(modelControllerClient, exposedSubsystems, globalPrefix, collectionMode, scrapeWindow);
     }
 
     @Override
@@ -25,7 +25,10 @@ package org.wildfly.extension.microprofile.metrics;
 import static org.jboss.as.controller.transform.description.RejectAttributeChecker.DEFINED;
 import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsExtension.SUBSYSTEM_NAME;
 import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsExtension.VERSION_1_0_0;
+import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsExtension.VERSION_2_0_0;
+import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsSubsystemDefinition.COLLECTION_MODE;
 import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsSubsystemDefinition.PREFIX;
+import static org.wildfly.extension.microprofile.metrics.MicroProfileMetricsSubsystemDefinition.SCRAPE_WINDOW;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelVersion;
@@ -46,12 +49,17 @@ public class MetricsTransformers implements ExtensionTransformerRegistration {
     public void registerTransformers(SubsystemTransformerRegistration subsystemTransformerRegistration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystemTransformerRegistration.getCurrentSubsystemVersion());
 
-        registerTransformers_EAP_7_2_0(chainedBuilder.createBuilder(subsystemTransformerRegistration.getCurrentSubsystemVersion(), VERSION_1_0_0));
+        registerTransformers_WildFly_19(chainedBuilder.createBuilder(subsystemTransformerRegistration.getCurrentSubsystemVersion(), VERSION_2_0_0));
+        registerTransformers_EAP_7_2_0(chainedBuilder.createBuilder(VERSION_2_0_0, VERSION_1_0_0));
 
-        chainedBuilder.buildAndRegister(subsystemTransformerRegistration, new ModelVersion[]{ VERSION_1_0_0 });
+        chainedBuilder.buildAndRegister(subsystemTransformerRegistration, new ModelVersion[]{ VERSION_1_0_0, VERSION_2_0_0 });
 
     }
 
+    private void registerTransformers_WildFly_19(ResourceTransformationDescriptionBuilder subsystem) {
+        rejectDefinedAttributeWithDefaultValue(subsystem, COLLECTION_MODE, SCRAPE_WINDOW);
+    }
+
     private void registerTransformers_EAP_7_2_0(ResourceTransformationDescriptionBuilder builder) {
         ResourceTransformationDescriptionBuilder subsystem = builder.addChildResource(MicroProfileMetricsExtension.SUBSYSTEM_PATH);
         rejectDefinedAttributeWithDefaultValue(subsystem, PREFIX);
@@ -74,9 +74,11 @@ class MicroProfileMetricsSubsystemAdd extends AbstractBoottimeAddStepHandler {
         final boolean securityEnabled = MicroProfileMetricsSubsystemDefinition.SECURITY_ENABLED.resolveModelAttribute(context, model).asBoolean();
         List<String> exposedSubsystems = MicroProfileMetricsSubsystemDefinition.EXPOSED_SUBSYSTEMS.unwrap(context, model);
         String prefix = MicroProfileMetricsSubsystemDefinition.PREFIX.resolveModelAttribute(context, model).asStringOrNull();
+        MetricCollectionMode collectionMode = MetricCollectionMode.forName(MicroProfileMetricsSubsystemDefinition.COLLECTION_MODE.resolveModelAttribute(context, model).asString());
+        long scrapeWindow = MicroProfileMetricsSubsystemDefinition.SCRAPE_WINDOW.resolveModelAttribute(context, model).asLong();
 
         MetricsContextService.install(context, securityEnabled);
-        MetricsCollectorService.install(context, exposedSubsystems, prefix);
+        MetricsCollectorService.install(context, exposedSubsystems, prefix, collectionMode, scrapeWindow);
         // delay the registration of the metrics in the VERIFY stage so that all resources
         // created during the RUNTIME phase will have been registered in the MRR.
         context.addStep(new OperationStepHandler() {
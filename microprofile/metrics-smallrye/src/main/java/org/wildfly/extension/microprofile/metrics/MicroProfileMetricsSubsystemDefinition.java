@@ -32,6 +32,9 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.ServiceName;
@@ -76,7 +79,24 @@ public class MicroProfileMetricsSubsystemDefinition extends PersistentResourceDe
             .setAllowExpression(true)
             .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = { SECURITY_ENABLED, EXPOSED_SUBSYSTEMS, PREFIX };
+    static final AttributeDefinition COLLECTION_MODE = SimpleAttributeDefinitionBuilder.create("collection-mode", ModelType.STRING)
+            .setDefaultValue(new ModelNode(MetricCollectionMode.ATTRIBUTE.toString()))
+            .setRequired(false)
+            .setRestartAllServices()
+            .setAllowExpression(true)
+            .setValidator(new EnumValidator<>(MetricCollectionMode.class, true, true))
+            .build();
+
+    static final AttributeDefinition SCRAPE_WINDOW = SimpleAttributeDefinitionBuilder.create("scrape-window", ModelType.LONG)
+            .setDefaultValue(new ModelNode(1000L))
+            .setRequired(false)
+            .setRestartAllServices()
+            .setAllowExpression(true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+            .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = { SECURITY_ENABLED, EXPOSED_SUBSYSTEMS, PREFIX, COLLECTION_MODE, SCRAPE_WINDOW };
 
     protected MicroProfileMetricsSubsystemDefinition() {
         super(new SimpleResourceDefinition.Parameters(MicroProfileMetricsExtension.SUBSYSTEM_PATH,
@@ -66,4 +66,7 @@ public interface MicroProfileMetricsLogger extends BasicLogger {
 
     @Message(id = 5, value = "Metric attribute %s on %s is undefined and will not be exposed.")
     IllegalStateException undefinedMetric(String attributeName, PathAddress address);
+
+    @Message(id = 6, value = "Unable to read runtime attributes of %s: %s.")
+    IllegalStateException unableToReadResource(PathAddress address, String error);
 }
@@ -28,6 +28,7 @@ import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
 
 /**
  * Creates builder of a service that triggers container events for use by {@link org.jboss.modcluster.container.ContainerEventHandler}.
+ * The service may additionally provide the {@link ContainerLoadStatistics} of the container under the name of {@link ContainerLoadStatisticsServiceNameProvider}.
  *
  * @author Paul Ferraro
  * @author Radoslav Husar
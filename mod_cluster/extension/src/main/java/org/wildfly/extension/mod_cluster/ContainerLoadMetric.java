@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Enumeration of runtime load metrics of a proxy configuration, i.e. the raw values backing the container specific load metrics.
+ */
+public enum ContainerLoadMetric implements Metric<ContainerLoadStatistics> {
+
+    ACTIVE_REQUEST_COUNT("active-request-count", ModelType.INT, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(ContainerLoadStatistics statistics) {
+            return new ModelNode(statistics.getActiveRequestCount());
+        }
+    },
+    RESPONSE_TIME("response-time", ModelType.DOUBLE, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(ContainerLoadStatistics statistics) {
+            return new ModelNode(statistics.getResponseTime());
+        }
+    },
+    WORKER_QUEUE_SIZE("worker-queue-size", ModelType.INT, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(ContainerLoadStatistics statistics) {
+            return new ModelNode(statistics.getWorkerQueueSize());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    ContainerLoadMetric(String name, ModelType type, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true)
+                .setFlags(AttributeAccess.Flag.GAUGE_METRIC)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.mod_cluster;
+
+/**
+ * Runtime load statistics of the web container registered with the reverse proxies by a given proxy configuration.
+ * Provided by the service created via {@link ContainerEventHandlerAdapterServiceConfiguratorProvider}, if supported by the container,
+ * under the service name of {@link ContainerLoadStatisticsServiceNameProvider}.
+ */
+public interface ContainerLoadStatistics {
+
+    /**
+     * @return the number of tasks queued by the worker of the proxy connector
+     */
+    int getWorkerQueueSize();
+
+    /**
+     * @return the number of requests currently active
+     */
+    int getActiveRequestCount();
+
+    /**
+     * @return the highest moving average response time, in milliseconds, of the registered contexts
+     */
+    double getResponseTime();
+}
@@ -61,10 +61,11 @@ class ModClusterSubsystemResourceDefinition extends SubsystemResourceDefinition<
         ResourceDescriptor descriptor = new ResourceDescriptor(this.getResourceDescriptionResolver());
 
         ServiceValueExecutorRegistry<ModClusterServiceMBean> registry = new ServiceValueExecutorRegistry<>();
-        ResourceServiceHandler handler = new ModClusterSubsystemServiceHandler(registry);
+        ServiceValueExecutorRegistry<ContainerLoadStatistics> statisticsRegistry = new ServiceValueExecutorRegistry<>();
+        ResourceServiceHandler handler = new ModClusterSubsystemServiceHandler(registry, statisticsRegistry);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
-        new ProxyConfigurationResourceDefinition(registry).register(registration);
+        new ProxyConfigurationResourceDefinition(registry, statisticsRegistry).register(registration);
 
         // Deprecated legacy operations which are exposed at the wrong location
         if (parent.isRuntimeOnlyRegistrationValid()) {
@@ -65,9 +65,11 @@ import org.wildfly.clustering.service.ServiceConfigurator;
 class ModClusterSubsystemServiceHandler implements ResourceServiceHandler {
 
     private final ServiceValueRegistry<ModClusterServiceMBean> registry;
+    private final ServiceValueRegistry<ContainerLoadStatistics> statisticsRegistry;
 
-    ModClusterSubsystemServiceHandler(ServiceValueRegistry<ModClusterServiceMBean> registry) {
+    ModClusterSubsystemServiceHandler(ServiceValueRegistry<ModClusterServiceMBean> registry, ServiceValueRegistry<ContainerLoadStatistics> statisticsRegistry) {
         this.registry = registry;
+        this.statisticsRegistry = statisticsRegistry;
     }
 
     @Override
@@ -105,6 +107,7 @@ class ModClusterSubsystemServiceHandler implements ResourceServiceHandler {
                 // Install services for web container integration
                 for (ContainerEventHandlerAdapterServiceConfiguratorProvider provider : ServiceLoader.load(ContainerEventHandlerAdapterServiceConfiguratorProvider.class, ContainerEventHandlerAdapterServiceConfiguratorProvider.class.getClassLoader())) {
                     provider.getServiceConfigurator(proxyName, listenerName, Duration.ofSeconds(statusInterval)).configure(context).build(target).setInitialMode(Mode.PASSIVE).install();
+                    new ServiceValueCaptorServiceConfigurator<>(this.statisticsRegistry.add(new ContainerLoadStatisticsServiceNameProvider(proxyName).getServiceName())).build(target).install();
                 }
             }
 
@@ -34,6 +34,7 @@ import org.jboss.as.clustering.controller.ChildResourceDefinition;
 import org.jboss.as.clustering.controller.CommonUnaryRequirement;
 import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
 import org.jboss.as.clustering.controller.ManagementResourceRegistration;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.OperationHandler;
 import org.jboss.as.clustering.controller.ReloadRequiredResourceRegistration;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
@@ -347,10 +348,12 @@ public class ProxyConfigurationResourceDefinition extends ChildResourceDefinitio
     }
 
     private final FunctionExecutorRegistry<ModClusterServiceMBean> executors;
+    private final FunctionExecutorRegistry<ContainerLoadStatistics> statisticsExecutors;
 
-    public ProxyConfigurationResourceDefinition(FunctionExecutorRegistry<ModClusterServiceMBean> executors) {
+    public ProxyConfigurationResourceDefinition(FunctionExecutorRegistry<ModClusterServiceMBean> executors, FunctionExecutorRegistry<ContainerLoadStatistics> statisticsExecutors) {
         super(WILDCARD_PATH, ModClusterExtension.SUBSYSTEM_RESOLVER.createChildResolver(WILDCARD_PATH));
         this.executors = executors;
+        this.statisticsExecutors = statisticsExecutors;
     }
 
     @SuppressWarnings("deprecation")
@@ -413,6 +416,7 @@ public class ProxyConfigurationResourceDefinition extends ChildResourceDefinitio
 
         if (registration.isRuntimeOnlyRegistrationValid()) {
             new OperationHandler<>(new ProxyOperationExecutor(this.executors), ProxyOperation.class).register(registration);
+            new MetricHandler<>(new ContainerLoadMetricExecutor(this.statisticsExecutors), ContainerLoadMetric.class).register(registration);
         }
 
         new ReloadRequiredResourceRegistration(descriptor).register(registration);
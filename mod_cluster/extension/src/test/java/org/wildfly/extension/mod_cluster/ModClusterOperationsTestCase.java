@@ -21,6 +21,8 @@
  */
 package org.wildfly.extension.mod_cluster;
 
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_TYPE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPRECATED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
@@ -28,6 +30,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAM
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_OPERATION_NAMES_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_DESCRIPTION_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
@@ -41,6 +44,7 @@ import org.jboss.as.clustering.controller.Operations;
 import org.jboss.as.clustering.subsystem.AdditionalInitialization;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.registry.AttributeAccess.AccessType;
 import org.jboss.as.subsystem.test.AbstractSubsystemTest;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.dmr.ModelNode;
@@ -89,6 +93,29 @@ public class ModClusterOperationsTestCase extends AbstractSubsystemTest {
         }
     }
 
+    /**
+     * Tests that the runtime load metrics are registered at the proxy address and readable.
+     */
+    @Test
+    public void testProxyLoadMetrics() throws Exception {
+        KernelServices services = this.buildKernelServices();
+
+        ModelNode op = Util.createOperation(READ_RESOURCE_DESCRIPTION_OPERATION, getProxyAddress(PROXY_NAME));
+        ModelNode result = services.executeOperation(op);
+        Assert.assertEquals(result.get(FAILURE_DESCRIPTION).asString(), SUCCESS, result.get(OUTCOME).asString());
+
+        for (ContainerLoadMetric metric : ContainerLoadMetric.values()) {
+            String name = metric.getName();
+            ModelNode description = result.get(RESULT, ATTRIBUTES, name);
+            Assert.assertTrue(String.format("'%s' metric is not registered at the proxy address", name), description.isDefined());
+            Assert.assertEquals(ACCESS_TYPE, AccessType.METRIC.toString(), description.get(ACCESS_TYPE).asString());
+
+            ModelNode readOp = Operations.createReadAttributeOperation(getProxyAddress(PROXY_NAME), metric);
+            ModelNode readResult = services.executeOperation(readOp);
+            Assert.assertEquals(readResult.get(FAILURE_DESCRIPTION).asString(), SUCCESS, readResult.get(OUTCOME).asString());
+        }
+    }
+
     /**
      * Tests that legacy proxy operations are registered at the subsystem level.
      */
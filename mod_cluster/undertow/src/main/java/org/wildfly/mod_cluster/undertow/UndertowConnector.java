@@ -25,13 +25,16 @@ package org.wildfly.mod_cluster.undertow;
 import java.net.InetAddress;
 
 import org.jboss.modcluster.container.Connector;
+import org.wildfly.extension.requestcontroller.RequestController;
 import org.wildfly.extension.undertow.AjpListenerService;
 import org.wildfly.extension.undertow.HttpListenerService;
+import org.wildfly.extension.undertow.ListenerService;
 import org.wildfly.extension.undertow.UndertowListener;
 import org.wildfly.mod_cluster.undertow.metric.BytesReceivedStreamSourceConduit;
 import org.wildfly.mod_cluster.undertow.metric.BytesSentStreamSinkConduit;
 import org.wildfly.mod_cluster.undertow.metric.RequestCountHttpHandler;
 import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
+import org.xnio.XnioWorker;
 
 /**
  * Adapts {@link UndertowListener} to a {@link Connector}.
@@ -42,10 +45,16 @@ import org.wildfly.mod_cluster.undertow.metric.RunningRequestsHttpHandler;
 public class UndertowConnector implements Connector {
 
     private final UndertowListener listener;
+    private final RequestController requestController;
     private InetAddress address;
 
     public UndertowConnector(UndertowListener listener) {
+        this(listener, null);
+    }
+
+    public UndertowConnector(UndertowListener listener, RequestController requestController) {
         this.listener = listener;
+        this.requestController = requestController;
     }
 
     @Override
@@ -128,6 +137,26 @@ public class UndertowConnector implements Connector {
         return RequestCountHttpHandler.getRequestCount();
     }
 
+    /**
+     * @return int number of tasks queued by the worker of this connector's listener
+     */
+    public int getWorkerQueueSize() {
+        if (this.listener instanceof ListenerService) {
+            XnioWorker worker = ((ListenerService) this.listener).getWorker().getOptionalValue();
+            if (worker != null) {
+                return worker.getMXBean().getWorkerQueueSize();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return int number of requests active according to the request controller, or 0 if the request controller is not installed
+     */
+    public int getActiveRequestCount() {
+        return (this.requestController != null) ? this.requestController.getActiveRequestCount() : 0;
+    }
+
     @Override
     public String toString() {
         return this.listener.getName();
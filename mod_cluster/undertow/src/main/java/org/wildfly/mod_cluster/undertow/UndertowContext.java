@@ -52,6 +52,13 @@ public class UndertowContext implements Context {
         this.host = host;
     }
 
+    /**
+     * @return the Undertow deployment of this context
+     */
+    public Deployment getDeployment() {
+        return this.deployment;
+    }
+
     @Override
     public Host getHost() {
         return this.host;
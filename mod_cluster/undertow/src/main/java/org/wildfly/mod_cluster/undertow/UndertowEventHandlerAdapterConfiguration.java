@@ -26,6 +26,7 @@ import java.time.Duration;
 
 import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.modcluster.container.ContainerEventHandler;
+import org.wildfly.extension.requestcontroller.RequestController;
 import org.wildfly.extension.undertow.Server;
 import org.wildfly.extension.undertow.UndertowListener;
 import org.wildfly.extension.undertow.UndertowService;
@@ -43,4 +44,8 @@ public interface UndertowEventHandlerAdapterConfiguration {
     SuspendController getSuspendController();
     UndertowListener getListener();
     Server getServer();
+    /**
+     * @return the request controller, or null, if the request controller is not installed
+     */
+    RequestController getRequestController();
 }
@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import io.undertow.servlet.api.Deployment;
 
@@ -43,9 +44,11 @@ import org.jboss.modcluster.container.Server;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.mod_cluster.ContainerLoadStatistics;
 import org.wildfly.extension.undertow.Host;
 import org.wildfly.extension.undertow.UndertowEventListener;
 import org.wildfly.extension.undertow.UndertowService;
+import org.wildfly.mod_cluster.undertow.metric.UndertowLoadStatistics;
 
 /**
  * Builds a service exposing an Undertow subsystem adapter to mod_cluster's {@link ContainerEventHandler}.
@@ -58,23 +61,27 @@ public class UndertowEventHandlerAdapterService implements UndertowEventListener
     private static final Logger log = Logger.getLogger("org.jboss.mod_cluster.undertow");
 
     private final UndertowEventHandlerAdapterConfiguration configuration;
+    private final Consumer<ContainerLoadStatistics> statistics;
     private final Set<Context> contexts = new HashSet<>();
     private volatile ScheduledExecutorService executor;
     private volatile Server server;
     private volatile Connector connector;
     private volatile String serverName;
 
-    public UndertowEventHandlerAdapterService(UndertowEventHandlerAdapterConfiguration configuration) {
+    public UndertowEventHandlerAdapterService(UndertowEventHandlerAdapterConfiguration configuration, Consumer<ContainerLoadStatistics> statistics) {
         this.configuration = configuration;
+        this.statistics = statistics;
     }
 
     @Override
     public void start(StartContext context) {
         UndertowService service = this.configuration.getUndertowService();
         ContainerEventHandler eventHandler = this.configuration.getContainerEventHandler();
-        this.connector = new UndertowConnector(this.configuration.getListener());
+        UndertowConnector connector = new UndertowConnector(this.configuration.getListener(), this.configuration.getRequestController());
+        this.connector = connector;
         this.serverName = this.configuration.getServer().getName();
-        this.server = new UndertowServer(this.serverName, service, this.connector);
+        this.server = new UndertowServer(this.serverName, service, connector);
+        this.statistics.accept(new UndertowLoadStatistics(this.server, connector));
 
         // Register ourselves as a listener to the container events
         service.registerListener(this);
@@ -23,6 +23,7 @@
 package org.wildfly.mod_cluster.undertow;
 
 import java.time.Duration;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
@@ -36,8 +37,12 @@ import org.wildfly.clustering.service.AsyncServiceConfigurator;
 import org.wildfly.clustering.service.CompositeDependency;
 import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
+import org.wildfly.clustering.service.SimpleSupplierDependency;
 import org.wildfly.clustering.service.SupplierDependency;
+import org.wildfly.extension.mod_cluster.ContainerLoadStatistics;
+import org.wildfly.extension.mod_cluster.ContainerLoadStatisticsServiceNameProvider;
 import org.wildfly.extension.mod_cluster.ProxyConfigurationResourceDefinition;
+import org.wildfly.extension.requestcontroller.RequestController;
 import org.wildfly.extension.undertow.Capabilities;
 import org.wildfly.extension.undertow.Server;
 import org.wildfly.extension.undertow.UndertowListener;
@@ -58,6 +63,7 @@ public class UndertowEventHandlerAdapterServiceConfigurator extends UndertowEven
 
     private volatile SupplierDependency<UndertowService> service;
     private volatile SupplierDependency<UndertowListener> listener;
+    private volatile SupplierDependency<RequestController> requestController;
 
     public UndertowEventHandlerAdapterServiceConfigurator(String proxyName, String listenerName, Duration statusInterval) {
         super(proxyName);
@@ -71,15 +77,17 @@ public class UndertowEventHandlerAdapterServiceConfigurator extends UndertowEven
         this.service = new ServiceSupplierDependency<>(support.getCapabilityServiceName(Capabilities.CAPABILITY_UNDERTOW));
         this.listener = new ServiceSupplierDependency<>(support.getCapabilityServiceName(Capabilities.CAPABILITY_LISTENER, this.listenerName));
         this.suspendController = new ServiceSupplierDependency<>(support.getCapabilityServiceName(Capabilities.REF_SUSPEND_CONTROLLER));
+        this.requestController = support.hasCapability(Capabilities.REF_REQUEST_CONTROLLER) ? new ServiceSupplierDependency<>(support.getCapabilityServiceName(Capabilities.REF_REQUEST_CONTROLLER)) : new SimpleSupplierDependency<>(null);
         return this;
     }
 
     @Override
     public ServiceBuilder<?> build(ServiceTarget target) {
         ServiceBuilder<?> builder = new AsyncServiceConfigurator(this.getServiceName()).build(target);
-        new CompositeDependency(this.service, this.listener, this.suspendController).register(builder);
+        new CompositeDependency(this.service, this.listener, this.suspendController, this.requestController).register(builder);
         this.eventHandler = builder.requires(ProxyConfigurationResourceDefinition.Capability.SERVICE.getDefinition().getCapabilityServiceName(proxyName));
-        Service service = new UndertowEventHandlerAdapterService(this);
+        Consumer<ContainerLoadStatistics> statistics = builder.provides(new ContainerLoadStatisticsServiceNameProvider(this.proxyName).getServiceName());
+        Service service = new UndertowEventHandlerAdapterService(this, statistics);
         return builder.setInstance(service);
     }
 
@@ -112,4 +120,9 @@ public class UndertowEventHandlerAdapterServiceConfigurator extends UndertowEven
     public Server getServer() {
         return this.listener.get().getServer();
     }
+
+    @Override
+    public RequestController getRequestController() {
+        return this.requestController.get();
+    }
 }
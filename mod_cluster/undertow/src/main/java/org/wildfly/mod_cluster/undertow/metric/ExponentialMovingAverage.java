@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free, time-based exponentially weighted moving average.
+ * Each sample is weighted by the time elapsed since the previous sample, such that the average reflects the samples of the last time constant,
+ * independently of the sample rate. While no samples are recorded, the average decays towards zero.
+ *
+ * @since 20.0
+ */
+public class ExponentialMovingAverage {
+
+    private final double timeConstant;
+    private final AtomicReference<Sample> current = new AtomicReference<>();
+
+    /**
+     * Creates a moving average with the specified time constant.
+     * @param timeConstant the duration after which the weight of a sample has decayed to 1/e
+     * @param unit the unit of the time constant
+     */
+    public ExponentialMovingAverage(long timeConstant, TimeUnit unit) {
+        this.timeConstant = unit.toNanos(timeConstant);
+    }
+
+    /**
+     * Adds the specified sample to this moving average.
+     * @param value a sample value
+     * @param time the {@link System#nanoTime()} of the sample
+     */
+    public void add(double value, long time) {
+        Sample current;
+        Sample next;
+        do {
+            current = this.current.get();
+            // Samples recorded out of order, e.g. by concurrent threads, are weighted as if recorded at the same time as the current sample
+            next = (current != null) ? new Sample(current.value + this.weight(time - current.time) * (value - current.value), Math.max(time, current.time)) : new Sample(value, time);
+        } while (!this.current.compareAndSet(current, next));
+    }
+
+    /**
+     * Returns the value of this moving average, decayed by the time elapsed since the most recent sample.
+     * @param time the current {@link System#nanoTime()}
+     * @return the moving average, or 0 if no samples were recorded
+     */
+    public double get(long time) {
+        Sample current = this.current.get();
+        return (current != null) ? current.value * (1d - this.weight(time - current.time)) : 0d;
+    }
+
+    private double weight(long elapsed) {
+        return (elapsed > 0) ? 1d - Math.exp(-elapsed / this.timeConstant) : 0d;
+    }
+
+    private static class Sample {
+        final double value;
+        final long time;
+
+        Sample(double value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+}
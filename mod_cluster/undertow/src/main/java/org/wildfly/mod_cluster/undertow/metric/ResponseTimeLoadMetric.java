@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.modcluster.container.Context;
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.container.Host;
+import org.jboss.modcluster.load.metric.impl.AbstractLoadMetric;
+import org.wildfly.mod_cluster.undertow.UndertowContext;
+
+/**
+ * {@link org.jboss.modcluster.load.metric.LoadMetric} reporting the highest moving average response time, in milliseconds, of the contexts of an engine.
+ * Unlike the request count or busyness metrics, this metric reflects slow back-end resources, e.g. a slow database.
+ * Requires the {@link ResponseTimeServletExtension}, which is registered on deployment when this metric is enabled.
+ *
+ * @since 20.0
+ */
+public class ResponseTimeLoadMetric extends AbstractLoadMetric {
+
+    @Override
+    public double getLoad(Engine engine) {
+        long now = System.nanoTime();
+        double load = 0d;
+        for (Host host : engine.getHosts()) {
+            for (Context context : host.getContexts()) {
+                if (context instanceof UndertowContext) {
+                    ExponentialMovingAverage responseTime = ResponseTimeServletExtension.getResponseTime(((UndertowContext) context).getDeployment().getServletContext());
+                    if (responseTime != null) {
+                        load = Math.max(load, responseTime.get(now) / TimeUnit.MILLISECONDS.toNanos(1));
+                    }
+                }
+            }
+        }
+        return load;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.mod_cluster.undertow.metric;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContext;
+
+import io.undertow.servlet.ServletExtension;
+import io.undertow.servlet.api.DeploymentInfo;
+
+/**
+ * {@link ServletExtension} that records the moving average response time of the requests to a deployment via a {@link ResponseTimeHttpHandler}.
+ * The moving average is stored as a servlet context attribute of the deployment, and is thereby discarded on undeploy.
+ *
+ * @since 20.0
+ */
+public class ResponseTimeServletExtension implements ServletExtension {
+
+    static final String RESPONSE_TIME_ATTRIBUTE = ResponseTimeServletExtension.class.getName();
+
+    private static final long TIME_CONSTANT_SECONDS = 10;
+
+    @Override
+    public void handleDeployment(DeploymentInfo deploymentInfo, ServletContext servletContext) {
+        ExponentialMovingAverage responseTime = new ExponentialMovingAverage(TIME_CONSTANT_SECONDS, TimeUnit.SECONDS);
+        deploymentInfo.addServletContextAttribute(RESPONSE_TIME_ATTRIBUTE, responseTime);
+        deploymentInfo.addInitialHandlerChainWrapper(handler -> new ResponseTimeHttpHandler(handler, responseTime));
+    }
+
+    /**
+     * Returns the moving average response time of the deployment with the specified servlet context, if recorded.
+     * @param servletContext the servlet context of a deployment
+     * @return the moving average response time, or null, if the response time of this deployment is not recorded
+     */
+    static ExponentialMovingAverage getResponseTime(ServletContext servletContext) {
+        Object responseTime = servletContext.getAttribute(RESPONSE_TIME_ATTRIBUTE);
+        return (responseTime instanceof ExponentialMovingAverage) ? (ExponentialMovingAverage) responseTime : null;
+    }
+}
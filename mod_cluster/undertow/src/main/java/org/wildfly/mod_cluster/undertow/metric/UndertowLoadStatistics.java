@@ -0,0 +1,64 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.mod_cluster.undertow.metric;
+
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.container.Server;
+import org.wildfly.extension.mod_cluster.ContainerLoadStatistics;
+import org.wildfly.mod_cluster.undertow.UndertowConnector;
+
+/**
+ * {@link ContainerLoadStatistics} of an Undertow server, reporting the raw values of the Undertow specific load metrics.
+ *
+ * @since 20.0
+ */
+public class UndertowLoadStatistics implements ContainerLoadStatistics {
+
+    private final ResponseTimeLoadMetric responseTimeMetric = new ResponseTimeLoadMetric();
+    private final Server server;
+    private final UndertowConnector connector;
+
+    public UndertowLoadStatistics(Server server, UndertowConnector connector) {
+        this.server = server;
+        this.connector = connector;
+    }
+
+    @Override
+    public int getWorkerQueueSize() {
+        return this.connector.getWorkerQueueSize();
+    }
+
+    @Override
+    public int getActiveRequestCount() {
+        return this.connector.getActiveRequestCount();
+    }
+
+    @Override
+    public double getResponseTime() {
+        double responseTime = 0d;
+        for (Engine engine : this.server.getEngines()) {
+            responseTime = Math.max(responseTime, this.responseTimeMetric.getLoad(engine));
+        }
+        return responseTime;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ExponentialMovingAverage}.
+ */
+public class ExponentialMovingAverageTestCase {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void test() {
+        ExponentialMovingAverage average = new ExponentialMovingAverage(1, TimeUnit.SECONDS);
+
+        assertEquals(0d, average.get(0L), 0d);
+
+        // First sample is the average
+        average.add(100d, SECOND);
+        assertEquals(100d, average.get(SECOND), 0d);
+
+        // Sample recorded one time constant later carries a weight of 1 - 1/e
+        average.add(200d, 2 * SECOND);
+        assertEquals(100d + (1d - Math.exp(-1d)) * 100d, average.get(2 * SECOND), 0.0001d);
+
+        // Out of order sample carries no weight
+        double current = average.get(2 * SECOND);
+        average.add(1000d, SECOND);
+        assertEquals(current, average.get(2 * SECOND), 0d);
+
+        // Average decays while idle
+        assertEquals(current * Math.exp(-1d), average.get(3 * SECOND), 0.0001d);
+        assertTrue(average.get(100 * SECOND) < 0.0001d);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.mod_cluster.undertow.metric;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.ServletContext;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.servlet.api.Deployment;
+import io.undertow.servlet.api.DeploymentInfo;
+import org.jboss.modcluster.container.Context;
+import org.jboss.modcluster.container.Engine;
+import org.jboss.modcluster.container.Host;
+import org.junit.Test;
+import org.wildfly.mod_cluster.undertow.UndertowContext;
+
+/**
+ * Unit test for {@link ResponseTimeLoadMetric} and {@link ResponseTimeServletExtension}.
+ */
+public class ResponseTimeLoadMetricTestCase {
+
+    @Test
+    public void extension() {
+        DeploymentInfo info = new DeploymentInfo();
+
+        new ResponseTimeServletExtension().handleDeployment(info, mock(ServletContext.class));
+
+        assertTrue(info.getServletContextAttributes().get(ResponseTimeServletExtension.RESPONSE_TIME_ATTRIBUTE) instanceof ExponentialMovingAverage);
+        assertEquals(1, info.getInitialHandlerChainWrappers().size());
+        assertTrue(info.getInitialHandlerChainWrappers().get(0).wrap(mock(HttpHandler.class)) instanceof ResponseTimeHttpHandler);
+
+        // Each deployment records its own response time
+        DeploymentInfo otherInfo = new DeploymentInfo();
+        new ResponseTimeServletExtension().handleDeployment(otherInfo, mock(ServletContext.class));
+
+        assertNotSame(info.getServletContextAttributes().get(ResponseTimeServletExtension.RESPONSE_TIME_ATTRIBUTE), otherInfo.getServletContextAttributes().get(ResponseTimeServletExtension.RESPONSE_TIME_ATTRIBUTE));
+    }
+
+    @Test
+    public void getLoad() {
+        Engine engine = mock(Engine.class);
+        Host host1 = mock(Host.class);
+        Host host2 = mock(Host.class);
+        // Same context path on different hosts
+        Context context1 = this.createContext(100);
+        Context context2 = this.createContext(300);
+        Context context3 = this.createContext(-1);
+        Context context4 = mock(Context.class);
+
+        when(engine.getHosts()).thenReturn(Arrays.asList(host1, host2));
+        when(host1.getContexts()).thenReturn(Arrays.asList(context1, context3, context4));
+        when(host2.getContexts()).thenReturn(Collections.singletonList(context2));
+
+        assertEquals(300d, new ResponseTimeLoadMetric().getLoad(engine), 0.001d);
+    }
+
+    @Test
+    public void getLoadWithoutResponseTimes() {
+        Engine engine = mock(Engine.class);
+        Host host = mock(Host.class);
+        Context context = this.createContext(-1);
+
+        when(engine.getHosts()).thenReturn(Collections.singletonList(host));
+        when(host.getContexts()).thenReturn(Collections.singletonList(context));
+
+        assertEquals(0d, new ResponseTimeLoadMetric().getLoad(engine), 0d);
+    }
+
+    /**
+     * Creates a context with the specified response time, in milliseconds, or without a recorded response time, if negative.
+     */
+    private Context createContext(long responseTimeMillis) {
+        UndertowContext context = mock(UndertowContext.class);
+        Deployment deployment = mock(Deployment.class);
+        ServletContext servletContext = mock(ServletContext.class);
+        when(context.getPath()).thenReturn("/app");
+        when(context.getDeployment()).thenReturn(deployment);
+        when(deployment.getServletContext()).thenReturn(servletContext);
+        if (responseTimeMillis >= 0) {
+            ExponentialMovingAverage responseTime = new ExponentialMovingAverage(10, TimeUnit.SECONDS);
+            // Record the sample as of a future time, so that it does not decay before the load is computed
+            responseTime.add(TimeUnit.MILLISECONDS.toNanos(responseTimeMillis), System.nanoTime() + TimeUnit.HOURS.toNanos(1));
+            when(servletContext.getAttribute(ResponseTimeServletExtension.RESPONSE_TIME_ATTRIBUTE)).thenReturn(responseTime);
+            assertNotNull(ResponseTimeServletExtension.getResponseTime(servletContext));
+        } else {
+            assertNull(ResponseTimeServletExtension.getResponseTime(servletContext));
+        }
+        return context;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.naming;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.Name;
+
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Cache of resolved lookup results of a {@link ServiceBasedNamingStore}, keyed by the absolute name of the lookup.
+ * <p/>
+ * Only results which are immutable, and whose resolution does not leave the service based naming stores, are cached,
+ * i.e. a cached result is indistinguishable from the one a fresh lookup would return. Since links may resolve across
+ * naming stores, entries are stamped with a global generation, which is advanced whenever a binding is added to or
+ * removed from any store, or a binding service goes down. Entries of a previous generation are never returned.
+ */
+final class LookupCache {
+
+    /**
+     * The maximum number of entries per naming store, a value of zero disables the cache.
+     */
+    static final int MAX_SIZE = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged("org.jboss.as.naming.lookup-cache.max-size", "1024"));
+
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    private final Map<Name, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the current generation, which should be obtained before resolving the value to be cached.
+     */
+    static long generation() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Invalidates the entries of all caches.
+     */
+    static void invalidate() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Indicates whether the specified lookup result may be cached.
+     */
+    static boolean isCacheable(Object value) {
+        return (value instanceof String) || (value instanceof Boolean) || (value instanceof Character) || (value instanceof Byte) || (value instanceof Short)
+                || (value instanceof Integer) || (value instanceof Long) || (value instanceof Float) || (value instanceof Double)
+                || (value instanceof Class) || (value instanceof Enum);
+    }
+
+    /**
+     * Returns the cached result of a lookup of the specified absolute name, or null, if there is no valid entry.
+     */
+    Object get(Name name) {
+        final Entry entry = this.entries.get(name);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.generation != GENERATION.get()) {
+            this.entries.remove(name, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches the result of a lookup of the specified absolute name, if it is cacheable and no binding changed since the specified generation.
+     */
+    void put(Name name, long generation, Object value) {
+        if ((MAX_SIZE <= 0) || !isCacheable(value) || (generation != GENERATION.get())) {
+            return;
+        }
+        if (this.entries.size() >= MAX_SIZE) {
+            this.purge(generation);
+            if (this.entries.size() >= MAX_SIZE) {
+                return;
+            }
+        }
+        this.entries.put((Name) name.clone(), new Entry(generation, value));
+    }
+
+    /**
+     * Removes all entries of this cache.
+     */
+    void clear() {
+        this.entries.clear();
+    }
+
+    int size() {
+        return this.entries.size();
+    }
+
+    private void purge(long generation) {
+        Iterator<Entry> values = this.entries.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().generation != generation) {
+                values.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+        final long generation;
+        final Object value;
+
+        Entry(long generation, Object value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -202,10 +202,21 @@ public class NamingContext implements EventContext {
 
         final Name absoluteName = getAbsoluteName(name);
 
+        final LookupCache lookupCache = (dereference && namingStore instanceof ServiceBasedNamingStore) ? ((ServiceBasedNamingStore) namingStore).getLookupCache() : null;
+        if (lookupCache != null) {
+            final Object cached = lookupCache.get(absoluteName);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final long generation = LookupCache.generation();
+        boolean cacheable = true;
+
         Object result;
         try {
             result = namingStore.lookup(absoluteName,dereference);
         } catch(CannotProceedException cpe) {
+            cacheable = false;
             final Context continuationContext = NamingManager.getContinuationContext(cpe);
             if (continuationContext instanceof NamingContext) {
                 result = ((NamingContext)continuationContext).lookup(cpe.getRemainingName(), dereference);
@@ -236,13 +247,18 @@ public class NamingContext implements EventContext {
                 return namingContext.lookup(resolveResult.getRemainingName());
             }
         } else if (result instanceof LinkRef) {
+            cacheable = isLocalLink(result);
             result = resolveLink(result,dereference);
         } else if (result instanceof Reference) {
             result = getObjectInstance(result, absoluteName, environment);
             if (result instanceof LinkRef) {
+                cacheable = isLocalLink(result);
                 result = resolveLink(result,dereference);
             }
         }
+        if (lookupCache != null && cacheable) {
+            lookupCache.put(absoluteName, generation, result);
+        }
         return result;
     }
 
@@ -580,6 +596,18 @@ public class NamingContext implements EventContext {
         return linkResult;
     }
 
+    /**
+     * Indicates whether the target of the specified link is the same for every caller, i.e. whether it is relative, or
+     * within a java: namespace which does not depend on the current component, module or application.
+     */
+    private static boolean isLocalLink(Object link) throws NamingException {
+        final String referenceName = ((LinkRef) link).getLinkName();
+        if (referenceName.startsWith("./")) {
+            return true;
+        }
+        return referenceName.startsWith("java:") && !referenceName.startsWith("java:comp") && !referenceName.startsWith("java:module") && !referenceName.startsWith("java:app");
+    }
+
     private void check(Name name, int actions) throws NamingException {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null && WildFlySecurityManager.isChecking()) {
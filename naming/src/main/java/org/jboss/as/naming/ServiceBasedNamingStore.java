@@ -47,6 +47,8 @@ import javax.naming.spi.ResolveResult;
 
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.as.naming.logging.NamingLogger;
+import org.jboss.msc.service.LifecycleEvent;
+import org.jboss.msc.service.LifecycleListener;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceRegistry;
@@ -64,6 +66,17 @@ public class ServiceBasedNamingStore implements NamingStore {
     private final ServiceName serviceNameBase;
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
+    private final LookupCache lookupCache = new LookupCache();
+    private final LifecycleListener invalidationListener = new LifecycleListener() {
+        @Override
+        public void handleEvent(ServiceController<?> controller, LifecycleEvent event) {
+            if (event != LifecycleEvent.UP) {
+                // the binding service went down, or failed, its value must no longer be served from the lookup cache
+                LookupCache.invalidate();
+                controller.removeListener(this);
+            }
+        }
+    };
 
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
@@ -257,6 +270,8 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        LookupCache.invalidate();
+        lookupCache.clear();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -271,10 +286,27 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        LookupCache.invalidate();
+        final ServiceController<?> controller = serviceRegistry.getService(serviceName);
+        if (controller != null) {
+            controller.addListener(invalidationListener);
+        }
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        LookupCache.invalidate();
+    }
+
+    /**
+     * Invalidates the lookup cache, e.g. when the value of a binding is replaced without its service being restarted.
+     */
+    protected void invalidateLookupCache() {
+        LookupCache.invalidate();
+    }
+
+    LookupCache getLookupCache() {
+        return lookupCache;
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -37,13 +37,16 @@ import javax.naming.NamingException;
 
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.StabilityMonitor;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.Values;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -386,6 +389,40 @@ public class ServiceBasedNamingStoreTestCase {
         }
     }
 
+    @Test
+    public void testLookupCache() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "cached");
+        bindObject(bindingName, "value");
+        final Context context = new NamingContext(store, null);
+
+        assertEquals("value", context.lookup("foo/cached"));
+        assertEquals(1, store.getLookupCache().size());
+        assertEquals("value", context.lookup("foo/cached"));
+
+        // removal of the binding service must invalidate the cached result
+        final ServiceController<?> controller = container.getRequiredService(bindingName);
+        controller.setMode(ServiceController.Mode.REMOVE);
+        final StabilityMonitor monitor = new StabilityMonitor();
+        monitor.addController(controller);
+        try {
+            monitor.awaitStability();
+        } finally {
+            monitor.removeController(controller);
+        }
+        assertNull(context.lookup("foo/cached"));
+    }
+
+    @Test
+    public void testLookupCacheSkipsMutableValues() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "mutable");
+        final Object value = new Object();
+        bindObject(bindingName, value);
+        final Context context = new NamingContext(store, null);
+
+        assertEquals(value, context.lookup("foo/mutable"));
+        assertEquals(0, store.getLookupCache().size());
+    }
+
     private void assertContains(final List<? extends NameClassPair> list, String name, Class<?> type) {
         for (NameClassPair value : list) {
             if (value instanceof Binding) {
@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.OperationContext;
@@ -50,6 +51,7 @@ import org.jboss.as.controller.operations.validation.StringAllowedValuesValidato
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.CacheStatistics;
 import org.jboss.as.security.plugins.SecurityDomainContext;
 import org.jboss.as.security.service.SecurityDomainService;
 import org.jboss.dmr.ModelNode;
@@ -67,13 +69,26 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
 
     static final String CACHE_CONTAINER_NAME = "security";
     static final String INFINISPAN_CACHE_TYPE = "infinispan";
+    static final String TINY_LFU_CACHE_TYPE = "tiny-lfu";
     static final RuntimeCapability<Void> LEGACY_SECURITY_DOMAIN = RuntimeCapability.Builder.of("org.wildfly.security.legacy-security-domain", true)
             .setServiceType(SecurityDomainContext.class)
             .build();
 
     public static final SimpleAttributeDefinition CACHE_TYPE = new SimpleAttributeDefinitionBuilder(Constants.CACHE_TYPE, ModelType.STRING, true)
             .setAllowExpression(true)
-            .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE))
+            .setValidator(new StringAllowedValuesValidator("default", INFINISPAN_CACHE_TYPE, TINY_LFU_CACHE_TYPE))
+            .build();
+
+    static final SimpleAttributeDefinition CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder(Constants.CACHE_HIT_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition CACHE_MISS_COUNT = new SimpleAttributeDefinitionBuilder(Constants.CACHE_MISS_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition CACHE_EVICTION_COUNT = new SimpleAttributeDefinitionBuilder(Constants.CACHE_EVICTION_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
             .build();
 
     private final boolean registerRuntimeOnly;
@@ -109,6 +124,12 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
     @Override
     public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
         resourceRegistration.registerReadWriteAttribute(CACHE_TYPE, null, new SecurityDomainReloadWriteHandler(CACHE_TYPE));
+
+        if (registerRuntimeOnly) {
+            resourceRegistration.registerMetric(CACHE_HIT_COUNT, new CacheStatisticsHandler(CacheStatistics::getHitCount));
+            resourceRegistration.registerMetric(CACHE_MISS_COUNT, new CacheStatisticsHandler(CacheStatistics::getMissCount));
+            resourceRegistration.registerMetric(CACHE_EVICTION_COUNT, new CacheStatisticsHandler(CacheStatistics::getEvictionCount));
+        }
     }
 
     @Override
@@ -140,6 +161,30 @@ class SecurityDomainResourceDefinition extends SimpleResourceDefinition {
                 .getRequiredService(SecurityDomainService.SERVICE_NAME.append(securityDomain));
     }
 
+    /**
+     * Reads a statistic of the authentication cache of a security domain.
+     * The metric is undefined if the security domain is not started, or if its cache type does not record statistics.
+     */
+    static class CacheStatisticsHandler extends AbstractRuntimeOnlyHandler {
+        private final ToLongFunction<CacheStatistics> statistic;
+
+        CacheStatisticsHandler(ToLongFunction<CacheStatistics> statistic) {
+            this.statistic = statistic;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String securityDomain = context.getCurrentAddressValue();
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(SecurityDomainService.SERVICE_NAME.append(securityDomain));
+            if ((controller != null) && (controller.getState() == ServiceController.State.UP)) {
+                CacheStatistics statistics = ((SecurityDomainService) controller.getService()).getCacheStatistics();
+                if (statistics != null) {
+                    context.getResult().set(this.statistic.applyAsLong(statistics));
+                }
+            }
+        }
+    }
+
     static class ListCachePrincipals extends AbstractRuntimeOnlyHandler {
         static final ListCachePrincipals INSTANCE = new ListCachePrincipals();
         static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(Constants.LIST_CACHED_PRINCIPALS,
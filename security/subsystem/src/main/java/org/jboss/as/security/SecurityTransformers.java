@@ -47,8 +47,22 @@ public class SecurityTransformers implements ExtensionTransformerRegistration {
 
     @Override
     public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
-        // only register transformers for model version 1.3.0 (EAP 6.2+).
+        // only register transformers for model versions 1.3.0 (EAP 6.2+) and 2.0.0 (EAP 7.1+).
         registerTransformers_1_3_0(subsystemRegistration);
+        registerTransformers_2_0_0(subsystemRegistration);
+    }
+
+    private static void rejectTinyLFUCacheType(ResourceTransformationDescriptionBuilder securityDomain) {
+        securityDomain.getAttributeBuilder()
+                .addRejectCheck(new RejectAttributeChecker.SimpleRejectAttributeChecker(new ModelNode(SecurityDomainResourceDefinition.TINY_LFU_CACHE_TYPE)), Constants.CACHE_TYPE)
+                .end();
+    }
+
+    private void registerTransformers_2_0_0(SubsystemTransformerRegistration subsystemRegistration) {
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        rejectTinyLFUCacheType(builder.addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH));
+
+        TransformationDescription.Tools.register(builder.build(), subsystemRegistration, ModelVersion.create(2, 0, 0));
     }
 
     private void registerTransformers_1_3_0(SubsystemTransformerRegistration subsystemRegistration) {
@@ -63,8 +77,9 @@ public class SecurityTransformers implements ExtensionTransformerRegistration {
                 .addRejectCheck(RejectAttributeChecker.DEFINED, INITIALIZE_JACC);
 
 
-        builder
-                .addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH)
+        ResourceTransformationDescriptionBuilder securityDomain = builder.addChildResource(SecurityExtension.SECURITY_DOMAIN_PATH);
+        rejectTinyLFUCacheType(securityDomain);
+        securityDomain
                 .addChildResource(SecurityExtension.PATH_AUDIT_CLASSIC)
                 .addChildResource(PATH_PROVIDER_MODULE)
                 .getAttributeBuilder()
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+/**
+ * Exposes the access statistics of a cache.
+ */
+public interface CacheStatistics {
+
+    /**
+     * Returns the number of lookups that found a live entry.
+     * @return a number of cache hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that did not find a live entry.
+     * @return a number of cache misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of entries removed by the cache itself, either because the cache exceeded its capacity, or because the entry expired.
+     * @return a number of cache evictions
+     */
+    long getEvictionCount();
+}
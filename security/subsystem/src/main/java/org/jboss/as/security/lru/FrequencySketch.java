@@ -0,0 +1,118 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+/**
+ * A probabilistic, fixed size, estimator of the access frequency of cache keys.
+ * <p/>
+ * Implemented as a count-min sketch of 4-bit counters, 16 of which are packed into each table slot.
+ * Once the number of recorded increments reaches a sample size proportional to the cache capacity,
+ * all counters are halved, so that the estimates favour recent history.
+ * <p/>
+ * This class is not thread-safe.
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = new long[] { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maxEntries) {
+        int maximum = Math.max(maxEntries, 1);
+        int capacity = Integer.highestOneBit(maximum);
+        if (capacity < maximum) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity];
+        this.tableMask = capacity - 1;
+        this.sampleSize = (maximum <= Integer.MAX_VALUE / 10) ? maximum * 10 : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the specified element, up to {@value #MAX_FREQUENCY}.
+     * @param element a cache key
+     * @return the estimated frequency of the element
+     */
+    int frequency(Object element) {
+        int hash = spread(element.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < 4; ++i) {
+            int index = this.indexOf(hash, i);
+            int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an occurrence of the specified element, aging all counters if the sample size was reached.
+     * @param element a cache key
+     */
+    void increment(Object element) {
+        int hash = spread(element.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; ++i) {
+            added |= this.incrementAt(this.indexOf(hash, i), start + i);
+        }
+        if (added && (++this.size == this.sampleSize)) {
+            this.reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((this.table[index] & mask) != mask) {
+            this.table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < this.table.length; ++i) {
+            odd += Long.bitCount(this.table[i] & ONE_MASK);
+            this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        }
+        this.size = (this.size >>> 1) - (odd >>> 2);
+    }
+
+    private int indexOf(int hash, int i) {
+        long result = (hash + SEEDS[i]) * SEEDS[i];
+        result += (result >>> 32);
+        return ((int) result) & this.tableMask;
+    }
+
+    private static int spread(int hash) {
+        int result = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        result = ((result >>> 16) ^ result) * 0x45d9f3b;
+        return (result >>> 16) ^ result;
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache whose eviction policy is frequency aware (W-TinyLFU).
+ * <p/>
+ * New entries are admitted to a small LRU window. Entries evicted from the window compete with the least recently used
+ * entry of the probationary segment of the main space; whichever was accessed least frequently, as estimated by a
+ * {@link FrequencySketch}, is evicted. Entries accessed while on probation are promoted to the protected segment of the
+ * main space. Unlike {@link LRUCache}, a burst of one-off entries (e.g. a scan of failed or single use logins) cannot
+ * flush the frequently used entries from the cache.
+ * <p/>
+ * Entries optionally expire once a fixed duration has elapsed since they were written. Expired entries are removed
+ * lazily, upon access.
+ * <p/>
+ * Lookups are non-blocking. Updates to the eviction policy are serialized; lookups only record their access if the
+ * policy is not concurrently being updated.
+ */
+public class TinyLFUCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, CacheStatistics {
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final Lock lock = new ReentrantLock();
+    private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+    private final AccessOrderQueue<K, V> protectedSegment = new AccessOrderQueue<>();
+    private final FrequencySketch sketch;
+    private final int maxEntries;
+    private final int windowMaxEntries;
+    private final int protectedMaxEntries;
+    private final long timeToLive;
+    private final RemoveCallback<K, V> removeCallback;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TinyLFUCache(int maxEntries) {
+        this(maxEntries, 0, TimeUnit.MILLISECONDS, null);
+    }
+
+    /**
+     * Creates a new cache.
+     * @param maxEntries the maximum number of entries retained by this cache
+     * @param timeToLive the duration after which an entry expires, or 0, if entries never expire
+     * @param unit the unit of the time to live
+     * @param removeCallback an optional callback, invoked after an entry was removed from the cache
+     */
+    public TinyLFUCache(int maxEntries, long timeToLive, TimeUnit unit, RemoveCallback<K, V> removeCallback) {
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.windowMaxEntries = Math.max(this.maxEntries / 100, 1);
+        this.protectedMaxEntries = (this.maxEntries - this.windowMaxEntries) * 4 / 5;
+        this.timeToLive = (timeToLive > 0) ? unit.toNanos(timeToLive) : 0L;
+        this.sketch = new FrequencySketch(this.maxEntries);
+        this.removeCallback = removeCallback;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = this.data.get(key);
+        if (node == null) {
+            this.misses.increment();
+            return null;
+        }
+        if (this.isExpired(node, System.nanoTime())) {
+            this.expire(node);
+            this.misses.increment();
+            return null;
+        }
+        this.hits.increment();
+        // Never block a lookup on the eviction policy, the access is simply not recorded
+        if (this.lock.tryLock()) {
+            try {
+                this.onAccess(node);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Node<K, V> node = this.data.get(key);
+        return (node != null) && !this.isExpired(node, System.nanoTime());
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return this.put(key, value, false);
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        return this.put(key, value, true);
+    }
+
+    private V put(K key, V value, boolean ifAbsent) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        long now = System.nanoTime();
+        List<Node<K, V>> evicted = new ArrayList<>(2);
+        V old = null;
+        this.lock.lock();
+        try {
+            Node<K, V> node = this.data.get(key);
+            if ((node != null) && this.isExpired(node, now)) {
+                this.data.remove(key, node);
+                this.unlink(node);
+                evicted.add(node);
+                node = null;
+            }
+            if (node != null) {
+                old = node.value;
+                if (!ifAbsent) {
+                    node.value = value;
+                    node.writeTime = now;
+                }
+                this.onAccess(node);
+            } else {
+                node = new Node<>(key, value, now);
+                this.data.put(key, node);
+                this.sketch.increment(key);
+                this.window.add(node);
+                this.evict(evicted);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        for (Node<K, V> node : evicted) {
+            this.evictions.increment();
+            this.afterRemove(node.key, node.value);
+        }
+        return old;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        long now = System.nanoTime();
+        V old = null;
+        this.lock.lock();
+        try {
+            Node<K, V> node = this.data.get(key);
+            if ((node != null) && !this.isExpired(node, now)) {
+                old = node.value;
+                node.value = value;
+                node.writeTime = now;
+                this.onAccess(node);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (old != null) {
+            this.afterRemove(key, old);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+        long now = System.nanoTime();
+        boolean replaced = false;
+        this.lock.lock();
+        try {
+            Node<K, V> node = this.data.get(key);
+            if ((node != null) && !this.isExpired(node, now) && Objects.equals(node.value, oldValue)) {
+                node.value = newValue;
+                node.writeTime = now;
+                this.onAccess(node);
+                replaced = true;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (replaced) {
+            this.afterRemove(key, oldValue);
+        }
+        return replaced;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node;
+        this.lock.lock();
+        try {
+            node = this.data.remove(key);
+            if (node != null) {
+                this.unlink(node);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (node == null) {
+            return null;
+        }
+        this.afterRemove(node.key, node.value);
+        return node.value;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        this.lock.lock();
+        try {
+            Node<K, V> node = this.data.get(key);
+            if ((node == null) || !Objects.equals(node.value, value)) {
+                return false;
+            }
+            this.data.remove(key, node);
+            this.unlink(node);
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        List<Node<K, V>> removed;
+        this.lock.lock();
+        try {
+            removed = new ArrayList<>(this.data.values());
+            this.data.clear();
+            this.window.clear();
+            this.probation.clear();
+            this.protectedSegment.clear();
+        } finally {
+            this.lock.unlock();
+        }
+        for (Node<K, V> node : removed) {
+            this.afterRemove(node.key, node.value);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.data.size();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return (this.timeToLive > 0) && (now - node.writeTime >= this.timeToLive);
+    }
+
+    private void expire(Node<K, V> node) {
+        boolean removed;
+        this.lock.lock();
+        try {
+            removed = this.data.remove(node.key, node);
+            if (removed) {
+                this.unlink(node);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+        if (removed) {
+            this.evictions.increment();
+            this.afterRemove(node.key, node.value);
+        }
+    }
+
+    private void afterRemove(K key, V value) {
+        if (this.removeCallback != null) {
+            this.removeCallback.afterRemove(key, value);
+        }
+    }
+
+    /**
+     * Records an access of the specified entry. Must be called while holding the policy lock.
+     */
+    private void onAccess(Node<K, V> node) {
+        AccessOrderQueue<K, V> queue = node.queue;
+        if (queue == null) {
+            // Concurrently removed
+            return;
+        }
+        this.sketch.increment(node.key);
+        if (queue == this.probation) {
+            this.probation.remove(node);
+            this.protectedSegment.add(node);
+            while (this.protectedSegment.size > this.protectedMaxEntries) {
+                this.probation.add(this.protectedSegment.poll());
+            }
+        } else {
+            queue.moveToBack(node);
+        }
+    }
+
+    /**
+     * Moves entries overflowing the window to the main space, evicting either the entry itself, or the probationary victim, whichever is least frequently used.
+     * Must be called while holding the policy lock.
+     */
+    private void evict(List<Node<K, V>> evicted) {
+        while (this.window.size > this.windowMaxEntries) {
+            Node<K, V> candidate = this.window.poll();
+            this.probation.add(candidate);
+            if (this.window.size + this.probation.size + this.protectedSegment.size > this.maxEntries) {
+                Node<K, V> victim = this.probation.peek();
+                Node<K, V> node = (victim != candidate) && (this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)) ? victim : candidate;
+                this.probation.remove(node);
+                this.data.remove(node.key, node);
+                evicted.add(node);
+            }
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        AccessOrderQueue<K, V> queue = node.queue;
+        if (queue != null) {
+            queue.remove(node);
+        }
+    }
+
+    private static class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long writeTime;
+        // Guarded by the policy lock
+        AccessOrderQueue<K, V> queue;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long writeTime) {
+            this.key = key;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * An intrusive doubly linked list of entries, least recently used first. Not thread-safe.
+     */
+    private static class AccessOrderQueue<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        int size;
+
+        void add(Node<K, V> node) {
+            node.queue = this;
+            node.previous = this.tail;
+            node.next = null;
+            if (this.tail == null) {
+                this.head = node;
+            } else {
+                this.tail.next = node;
+            }
+            this.tail = node;
+            this.size += 1;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                this.head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                this.tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            node.queue = null;
+            this.size -= 1;
+        }
+
+        Node<K, V> peek() {
+            return this.head;
+        }
+
+        Node<K, V> poll() {
+            Node<K, V> node = this.head;
+            if (node != null) {
+                this.remove(node);
+            }
+            return node;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != this.tail) {
+                this.remove(node);
+                this.add(node);
+            }
+        }
+
+        void clear() {
+            Node<K, V> node = this.head;
+            while (node != null) {
+                Node<K, V> next = node.next;
+                node.previous = null;
+                node.next = null;
+                node.queue = null;
+                node = next;
+            }
+            this.head = null;
+            this.tail = null;
+            this.size = 0;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> nodes = TinyLFUCache.this.data.values().iterator();
+            return new Iterator<Map.Entry<K, V>>() {
+                private Node<K, V> last;
+
+                @Override
+                public boolean hasNext() {
+                    return nodes.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    this.last = nodes.next();
+                    return new SimpleImmutableEntry<>(this.last.key, this.last.value);
+                }
+
+                @Override
+                public void remove() {
+                    if (this.last == null) {
+                        throw new IllegalStateException("next() not called");
+                    }
+                    TinyLFUCache.this.remove(this.last.key);
+                    this.last = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return TinyLFUCache.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            Node<K, V> node = TinyLFUCache.this.data.get(entry.getKey());
+            return (node != null) && Objects.equals(node.value, entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return TinyLFUCache.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public void clear() {
+            TinyLFUCache.this.clear();
+        }
+    }
+}
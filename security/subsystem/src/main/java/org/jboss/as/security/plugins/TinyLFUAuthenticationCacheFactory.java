@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.plugins;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.security.lru.TinyLFUCache;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Factory that creates frequency aware, optionally expiring, {@code ConcurrentMap}s for authentication cache.
+ * The capacity and time to live of the cache are configured via system properties.
+ */
+public class TinyLFUAuthenticationCacheFactory implements AuthenticationCacheFactory {
+
+    private static final String MAX_ENTRIES = "org.jboss.as.security.authentication-cache.max-entries";
+    private static final String TIME_TO_LIVE = "org.jboss.as.security.authentication-cache.time-to-live";
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_TIME_TO_LIVE = 0L;
+
+    /**
+     * Returns a frequency aware cache implementation
+     *
+     * @return cache implementation
+     */
+    public TinyLFUCache<Principal, DomainInfo> getCache() {
+        int maxEntries = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_ENTRIES, Integer.toString(DEFAULT_MAX_ENTRIES)));
+        long timeToLive = Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(TIME_TO_LIVE, Long.toString(DEFAULT_TIME_TO_LIVE)));
+        return new TinyLFUCache<>(maxEntries, timeToLive, TimeUnit.MILLISECONDS, (key, value) -> {
+            if (value != null) {
+                value.logout();
+            }
+        });
+    }
+}
@@ -22,16 +22,20 @@
 
 package org.jboss.as.security.service;
 
+import java.security.Principal;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.security.auth.login.Configuration;
 
 import org.jboss.as.security.SecurityExtension;
 import org.jboss.as.security.logging.SecurityLogger;
+import org.jboss.as.security.lru.CacheStatistics;
+import org.jboss.as.security.lru.TinyLFUCache;
 import org.jboss.as.security.plugins.AuthenticationCacheFactory;
 import org.jboss.as.security.plugins.DefaultAuthenticationCacheFactory;
 import org.jboss.as.security.plugins.JNDIBasedSecurityManagement;
 import org.jboss.as.security.plugins.SecurityDomainContext;
+import org.jboss.as.security.plugins.TinyLFUAuthenticationCacheFactory;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
@@ -41,6 +45,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.jboss.security.ISecurityManagement;
 import org.jboss.security.JSSESecurityDomain;
+import org.jboss.security.authentication.JBossCachedAuthenticationManager.DomainInfo;
 import org.jboss.security.config.ApplicationPolicy;
 import org.jboss.security.config.ApplicationPolicyRegistration;
 
@@ -69,6 +74,8 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
 
     private final String cacheType;
 
+    private volatile CacheStatistics cacheStatistics;
+
     public SecurityDomainService(String name, ApplicationPolicy applicationPolicy, JSSESecurityDomain jsseSecurityDomain,
             String cacheType) {
         this.name = name;
@@ -92,6 +99,10 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
             cacheFactory = () -> this.cacheValue.getValue();
         } else if ("default".equals(cacheType)) {
             cacheFactory = new DefaultAuthenticationCacheFactory();
+        } else if ("tiny-lfu".equals(cacheType)) {
+            final TinyLFUCache<Principal, DomainInfo> cache = new TinyLFUAuthenticationCacheFactory().getCache();
+            cacheFactory = () -> cache;
+            this.cacheStatistics = cache;
         }
         SecurityDomainContext sdc;
         try {
@@ -117,6 +128,7 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         final JNDIBasedSecurityManagement securityManagement = (JNDIBasedSecurityManagement) securityManagementValue.getValue();
         securityManagement.removeSecurityDomain(name);
         // TODO clear auth cache?
+        this.cacheStatistics = null;
         final ApplicationPolicyRegistration applicationPolicyRegistration = (ApplicationPolicyRegistration) configurationValue
                 .getValue();
         applicationPolicyRegistration.removeApplicationPolicy(name);
@@ -128,6 +140,15 @@ public class SecurityDomainService implements Service<SecurityDomainContext> {
         return securityDomainContext;
     }
 
+    /**
+     * Returns the statistics of the authentication cache of this security domain.
+     *
+     * @return the cache statistics, or {@code null} if the domain is not started, or if its cache type does not record statistics
+     */
+    public CacheStatistics getCacheStatistics() {
+        return cacheStatistics;
+    }
+
     /**
      * Target {@code Injector}
      *
@@ -37,6 +37,7 @@ import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.KernelServicesBuilder;
+import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -128,7 +129,9 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
                                                 "org.myorg.security.MyCustomLogAuditProvider")),
                                 new FailedOperationTransformationConfig.NewAttributesConfig(Constants.MODULE))
                         .addFailedAttribute(PathAddress.pathAddress(subsystemAddress),
-                                new FailedOperationTransformationConfig.NewAttributesConfig(Constants.INITIALIZE_JACC)));
+                                new FailedOperationTransformationConfig.NewAttributesConfig(Constants.INITIALIZE_JACC))
+                        .addFailedAttribute(PathAddress.pathAddress(subsystemAddress, PathElement.pathElement(Constants.SECURITY_DOMAIN, "tiny-lfu-cache")),
+                                new CorrectTinyLFUCacheType()));
         legacyServices.shutdown();
         mainServices.shutdown();
     }
@@ -155,4 +158,26 @@ public class SecurityTransformersTestCase extends AbstractSubsystemBaseTest {
     @Override
     public void testSchema() throws Exception {
     }
+
+    private static class CorrectTinyLFUCacheType extends FailedOperationTransformationConfig.AttributesPathAddressConfig<CorrectTinyLFUCacheType> {
+
+        CorrectTinyLFUCacheType() {
+            super(Constants.CACHE_TYPE);
+        }
+
+        @Override
+        protected boolean isAttributeWritable(String attributeName) {
+            return true;
+        }
+
+        @Override
+        protected boolean checkValue(String attrName, ModelNode attribute, boolean isWriteAttribute) {
+            return attribute.asString().equals(SecurityDomainResourceDefinition.TINY_LFU_CACHE_TYPE);
+        }
+
+        @Override
+        protected ModelNode correctValue(ModelNode toResolve, boolean isWriteAttribute) {
+            return new ModelNode("default");
+        }
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.security.lru;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TinyLFUCache}.
+ */
+public class TinyLFUCacheTestCase {
+
+    @Test
+    public void bounded() {
+        List<Integer> removed = new ArrayList<>();
+        TinyLFUCache<Integer, String> cache = new TinyLFUCache<>(100, 0, TimeUnit.MILLISECONDS, (key, value) -> removed.add(key));
+        for (int i = 0; i < 1000; ++i) {
+            cache.put(i, Integer.toString(i));
+        }
+        assertEquals(100, cache.size());
+        assertEquals(900, cache.getEvictionCount());
+        assertEquals(900, removed.size());
+        for (Integer key : removed) {
+            assertFalse(cache.containsKey(key));
+        }
+    }
+
+    @Test
+    public void frequentlyUsedEntriesSurviveScan() {
+        TinyLFUCache<Integer, String> cache = new TinyLFUCache<>(100);
+        for (int i = 0; i < 50; ++i) {
+            cache.put(i, Integer.toString(i));
+        }
+        for (int i = 1000; i < 5000; ++i) {
+            cache.put(i, Integer.toString(i));
+            // Keep the first 50 keys hot
+            assertEquals(Integer.toString(i % 50), cache.get(i % 50));
+        }
+        for (int i = 0; i < 50; ++i) {
+            assertEquals(Integer.toString(i), cache.get(i));
+        }
+        assertEquals(100, cache.size());
+    }
+
+    @Test
+    public void statistics() {
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10);
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void expiration() throws InterruptedException {
+        List<String> removed = new ArrayList<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10, 50, TimeUnit.MILLISECONDS, (key, value) -> removed.add(key));
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+        Thread.sleep(100);
+        assertFalse(cache.containsKey("a"));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, removed.size());
+
+        // A write resets the time to live
+        cache.put("b", "2");
+        Thread.sleep(30);
+        cache.put("b", "3");
+        Thread.sleep(30);
+        assertEquals("3", cache.get("b"));
+    }
+
+    @Test
+    public void remove() {
+        List<String> removed = new ArrayList<>();
+        TinyLFUCache<String, String> cache = new TinyLFUCache<>(10, 0, TimeUnit.MILLISECONDS, (key, value) -> removed.add(value));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.remove("a"));
+        assertNull(cache.remove("a"));
+        assertEquals(1, removed.size());
+        assertTrue(cache.keySet().contains("b"));
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(2, removed.size());
+    }
+}
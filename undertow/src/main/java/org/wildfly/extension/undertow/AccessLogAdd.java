@@ -63,6 +63,8 @@ class AccessLogAdd extends AbstractAddStepHandler {
         final boolean extended = AccessLogDefinition.EXTENDED.resolveModelAttribute(context, model).asBoolean();
         final ModelNode relativeToNode = AccessLogDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
+        final int bufferSize = AccessLogDefinition.BUFFER_SIZE.resolveModelAttribute(context, model).asInt();
+        final BufferedAccessLogReceiver.OverflowPolicy overflowPolicy = BufferedAccessLogReceiver.OverflowPolicy.valueOf(AccessLogDefinition.OVERFLOW_POLICY.resolveModelAttribute(context, model).asString());
 
         Predicate predicate = null;
         ModelNode predicateNode = AccessLogDefinition.PREDICATE.resolveModelAttribute(context, model);
@@ -74,7 +76,7 @@ class AccessLogAdd extends AbstractAddStepHandler {
         if (useServerLog) {
             service = new AccessLogService(pattern, extended, predicate);
         } else {
-            service = new AccessLogService(pattern, directory, relativeTo, filePrefix, fileSuffix, rotate, extended, predicate);
+            service = new AccessLogService(pattern, directory, relativeTo, filePrefix, fileSuffix, rotate, extended, predicate, bufferSize, overflowPolicy);
         }
 
         final String serverName = serverAddress.getLastElement().getValue();
@@ -25,7 +25,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
@@ -34,10 +36,15 @@ import org.jboss.as.controller.access.management.AccessConstraintDefinition;
 import org.jboss.as.controller.access.management.SensitiveTargetAccessConstraintDefinition;
 import org.jboss.as.controller.capability.DynamicNameMappers;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.dmr.ValueExpression;
+import org.jboss.msc.service.ServiceController;
 
 /**
  * @author Tomaz Cerar (c) 2013 Red Hat Inc.
@@ -110,6 +117,28 @@ class AccessLogDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    protected static final SimpleAttributeDefinition BUFFER_SIZE = new SimpleAttributeDefinitionBuilder(Constants.BUFFER_SIZE, ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(ModelNode.ZERO)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    protected static final SimpleAttributeDefinition OVERFLOW_POLICY = new SimpleAttributeDefinitionBuilder(Constants.OVERFLOW_POLICY, ModelType.STRING)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(BufferedAccessLogReceiver.OverflowPolicy.DROP.name()))
+            .setValidator(new EnumValidator<>(BufferedAccessLogReceiver.OverflowPolicy.class))
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition DROPPED_MESSAGES = new SimpleAttributeDefinitionBuilder(Constants.DROPPED_MESSAGES, ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+
     static final Collection<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             // IMPORTANT -- keep these in xsd order as this order controls marshalling
             WORKER,
@@ -121,7 +150,9 @@ class AccessLogDefinition extends PersistentResourceDefinition {
             USE_SERVER_LOG,
             RELATIVE_TO,
             EXTENDED,
-            PREDICATE
+            PREDICATE,
+            BUFFER_SIZE,
+            OVERFLOW_POLICY
     );
     static final AccessLogDefinition INSTANCE = new AccessLogDefinition();
     private final List<AccessConstraintDefinition> accessConstraints;
@@ -142,6 +173,20 @@ class AccessLogDefinition extends PersistentResourceDefinition {
         return accessConstraints;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registration) {
+        super.registerAttributes(registration);
+        registration.registerMetric(DROPPED_MESSAGES, new AbstractRuntimeOnlyHandler() {
+            @Override
+            protected void executeRuntimeStep(OperationContext context, ModelNode operation) {
+                ServiceController<?> controller = context.getServiceRegistry(false).getService(ACCESS_LOG_CAPABILITY.getCapabilityServiceName(context.getCurrentAddress()));
+                if (controller != null && controller.getState() == ServiceController.State.UP) {
+                    context.getResult().set(((AccessLogService) controller.getValue()).getDroppedMessages());
+                }
+            }
+        });
+    }
+
     @Override
     public Collection<AttributeDefinition> getAttributes() {
         //noinspection unchecked
@@ -31,6 +31,7 @@ import io.undertow.server.handlers.accesslog.AccessLogReceiver;
 import io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver;
 import io.undertow.server.handlers.accesslog.ExtendedAccessLogParser;
 import io.undertow.server.handlers.accesslog.JBossLoggingAccessLogReceiver;
+import io.undertow.server.handlers.accesslog.LogFileHeaderGenerator;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -41,6 +42,7 @@ import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 import org.xnio.XnioWorker;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -61,6 +63,8 @@ class AccessLogService implements Service<AccessLogService> {
     private final boolean useServerLog;
     private final boolean extended;
     private final Predicate predicate;
+    private final int bufferSize;
+    private final BufferedAccessLogReceiver.OverflowPolicy overflowPolicy;
     private volatile AccessLogReceiver logReceiver;
 
 
@@ -82,9 +86,11 @@ class AccessLogService implements Service<AccessLogService> {
         this.useServerLog = true;
         this.rotate = false; //doesn't really matter
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
+        this.bufferSize = 0;
+        this.overflowPolicy = null;
     }
 
-    AccessLogService(String pattern, String path, String pathRelativeTo, String filePrefix, String fileSuffix, boolean rotate, boolean extended, Predicate predicate) {
+    AccessLogService(String pattern, String path, String pathRelativeTo, String filePrefix, String fileSuffix, boolean rotate, boolean extended, Predicate predicate, int bufferSize, BufferedAccessLogReceiver.OverflowPolicy overflowPolicy) {
         this.pattern = pattern;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
@@ -94,6 +100,8 @@ class AccessLogService implements Service<AccessLogService> {
         this.extended = extended;
         this.useServerLog = false;
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
     }
 
     @Override
@@ -113,18 +121,26 @@ class AccessLogService implements Service<AccessLogService> {
                 }
             }
             try {
-                DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.getValue())
-                        .setOutputDirectory(directory)
-                        .setLogBaseName(filePrefix)
-                        .setLogNameSuffix(fileSuffix)
-                        .setRotate(rotate);
+                LogFileHeaderGenerator headerGenerator = null;
                 if(extended) {
-                    builder.setLogFileHeaderGenerator(new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern));
+                    headerGenerator = new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern);
                     extendedPattern = new ExtendedAccessLogParser(getClass().getClassLoader()).parse(pattern);
                 } else {
                     extendedPattern = null;
                 }
-                logReceiver = builder.build();
+                if (bufferSize > 0) {
+                    logReceiver = new BufferedAccessLogReceiver(worker.getValue(), directory, filePrefix, fileSuffix, rotate, headerGenerator, bufferSize, overflowPolicy);
+                } else {
+                    DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.getValue())
+                            .setOutputDirectory(directory)
+                            .setLogBaseName(filePrefix)
+                            .setLogNameSuffix(fileSuffix)
+                            .setRotate(rotate);
+                    if(headerGenerator != null) {
+                        builder.setLogFileHeaderGenerator(headerGenerator);
+                    }
+                    logReceiver = builder.build();
+                }
             } catch (IllegalStateException e) {
                 throw new StartException(e);
             }
@@ -139,8 +155,8 @@ class AccessLogService implements Service<AccessLogService> {
             callbackHandle.remove();
             callbackHandle = null;
         }
-        if( logReceiver instanceof DefaultAccessLogReceiver ) {
-            IoUtils.safeClose((DefaultAccessLogReceiver) logReceiver);
+        if( logReceiver instanceof Closeable ) {
+            IoUtils.safeClose((Closeable) logReceiver);
         }
         logReceiver = null;
     }
@@ -150,6 +166,15 @@ class AccessLogService implements Service<AccessLogService> {
         return this;
     }
 
+    /**
+     * Returns the number of messages dropped by this access log, because its buffer was full.
+     * @return a number of messages
+     */
+    long getDroppedMessages() {
+        AccessLogReceiver receiver = this.logReceiver;
+        return (receiver instanceof BufferedAccessLogReceiver) ? ((BufferedAccessLogReceiver) receiver).getDroppedCount() : 0L;
+    }
+
     InjectedValue<XnioWorker> getWorker() {
         return worker;
     }
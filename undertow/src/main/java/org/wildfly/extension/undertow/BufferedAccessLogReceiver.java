@@ -0,0 +1,394 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.undertow.server.handlers.accesslog.AccessLogReceiver;
+import io.undertow.server.handlers.accesslog.LogFileHeaderGenerator;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.xnio.IoUtils;
+
+/**
+ * An {@link AccessLogReceiver} that avoids the per message locking and string buffering of {@link io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver}.
+ * <p>
+ * The logging thread encodes each message into the direct buffer of a slot of a bounded, multi-producer, single-consumer ring buffer.
+ * A single writer task, executed by the given executor, drains the published slots in order, using gathered writes.
+ * When the ring buffer is full, messages are either dropped or the logging thread blocks until the writer frees a slot, depending on the {@link OverflowPolicy}.
+ * <p>
+ * Log files are named and rotated as per {@link io.undertow.server.handlers.accesslog.DefaultAccessLogReceiver}, i.e. the current log file is named {@code <prefix><suffix>}
+ * and, if rotation is enabled, is renamed to {@code <prefix><yyyy-MM-dd>.<suffix>} at midnight.
+ */
+class BufferedAccessLogReceiver implements AccessLogReceiver, Runnable, Closeable {
+
+    enum OverflowPolicy {
+        /** Blocks the logging thread until the writer frees a slot */
+        BLOCK,
+        /** Discards the message */
+        DROP,
+        ;
+    }
+
+    private static final int SLOT_SIZE = 512;
+    private static final int MAX_GATHER = 64;
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(UTF_8);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final ThreadLocal<CharsetEncoder> ENCODER = ThreadLocal.withInitial(() -> UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE));
+
+    private final Executor executor;
+    private final Path directory;
+    private final String prefix;
+    private final String suffix;
+    private final Path file;
+    private final boolean rotate;
+    private final LogFileHeaderGenerator headerGenerator;
+    private final OverflowPolicy policy;
+
+    // Ring buffer
+    private final int capacity;
+    private final int mask;
+    private final ByteBuffer[] buffers;
+    // Messages that do not fit into the buffer of their slot
+    private final ByteBuffer[] overflows;
+    // The sequence most recently published to each slot
+    private final AtomicLongArray published;
+    // The next sequence to claim
+    private final AtomicLong tail = new AtomicLong();
+    // The next sequence to write, only updated by the writer
+    private volatile long head = 0L;
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    // Signalled when the writer releases the writing flag after this receiver was closed
+    private final Condition idle = this.lock.newCondition();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed = false;
+
+    // Writer state, only accessed while holding the writing flag
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    private FileChannel channel;
+    private LocalDate date;
+    private long changeOverPoint;
+
+    BufferedAccessLogReceiver(Executor executor, Path directory, String prefix, String suffix, boolean rotate, LogFileHeaderGenerator headerGenerator, int size, OverflowPolicy policy) {
+        this.executor = executor;
+        this.directory = directory;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.file = directory.resolve(prefix + suffix);
+        this.rotate = rotate;
+        this.headerGenerator = headerGenerator;
+        this.policy = policy;
+        int capacity = 1;
+        while (capacity < size) {
+            capacity <<= 1;
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.buffers = new ByteBuffer[capacity];
+        this.overflows = new ByteBuffer[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; ++i) {
+            this.buffers[i] = ByteBuffer.allocateDirect(SLOT_SIZE);
+            this.published.set(i, -1L);
+        }
+    }
+
+    @Override
+    public void logMessage(String message) {
+        if (this.closed) return;
+
+        long sequence = this.claim();
+        if (sequence < 0) {
+            this.dropped.increment();
+            return;
+        }
+        int index = this.index(sequence);
+        ByteBuffer buffer = this.buffers[index];
+        buffer.clear();
+        CharsetEncoder encoder = ENCODER.get().reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(message), buffer, true);
+        if (!result.isOverflow()) {
+            result = encoder.flush(buffer);
+        }
+        if (result.isOverflow() || (buffer.remaining() < LINE_SEPARATOR.length)) {
+            this.overflows[index] = encode(message);
+        } else {
+            buffer.put(LINE_SEPARATOR).flip();
+        }
+        this.published.set(index, sequence);
+
+        this.schedule();
+    }
+
+    /**
+     * Claims the next sequence of the ring buffer.
+     * @return a sequence, or -1 if the message should be dropped.
+     */
+    private long claim() {
+        for (;;) {
+            long sequence = this.tail.get();
+            if (sequence - this.head >= this.capacity) {
+                if ((this.policy == OverflowPolicy.DROP) || !this.await(sequence)) {
+                    return -1L;
+                }
+            } else if (this.tail.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Waits until the writer frees the slot of the specified sequence.
+     * @return false, if this receiver was closed or the thread was interrupted while waiting, true otherwise
+     */
+    private boolean await(long sequence) {
+        this.lock.lock();
+        this.waiters.incrementAndGet();
+        try {
+            while (!this.closed && (sequence - this.head >= this.capacity)) {
+                // Guard against a stalled writer
+                this.schedule();
+                this.available.await(100, TimeUnit.MILLISECONDS);
+            }
+            return !this.closed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            this.waiters.decrementAndGet();
+            this.lock.unlock();
+        }
+    }
+
+    private void signal() {
+        if (this.waiters.get() > 0) {
+            this.lock.lock();
+            try {
+                this.available.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void signalIdle() {
+        this.lock.lock();
+        try {
+            this.idle.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void schedule() {
+        if (this.writing.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                this.writing.set(false);
+                this.signal();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        do {
+            this.drain();
+            this.writing.set(false);
+            if (this.closed) {
+                this.signalIdle();
+            }
+            // Re-check for messages published after draining, but before the writing flag was cleared
+        } while (this.isPublished(this.head) && this.writing.compareAndSet(false, true));
+    }
+
+    /**
+     * Writes all published messages.  Must only be called while holding the writing flag.
+     */
+    private void drain() {
+        long head = this.head;
+        for (;;) {
+            int count = 0;
+            while ((count < MAX_GATHER) && this.isPublished(head + count)) {
+                int index = this.index(head + count);
+                ByteBuffer overflow = this.overflows[index];
+                this.gather[count++] = (overflow != null) ? overflow : this.buffers[index];
+            }
+            if (count == 0) return;
+
+            this.write(count);
+
+            for (int i = 0; i < count; ++i) {
+                this.overflows[this.index(head + i)] = null;
+                this.gather[i] = null;
+            }
+            head += count;
+            this.head = head;
+            this.signal();
+        }
+    }
+
+    private void write(int count) {
+        try {
+            if (this.channel == null) {
+                this.open();
+            } else if (this.rotate && (System.currentTimeMillis() > this.changeOverPoint)) {
+                IoUtils.safeClose(this.channel);
+                this.channel = null;
+                this.rotate(this.date);
+                this.open();
+            }
+            long remaining = 0L;
+            for (int i = 0; i < count; ++i) {
+                remaining += this.gather[i].remaining();
+            }
+            while (remaining > 0) {
+                remaining -= this.channel.write(this.gather, 0, count);
+            }
+        } catch (IOException e) {
+            // Discard these messages, the next write will reopen the log file
+            UndertowLogger.ROOT_LOGGER.failedToWriteAccessLog(e, this.file);
+            IoUtils.safeClose(this.channel);
+            this.channel = null;
+        }
+    }
+
+    private void open() throws IOException {
+        LocalDate today = LocalDate.now();
+        boolean exists = Files.exists(this.file);
+        if (exists && this.rotate) {
+            // Rotate an existing log file last modified before today
+            LocalDate modified = Instant.ofEpochMilli(Files.getLastModifiedTime(this.file).toMillis()).atZone(ZoneId.systemDefault()).toLocalDate();
+            if (modified.isBefore(today)) {
+                this.rotate(modified);
+                exists = false;
+            }
+        }
+        this.date = today;
+        this.changeOverPoint = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (!exists && (this.headerGenerator != null)) {
+            for (String line : this.headerGenerator.generateHeader()) {
+                ByteBuffer buffer = encode(line);
+                while (buffer.hasRemaining()) {
+                    this.channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    private void rotate(LocalDate date) throws IOException {
+        if (!Files.exists(this.file)) return;
+        String dateString = DATE_FORMAT.format(date);
+        Path target = this.directory.resolve(this.prefix + dateString + "." + this.suffix);
+        int count = 0;
+        while (Files.exists(target)) {
+            count += 1;
+            target = this.directory.resolve(this.prefix + dateString + "-" + count + "." + this.suffix);
+        }
+        Files.move(this.file, target);
+    }
+
+    private boolean isPublished(long sequence) {
+        return this.published.get(this.index(sequence)) == sequence;
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & this.mask;
+    }
+
+    private static ByteBuffer encode(String message) {
+        byte[] bytes = message.getBytes(UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + LINE_SEPARATOR.length);
+        buffer.put(bytes).put(LINE_SEPARATOR).flip();
+        return buffer;
+    }
+
+    /**
+     * Returns the number of messages dropped because the ring buffer was full.
+     * @return a number of messages
+     */
+    long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.signal();
+        // Wait for any scheduled writer, then write any remaining messages; the writing flag is retained to prevent further writes
+        this.lock.lock();
+        try {
+            long remaining = CLOSE_TIMEOUT_NANOS;
+            while (!this.writing.compareAndSet(false, true)) {
+                if (remaining <= 0L) {
+                    // Writer did not complete, leave it to write any remaining messages
+                    return;
+                }
+                remaining = this.idle.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            this.lock.unlock();
+        }
+        try {
+            this.drain();
+        } finally {
+            IoUtils.safeClose(this.channel);
+            this.channel = null;
+        }
+        UndertowLogger.ROOT_LOGGER.debugf("Access log receiver for %s dropped %d messages", this.file, this.getDroppedCount());
+    }
+}
@@ -273,4 +273,7 @@ public interface Constants {
     String DIRECT = "direct";
     String LEAK_DETECTION_PERCENT = "leak-detection-percent";
     String BYTE_BUFFER_POOL = "byte-buffer-pool";
+    String OVERFLOW_POLICY = "overflow-policy";
+    String DROPPED_MESSAGES = "dropped-messages";
+    String MAX_CACHED_SIZE = "max-cached-size";
 }
@@ -144,7 +144,9 @@ public class UndertowSubsystemParser_10_0 extends PersistentResourceXMLParser {
                                                                 AccessLogDefinition.ROTATE,
                                                                 AccessLogDefinition.USE_SERVER_LOG,
                                                                 AccessLogDefinition.EXTENDED,
-                                                                AccessLogDefinition.PREDICATE)
+                                                                AccessLogDefinition.PREDICATE,
+                                                                AccessLogDefinition.BUFFER_SIZE,
+                                                                AccessLogDefinition.OVERFLOW_POLICY)
                                         ).addChild(
                                                 builder(ConsoleAccessLogDefinition.INSTANCE.getPathElement())
                                                     .addAttributes(
@@ -305,6 +307,7 @@ public class UndertowSubsystemParser_10_0 extends PersistentResourceXMLParser {
                                         .addAttributes(ResponseHeaderFilter.NAME, ResponseHeaderFilter.VALUE)
                         ).addChild(
                                 builder(GzipFilter.INSTANCE.getPathElement())
+                                        .addAttributes(GzipFilter.BUFFER_CACHE, GzipFilter.MAX_CACHED_SIZE)
                         ).addChild(
                                 builder(ErrorPageDefinition.INSTANCE.getPathElement())
                                         .addAttributes(ErrorPageDefinition.CODE, ErrorPageDefinition.PATH)
@@ -66,6 +66,7 @@ import org.jboss.as.controller.transform.description.RejectAttributeChecker.Simp
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.undertow.filters.GzipFilter;
 import org.wildfly.extension.undertow.filters.ModClusterDefinition;
 import org.wildfly.extension.undertow.filters.NoAffinityResourceDefinition;
 import org.wildfly.extension.undertow.filters.RankedAffinityResourceDefinition;
@@ -100,10 +101,22 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
     }
 
     private static void registerTransformersWildFly16(ResourceTransformationDescriptionBuilder subsystemBuilder) {
-        subsystemBuilder
+        final ResourceTransformationDescriptionBuilder hostBuilder = subsystemBuilder
                 .addChildResource(UndertowExtension.SERVER_PATH)
-                .addChildResource(UndertowExtension.HOST_PATH)
-                .rejectChildResource(ConsoleAccessLogDefinition.INSTANCE.getPathElement());
+                .addChildResource(UndertowExtension.HOST_PATH);
+        hostBuilder.rejectChildResource(ConsoleAccessLogDefinition.INSTANCE.getPathElement());
+        hostBuilder.addChildResource(UndertowExtension.PATH_ACCESS_LOG)
+                .getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, AccessLogDefinition.BUFFER_SIZE, AccessLogDefinition.OVERFLOW_POLICY)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, AccessLogDefinition.BUFFER_SIZE, AccessLogDefinition.OVERFLOW_POLICY)
+                .end();
+        subsystemBuilder.addChildResource(UndertowExtension.PATH_FILTERS)
+                .addChildResource(GzipFilter.INSTANCE.getPathElement())
+                .getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, GzipFilter.BUFFER_CACHE)
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, GzipFilter.MAX_CACHED_SIZE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, GzipFilter.BUFFER_CACHE, GzipFilter.MAX_CACHED_SIZE)
+                .end();
     }
 
     private static void registerTransformers_EAP_7_2_0(ResourceTransformationDescriptionBuilder subsystemBuilder) {
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A read-only view of a {@link FileChannel} which ends at a given offset, used to serve a byte range of a file.
+ * Positions are those of the underlying file; transfers are delegated to the underlying channel, so that a range can
+ * still be sent using {@link FileChannel#transferTo(long, long, WritableByteChannel)}, i.e. without copying it through user space.
+ */
+class RangeFileChannel extends FileChannel {
+
+    private final FileChannel channel;
+    private final long end;
+
+    /**
+     * @param channel the underlying channel, positioned at the start of the range
+     * @param end the offset of the end of the range, exclusive
+     */
+    RangeFileChannel(FileChannel channel, long end) {
+        this.channel = channel;
+        this.end = end;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        long position = this.channel.position();
+        int read = this.read(dst, position);
+        if (read > 0) {
+            this.channel.position(position + read);
+        }
+        return read;
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+        long total = 0;
+        for (int i = offset; i < offset + length; ++i) {
+            if (!dsts[i].hasRemaining()) {
+                continue;
+            }
+            int read = this.read(dsts[i]);
+            if (read < 0) {
+                return (total == 0) ? -1 : total;
+            }
+            total += read;
+            if (dsts[i].hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int read(ByteBuffer dst, long position) throws IOException {
+        long remaining = this.end - position;
+        if (remaining <= 0) {
+            return -1;
+        }
+        if (dst.remaining() <= remaining) {
+            return this.channel.read(dst, position);
+        }
+        ByteBuffer bounded = dst.duplicate();
+        bounded.limit(bounded.position() + (int) remaining);
+        int read = this.channel.read(bounded, position);
+        if (read > 0) {
+            dst.position(dst.position() + read);
+        }
+        return read;
+    }
+
+    @Override
+    public long position() throws IOException {
+        return this.channel.position();
+    }
+
+    @Override
+    public FileChannel position(long newPosition) throws IOException {
+        this.channel.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Math.min(this.end, this.channel.size());
+    }
+
+    @Override
+    public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        long bounded = Math.min(count, this.end - position);
+        return (bounded > 0) ? this.channel.transferTo(position, bounded, target) : 0;
+    }
+
+    @Override
+    public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+        if (position + size > this.end) {
+            throw new IllegalArgumentException();
+        }
+        return this.channel.map(mode, position, size);
+    }
+
+    @Override
+    public void force(boolean metaData) throws IOException {
+        this.channel.force(metaData);
+    }
+
+    @Override
+    public FileLock lock(long position, long size, boolean shared) throws IOException {
+        return this.channel.lock(position, size, shared);
+    }
+
+    @Override
+    public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+        return this.channel.tryLock(position, size, shared);
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public int write(ByteBuffer src, long position) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public FileChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long transferFrom(ReadableByteChannel src, long position, long count) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    protected void implCloseChannel() throws IOException {
+        this.channel.close();
+    }
+}
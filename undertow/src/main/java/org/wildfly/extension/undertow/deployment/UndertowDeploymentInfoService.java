@@ -171,6 +171,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
@@ -196,6 +197,16 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
 
     public static final String DEFAULT_SERVLET_NAME = "default";
     public static final String UNDERTOW = "undertow";
+    /**
+     * Context parameter listing, comma separated, the content codings (br, gzip) whose pre-compressed variants of static
+     * resources (e.g. {@code app.js.br}, {@code app.js.gz}) the default servlet may serve in place of the requested resource.
+     */
+    public static final String PRE_COMPRESSED_RESOURCES = "org.wildfly.extension.undertow.pre-compressed-resources";
+    private static final Map<String, String> PRE_COMPRESSED_RESOURCE_EXTENSIONS = new LinkedHashMap<>();
+    static {
+        PRE_COMPRESSED_RESOURCE_EXTENSIONS.put("br", ".br");
+        PRE_COMPRESSED_RESOURCE_EXTENSIONS.put("gzip", ".gz");
+    }
 
     private DeploymentInfo deploymentInfo;
     private Registration registration;
@@ -865,6 +876,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                     d.addInitParameter(param.getParamName(), param.getParamValue());
                 }
             }
+            handlePreCompressedResources(d);
 
             if (mergedMetaData.getWelcomeFileList() != null &&
                     mergedMetaData.getWelcomeFileList().getWelcomeFiles() != null) {
@@ -1095,6 +1107,22 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
         }
     }
 
+    private static void handlePreCompressedResources(final DeploymentInfo deploymentInfo) {
+        final String encodings = deploymentInfo.getInitParameters().get(PRE_COMPRESSED_RESOURCES);
+        if (encodings == null) {
+            return;
+        }
+        for (String value : encodings.split(",")) {
+            final String encoding = value.trim().toLowerCase(Locale.ENGLISH);
+            final String extension = PRE_COMPRESSED_RESOURCE_EXTENSIONS.get(encoding);
+            if (extension != null) {
+                deploymentInfo.addPreCompressedResourceEncoding(encoding, extension);
+            } else if (!encoding.isEmpty()) {
+                UndertowLogger.ROOT_LOGGER.unsupportedPreCompressedResourceEncoding(encoding, deploymentInfo.getDeploymentName());
+            }
+        }
+    }
+
     /**
      * Convert the authentication method name from the format specified in the web.xml to the format used by
      * {@link javax.servlet.http.HttpServletRequest}.
@@ -21,10 +21,10 @@
  */
 package org.wildfly.extension.undertow.deployment;
 
-import io.undertow.UndertowLogger;
 import io.undertow.io.IoCallback;
 import io.undertow.io.Sender;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.resource.RangeAwareResource;
 import io.undertow.server.handlers.resource.Resource;
 import io.undertow.util.DateUtils;
 import io.undertow.util.ETag;
@@ -32,14 +32,12 @@ import io.undertow.util.MimeMappings;
 import org.jboss.vfs.VirtualFile;
 import org.xnio.FileAccess;
 import org.xnio.IoUtils;
-import org.xnio.Pooled;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -49,7 +47,7 @@ import java.util.List;
 /**
  * @author Stuart Douglas
  */
-public class VirtualFileResource implements Resource {
+public class VirtualFileResource implements Resource, RangeAwareResource {
 
     private final File resourceManagerRoot;
     private final VirtualFile file;
@@ -116,86 +114,39 @@ public class VirtualFileResource implements Resource {
 
     @Override
     public void serve(final Sender sender, final HttpServerExchange exchange, final IoCallback callback) {
-        abstract class BaseFileTask implements Runnable {
-            protected volatile FileChannel fileChannel;
+        this.serveImpl(sender, exchange, -1, -1, callback);
+    }
+
+    @Override
+    public boolean isRangeSupported() {
+        return true;
+    }
 
-            protected boolean openFile() {
+    @Override
+    public void serveRange(final Sender sender, final HttpServerExchange exchange, final long start, final long end, final IoCallback callback) {
+        this.serveImpl(sender, exchange, start, end, callback);
+    }
+
+    /**
+     * Sends the file, or the given range of it, using {@link Sender#transferFrom(FileChannel, IoCallback)}, i.e. via
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} wherever the connection allows it.
+     * @param start the offset of the first byte to send, or -1 to send the whole file
+     * @param end the offset of the last byte to send, inclusive
+     */
+    private void serveImpl(final Sender sender, final HttpServerExchange exchange, final long start, final long end, final IoCallback callback) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                final FileChannel fileChannel;
                 try {
-                    fileChannel = exchange.getConnection().getWorker().getXnio().openFile(file.getPhysicalFile(), FileAccess.READ_ONLY);
+                    fileChannel = openFile(exchange, start, end);
                 } catch (FileNotFoundException e) {
                     exchange.setResponseCode(404);
                     callback.onException(exchange, sender, e);
-                    return false;
+                    return;
                 } catch (IOException e) {
                     exchange.setResponseCode(500);
                     callback.onException(exchange, sender, e);
-                    return false;
-                }
-                return true;
-            }
-        }
-
-        class ServerTask extends BaseFileTask implements IoCallback {
-
-            private Pooled<ByteBuffer> pooled;
-
-            @Override
-            public void run() {
-                if (fileChannel == null) {
-                    if (!openFile()) {
-                        return;
-                    }
-                    pooled = exchange.getConnection().getBufferPool().allocate();
-                }
-                if (pooled != null) {
-                    ByteBuffer buffer = pooled.getResource();
-                    try {
-                        buffer.clear();
-                        int res = fileChannel.read(buffer);
-                        if (res == -1) {
-                            //we are done
-                            pooled.free();
-                            IoUtils.safeClose(fileChannel);
-                            callback.onComplete(exchange, sender);
-                            return;
-                        }
-                        buffer.flip();
-                        sender.send(buffer, this);
-                    } catch (IOException e) {
-                        onException(exchange, sender, e);
-                    }
-                }
-
-            }
-
-            @Override
-            public void onComplete(final HttpServerExchange exchange, final Sender sender) {
-                if (exchange.isInIoThread()) {
-                    exchange.dispatch(this);
-                } else {
-                    run();
-                }
-            }
-
-            @Override
-            public void onException(final HttpServerExchange exchange, final Sender sender, final IOException exception) {
-                UndertowLogger.REQUEST_IO_LOGGER.ioException(exception);
-                if (pooled != null) {
-                    pooled.free();
-                    pooled = null;
-                }
-                IoUtils.safeClose(fileChannel);
-                if (!exchange.isResponseStarted()) {
-                    exchange.setResponseCode(500);
-                }
-                callback.onException(exchange, sender, exception);
-            }
-        }
-
-        class TransferTask extends BaseFileTask {
-            @Override
-            public void run() {
-                if (!openFile()) {
                     return;
                 }
 
@@ -219,9 +170,8 @@ public class VirtualFileResource implements Resource {
                     }
                 });
             }
-        }
-
-        BaseFileTask task = new TransferTask();
+        };
+        // Opening the file may block, so never do so from an I/O thread
         if (exchange.isInIoThread()) {
             exchange.dispatch(task);
         } else {
@@ -229,6 +179,20 @@ public class VirtualFileResource implements Resource {
         }
     }
 
+    private FileChannel openFile(HttpServerExchange exchange, long start, long end) throws IOException {
+        FileChannel fileChannel = exchange.getConnection().getWorker().getXnio().openFile(file.getPhysicalFile(), FileAccess.READ_ONLY);
+        if (start < 0) {
+            return fileChannel;
+        }
+        try {
+            fileChannel.position(start);
+        } catch (IOException e) {
+            IoUtils.safeClose(fileChannel);
+            throw e;
+        }
+        return new RangeFileChannel(fileChannel, end + 1);
+    }
+
     @Override
     public Long getContentLength() {
         return file.getSize();
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.encoding.AllowedContentEncodings;
+import io.undertow.server.handlers.encoding.ContentEncodingRepository;
+
+/**
+ * Handler that serves requests for cached static resources directly from the cache of a {@link CachingContentEncodingProvider},
+ * without invoking the next handler, if the request accepts the content encoding of the provider.
+ */
+class CachedResponseHandler implements HttpHandler {
+
+    private final CachingContentEncodingProvider provider;
+    private final ContentEncodingRepository repository;
+    private final HttpHandler next;
+
+    CachedResponseHandler(CachingContentEncodingProvider provider, ContentEncodingRepository repository, HttpHandler next) {
+        this.provider = provider;
+        this.repository = repository;
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        AllowedContentEncodings encodings = this.repository.getContentEncodings(exchange);
+        if ((encodings != null) && this.provider.getEncoding().equals(encodings.getCurrentContentEncoding())) {
+            DirectBufferCache.CacheEntry entry = this.provider.lookup(exchange);
+            if (entry != null) {
+                this.provider.serve(exchange, entry);
+                return;
+            }
+        }
+        this.next.handleRequest(exchange);
+    }
+}
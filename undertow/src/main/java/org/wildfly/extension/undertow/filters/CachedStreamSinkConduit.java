@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import org.xnio.Buffers;
+import org.xnio.channels.StreamSourceChannel;
+import org.xnio.conduits.AbstractStreamSinkConduit;
+import org.xnio.conduits.StreamSinkConduit;
+
+/**
+ * Stream sink conduit that writes a cached response, instead of the response written to it, which is discarded.
+ * The cached response is written once writes are terminated.
+ * The referenced cache entry is dereferenced once the cached response was written, or on truncation.
+ */
+class CachedStreamSinkConduit extends AbstractStreamSinkConduit<StreamSinkConduit> {
+
+    private final DirectBufferCache.CacheEntry entry;
+    private final ByteBuffer[] buffers;
+    private boolean shutdown = false;
+    private boolean terminated = false;
+    private boolean released = false;
+
+    /**
+     * Creates a conduit for the specified cache entry, which must already be referenced.
+     */
+    CachedStreamSinkConduit(StreamSinkConduit next, DirectBufferCache.CacheEntry entry) {
+        super(next);
+        this.entry = entry;
+        this.buffers = CachingContentEncodingProvider.buffers(entry);
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        int remaining = src.remaining();
+        src.position(src.limit());
+        return remaining;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offs, int len) {
+        long remaining = Buffers.remaining(srcs, offs, len);
+        for (int i = offs; i < offs + len; ++i) {
+            srcs[i].position(srcs[i].limit());
+        }
+        return remaining;
+    }
+
+    @Override
+    public int writeFinal(ByteBuffer src) throws IOException {
+        int written = this.write(src);
+        this.terminateWrites();
+        return written;
+    }
+
+    @Override
+    public long writeFinal(ByteBuffer[] srcs, int offs, int len) throws IOException {
+        long written = this.write(srcs, offs, len);
+        this.terminateWrites();
+        return written;
+    }
+
+    @Override
+    public long transferFrom(FileChannel src, long position, long count) throws IOException {
+        return Math.max(Math.min(count, src.size() - position), 0L);
+    }
+
+    @Override
+    public long transferFrom(StreamSourceChannel source, long count, ByteBuffer throughBuffer) throws IOException {
+        throughBuffer.clear();
+        if (count < throughBuffer.remaining()) {
+            throughBuffer.limit((int) count);
+        }
+        long read = source.read(throughBuffer);
+        // Leave the through buffer empty
+        throughBuffer.clear();
+        throughBuffer.limit(0);
+        return read;
+    }
+
+    @Override
+    public void terminateWrites() throws IOException {
+        this.shutdown = true;
+    }
+
+    @Override
+    public boolean isWriteShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean flush() throws IOException {
+        if (!this.shutdown) {
+            return this.next.flush();
+        }
+        while (Buffers.hasRemaining(this.buffers)) {
+            if (this.next.write(this.buffers, 0, this.buffers.length) == 0) {
+                return false;
+            }
+        }
+        this.release();
+        if (!this.terminated) {
+            this.terminated = true;
+            this.next.terminateWrites();
+        }
+        return this.next.flush();
+    }
+
+    @Override
+    public void truncateWrites() throws IOException {
+        this.release();
+        this.next.truncateWrites();
+    }
+
+    private void release() {
+        if (!this.released) {
+            this.released = true;
+            this.entry.dereference();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import javax.servlet.http.HttpServletRequest;
+
+import io.undertow.io.IoCallback;
+import io.undertow.io.Sender;
+import io.undertow.security.api.SecurityContext;
+import io.undertow.server.ConduitWrapper;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.cache.LimitedBufferSlicePool;
+import io.undertow.server.handlers.encoding.ContentEncodingProvider;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.servlet.handlers.DefaultServlet;
+import io.undertow.servlet.handlers.ServletChain;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.util.ConduitFactory;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.StatusCodes;
+import org.xnio.conduits.StreamSinkConduit;
+
+/**
+ * {@link ContentEncodingProvider} decorator that caches the encoded representation of cacheable responses in a {@link DirectBufferCache},
+ * keyed by scheme, host, request path and content encoding.
+ * Only successful, complete responses to GET requests with a strong validator are cached.
+ * The validator of a static resource, i.e. one served by the default servlet, is its last modified date and content length;
+ * the validator of any other response is its strong entity tag.
+ * Subsequent responses with the same key and validator are served from the cache, discarding the unencoded response, such that no encoding is necessary.
+ * Static resources that are neither protected by a security constraint nor subject to a servlet filter may additionally be served from the cache
+ * before the request reaches the next handler, once their resource is revalidated, see {@link #lookup(HttpServerExchange)}.
+ * As with any {@link DirectBufferCache} entry, the cached representation only claims off-heap memory once it is requested repeatedly.
+ */
+class CachingContentEncodingProvider implements ContentEncodingProvider {
+
+    // Requests whose response might differ from the cached representation of a static resource
+    private static final List<HttpString> CONDITIONAL_REQUEST_HEADERS = Arrays.asList(Headers.RANGE, Headers.IF_RANGE, Headers.IF_MATCH, Headers.IF_NONE_MATCH, Headers.IF_MODIFIED_SINCE, Headers.IF_UNMODIFIED_SINCE);
+    // Response headers that are not replayed from the cache
+    private static final List<HttpString> TRANSIENT_RESPONSE_HEADERS = Arrays.asList(Headers.CONTENT_LENGTH, Headers.CONTENT_ENCODING, Headers.TRANSFER_ENCODING, Headers.CONNECTION, Headers.DATE);
+
+    private final String encoding;
+    private final ContentEncodingProvider provider;
+    private final DirectBufferCache cache;
+    private final int maxSize;
+
+    /**
+     * Creates a caching provider
+     * @param encoding the name of the content encoding
+     * @param provider the provider that performs the content encoding
+     * @param cache a buffer cache
+     * @param maxSize the maximum size of a cacheable encoded response
+     */
+    CachingContentEncodingProvider(String encoding, ContentEncodingProvider provider, DirectBufferCache cache, int maxSize) {
+        this.encoding = encoding;
+        this.provider = provider;
+        this.cache = cache;
+        this.maxSize = maxSize;
+    }
+
+    String getEncoding() {
+        return this.encoding;
+    }
+
+    @Override
+    public ConduitWrapper<StreamSinkConduit> getResponseWrapper() {
+        ConduitWrapper<StreamSinkConduit> wrapper = this.provider.getResponseWrapper();
+        return new ConduitWrapper<StreamSinkConduit>() {
+            @Override
+            public StreamSinkConduit wrap(ConduitFactory<StreamSinkConduit> factory, HttpServerExchange exchange) {
+                Key key = CachingContentEncodingProvider.this.createKey(exchange);
+                if (key == null) {
+                    return wrapper.wrap(factory, exchange);
+                }
+                DirectBufferCache.CacheEntry entry = CachingContentEncodingProvider.this.cache.get(key);
+                if (entry != null) {
+                    if (!((Key) entry.key()).isCurrent(key)) {
+                        // Cached representation is stale
+                        CachingContentEncodingProvider.this.cache.remove(key);
+                    } else if (entry.enabled() && entry.reference()) {
+                        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, entry.size());
+                        return new CachedStreamSinkConduit(factory.create(), entry);
+                    }
+                }
+                return wrapper.wrap(new ConduitFactory<StreamSinkConduit>() {
+                    @Override
+                    public StreamSinkConduit create() {
+                        return new CapturingStreamSinkConduit(factory.create(), CachingContentEncodingProvider.this.maxSize, buffer -> CachingContentEncodingProvider.this.store(key, buffer));
+                    }
+                }, exchange);
+            }
+        };
+    }
+
+    private Key createKey(HttpServerExchange exchange) {
+        if (!exchange.getRequestMethod().equals(Methods.GET) || (exchange.getStatusCode() != StatusCodes.OK)) return null;
+        HeaderMap headers = exchange.getResponseHeaders();
+        if (headers.contains(Headers.CONTENT_RANGE)) return null;
+        ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+        Resource resource = (context != null) ? getStaticResource(context) : null;
+        String validator = (resource != null) ? validator(resource) : headers.getFirst(Headers.ETAG);
+        // Weak entity tags do not guarantee a byte-identical response
+        if ((validator == null) || validator.startsWith("W/")) return null;
+        String deployment = (context != null) ? context.getDeployment().getDeploymentInfo().getDeploymentName() : null;
+        Key key = new Key(exchange.getRequestScheme(), exchange.getHostName(), exchange.getRequestPath(), this.encoding);
+        if ((resource != null) && isReplayable(exchange, context)) {
+            HeaderMap replayHeaders = new HeaderMap();
+            for (HeaderValues values : headers) {
+                if (!TRANSIENT_RESPONSE_HEADERS.contains(values.getHeaderName())) {
+                    replayHeaders.putAll(values.getHeaderName(), values);
+                }
+            }
+            return new Key(key, deployment, validator, resource, replayHeaders);
+        }
+        return new Key(key, deployment, validator, null, null);
+    }
+
+    /**
+     * Returns the resource of a static resource response, i.e. one served by the default servlet from the resource manager of its deployment.
+     */
+    private static Resource getStaticResource(ServletRequestContext context) {
+        ServletChain chain = context.getCurrentServlet();
+        if ((chain == null) || !DefaultServlet.class.isAssignableFrom(chain.getManagedServlet().getServletInfo().getServletClass())) return null;
+        HttpServletRequest request = (HttpServletRequest) context.getServletRequest();
+        // The default servlet only resolves resources against its servlet path if mapped to "/"
+        if (request.getPathInfo() != null) return null;
+        String path = request.getServletPath();
+        try {
+            Resource resource = context.getDeployment().getDeploymentInfo().getResourceManager().getResource(path.isEmpty() ? "/" : path);
+            return ((resource != null) && !resource.isDirectory()) ? resource : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indicates whether the response to this request may be replayed without invoking the next handler,
+     * i.e. whether the request is neither subject to authentication nor to any servlet filter, and does not modify any client state.
+     */
+    private static boolean isReplayable(HttpServerExchange exchange, ServletRequestContext context) {
+        SecurityContext securityContext = exchange.getSecurityContext();
+        if ((securityContext != null) && securityContext.isAuthenticationRequired()) return false;
+        if (!context.getDeployment().getDeploymentInfo().getFilterMappings().isEmpty()) return false;
+        return !exchange.getResponseHeaders().contains(Headers.SET_COOKIE);
+    }
+
+    private static String validator(Resource resource) {
+        Date lastModified = resource.getLastModified();
+        Long contentLength = resource.getContentLength();
+        return ((lastModified != null) && (contentLength != null)) ? lastModified.getTime() + ";" + contentLength : null;
+    }
+
+    /**
+     * Returns the referenced cache entry of a static resource that can be served in response to the specified request, without invoking the next handler.
+     * A static resource is revalidated against its resource before it is served.
+     * Conditional and range requests are always left to the next handler.
+     * @param exchange the exchange of a request that accepts this content encoding
+     * @return a referenced cache entry, or null, if the request must be handled by the next handler
+     */
+    DirectBufferCache.CacheEntry lookup(HttpServerExchange exchange) {
+        if (!exchange.getRequestMethod().equals(Methods.GET)) return null;
+        HeaderMap headers = exchange.getRequestHeaders();
+        for (HttpString header : CONDITIONAL_REQUEST_HEADERS) {
+            if (headers.contains(header)) return null;
+        }
+        Key key = new Key(exchange.getRequestScheme(), exchange.getHostName(), exchange.getRequestPath(), this.encoding);
+        DirectBufferCache.CacheEntry entry = this.cache.get(key);
+        if ((entry == null) || !entry.enabled()) return null;
+        Key cachedKey = (Key) entry.key();
+        if ((cachedKey.resource == null) || !entry.reference()) return null;
+        if (!cachedKey.validator.equals(validator(cachedKey.resource))) {
+            entry.dereference();
+            this.cache.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Completes the specified exchange using the specified referenced cache entry, as returned by {@link #lookup(HttpServerExchange)}.
+     * The cache entry is dereferenced once the response was sent.
+     */
+    void serve(HttpServerExchange exchange, DirectBufferCache.CacheEntry entry) {
+        HeaderMap headers = exchange.getResponseHeaders();
+        for (HeaderValues values : ((Key) entry.key()).headers) {
+            headers.putAll(values.getHeaderName(), values);
+        }
+        headers.put(Headers.CONTENT_ENCODING, this.encoding);
+        headers.put(Headers.CONTENT_LENGTH, entry.size());
+        exchange.setStatusCode(StatusCodes.OK);
+        exchange.getResponseSender().send(buffers(entry), new IoCallback() {
+            @Override
+            public void onComplete(HttpServerExchange exchange, Sender sender) {
+                entry.dereference();
+                IoCallback.END_EXCHANGE.onComplete(exchange, sender);
+            }
+
+            @Override
+            public void onException(HttpServerExchange exchange, Sender sender, IOException exception) {
+                entry.dereference();
+                IoCallback.END_EXCHANGE.onException(exchange, sender, exception);
+            }
+        });
+    }
+
+    /**
+     * Returns the buffers of the specified referenced cache entry, whose position is independent of the cache entry.
+     */
+    static ByteBuffer[] buffers(DirectBufferCache.CacheEntry entry) {
+        LimitedBufferSlicePool.PooledByteBuffer[] pooled = entry.buffers();
+        ByteBuffer[] buffers = new ByteBuffer[pooled.length];
+        for (int i = 0; i < pooled.length; ++i) {
+            buffers[i] = pooled[i].getBuffer().duplicate();
+        }
+        return buffers;
+    }
+
+    /**
+     * Stores the specified encoded response, if its cache entry was allocated.
+     */
+    void store(Key key, ByteBuffer response) {
+        int size = response.remaining();
+        DirectBufferCache.CacheEntry entry = this.cache.add(key, size);
+        if (!((Key) entry.key()).isCurrent(key) || (entry.size() != size)) {
+            // Either a concurrent response for a different validator, or encoding is not deterministic
+            this.cache.remove(key);
+            return;
+        }
+        if ((entry.buffers().length == 0) || !entry.claimEnable()) return;
+        if (!entry.reference()) {
+            entry.disable();
+            return;
+        }
+        boolean enabled = false;
+        try {
+            for (LimitedBufferSlicePool.PooledByteBuffer pooled : entry.buffers()) {
+                ByteBuffer buffer = pooled.getBuffer();
+                buffer.clear();
+                ByteBuffer source = response.duplicate();
+                source.limit(Math.min(response.limit(), response.position() + buffer.remaining()));
+                buffer.put(source);
+                buffer.flip();
+                response.position(source.position());
+            }
+            entry.enable();
+            enabled = true;
+        } finally {
+            if (!enabled) {
+                entry.disable();
+            }
+            entry.dereference();
+        }
+    }
+
+    /**
+     * Cache key, identifying a cached representation by scheme, host, request path and content encoding.
+     * The key of a cache entry additionally describes the cached representation.
+     */
+    static class Key {
+        private final String scheme;
+        private final String host;
+        private final String path;
+        private final String encoding;
+        private final String deployment;
+        private final String validator;
+        // Only defined for representations that may be served without invoking the next handler
+        private final Resource resource;
+        private final HeaderMap headers;
+
+        Key(String scheme, String host, String path, String encoding) {
+            this.scheme = scheme;
+            this.host = host;
+            this.path = path;
+            this.encoding = encoding;
+            this.deployment = null;
+            this.validator = null;
+            this.resource = null;
+            this.headers = null;
+        }
+
+        Key(Key key, String deployment, String validator, Resource resource, HeaderMap headers) {
+            this.scheme = key.scheme;
+            this.host = key.host;
+            this.path = key.path;
+            this.encoding = key.encoding;
+            this.deployment = deployment;
+            this.validator = validator;
+            this.resource = resource;
+            this.headers = headers;
+        }
+
+        /**
+         * Indicates whether the representation described by this key is that described by the specified key.
+         */
+        boolean isCurrent(Key key) {
+            return Objects.equals(this.deployment, key.deployment) && Objects.equals(this.validator, key.validator);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.scheme, this.host, this.path, this.encoding);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) return false;
+            Key key = (Key) object;
+            return Objects.equals(this.scheme, key.scheme) && Objects.equals(this.host, key.host) && this.path.equals(key.path) && this.encoding.equals(key.encoding);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s;%s;%s;%s", this.scheme, this.host, this.path, this.encoding);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.Consumer;
+
+import org.xnio.channels.StreamSourceChannel;
+import org.xnio.conduits.AbstractStreamSinkConduit;
+import org.xnio.conduits.StreamSinkConduit;
+
+/**
+ * Stream sink conduit that captures a copy of the bytes written to the next conduit.
+ * Once writes are terminated, the captured bytes are passed to a consumer, unless they exceeded the maximum size.
+ */
+class CapturingStreamSinkConduit extends AbstractStreamSinkConduit<StreamSinkConduit> {
+
+    private final int maxSize;
+    private final Consumer<ByteBuffer> consumer;
+    private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+    CapturingStreamSinkConduit(StreamSinkConduit next, int maxSize, Consumer<ByteBuffer> consumer) {
+        super(next);
+        this.maxSize = maxSize;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        int position = src.position();
+        int written = this.next.write(src);
+        this.capture(src, position, written);
+        return written;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offs, int len) throws IOException {
+        int[] positions = positions(srcs, offs, len);
+        long written = this.next.write(srcs, offs, len);
+        this.capture(srcs, offs, len, positions);
+        return written;
+    }
+
+    @Override
+    public int writeFinal(ByteBuffer src) throws IOException {
+        int position = src.position();
+        int written = this.next.writeFinal(src);
+        this.capture(src, position, written);
+        if (!src.hasRemaining()) {
+            this.complete();
+        }
+        return written;
+    }
+
+    @Override
+    public long writeFinal(ByteBuffer[] srcs, int offs, int len) throws IOException {
+        int[] positions = positions(srcs, offs, len);
+        long written = this.next.writeFinal(srcs, offs, len);
+        this.capture(srcs, offs, len, positions);
+        if (!srcs[offs + len - 1].hasRemaining()) {
+            this.complete();
+        }
+        return written;
+    }
+
+    @Override
+    public long transferFrom(FileChannel src, long position, long count) throws IOException {
+        this.captured = null;
+        return this.next.transferFrom(src, position, count);
+    }
+
+    @Override
+    public long transferFrom(StreamSourceChannel source, long count, ByteBuffer throughBuffer) throws IOException {
+        this.captured = null;
+        return this.next.transferFrom(source, count, throughBuffer);
+    }
+
+    @Override
+    public void terminateWrites() throws IOException {
+        this.next.terminateWrites();
+        this.complete();
+    }
+
+    @Override
+    public void truncateWrites() throws IOException {
+        this.captured = null;
+        this.next.truncateWrites();
+    }
+
+    private void complete() {
+        ByteArrayOutputStream captured = this.captured;
+        if (captured != null) {
+            this.captured = null;
+            this.consumer.accept(ByteBuffer.wrap(captured.toByteArray()));
+        }
+    }
+
+    private static int[] positions(ByteBuffer[] srcs, int offs, int len) {
+        int[] positions = new int[len];
+        for (int i = 0; i < len; ++i) {
+            positions[i] = srcs[offs + i].position();
+        }
+        return positions;
+    }
+
+    private void capture(ByteBuffer[] srcs, int offs, int len, int[] positions) {
+        for (int i = 0; i < len; ++i) {
+            ByteBuffer src = srcs[offs + i];
+            this.capture(src, positions[i], src.position() - positions[i]);
+        }
+    }
+
+    private void capture(ByteBuffer src, int position, int length) {
+        ByteArrayOutputStream captured = this.captured;
+        if ((captured == null) || (length <= 0)) return;
+        if (captured.size() + length > this.maxSize) {
+            // Too large to cache
+            this.captured = null;
+            return;
+        }
+        if (src.hasArray()) {
+            captured.write(src.array(), src.arrayOffset() + position, length);
+        } else {
+            ByteBuffer source = src.duplicate();
+            source.position(position);
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            captured.write(bytes, 0, length);
+        }
+    }
+}
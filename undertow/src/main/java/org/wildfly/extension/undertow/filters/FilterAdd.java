@@ -22,13 +22,16 @@
 
 package org.wildfly.extension.undertow.filters;
 
+import io.undertow.server.handlers.cache.DirectBufferCache;
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
+import org.wildfly.extension.undertow.BufferCacheService;
 import org.wildfly.extension.undertow.Handler;
 import org.wildfly.extension.undertow.UndertowService;
 
@@ -48,11 +51,18 @@ class FilterAdd extends AbstractAddStepHandler {
     protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
         final String name = context.getCurrentAddressValue();
 
-        final FilterService service = new FilterService(handler, getResolvedModel(context, model));
+        final ModelNode resolvedModel = getResolvedModel(context, model);
+        final FilterService service = new FilterService(handler, resolvedModel);
         final ServiceTarget target = context.getServiceTarget();
-        target.addService(UndertowService.FILTER.append(name), service)
-                .setInitialMode(ServiceController.Mode.ON_DEMAND)
-                .install();
+        final ServiceBuilder<FilterService> builder = target.addService(UndertowService.FILTER.append(name), service)
+                .setInitialMode(ServiceController.Mode.ON_DEMAND);
+        if (handler instanceof GzipFilter) {
+            ModelNode bufferCache = resolvedModel.get(GzipFilter.BUFFER_CACHE.getName());
+            if (bufferCache.isDefined()) {
+                builder.addDependency(BufferCacheService.SERVICE_NAME.append(bufferCache.asString()), DirectBufferCache.class, service.getBufferCache());
+            }
+        }
+        builder.install();
     }
 
     private ModelNode getResolvedModel(OperationContext context, ModelNode model) throws OperationFailedException {
@@ -24,11 +24,13 @@ package org.wildfly.extension.undertow.filters;
 
 import io.undertow.predicate.Predicate;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.cache.DirectBufferCache;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
 import org.wildfly.extension.undertow.Handler;
 
 /**
@@ -37,6 +39,7 @@ import org.wildfly.extension.undertow.Handler;
 public class FilterService implements Service<FilterService> {
     private final Handler handler;
     private final ModelNode model;
+    private final InjectedValue<DirectBufferCache> bufferCache = new InjectedValue<>();
 
     FilterService(Handler handler, ModelNode model) {
         this.handler = handler;
@@ -54,9 +57,16 @@ public class FilterService implements Service<FilterService> {
     }
 
     public HttpHandler createHttpHandler(final Predicate predicate, HttpHandler next) {
+        if (handler instanceof GzipFilter) {
+            return ((GzipFilter) handler).createHttpHandler(predicate, model, next, bufferCache.getOptionalValue());
+        }
         return handler.createHttpHandler(predicate, model, next);
     }
 
+    InjectedValue<DirectBufferCache> getBufferCache() {
+        return bufferCache;
+    }
+
     @Override
     public FilterService getValue() throws IllegalStateException, IllegalArgumentException {
         return this;
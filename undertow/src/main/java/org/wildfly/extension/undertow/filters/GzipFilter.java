@@ -22,13 +22,26 @@
 
 package org.wildfly.extension.undertow.filters;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import io.undertow.predicate.Predicate;
 import io.undertow.predicate.Predicates;
 import io.undertow.server.HttpHandler;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.encoding.ContentEncodingProvider;
 import io.undertow.server.handlers.encoding.ContentEncodingRepository;
 import io.undertow.server.handlers.encoding.EncodingHandler;
 import io.undertow.server.handlers.encoding.GzipEncodingProvider;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.extension.undertow.Constants;
 
 /**
  * @author Tomaz Cerar (c) 2014 Red Hat Inc.
@@ -38,16 +51,53 @@ public class GzipFilter extends Filter {
 
     public static final GzipFilter INSTANCE = new GzipFilter();
 
+    public static final SimpleAttributeDefinition BUFFER_CACHE = new SimpleAttributeDefinitionBuilder(Constants.BUFFER_CACHE, ModelType.STRING)
+            .setRequired(false)
+            .setValidator(new StringLengthValidator(1, true))
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_CACHED_SIZE = new SimpleAttributeDefinitionBuilder(Constants.MAX_CACHED_SIZE, ModelType.INT)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(256 * 1024))
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setAllowExpression(true)
+            .setRestartAllServices()
+            .build();
+
     private GzipFilter() {
         super("gzip");
     }
 
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Arrays.asList(BUFFER_CACHE, MAX_CACHED_SIZE);
+    }
+
     @Override
     public HttpHandler createHttpHandler(final Predicate predicate, ModelNode model, HttpHandler next) {
-        EncodingHandler encodingHandler = new EncodingHandler(new ContentEncodingRepository()
-                .addEncodingHandler("gzip", new GzipEncodingProvider(), 50, predicate != null ? predicate : Predicates.truePredicate()));
+        return this.createHttpHandler(predicate, model, next, null);
+    }
+
+    /**
+     * Creates a gzip encoding handler that caches encoded responses in the specified buffer cache.
+     * @param predicate a predicate, or null
+     * @param model the resolved model of this filter
+     * @param next the next handler
+     * @param cache a buffer cache, or null, if encoded responses should not be cached
+     * @return a gzip encoding handler
+     */
+    public HttpHandler createHttpHandler(final Predicate predicate, ModelNode model, HttpHandler next, DirectBufferCache cache) {
+        ContentEncodingProvider provider = new GzipEncodingProvider();
+        CachingContentEncodingProvider cachingProvider = (cache != null) ? new CachingContentEncodingProvider("gzip", provider, cache, model.get(MAX_CACHED_SIZE.getName()).asInt()) : null;
+        ContentEncodingRepository repository = new ContentEncodingRepository()
+                .addEncodingHandler("gzip", (cachingProvider != null) ? cachingProvider : provider, 50, predicate != null ? predicate : Predicates.truePredicate());
+        EncodingHandler encodingHandler = new EncodingHandler(repository);
         encodingHandler.setNext(next);
-        return encodingHandler;
+        // Cached static resources are served without invoking the encoding handler, nor the next handler
+        return (cachingProvider != null) ? new CachedResponseHandler(cachingProvider, repository, encodingHandler) : encodingHandler;
     }
 
     @Override
@@ -416,4 +416,12 @@ public interface UndertowLogger extends BasicLogger {
 
     @Message(id = 103, value = "The time zone id %s is invalid.")
     OperationFailedException invalidTimeZoneId(String zoneId);
+
+    @LogMessage(level = WARN)
+    @Message(id = 104, value = "Ignoring unsupported pre-compressed resource encoding %s of deployment %s")
+    void unsupportedPreCompressedResourceEncoding(String encoding, String deploymentName);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 105, value = "Failed to write access log entries to %s")
+    void failedToWriteAccessLog(@Cause Throwable cause, Path file);
 }
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.undertow;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BufferedAccessLogReceiver}.
+ */
+public class BufferedAccessLogReceiverTestCase {
+
+    @Test
+    public void testBlock() throws Exception {
+        Path directory = Files.createTempDirectory("access-log");
+        int threads = 4;
+        int messages = 1000;
+        List<String> lines = this.log(directory, BufferedAccessLogReceiver.OverflowPolicy.BLOCK, threads, messages);
+        Assert.assertEquals(threads * messages + 1, lines.size());
+        Assert.assertEquals("#header", lines.get(0));
+        // Messages of each thread retain their order
+        for (int thread = 0; thread < threads; ++thread) {
+            int next = 0;
+            for (String line : lines.subList(1, lines.size())) {
+                String[] parts = line.split(":");
+                if (Integer.parseInt(parts[0]) == thread) {
+                    Assert.assertEquals(next++, Integer.parseInt(parts[1]));
+                }
+            }
+            Assert.assertEquals(messages, next);
+        }
+    }
+
+    @Test
+    public void testDrop() throws Exception {
+        Path directory = Files.createTempDirectory("access-log");
+        int threads = 4;
+        int messages = 1000;
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BufferedAccessLogReceiver receiver = new BufferedAccessLogReceiver(executor, directory, "access_log.", "log", false, null, 4, BufferedAccessLogReceiver.OverflowPolicy.DROP);
+            this.log(receiver, threads, messages);
+            receiver.close();
+            List<String> lines = Files.readAllLines(directory.resolve("access_log.log"));
+            Assert.assertEquals(threads * messages, lines.size() + receiver.getDroppedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRotate() throws Exception {
+        Path directory = Files.createTempDirectory("access-log");
+        Path file = directory.resolve("access_log.log");
+        LocalDate date = LocalDate.now().minusDays(2);
+        Files.write(file, Collections.singletonList("old"));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)));
+        Files.write(directory.resolve("access_log." + date + ".log"), Collections.singletonList("older"));
+
+        BufferedAccessLogReceiver receiver = new BufferedAccessLogReceiver(Runnable::run, directory, "access_log.", "log", true, null, 4, BufferedAccessLogReceiver.OverflowPolicy.BLOCK);
+        receiver.logMessage("new");
+        receiver.close();
+
+        Assert.assertEquals(Collections.singletonList("new"), Files.readAllLines(file));
+        Assert.assertEquals(Collections.singletonList("older"), Files.readAllLines(directory.resolve("access_log." + date + ".log")));
+        Assert.assertEquals(Collections.singletonList("old"), Files.readAllLines(directory.resolve("access_log." + date + "-1.log")));
+    }
+
+    private List<String> log(Path directory, BufferedAccessLogReceiver.OverflowPolicy policy, int threads, int messages) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            BufferedAccessLogReceiver receiver = new BufferedAccessLogReceiver(executor, directory, "access_log.", "log", false, () -> Arrays.asList("#header"), 4, policy);
+            this.log(receiver, threads, messages);
+            receiver.close();
+            return Files.readAllLines(directory.resolve("access_log.log"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void log(BufferedAccessLogReceiver receiver, int threads, int messages) throws InterruptedException {
+        // Include messages that exceed the slot buffer
+        char[] padding = new char[1024];
+        Arrays.fill(padding, 'x');
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; ++i) {
+            int thread = i;
+            workers.add(new Thread(() -> {
+                for (int j = 0; j < messages; ++j) {
+                    receiver.logMessage(thread + ":" + j + ":" + ((j % 100 == 0) ? new String(padding) : ""));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+}
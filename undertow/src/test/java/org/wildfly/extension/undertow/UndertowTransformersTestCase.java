@@ -45,6 +45,7 @@ import org.jboss.as.subsystem.test.LegacyKernelServicesInitializer;
 import org.jboss.dmr.ModelNode;
 import org.junit.Assert;
 import org.junit.Test;
+import org.wildfly.extension.undertow.filters.GzipFilter;
 import org.wildfly.extension.undertow.filters.ModClusterDefinition;
 import org.wildfly.extension.undertow.handlers.ReverseProxyHandler;
 
@@ -138,6 +139,14 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                         new FailedOperationTransformationConfig.NewAttributesConfig(
                                 ALLOW_UNESCAPED_CHARACTERS_IN_URL, RFC6265_COOKIE_VALIDATION))
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, "console-access-log")), FailedOperationTransformationConfig.REJECTED_RESOURCE)
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                AccessLogDefinition.BUFFER_SIZE,
+                                AccessLogDefinition.OVERFLOW_POLICY))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(GzipFilter.INSTANCE.getPathElement()),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                GzipFilter.BUFFER_CACHE,
+                                GzipFilter.MAX_CACHED_SIZE))
         );
     }
 
@@ -179,6 +188,14 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                         new FailedOperationTransformationConfig.NewAttributesConfig(
                                 ALLOW_UNESCAPED_CHARACTERS_IN_URL))
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, "console-access-log")), FailedOperationTransformationConfig.REJECTED_RESOURCE)
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                AccessLogDefinition.BUFFER_SIZE,
+                                AccessLogDefinition.OVERFLOW_POLICY))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(GzipFilter.INSTANCE.getPathElement()),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                GzipFilter.BUFFER_CACHE,
+                                GzipFilter.MAX_CACHED_SIZE))
         );
     }
 
@@ -193,6 +210,14 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
 
         doRejectTest(ModelTestControllerVersion.EAP_7_2_0, EAP7_2_0, new FailedOperationTransformationConfig()
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, "console-access-log")), FailedOperationTransformationConfig.REJECTED_RESOURCE)
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                AccessLogDefinition.BUFFER_SIZE,
+                                AccessLogDefinition.OVERFLOW_POLICY))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(GzipFilter.INSTANCE.getPathElement()),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                GzipFilter.BUFFER_CACHE,
+                                GzipFilter.MAX_CACHED_SIZE))
                  .addFailedAttribute(servletContainer,
                          new FailedOperationTransformationConfig.NewAttributesConfig(
                                  ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
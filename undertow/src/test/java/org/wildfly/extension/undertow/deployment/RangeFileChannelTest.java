@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RangeFileChannelTest {
+
+    private File file;
+
+    @Before
+    public void createFile() throws Exception {
+        this.file = File.createTempFile("range", ".txt");
+        Files.write(this.file.toPath(), "0123456789".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @After
+    public void deleteFile() {
+        this.file.delete();
+    }
+
+    @Test
+    public void testTransferTo() throws Exception {
+        FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+        channel.position(2);
+        try (FileChannel range = new RangeFileChannel(channel, 6)) {
+            Assert.assertEquals(6, range.size());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long position = range.position();
+            long transferred;
+            while ((transferred = range.transferTo(position, range.size() - position, Channels.newChannel(out))) > 0) {
+                position += transferred;
+            }
+            Assert.assertEquals("2345", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+            Assert.assertEquals(0, range.transferTo(6, 10, Channels.newChannel(out)));
+        }
+        Assert.assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testRead() throws Exception {
+        FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+        channel.position(7);
+        try (FileChannel range = new RangeFileChannel(channel, 9)) {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            Assert.assertEquals(2, range.read(buffer));
+            Assert.assertEquals(-1, range.read(buffer));
+            buffer.flip();
+            Assert.assertEquals("78", StandardCharsets.US_ASCII.decode(buffer).toString());
+            Assert.assertEquals(9, range.position());
+        }
+    }
+}
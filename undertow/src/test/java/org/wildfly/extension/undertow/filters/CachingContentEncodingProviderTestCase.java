@@ -0,0 +1,279 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.function.Supplier;
+
+import io.undertow.server.ConduitWrapper;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.cache.DirectBufferCache;
+import io.undertow.server.handlers.encoding.ContentEncodingProvider;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.util.ConduitFactory;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.StatusCodes;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.conduits.StreamSinkConduit;
+
+/**
+ * Unit test for {@link CachingContentEncodingProvider}.
+ */
+public class CachingContentEncodingProviderTestCase {
+    // Buffers of a cache entry are only allocated once it was requested this many times
+    private static final int MAX_REQUESTS = 10;
+
+    private final ContentEncodingProvider encodingProvider = mock(ContentEncodingProvider.class);
+    @SuppressWarnings("unchecked")
+    private final ConduitWrapper<StreamSinkConduit> encodingWrapper = mock(ConduitWrapper.class);
+    private final DirectBufferCache cache = new DirectBufferCache(1024, 10, 10240);
+
+    private CachingContentEncodingProvider provider;
+    private ConduitWrapper<StreamSinkConduit> subject;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void init() {
+        when(this.encodingProvider.getResponseWrapper()).thenReturn(this.encodingWrapper);
+        when(this.encodingWrapper.wrap(any(ConduitFactory.class), any(HttpServerExchange.class))).thenAnswer(invocation -> invocation.<ConduitFactory<StreamSinkConduit>>getArgument(0).create());
+        this.provider = new CachingContentEncodingProvider("gzip", this.encodingProvider, this.cache, 1024);
+        this.subject = this.provider.getResponseWrapper();
+    }
+
+    @Test
+    public void hit() throws IOException {
+        byte[] encoded = "encoded".getBytes(StandardCharsets.UTF_8);
+
+        this.populate(() -> exchange("localhost", "/index.html", "\"1\""), encoded);
+
+        HttpServerExchange exchange = exchange("localhost", "/index.html", "\"1\"");
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        StreamSinkConduit conduit = this.subject.wrap(() -> next(written), exchange);
+
+        assertTrue(conduit instanceof CachedStreamSinkConduit);
+        assertEquals(Long.toString(encoded.length), exchange.getResponseHeaders().getFirst(Headers.CONTENT_LENGTH));
+
+        // Unencoded response is discarded, and the cached response is written instead
+        conduit.writeFinal(ByteBuffer.wrap("unencoded response".getBytes(StandardCharsets.UTF_8)));
+        conduit.flush();
+
+        assertArrayEquals(encoded, written.toByteArray());
+    }
+
+    @Test
+    public void miss() throws IOException {
+        this.populate(() -> exchange("localhost", "/index.html", "\"1\""), "encoded".getBytes(StandardCharsets.UTF_8));
+
+        // Different host
+        assertTrue(this.subject.wrap(() -> next(new ByteArrayOutputStream()), exchange("otherhost", "/index.html", "\"1\"")) instanceof CapturingStreamSinkConduit);
+        // Different path
+        assertTrue(this.subject.wrap(() -> next(new ByteArrayOutputStream()), exchange("localhost", "/other.html", "\"1\"")) instanceof CapturingStreamSinkConduit);
+    }
+
+    @Test
+    public void invalidation() throws IOException {
+        byte[] encoded = "encoded".getBytes(StandardCharsets.UTF_8);
+        byte[] modified = "modified and encoded".getBytes(StandardCharsets.UTF_8);
+
+        this.populate(() -> exchange("localhost", "/index.html", "\"1\""), encoded);
+
+        // Modification of a resource changes its entity tag
+        assertTrue(this.subject.wrap(() -> next(new ByteArrayOutputStream()), exchange("localhost", "/index.html", "\"2\"")) instanceof CapturingStreamSinkConduit);
+
+        this.populate(() -> exchange("localhost", "/index.html", "\"2\""), modified);
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        StreamSinkConduit conduit = this.subject.wrap(() -> next(written), exchange("localhost", "/index.html", "\"2\""));
+        conduit.terminateWrites();
+        conduit.flush();
+
+        assertArrayEquals(modified, written.toByteArray());
+    }
+
+    @Test
+    public void dynamicValidators() throws IOException {
+        StreamSinkConduit next = next(new ByteArrayOutputStream());
+
+        // The last modified date and content length of a dynamic response are not a validator
+        HttpServerExchange exchange = exchange("localhost", "/index.jsp", null);
+        exchange.getResponseHeaders().put(Headers.LAST_MODIFIED, "Thu, 01 Jan 2020 00:00:00 GMT");
+        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, 100);
+        assertSame(next, this.subject.wrap(() -> next, exchange));
+
+        // Weak entity tags are not a validator
+        assertSame(next, this.subject.wrap(() -> next, exchange("localhost", "/index.jsp", "W/\"1\"")));
+    }
+
+    @Test
+    public void lookup() throws IOException {
+        byte[] encoded = "encoded".getBytes(StandardCharsets.UTF_8);
+        Resource resource = mock(Resource.class);
+        when(resource.getLastModified()).thenReturn(new Date(1000L));
+        when(resource.getContentLength()).thenReturn(100L);
+        HeaderMap headers = new HeaderMap();
+        headers.put(Headers.CONTENT_TYPE, "text/html");
+
+        CachingContentEncodingProvider.Key key = new CachingContentEncodingProvider.Key(null, "localhost", "/index.html", "gzip");
+        this.populate(new CachingContentEncodingProvider.Key(key, "test.war", "1000;100", resource, headers), encoded);
+
+        DirectBufferCache.CacheEntry entry = this.provider.lookup(exchange("localhost", "/index.html"));
+        assertNotNull(entry);
+        assertEquals(encoded.length, entry.size());
+        entry.dereference();
+
+        // Conditional requests are left to the next handler
+        HttpServerExchange exchange = exchange("localhost", "/index.html");
+        exchange.getRequestHeaders().put(Headers.IF_NONE_MATCH, "\"1\"");
+        assertNull(this.provider.lookup(exchange));
+        exchange = exchange("localhost", "/index.html");
+        exchange.getRequestHeaders().put(Headers.RANGE, "bytes=0-9");
+        assertNull(this.provider.lookup(exchange));
+
+        // Modification of the resource invalidates its cached representation
+        when(resource.getContentLength()).thenReturn(101L);
+        assertNull(this.provider.lookup(exchange("localhost", "/index.html")));
+        assertNull(this.cache.get(key));
+    }
+
+    @Test
+    public void lookupDynamic() throws IOException {
+        // Dynamic responses are only served from the cache once the next handler responded
+        CachingContentEncodingProvider.Key key = new CachingContentEncodingProvider.Key(null, "localhost", "/index.jsp", "gzip");
+        this.populate(new CachingContentEncodingProvider.Key(key, "test.war", "\"1\"", null, null), "encoded".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(this.provider.lookup(exchange("localhost", "/index.jsp")));
+    }
+
+    @Test
+    public void notCacheable() {
+        StreamSinkConduit next = next(new ByteArrayOutputStream());
+
+        // Range responses
+        HttpServerExchange exchange = exchange("localhost", "/index.html", "\"1\"");
+        exchange.setStatusCode(StatusCodes.PARTIAL_CONTENT);
+        exchange.getResponseHeaders().put(Headers.CONTENT_RANGE, "bytes 0-9/100");
+        assertSame(next, this.subject.wrap(() -> next, exchange));
+
+        exchange = exchange("localhost", "/index.html", "\"1\"");
+        exchange.getResponseHeaders().put(Headers.CONTENT_RANGE, "bytes 0-99/100");
+        assertSame(next, this.subject.wrap(() -> next, exchange));
+
+        // Non-GET requests
+        exchange = exchange("localhost", "/index.html", "\"1\"");
+        exchange.setRequestMethod(Methods.POST);
+        assertSame(next, this.subject.wrap(() -> next, exchange));
+
+        // Responses without a validator
+        exchange = exchange("localhost", "/index.html", null);
+        assertSame(next, this.subject.wrap(() -> next, exchange));
+    }
+
+    /**
+     * Responds to the specified request until its encoded response is served from the cache.
+     */
+    private void populate(Supplier<HttpServerExchange> factory, byte[] encoded) throws IOException {
+        for (int i = 0; i < MAX_REQUESTS; ++i) {
+            StreamSinkConduit conduit = this.subject.wrap(() -> next(new ByteArrayOutputStream()), factory.get());
+            if (conduit instanceof CachedStreamSinkConduit) {
+                conduit.truncateWrites();
+                return;
+            }
+            assertTrue(conduit instanceof CapturingStreamSinkConduit);
+            conduit.writeFinal(ByteBuffer.wrap(encoded));
+        }
+        fail("Encoded response was not cached");
+    }
+
+    /**
+     * Stores the specified encoded response until it is cached.
+     */
+    private void populate(CachingContentEncodingProvider.Key key, byte[] encoded) {
+        for (int i = 0; i < MAX_REQUESTS; ++i) {
+            DirectBufferCache.CacheEntry entry = this.cache.get(key);
+            if ((entry != null) && entry.enabled()) {
+                return;
+            }
+            this.provider.store(key, ByteBuffer.wrap(encoded));
+        }
+        fail("Encoded response was not cached");
+    }
+
+    private static HttpServerExchange exchange(String host, String path, String etag) {
+        HttpServerExchange exchange = exchange(host, path);
+        if (etag != null) {
+            exchange.getResponseHeaders().put(Headers.ETAG, etag);
+        }
+        return exchange;
+    }
+
+    private static HttpServerExchange exchange(String host, String path) {
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.setRequestMethod(Methods.GET);
+        exchange.setRequestPath(path);
+        exchange.getRequestHeaders().put(Headers.HOST, host);
+        exchange.setStatusCode(StatusCodes.OK);
+        return exchange;
+    }
+
+    /**
+     * Creates a mock conduit that consumes everything written to it into the specified stream.
+     */
+    private static StreamSinkConduit next(ByteArrayOutputStream written) {
+        StreamSinkConduit next = mock(StreamSinkConduit.class);
+        try {
+            when(next.writeFinal(any(ByteBuffer.class))).thenAnswer(invocation -> write(invocation.getArgument(0), written));
+            when(next.write(any(ByteBuffer.class))).thenAnswer(invocation -> write(invocation.getArgument(0), written));
+            when(next.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+                ByteBuffer[] buffers = invocation.getArgument(0);
+                int offset = invocation.getArgument(1);
+                int length = invocation.getArgument(2);
+                long result = 0L;
+                for (int i = offset; i < offset + length; ++i) {
+                    result += write(buffers[i], written);
+                }
+                return result;
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return next;
+    }
+
+    private static int write(ByteBuffer buffer, ByteArrayOutputStream written) {
+        int remaining = buffer.remaining();
+        byte[] bytes = new byte[remaining];
+        buffer.get(bytes);
+        written.write(bytes, 0, remaining);
+        return remaining;
+    }
+}